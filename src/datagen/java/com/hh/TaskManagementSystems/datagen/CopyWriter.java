@@ -0,0 +1,126 @@
+package com.hh.TaskManagementSystems.datagen;
+
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Построчная запись в {@code COPY ... FROM STDIN (FORMAT csv)} с буферизацией.
+ *
+ * <p>Строки собираются в {@link StringBuilder} и отправляются на сервер порциями примерно по мегабайту, поэтому
+ * загрузка миллионов строк не требует памяти под весь набор данных.</p>
+ */
+public class CopyWriter implements AutoCloseable {
+
+    private static final int FLUSH_THRESHOLD = 1 << 20;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 4096);
+    private boolean firstColumn = true;
+    private long rows;
+
+    /**
+     * Начинает {@code COPY} в таблицу.
+     *
+     * @param copyManager API копирования PostgreSQL
+     * @param table       имя таблицы
+     * @param columns     столбцы в порядке записи
+     */
+    public CopyWriter(CopyManager copyManager, String table, String... columns) throws SQLException {
+        this.copyIn = copyManager.copyIn("COPY " + table + " (" + String.join(", ", columns)
+                + ") FROM STDIN WITH (FORMAT csv)");
+    }
+
+    public CopyWriter value(long value) {
+        separator();
+        buffer.append(value);
+        return this;
+    }
+
+    /**
+     * Добавляет строковое значение; {@code null} записывается как {@code NULL}.
+     */
+    public CopyWriter value(String value) {
+        separator();
+        if (value != null) {
+            buffer.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    buffer.append('"');
+                }
+                buffer.append(c);
+            }
+            buffer.append('"');
+        }
+        return this;
+    }
+
+    /**
+     * Добавляет идентификатор или {@code NULL}, если он не задан.
+     */
+    public CopyWriter reference(long id) {
+        separator();
+        if (id > 0) {
+            buffer.append(id);
+        }
+        return this;
+    }
+
+    public CopyWriter value(LocalDateTime value) {
+        separator();
+        if (value != null) {
+            TIMESTAMP.formatTo(value, buffer);
+        }
+        return this;
+    }
+
+    /**
+     * Завершает строку и при необходимости отправляет буфер на сервер.
+     */
+    public void endRow() throws SQLException {
+        buffer.append('\n');
+        firstColumn = true;
+        rows++;
+        if (buffer.length() >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            flush();
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private void separator() {
+        if (!firstColumn) {
+            buffer.append(',');
+        }
+        firstColumn = false;
+    }
+
+    private void flush() throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+}
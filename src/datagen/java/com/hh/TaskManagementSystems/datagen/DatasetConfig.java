@@ -0,0 +1,74 @@
+package com.hh.TaskManagementSystems.datagen;
+
+import com.hh.TaskManagementSystems.model.TaskPriority;
+import com.hh.TaskManagementSystems.model.TaskStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Параметры генератора данных, читаются из системных свойств {@code datagen.*}.
+ *
+ * @param users             количество пользователей
+ * @param tasks             количество задач
+ * @param comments          количество комментариев
+ * @param seed              начальное значение генератора случайных чисел; одинаковое значение дает одинаковые данные
+ * @param truncate          очистить таблицы перед загрузкой
+ * @param password          пароль всех сгенерированных пользователей
+ * @param adminShare        доля администраторов
+ * @param authorSkew        показатель распределения Ципфа для авторов задач
+ * @param executorSkew      показатель распределения Ципфа для исполнителей задач
+ * @param commenterSkew     показатель распределения Ципфа для авторов комментариев
+ * @param threadSkew        показатель распределения Ципфа для количества комментариев в задачах
+ * @param unassignedShare   доля задач без исполнителя
+ * @param statusMix         распределение статусов задач
+ * @param priorityMix       распределение приоритетов задач
+ * @param until             момент, к которому относится самая поздняя задача
+ * @param period            период, на который распределяются даты создания задач
+ */
+public record DatasetConfig(
+        int users,
+        int tasks,
+        int comments,
+        long seed,
+        boolean truncate,
+        String password,
+        double adminShare,
+        double authorSkew,
+        double executorSkew,
+        double commenterSkew,
+        double threadSkew,
+        double unassignedShare,
+        EnumMix<TaskStatus> statusMix,
+        EnumMix<TaskPriority> priorityMix,
+        Instant until,
+        Duration period
+) {
+
+    /**
+     * Читает параметры из системных свойств.
+     *
+     * @return параметры генератора
+     */
+    public static DatasetConfig fromSystemProperties() {
+        return new DatasetConfig(
+                Integer.parseInt(System.getProperty("datagen.users", "100000")),
+                Integer.parseInt(System.getProperty("datagen.tasks", "1000000")),
+                Integer.parseInt(System.getProperty("datagen.comments", "5000000")),
+                Long.parseLong(System.getProperty("datagen.seed", "42")),
+                Boolean.parseBoolean(System.getProperty("datagen.truncate", "false")),
+                System.getProperty("datagen.password", "password"),
+                Double.parseDouble(System.getProperty("datagen.admin-share", "0.01")),
+                Double.parseDouble(System.getProperty("datagen.author-skew", "1.0")),
+                Double.parseDouble(System.getProperty("datagen.executor-skew", "0.8")),
+                Double.parseDouble(System.getProperty("datagen.commenter-skew", "1.0")),
+                Double.parseDouble(System.getProperty("datagen.thread-skew", "0.6")),
+                Double.parseDouble(System.getProperty("datagen.unassigned-share", "0.2")),
+                EnumMix.parse(TaskStatus.class,
+                        System.getProperty("datagen.status-mix", "PENDING:30,IN_PROGRESS:20,COMPLETED:50")),
+                EnumMix.parse(TaskPriority.class,
+                        System.getProperty("datagen.priority-mix", "HIGH:20,MEDIUM:50,LOW:30")),
+                Instant.parse(System.getProperty("datagen.until", "2026-01-01T00:00:00Z")),
+                Duration.ofDays(Long.parseLong(System.getProperty("datagen.days", "365"))));
+    }
+}
@@ -0,0 +1,372 @@
+package com.hh.TaskManagementSystems.datagen;
+
+import com.hh.TaskManagementSystems.TaskManagementSystemsApplication;
+import com.hh.TaskManagementSystems.model.Role;
+import com.hh.TaskManagementSystems.service.UserTaskStatsReconciler;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Генератор синтетического набора данных для нагрузочного тестирования: пользователи, задачи и комментарии.
+ *
+ * <p>Распределения перекошены, как в реальных системах: авторы, исполнители и комментаторы выбираются по закону
+ * Ципфа, поэтому небольшая часть пользователей владеет большинством задач, а количество комментариев в задачах
+ * имеет длинный хвост. Статусы и приоритеты задаются весами, у задачи до трех меток, частых и редких по закону
+ * Ципфа. Строки загружаются через {@code COPY}, денормализованные {@code comment_count} и {@code last_comment_at}
+ * заполняются согласованно с комментариями, после загрузки последовательности идентификаторов сдвигаются за
+ * максимальный идентификатор. Счетчики задач пользователей {@code user_task_stats} пересчитываются сверкой после
+ * загрузки.</p>
+ *
+ * <p>Одинаковые параметры и {@code datagen.seed} дают одинаковые данные. Схема создается самим приложением, которое
+ * запускается без веб-сервера по {@code SPRING_DATASOURCE_URL}.</p>
+ *
+ * <p>Запуск: {@code mvn -Pdatagen -DskipTests verify -Ddatagen.tasks=1000000}.</p>
+ */
+public final class DatasetGenerator {
+
+    private static final int PROGRESS_STEP = 1_000_000;
+    private static final long MIN_COMMENT_GAP_SECONDS = 60;
+    private static final long MAX_COMMENT_GAP_SECONDS = TimeUnit.DAYS.toSeconds(2);
+    private static final int DESCRIPTION_LENGTH = 4000;
+    private static final int BODY_LENGTH = 255;
+
+    private static final String[] VERBS = {
+            "Исправить", "Добавить", "Проверить", "Обновить", "Удалить", "Описать", "Настроить", "Оптимизировать",
+            "Перенести", "Согласовать", "Подготовить", "Протестировать"
+    };
+    private static final String[] WORDS = {
+            "отчет", "сервис", "интерфейс", "базу", "данных", "запрос", "пользователя", "задачу", "документацию",
+            "сборку", "конфигурацию", "кэш", "индекс", "миграцию", "форму", "страницу", "модуль", "релиз",
+            "платеж", "уведомление", "доступ", "роль", "журнал", "метрики", "тест", "ошибку", "клиента",
+            "договор", "сервер", "очередь", "импорт", "экспорт", "поиск", "фильтр", "шаблон", "письмо"
+    };
+    /**
+     * Словарь меток задач; частота метки убывает по закону Ципфа от начала списка.
+     */
+    private static final String[] LABELS = {
+            "backend", "frontend", "bug", "feature", "urgent", "tech-debt", "api", "database", "security", "ux",
+            "performance", "docs", "infra", "mobile", "billing", "reports", "search", "auth", "release", "qa",
+            "analytics", "integration", "migration", "design", "support", "legal", "devops", "monitoring",
+            "notifications", "onboarding"
+    };
+    private static final int MAX_TASK_LABELS = 3;
+
+    private final DatasetConfig config;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final long started = System.nanoTime();
+
+    public DatasetGenerator(DatasetConfig config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws Exception {
+        DatasetConfig config = DatasetConfig.fromSystemProperties();
+        try (ConfigurableApplicationContext application = startApplication()) {
+            new DatasetGenerator(config).generate(application.getBean(DataSource.class));
+            application.getBean(UserTaskStatsReconciler.class).reconcile();
+        }
+    }
+
+    /**
+     * Запускает приложение без веб-сервера: Hibernate создает или обновляет схему, генератор использует его пул
+     * соединений.
+     */
+    private static ConfigurableApplicationContext startApplication() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(TaskManagementSystemsApplication.class)
+                .web(WebApplicationType.NONE);
+        String[] args = {
+                "--logging.level.root=WARN",
+                "--task.comment-counters.reconcile-on-startup=false"
+        };
+        if (System.getenv("SIGNING_KEY") == null) {
+            byte[] key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            args = new String[]{args[0], args[1], "--token.signing.key=" + Base64.getEncoder().encodeToString(key)};
+        }
+        return builder.run(args);
+    }
+
+    /**
+     * Загружает набор данных одной транзакцией на таблицу.
+     *
+     * @param dataSource источник соединений с PostgreSQL
+     */
+    public void generate(DataSource dataSource) throws SQLException {
+        System.out.printf("Пользователи: %d, задачи: %d, комментарии: %d, seed: %d, статусы: %s, приоритеты: %s%n",
+                config.users(), config.tasks(), config.comments(), config.seed(), config.statusMix(),
+                config.priorityMix());
+
+        SplittableRandom root = new SplittableRandom(config.seed());
+        SplittableRandom userRandom = root.split();
+        SplittableRandom popularityRandom = root.split();
+        SplittableRandom threadRandom = root.split();
+        SplittableRandom taskRandom = root.split();
+        SplittableRandom commentRandom = root.split();
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+
+            if (config.truncate()) {
+                execute(connection,
+                        "TRUNCATE TABLE comment_archive, task_archive, feed_entry, outbox_message, audit_event, "
+                                + "task_status_transition, user_task_stats, comment, task, api_user CASCADE");
+                connection.commit();
+            }
+            long userBase = maxId(connection, "api_user");
+            long taskBase = maxId(connection, "task");
+            long commentBase = maxId(connection, "comment");
+
+            int[] userByRank = permutation(config.users(), popularityRandom);
+            int[] commentCounts = commentCounts(threadRandom);
+
+            loadUsers(copyManager, userBase, userRandom);
+            connection.commit();
+            loadTasks(copyManager, taskBase, userBase, userByRank, commentCounts, taskRandom);
+            connection.commit();
+            loadComments(copyManager, commentBase, taskBase, userBase, userByRank, commentCounts, commentRandom);
+            connection.commit();
+
+            advanceSequence(connection, "api_user_seq", "api_user");
+            advanceSequence(connection, "task_seq", "task");
+            advanceSequence(connection, "comment_seq", "comment");
+            connection.commit();
+
+            connection.setAutoCommit(true);
+            execute(connection, "ANALYZE api_user, task, comment");
+        }
+        progress("Готово", 0);
+    }
+
+    private void loadUsers(CopyManager copyManager, long userBase, SplittableRandom random) throws SQLException {
+        String password = new BCryptPasswordEncoder().encode(config.password());
+        try (CopyWriter writer = new CopyWriter(copyManager, "api_user", "id", "email", "password", "role")) {
+            for (int i = 0; i < config.users(); i++) {
+                long id = userBase + 1 + i;
+                Role role = random.nextDouble() < config.adminShare() ? Role.ADMIN : Role.USER;
+                writer.value(id).value("user" + id + "@datagen.example").value(password).value(role.name());
+                writer.endRow();
+                progress("api_user", writer.getRows());
+            }
+        }
+        progress("api_user загружена, пароль пользователей: " + config.password(), 0);
+    }
+
+    private void loadTasks(CopyManager copyManager, long taskBase, long userBase, int[] userByRank,
+                           int[] commentCounts, SplittableRandom random) throws SQLException {
+        ZipfSampler authors = new ZipfSampler(config.users(), config.authorSkew());
+        ZipfSampler executors = new ZipfSampler(config.users(), config.executorSkew());
+        ZipfSampler labels = new ZipfSampler(LABELS.length, 1.0);
+        StringBuilder text = new StringBuilder();
+        try (CopyWriter writer = new CopyWriter(copyManager, "task", "id", "title", "description", "status",
+                "priority", "labels", "author_id", "executor_id", "date_creation", "comment_count",
+                "last_comment_at")) {
+            for (int t = 0; t < config.tasks(); t++) {
+                long author = userBase + 1 + userByRank[authors.sample(random)];
+                long executor = random.nextDouble() < config.unassignedShare()
+                        ? 0
+                        : userBase + 1 + userByRank[executors.sample(random)];
+                int comments = commentCounts[t];
+                writer.value(taskBase + 1 + t)
+                        .value(title(text, random))
+                        .value(random.nextInt(10) == 0
+                                ? null
+                                : sentence(text, random, 5 + random.nextInt(56), DESCRIPTION_LENGTH))
+                        .value(config.statusMix().next(random).name())
+                        .value(config.priorityMix().next(random).name())
+                        .value(labels(text, labels, random))
+                        .value(author)
+                        .reference(executor)
+                        .value(toLocalDateTime(Instant.ofEpochSecond(taskTime(t))))
+                        .value(comments)
+                        .value(comments == 0 ? null : toLocalDateTime(commentTime(t, comments - 1, comments)));
+                writer.endRow();
+                progress("task", writer.getRows());
+            }
+        }
+        progress("task загружена", 0);
+    }
+
+    private void loadComments(CopyManager copyManager, long commentBase, long taskBase, long userBase,
+                              int[] userByRank, int[] commentCounts, SplittableRandom random) throws SQLException {
+        ZipfSampler commenters = new ZipfSampler(config.users(), config.commenterSkew());
+        StringBuilder text = new StringBuilder();
+        long id = commentBase;
+        try (CopyWriter writer = new CopyWriter(copyManager, "comment", "id", "body", "author_id", "task_id",
+                "date_creation")) {
+            for (int t = 0; t < config.tasks(); t++) {
+                int comments = commentCounts[t];
+                for (int j = 0; j < comments; j++) {
+                    int words = 1 + (int) (-12 * Math.log(1 - random.nextDouble()));
+                    writer.value(++id)
+                            .value(sentence(text, random, words, BODY_LENGTH))
+                            .value(userBase + 1 + userByRank[commenters.sample(random)])
+                            .value(taskBase + 1 + t)
+                            .value(toLocalDateTime(commentTime(t, j, comments)));
+                    writer.endRow();
+                    progress("comment", writer.getRows());
+                }
+            }
+        }
+        progress("comment загружена", 0);
+    }
+
+    /**
+     * Распределяет комментарии по задачам по закону Ципфа: несколько задач получают длинные обсуждения, у
+     * большинства комментариев нет или мало.
+     */
+    private int[] commentCounts(SplittableRandom random) {
+        int[] counts = new int[config.tasks()];
+        if (config.tasks() == 0) {
+            return counts;
+        }
+        int[] taskByRank = permutation(config.tasks(), random);
+        ZipfSampler threads = new ZipfSampler(config.tasks(), config.threadSkew());
+        for (int i = 0; i < config.comments(); i++) {
+            counts[taskByRank[threads.sample(random)]]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Время создания задачи растет вместе с ее номером и равномерно покрывает период {@code datagen.days}.
+     */
+    private long taskTime(int task) {
+        long period = config.period().toSeconds();
+        return config.until().getEpochSecond() - period + period * task / Math.max(1, config.tasks());
+    }
+
+    /**
+     * Время комментария вычисляется из номера задачи и комментария без хранения состояния, поэтому
+     * {@code last_comment_at} задачи совпадает со временем ее последнего комментария.
+     */
+    private Instant commentTime(int task, int index, int count) {
+        long created = taskTime(task);
+        long available = Math.max(1, (config.until().getEpochSecond() - created) / (count + 1));
+        long gap = Math.min(available, MIN_COMMENT_GAP_SECONDS
+                + Math.floorMod(mix(config.seed() ^ task), MAX_COMMENT_GAP_SECONDS - MIN_COMMENT_GAP_SECONDS));
+        long jitter = Math.floorMod(mix(config.seed() + 31L * task + index), Math.max(1, gap / 2));
+        return Instant.ofEpochSecond(created + gap * (index + 1) - jitter);
+    }
+
+    private LocalDateTime toLocalDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, zone);
+    }
+
+    private static String title(StringBuilder text, SplittableRandom random) {
+        text.setLength(0);
+        text.append(VERBS[random.nextInt(VERBS.length)]);
+        int words = 1 + random.nextInt(4);
+        for (int i = 0; i < words; i++) {
+            text.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Собирает предложение из случайных слов, не длиннее {@code maxLength} символов с учетом точки.
+     */
+    private static String sentence(StringBuilder text, SplittableRandom random, int words, int maxLength) {
+        text.setLength(0);
+        for (int i = 0; i < words; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            if (i > 0 && text.length() + word.length() + 2 > maxLength) {
+                break;
+            }
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(word);
+        }
+        text.setCharAt(0, Character.toUpperCase(text.charAt(0)));
+        return text.append('.').toString();
+    }
+
+    /**
+     * Возвращает от нуля до {@value #MAX_TASK_LABELS} различных меток в виде литерала массива PostgreSQL.
+     */
+    private static String labels(StringBuilder text, ZipfSampler labels, SplittableRandom random) {
+        text.setLength(0);
+        text.append('{');
+        int count = random.nextInt(MAX_TASK_LABELS + 1);
+        long chosen = 0;
+        for (int i = 0; i < count; i++) {
+            int label = labels.sample(random);
+            if ((chosen & 1L << label) == 0) {
+                chosen |= 1L << label;
+                text.append(text.length() > 1 ? "," : "").append(LABELS[label]);
+            }
+        }
+        return text.append('}').toString();
+    }
+
+    /**
+     * Случайная перестановка: популярность (ранг в распределении Ципфа) не совпадает с порядком идентификаторов.
+     */
+    private static int[] permutation(int size, SplittableRandom random) {
+        int[] permutation = new int[size];
+        for (int i = 0; i < size; i++) {
+            permutation[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = swap;
+        }
+        return permutation;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    private static long maxId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    /**
+     * Сдвигает последовательность с запасом на шаг выделения, чтобы пул идентификаторов Hibernate не пересекся с
+     * загруженными строками.
+     */
+    private static void advanceSequence(Connection connection, String sequence, String table) throws SQLException {
+        execute(connection, "SELECT setval('" + sequence + "', (SELECT COALESCE(MAX(id), 0) FROM " + table + ")"
+                + " + (SELECT increment_by FROM pg_sequences WHERE sequencename = '" + sequence + "'))");
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private void progress(String stage, long rows) {
+        if (rows == 0 || rows % PROGRESS_STEP == 0) {
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            System.out.printf("[%6.1f с] %s%s%n", elapsed / 1000.0, stage, rows == 0 ? "" : ": " + rows);
+        }
+    }
+}
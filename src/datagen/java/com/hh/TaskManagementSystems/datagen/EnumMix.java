@@ -0,0 +1,90 @@
+package com.hh.TaskManagementSystems.datagen;
+
+import java.lang.reflect.Array;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Взвешенное распределение значений перечисления, например статусов или приоритетов задач.
+ *
+ * <p>Задается строкой вида {@code PENDING:30,IN_PROGRESS:20,COMPLETED:50}, веса не обязаны давать в сумме 100.</p>
+ *
+ * @param <E> тип перечисления
+ */
+public class EnumMix<E extends Enum<E>> {
+
+    private final E[] values;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    private EnumMix(E[] values, int[] cumulativeWeights) {
+        this.values = values;
+        this.cumulativeWeights = cumulativeWeights;
+        this.totalWeight = cumulativeWeights.length == 0 ? 0 : cumulativeWeights[cumulativeWeights.length - 1];
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("Сумма весов должна быть положительной");
+        }
+    }
+
+    /**
+     * Разбирает описание распределения.
+     *
+     * @param type тип перечисления
+     * @param mix  строка вида {@code VALUE:weight,...}
+     * @param <E>  тип перечисления
+     * @return распределение
+     */
+    public static <E extends Enum<E>> EnumMix<E> parse(Class<E> type, String mix) {
+        Map<E, Integer> weights = new EnumMap<>(type);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Неправильный элемент распределения: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.merge(Enum.valueOf(type, parts[0].trim().toUpperCase()), weight, Integer::sum);
+            }
+        }
+        @SuppressWarnings("unchecked")
+        E[] values = weights.keySet().toArray((E[]) Array.newInstance(type, 0));
+        int[] cumulativeWeights = new int[values.length];
+        int total = 0;
+        for (int i = 0; i < values.length; i++) {
+            total += weights.get(values[i]);
+            cumulativeWeights[i] = total;
+        }
+        return new EnumMix<>(values, cumulativeWeights);
+    }
+
+    /**
+     * Выбирает следующее значение пропорционально весам.
+     *
+     * @param random генератор случайных чисел
+     * @return значение перечисления
+     */
+    public E next(RandomGenerator random) {
+        int value = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return values[i];
+            }
+        }
+        return values[values.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        int previous = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(values[i]).append(':').append(cumulativeWeights[i] - previous);
+            previous = cumulativeWeights[i];
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,83 @@
+package com.hh.TaskManagementSystems.datagen;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Выборка из распределения Ципфа на {@code 1..n} методом rejection-inversion (Hörmann, Derflinger, 1996).
+ *
+ * <p>Не хранит таблицу вероятностей, поэтому подходит для миллионов элементов: одна выборка стоит несколько
+ * вызовов {@code log}/{@code exp}. Вероятность ранга {@code k} пропорциональна {@code 1 / k^exponent}.</p>
+ */
+public class ZipfSampler {
+
+    private final int numberOfElements;
+    private final double exponent;
+    private final double hIntegralX1;
+    private final double hIntegralNumberOfElements;
+    private final double s;
+
+    /**
+     * @param numberOfElements количество элементов
+     * @param exponent         показатель степени, больше нуля; чем больше, тем сильнее перекос
+     */
+    public ZipfSampler(int numberOfElements, double exponent) {
+        if (numberOfElements <= 0) {
+            throw new IllegalArgumentException("Количество элементов должно быть положительным");
+        }
+        if (exponent <= 0) {
+            throw new IllegalArgumentException("Показатель распределения Ципфа должен быть положительным");
+        }
+        this.numberOfElements = numberOfElements;
+        this.exponent = exponent;
+        this.hIntegralX1 = hIntegral(1.5) - 1d;
+        this.hIntegralNumberOfElements = hIntegral(numberOfElements + 0.5);
+        this.s = 2d - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    /**
+     * Возвращает ранг от {@code 0} до {@code n - 1}; ранг {@code 0} самый частый.
+     *
+     * @param random генератор случайных чисел
+     * @return ранг элемента
+     */
+    public int sample(RandomGenerator random) {
+        while (true) {
+            double u = hIntegralNumberOfElements + random.nextDouble() * (hIntegralX1 - hIntegralNumberOfElements);
+            double x = hIntegralInverse(u);
+            int k = (int) (x + 0.5);
+            if (k < 1) {
+                k = 1;
+            } else if (k > numberOfElements) {
+                k = numberOfElements;
+            }
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k - 1;
+            }
+        }
+    }
+
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return helper2((1d - exponent) * logX) * logX;
+    }
+
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = x * (1d - exponent);
+        if (t < -1d) {
+            t = -1d;
+        }
+        return Math.exp(helper1(t) * x);
+    }
+
+    private static double helper1(double x) {
+        return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1d - x * (0.5 - x * (1d / 3 - 0.25 * x));
+    }
+
+    private static double helper2(double x) {
+        return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1d + x * 0.5 * (1d + x / 3 * (1d + 0.25 * x));
+    }
+}
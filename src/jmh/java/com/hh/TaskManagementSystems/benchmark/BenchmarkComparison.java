@@ -0,0 +1,73 @@
+package com.hh.TaskManagementSystems.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Сравнение двух JSON-результатов JMH: базового запуска и текущего.
+ *
+ * <p>Для каждого бенчмарка (с учетом параметров) печатает оценку до и после и изменение в процентах.
+ * Завершается с кодом 1, если хотя бы один бенчмарк ухудшился больше, чем на заданный порог.
+ * Для режимов со временем на операцию ухудшение означает рост оценки, для пропускной способности — падение.</p>
+ *
+ * <p>Аргументы: {@code <baseline.json> <current.json> [порог в процентах, по умолчанию 10]}.</p>
+ */
+public final class BenchmarkComparison {
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Использование: BenchmarkComparison <baseline.json> <current.json> [порог, %]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+
+        Map<String, JsonNode> baseline = read(Path.of(args[0]));
+        Map<String, JsonNode> current = read(Path.of(args[1]));
+
+        boolean regression = false;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            double afterScore = after.path("primaryMetric").path("score").asDouble();
+            String unit = after.path("primaryMetric").path("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s  %s%n", entry.getKey(), "-", afterScore, "new", unit);
+                continue;
+            }
+            double beforeScore = before.path("primaryMetric").path("score").asDouble();
+            double change = (afterScore - beforeScore) / beforeScore * 100;
+            boolean lowerIsBetter = !"thrpt".equals(after.path("mode").asText());
+            double worsening = lowerIsBetter ? change : -change;
+            boolean failed = worsening > threshold;
+            regression |= failed;
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), beforeScore, afterScore, change,
+                    unit, failed ? "  REGRESSION" : "");
+        }
+
+        if (regression) {
+            System.err.printf("Есть бенчмарки, ухудшившиеся больше чем на %.1f%%%n", threshold);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> read(Path file) throws IOException {
+        Map<String, JsonNode> results = new TreeMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file.toFile())) {
+            Map<String, String> params = new LinkedHashMap<>();
+            result.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            String key = result.path("benchmark").asText() + (params.isEmpty() ? "" : params.toString());
+            results.put(key, result);
+        }
+        return results;
+    }
+}
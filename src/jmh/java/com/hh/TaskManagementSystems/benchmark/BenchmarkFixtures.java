@@ -0,0 +1,76 @@
+package com.hh.TaskManagementSystems.benchmark;
+
+import com.hh.TaskManagementSystems.model.Comment;
+import com.hh.TaskManagementSystems.model.Role;
+import com.hh.TaskManagementSystems.model.Task;
+import com.hh.TaskManagementSystems.model.TaskPriority;
+import com.hh.TaskManagementSystems.model.TaskStatus;
+import com.hh.TaskManagementSystems.model.User;
+import com.hh.TaskManagementSystems.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Общие данные для бенчмарков: пользователи, задачи, комментарии и настроенный {@link JwtService}.
+ */
+final class BenchmarkFixtures {
+
+    /**
+     * Ключ подписи JWT в формате Base64, используется только в бенчмарках.
+     */
+    static final String SIGNING_KEY = "SkN0Hn/eov8cDKc1/2TwyqsM0jQatcDN1jY+VSP+7PY=";
+
+    private BenchmarkFixtures() {
+    }
+
+    static User user(long id) {
+        return User.builder()
+                .id(id)
+                .email("user" + id + "@example.com")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6Jz2mHhS1aB8z5oQ8gE5fW2")
+                .role(Role.USER)
+                .build();
+    }
+
+    static Task task(long id, User author, User executor) {
+        return Task.builder()
+                .id(id)
+                .title("Задача " + id)
+                .description("Описание задачи " + id + ", достаточно длинное для типичного ответа API")
+                .status(TaskStatus.values()[(int) (id % TaskStatus.values().length)])
+                .priority(TaskPriority.values()[(int) (id % TaskPriority.values().length)])
+                .author(author)
+                .executor(executor)
+                .commentCount(id % 5)
+                .lastCommentAt(new Date())
+                .build();
+    }
+
+    static List<Task> tasks(int count) {
+        User author = user(1);
+        User executor = user(2);
+        return IntStream.range(0, count)
+                .mapToObj(i -> task(i + 1, author, executor))
+                .toList();
+    }
+
+    static Comment comment(long id, Task task, User author) {
+        return Comment.builder()
+                .id(id)
+                .body("Комментарий " + id)
+                .task(task)
+                .author(author)
+                .dateCreation(new Date())
+                .build();
+    }
+
+    static JwtService jwtService() {
+        JwtService jwtService = new JwtService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtService, "jwtSigningKey", SIGNING_KEY);
+        return jwtService;
+    }
+}
@@ -0,0 +1,97 @@
+package com.hh.TaskManagementSystems.benchmark;
+
+import com.hh.TaskManagementSystems.converter.CommentConverter;
+import com.hh.TaskManagementSystems.converter.TaskConverter;
+import com.hh.TaskManagementSystems.dto.CommentDto;
+import com.hh.TaskManagementSystems.dto.PageDto;
+import com.hh.TaskManagementSystems.dto.TaskDto;
+import com.hh.TaskManagementSystems.model.Comment;
+import com.hh.TaskManagementSystems.model.Task;
+import com.hh.TaskManagementSystems.repository.TaskRepository;
+import com.hh.TaskManagementSystems.repository.UserRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Бенчмарки {@link TaskConverter} и {@link CommentConverter}: одна задача, страница задач, задача с комментариями
+ * и один комментарий.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+
+    private TaskConverter taskConverter;
+    private CommentConverter commentConverter;
+    private Task task;
+    private Comment comment;
+    private PageDto<CommentDto> comments;
+
+    /**
+     * Страница задач. Размер страницы вынесен в отдельное состояние, чтобы бенчмарки одного объекта
+     * не повторялись для каждого значения {@code pageSize}.
+     */
+    @State(Scope.Benchmark)
+    public static class PageState {
+
+        @Param({"10", "100"})
+        private int pageSize;
+
+        private List<Task> page;
+
+        @Setup
+        public void setUp() {
+            page = BenchmarkFixtures.tasks(pageSize);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        taskConverter = new TaskConverter(userRepository);
+        commentConverter = new CommentConverter(Mockito.mock(TaskRepository.class), userRepository);
+
+        task = BenchmarkFixtures.tasks(1).get(0);
+        comment = BenchmarkFixtures.comment(1, task, task.getAuthor());
+        comments = PageDto.of(LongStream.rangeClosed(1, 10)
+                .mapToObj(id -> commentConverter.toDto(BenchmarkFixtures.comment(id, task, task.getAuthor())))
+                .toList());
+    }
+
+    @Benchmark
+    public TaskDto taskToDto() {
+        return taskConverter.toDto(task);
+    }
+
+    @Benchmark
+    public TaskDto taskWithCommentsToDto() {
+        return taskConverter.toDto(task, comments);
+    }
+
+    @Benchmark
+    public List<TaskDto> taskPageToDto(PageState state) {
+        return state.page.stream().map(taskConverter::toDto).toList();
+    }
+
+    @Benchmark
+    public CommentDto commentToDto() {
+        return commentConverter.toDto(comment);
+    }
+}
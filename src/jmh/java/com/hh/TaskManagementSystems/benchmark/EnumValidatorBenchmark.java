@@ -0,0 +1,47 @@
+package com.hh.TaskManagementSystems.benchmark;
+
+import com.hh.TaskManagementSystems.dto.TaskDto;
+import com.hh.TaskManagementSystems.validator.EnumValid;
+import com.hh.TaskManagementSystems.validator.EnumValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки {@link EnumValidator#isValid}: допустимое значение в конце перечисления и недопустимое значение.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumValidatorBenchmark {
+
+    private EnumValidator validator;
+
+    @Setup
+    public void setUp() throws NoSuchFieldException {
+        validator = new EnumValidator();
+        validator.initialize(TaskDto.class.getDeclaredField("status").getAnnotation(EnumValid.class));
+    }
+
+    @Benchmark
+    public boolean validValue() {
+        return validator.isValid("COMPLETED", null);
+    }
+
+    @Benchmark
+    public boolean invalidValue() {
+        return validator.isValid("UNKNOWN", null);
+    }
+}
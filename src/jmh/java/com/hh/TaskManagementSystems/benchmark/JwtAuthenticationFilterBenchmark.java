@@ -0,0 +1,63 @@
+package com.hh.TaskManagementSystems.benchmark;
+
+import com.hh.TaskManagementSystems.config.JwtAuthenticationFilter;
+import com.hh.TaskManagementSystems.model.User;
+import com.hh.TaskManagementSystems.service.JwtService;
+import com.hh.TaskManagementSystems.service.UserService;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк полного пути {@link JwtAuthenticationFilter}: разбор токена, загрузка пользователя, проверка токена
+ * и установка контекста безопасности. Загрузка пользователя подменена заглушкой без базы данных.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = BenchmarkFixtures.jwtService();
+        User user = BenchmarkFixtures.user(1);
+
+        UserService userService = Mockito.mock(UserService.class);
+        Mockito.when(userService.userDetailsService()).thenReturn(email -> user);
+
+        filter = new JwtAuthenticationFilter(jwtService, userService);
+        authorizationHeader = JwtAuthenticationFilter.BEARER_PREFIX + jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Object authenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/all");
+        request.addHeader(JwtAuthenticationFilter.HEADER_NAME, authorizationHeader);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.hh.TaskManagementSystems.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.hh.TaskManagementSystems.config.IsoInstantSerializer;
+import com.hh.TaskManagementSystems.dto.CommentDto;
+import com.hh.TaskManagementSystems.dto.PageDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Сериализация страницы комментариев: прежний формат ({@link PageImpl}, дата через {@link Date#toString()},
+ * рефлексивный доступ) против {@link PageDto} с {@link Instant}, {@link IsoInstantSerializer} и
+ * {@link BlackbirdModule}. Аллокации на операцию выводит профилировщик {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    /**
+     * Прежнее представление комментария: дата строится через {@link Date#toString()} при каждом преобразовании.
+     */
+    record LegacyCommentDto(String body, Long taskId, String authorEmail, String dateCreation) {
+    }
+
+    private ObjectMapper legacyMapper;
+    private ObjectMapper mapper;
+    private Date date;
+    private PageRequest pageable;
+
+    @Setup
+    public void setUp() {
+        legacyMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new SimpleModule().addSerializer(Instant.class, new IsoInstantSerializer()))
+                .registerModule(new BlackbirdModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        date = new Date();
+        pageable = PageRequest.of(0, 10, Sort.by("dateCreation"));
+    }
+
+    @Benchmark
+    public byte[] pageImpl() throws Exception {
+        List<LegacyCommentDto> content = IntStream.range(0, 10)
+                .mapToObj(i -> new LegacyCommentDto("Комментарий " + i, 1L, "author@example.com", date.toString()))
+                .toList();
+        return legacyMapper.writeValueAsBytes(new PageImpl<>(content, pageable, 42));
+    }
+
+    @Benchmark
+    public byte[] pageDto() throws Exception {
+        List<CommentDto> content = IntStream.range(0, 10)
+                .mapToObj(i -> new CommentDto((long) i, "Комментарий " + i, 1L, "author@example.com",
+                        date.toInstant()))
+                .toList();
+        return mapper.writeValueAsBytes(PageDto.of(new PageImpl<>(content, pageable, 42)));
+    }
+}
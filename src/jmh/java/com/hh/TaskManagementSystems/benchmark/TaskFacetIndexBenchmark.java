@@ -0,0 +1,78 @@
+package com.hh.TaskManagementSystems.benchmark;
+
+import com.hh.TaskManagementSystems.model.TaskPriority;
+import com.hh.TaskManagementSystems.model.TaskStatus;
+import com.hh.TaskManagementSystems.repository.TaskFacetSource;
+import com.hh.TaskManagementSystems.search.TaskFacetCounts;
+import com.hh.TaskManagementSystems.search.TaskFacetIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки {@link TaskFacetIndex#count} на миллионе задач и десяти тысячах пользователей: все сочетания статуса
+ * и приоритета без фильтра, для исполнителя и для пары автор — исполнитель.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskFacetIndexBenchmark {
+
+    @Param("1000000")
+    private int tasks;
+
+    @Param("10000")
+    private int users;
+
+    private TaskFacetIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new TaskFacetIndex(null, null);
+        SplittableRandom random = new SplittableRandom(42);
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskPriority[] priorities = TaskPriority.values();
+        List<TaskFacetSource> batch = new ArrayList<>();
+        for (long id = 1; id <= tasks; id++) {
+            batch.add(new TaskFacetSource(id, statuses[random.nextInt(statuses.length)],
+                    priorities[random.nextInt(priorities.length)],
+                    1L + random.nextInt(users), 1L + random.nextInt(users)));
+            if (batch.size() == 10_000) {
+                index.update(batch);
+                batch.clear();
+            }
+        }
+        index.update(batch);
+    }
+
+    @Benchmark
+    public TaskFacetCounts all() {
+        return index.count(null, null);
+    }
+
+    @Benchmark
+    public TaskFacetCounts executor() {
+        return index.count(null, 7L);
+    }
+
+    @Benchmark
+    public TaskFacetCounts authorAndExecutor() {
+        return index.count(3L, 7L);
+    }
+}
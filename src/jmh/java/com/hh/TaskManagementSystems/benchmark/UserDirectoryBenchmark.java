@@ -0,0 +1,58 @@
+package com.hh.TaskManagementSystems.benchmark;
+
+import com.hh.TaskManagementSystems.search.UserDirectory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки автодополнения {@link UserDirectory#complete} на миллионе email: короткий префикс с большим
+ * диапазоном совпадений, длинный префикс и префикс без совпадений.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDirectoryBenchmark {
+
+    @Param("1000000")
+    private int users;
+
+    private UserDirectory directory;
+
+    @Setup
+    public void setUp() {
+        directory = new UserDirectory(null);
+        for (int i = 0; i < users; i++) {
+            directory.add("user" + i + "@example.com");
+        }
+    }
+
+    @Benchmark
+    public List<String> shortPrefix() {
+        return directory.complete("us", 10);
+    }
+
+    @Benchmark
+    public List<String> longPrefix() {
+        return directory.complete("user12345", 10);
+    }
+
+    @Benchmark
+    public List<String> missingPrefix() {
+        return directory.complete("zz", 10);
+    }
+}
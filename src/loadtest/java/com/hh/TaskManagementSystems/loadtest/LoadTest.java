@@ -0,0 +1,196 @@
+package com.hh.TaskManagementSystems.loadtest;
+
+import com.hh.TaskManagementSystems.TaskManagementSystemsApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Нагрузочный тест с открытой моделью нагрузки.
+ *
+ * <p>Запускает приложение в том же процессе (с локальным или встроенным PostgreSQL) либо использует уже запущенное
+ * по {@code loadtest.base-url}, регистрирует пользователей сценария и отправляет запросы с заданной интенсивностью
+ * независимо от времени ответа. Каждый запрос выполняется в отдельном виртуальном потоке. По завершении печатает
+ * пропускную способность, процентили времени отклика и долю ошибок по эндпоинтам и сохраняет гистограммы
+ * HdrHistogram в каталог отчета.</p>
+ *
+ * <p>Запуск: {@code mvn -Ploadtest -DskipTests verify -Dloadtest.rate=100 -Dloadtest.embedded=true}.</p>
+ */
+public final class LoadTest {
+
+    private static final int SEED_TASKS_PER_USER = 2;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        EmbeddedPostgres postgres = null;
+        ConfigurableApplicationContext application = null;
+        try {
+            String baseUrl = config.baseUrl();
+            if (baseUrl.isEmpty()) {
+                Map<String, Object> properties = new HashMap<>();
+                if (config.embedded()) {
+                    postgres = EmbeddedPostgres.builder().start();
+                    properties.put("spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres"));
+                    properties.put("spring.datasource.username", "postgres");
+                    properties.put("spring.datasource.password", "postgres");
+                }
+                application = startApplication(properties);
+                baseUrl = "http://localhost:" + ((WebServerApplicationContext) application).getWebServer().getPort();
+            }
+
+            System.out.printf("Цель: %s, интенсивность: %d запросов/с, прогрев: %d с, измерение: %d с, смесь: %s%n",
+                    baseUrl, config.rate(), config.warmup().toSeconds(), config.duration().toSeconds(), config.mix());
+
+            LoadTestClient client = new LoadTestClient(baseUrl, config.users());
+            client.seed(SEED_TASKS_PER_USER);
+
+            Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+            for (Operation operation : Operation.values()) {
+                stats.put(operation, new OperationStats());
+            }
+
+            run(config, client, stats);
+            report(config, stats);
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Запускает приложение. Свойства передаются как аргументы командной строки, чтобы они имели приоритет над
+     * переменными окружения, например {@code SPRING_DATASOURCE_URL}.
+     */
+    private static ConfigurableApplicationContext startApplication(Map<String, Object> properties) {
+        properties.put("server.port", 0);
+        properties.put("logging.level.root", "WARN");
+        if (System.getenv("SIGNING_KEY") == null) {
+            byte[] key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            properties.put("token.signing.key", Base64.getEncoder().encodeToString(key));
+        }
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(TaskManagementSystemsApplication.class).run(args);
+    }
+
+    /**
+     * Отправляет запросы по расписанию с постоянным интервалом. Запросы, запланированные на время прогрева,
+     * выполняются, но не учитываются.
+     */
+    private static void run(LoadTestConfig config, LoadTestClient client, Map<Operation, OperationStats> stats) {
+        SplittableRandom random = new SplittableRandom(config.seed());
+        long interval = 1_000_000_000L / config.rate();
+        long start = System.nanoTime();
+        long measureStart = start + config.warmup().toNanos();
+        long end = measureStart + config.duration().toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long intendedStart = start; intendedStart < end; intendedStart += interval) {
+                long delay;
+                while ((delay = intendedStart - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+
+                Operation operation = config.mix().next(random);
+                long seed = random.nextLong();
+                long scheduled = intendedStart;
+                executor.execute(() -> {
+                    long actualStart = System.nanoTime();
+                    boolean success;
+                    try {
+                        success = client.execute(operation, seed);
+                    } catch (Exception exception) {
+                        success = false;
+                    }
+                    if (scheduled >= measureStart) {
+                        stats.get(operation).record(scheduled, actualStart, System.nanoTime(), success);
+                    }
+                });
+            }
+        }
+    }
+
+    private static void report(LoadTestConfig config, Map<Operation, OperationStats> stats) throws IOException {
+        Path directory = config.report();
+        Files.createDirectories(directory);
+        double seconds = config.duration().toMillis() / 1000.0;
+
+        String header = String.format("%-14s %-36s %8s %8s %7s %9s %9s %9s %9s %9s %9s",
+                "Операция", "Эндпоинт", "Запросов", "Ошибок", "Ошибки%", "Запр/с", "p50 мс", "p90 мс", "p99 мс",
+                "p99.9 мс", "max мс");
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(directory.resolve("summary.txt")))) {
+            for (PrintStream out : new PrintStream[]{System.out, summary}) {
+                out.println(header);
+            }
+            Histogram total = new Histogram(3);
+            long totalErrors = 0;
+            for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+                Histogram responseTime = entry.getValue().responseTime();
+                Histogram serviceTime = entry.getValue().serviceTime();
+                if (responseTime.getTotalCount() == 0) {
+                    continue;
+                }
+                total.add(responseTime);
+                totalErrors += entry.getValue().errors();
+                String line = line(entry.getKey().getKey(), entry.getKey().getEndpoint(), responseTime,
+                        entry.getValue().errors(), seconds);
+                System.out.println(line);
+                summary.println(line);
+
+                writeHistogram(directory.resolve(entry.getKey().getKey() + "-response-time.hgrm"), responseTime);
+                writeHistogram(directory.resolve(entry.getKey().getKey() + "-service-time.hgrm"), serviceTime);
+            }
+            if (total.getTotalCount() > 0) {
+                String line = line("total", "", total, totalErrors, seconds);
+                System.out.println(line);
+                summary.println(line);
+                writeHistogram(directory.resolve("total-response-time.hgrm"), total);
+            }
+        }
+        System.out.println("Гистограммы HdrHistogram сохранены в " + directory.toAbsolutePath());
+    }
+
+    private static String line(String operation, String endpoint, Histogram histogram, long errors, double seconds) {
+        long count = histogram.getTotalCount();
+        return String.format("%-14s %-36s %8d %8d %7.2f %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f",
+                operation, endpoint, count, errors, count > 0 ? errors * 100.0 / count : 0, count / seconds,
+                histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(90) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                histogram.getMaxValue() / NANOS_PER_MILLI);
+    }
+
+    private static void writeHistogram(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+        }
+    }
+}
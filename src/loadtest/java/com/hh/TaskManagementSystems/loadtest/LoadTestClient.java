@@ -0,0 +1,162 @@
+package com.hh.TaskManagementSystems.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hh.TaskManagementSystems.model.TaskPriority;
+import com.hh.TaskManagementSystems.model.TaskStatus;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * HTTP-клиент нагрузочного теста: выполняет операции и хранит состояние сценария.
+ *
+ * <p>Состояние включает заранее зарегистрированных пользователей с их токенами и кольцевой буфер созданных задач,
+ * из которого выбираются задачи для изменения статуса и комментариев.</p>
+ */
+public class LoadTestClient {
+
+    private static final String PASSWORD = "loadtest-password";
+    private static final int TASK_POOL_SIZE = 10_000;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+
+    private final String[] emails;
+    private final AtomicReferenceArray<String> tokens;
+
+    private final AtomicLongArray taskIds = new AtomicLongArray(TASK_POOL_SIZE);
+    private final AtomicLongArray taskOwners = new AtomicLongArray(TASK_POOL_SIZE);
+    private final AtomicLong createdTasks = new AtomicLong();
+
+    public LoadTestClient(String baseUrl, int users) {
+        this.baseUrl = baseUrl;
+        this.emails = new String[users];
+        this.tokens = new AtomicReferenceArray<>(users);
+    }
+
+    /**
+     * Регистрирует пользователей сценария и создает для каждого несколько задач.
+     *
+     * @param tasksPerUser количество задач на пользователя
+     */
+    public void seed(int tasksPerUser) throws IOException, InterruptedException {
+        SplittableRandom random = new SplittableRandom(0);
+        for (int i = 0; i < emails.length; i++) {
+            emails[i] = "loadtest-" + runId + "-" + i + "@example.com";
+            HttpResponse<String> response = post("/auth/registration", null,
+                    Map.of("email", emails[i], "password", PASSWORD));
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Не удалось зарегистрировать пользователя: " + response.body());
+            }
+            tokens.set(i, objectMapper.readTree(response.body()).path("jwt").asText());
+            for (int j = 0; j < tasksPerUser; j++) {
+                createTask(i, random);
+            }
+        }
+    }
+
+    /**
+     * Выполняет операцию.
+     *
+     * @param operation операция
+     * @param seed      начальное значение для выбора аргументов операции
+     * @return {@code true}, если сервер ответил кодом 2xx
+     */
+    public boolean execute(Operation operation, long seed) throws IOException, InterruptedException {
+        SplittableRandom random = new SplittableRandom(seed);
+        int user = random.nextInt(emails.length);
+        return switch (operation) {
+            case REGISTER -> isSuccess(post("/auth/registration", null, Map.of(
+                    "email", "loadtest-" + runId + "-new-" + UUID.randomUUID() + "@example.com",
+                    "password", PASSWORD)));
+            case LOGIN -> {
+                HttpResponse<String> response = post("/auth/login", null,
+                        Map.of("email", emails[user], "password", PASSWORD));
+                if (isSuccess(response)) {
+                    tokens.set(user, objectMapper.readTree(response.body()).path("jwt").asText());
+                    yield true;
+                }
+                yield false;
+            }
+            case CREATE_TASK -> createTask(user, random);
+            case UPDATE_STATUS -> {
+                int slot = randomTaskSlot(random);
+                int owner = (int) taskOwners.get(slot);
+                yield isSuccess(send(HttpRequest.newBuilder(uri("/api/tasks/" + taskIds.get(slot) + "/update-status"))
+                        .header("Authorization", "Bearer " + tokens.get(owner))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(
+                                objectMapper.writeValueAsString(STATUSES[random.nextInt(STATUSES.length)])))));
+            }
+            case POST_COMMENT -> {
+                int slot = randomTaskSlot(random);
+                yield isSuccess(post("/api/tasks/" + taskIds.get(slot) + "/comments", tokens.get(user),
+                        Map.of("body", "Комментарий нагрузочного теста " + random.nextInt(1000))));
+            }
+            case LIST_TASKS -> isSuccess(send(HttpRequest.newBuilder(uri("/api/tasks/all?status="
+                            + STATUSES[random.nextInt(STATUSES.length)] + "&priority="
+                            + PRIORITIES[random.nextInt(PRIORITIES.length)] + "&page=0&size=20"))
+                    .header("Authorization", "Bearer " + tokens.get(user))
+                    .GET()));
+        };
+    }
+
+    private boolean createTask(int user, SplittableRandom random) throws IOException, InterruptedException {
+        HttpResponse<String> response = post("/api/tasks", tokens.get(user), Map.of(
+                "title", "Задача нагрузочного теста " + random.nextInt(100_000),
+                "description", "Описание задачи нагрузочного теста",
+                "status", STATUSES[random.nextInt(STATUSES.length)].name(),
+                "priority", PRIORITIES[random.nextInt(PRIORITIES.length)].name()));
+        if (!isSuccess(response)) {
+            return false;
+        }
+        JsonNode task = objectMapper.readTree(response.body());
+        int slot = (int) (createdTasks.getAndIncrement() % TASK_POOL_SIZE);
+        taskIds.set(slot, task.path("id").asLong());
+        taskOwners.set(slot, user);
+        return true;
+    }
+
+    private int randomTaskSlot(SplittableRandom random) {
+        return random.nextInt((int) Math.min(createdTasks.get(), TASK_POOL_SIZE));
+    }
+
+    private HttpResponse<String> post(String path, String token, Object body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return send(request);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static boolean isSuccess(HttpResponse<String> response) {
+        return response.statusCode() / 100 == 2;
+    }
+}
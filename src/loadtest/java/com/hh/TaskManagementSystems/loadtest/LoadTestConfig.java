@@ -0,0 +1,49 @@
+package com.hh.TaskManagementSystems.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Параметры нагрузочного теста, читаются из системных свойств {@code loadtest.*}.
+ *
+ * @param baseUrl  адрес уже запущенного приложения; если пустой, приложение запускается в том же процессе
+ * @param embedded запускать встроенный PostgreSQL вместо подключения по {@code SPRING_DATASOURCE_URL}
+ * @param rate     интенсивность поступления запросов, запросов в секунду
+ * @param warmup   длительность прогрева, результаты которого не учитываются
+ * @param duration длительность измерения
+ * @param users    количество заранее зарегистрированных пользователей
+ * @param mix      смесь операций
+ * @param seed     начальное значение генератора случайных чисел
+ * @param report   каталог для отчетов
+ */
+public record LoadTestConfig(
+        String baseUrl,
+        boolean embedded,
+        int rate,
+        Duration warmup,
+        Duration duration,
+        int users,
+        WorkloadMix mix,
+        long seed,
+        Path report
+) {
+
+    /**
+     * Читает параметры из системных свойств.
+     *
+     * @return параметры нагрузочного теста
+     */
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                System.getProperty("loadtest.base-url", ""),
+                Boolean.parseBoolean(System.getProperty("loadtest.embedded", "false")),
+                Integer.parseInt(System.getProperty("loadtest.rate", "50")),
+                Duration.ofSeconds(Long.parseLong(System.getProperty("loadtest.warmup", "10"))),
+                Duration.ofSeconds(Long.parseLong(System.getProperty("loadtest.duration", "60"))),
+                Integer.parseInt(System.getProperty("loadtest.users", "50")),
+                WorkloadMix.parse(System.getProperty("loadtest.mix",
+                        "register:2,login:8,create:15,status:15,comment:20,list:40")),
+                Long.parseLong(System.getProperty("loadtest.seed", "42")),
+                Path.of(System.getProperty("loadtest.report", "target/loadtest")));
+    }
+}
@@ -0,0 +1,44 @@
+package com.hh.TaskManagementSystems.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Операции нагрузочного сценария.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Operation {
+    REGISTER("register", "POST /auth/registration"),
+    LOGIN("login", "POST /auth/login"),
+    CREATE_TASK("create", "POST /api/tasks"),
+    UPDATE_STATUS("status", "PUT /api/tasks/{id}/update-status"),
+    POST_COMMENT("comment", "POST /api/tasks/{taskId}/comments"),
+    LIST_TASKS("list", "GET /api/tasks/all");
+
+    /**
+     * Короткое имя операции в описании смеси нагрузки.
+     */
+    private final String key;
+
+    /**
+     * Эндпоинт, который вызывает операция.
+     */
+    private final String endpoint;
+
+    /**
+     * Находит операцию по короткому имени.
+     *
+     * @param key короткое имя операции
+     * @return операция
+     * @throws IllegalArgumentException если операция с таким именем не существует
+     */
+    public static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестная операция: " + key);
+    }
+}
@@ -0,0 +1,58 @@
+package com.hh.TaskManagementSystems.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Статистика одной операции: гистограммы времени отклика и времени обслуживания и количество ошибок.
+ *
+ * <p>Время отклика считается от запланированного момента отправки запроса, поэтому включает ожидание, если клиент
+ * или сервер не успевают за заданной интенсивностью (коррекция coordinated omission). Время обслуживания считается
+ * от фактической отправки.</p>
+ */
+public class OperationStats {
+
+    private final Recorder responseTime = new Recorder(3);
+    private final Recorder serviceTime = new Recorder(3);
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Учитывает выполненный запрос.
+     *
+     * @param intendedStart запланированный момент отправки, нс
+     * @param actualStart   фактический момент отправки, нс
+     * @param end           момент получения ответа, нс
+     * @param success       запрос завершился успешно
+     */
+    public void record(long intendedStart, long actualStart, long end, boolean success) {
+        responseTime.recordValue(end - intendedStart);
+        serviceTime.recordValue(end - actualStart);
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Возвращает гистограмму времени отклика, накопленную с прошлого вызова.
+     *
+     * @return гистограмма, нс
+     */
+    public Histogram responseTime() {
+        return responseTime.getIntervalHistogram();
+    }
+
+    /**
+     * Возвращает гистограмму времени обслуживания, накопленную с прошлого вызова.
+     *
+     * @return гистограмма, нс
+     */
+    public Histogram serviceTime() {
+        return serviceTime.getIntervalHistogram();
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+}
@@ -0,0 +1,83 @@
+package com.hh.TaskManagementSystems.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Взвешенная смесь операций нагрузочного сценария.
+ *
+ * <p>Задается строкой вида {@code register:2,login:8,create:15,status:15,comment:20,list:40}, веса не обязаны
+ * давать в сумме 100.</p>
+ */
+public class WorkloadMix {
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    private WorkloadMix(Map<Operation, Integer> weights) {
+        this.operations = weights.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Сумма весов операций должна быть положительной");
+        }
+        this.totalWeight = total;
+    }
+
+    /**
+     * Разбирает описание смеси нагрузки.
+     *
+     * @param mix строка вида {@code operation:weight,...}
+     * @return смесь нагрузки
+     */
+    public static WorkloadMix parse(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Неправильный элемент смеси нагрузки: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.merge(Operation.fromKey(parts[0].trim()), weight, Integer::sum);
+            }
+        }
+        return new WorkloadMix(weights);
+    }
+
+    /**
+     * Выбирает следующую операцию пропорционально весам.
+     *
+     * @param random генератор случайных чисел
+     * @return операция
+     */
+    public Operation next(RandomGenerator random) {
+        int value = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        int previous = 0;
+        for (int i = 0; i < operations.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(operations[i].getKey()).append(':').append(cumulativeWeights[i] - previous);
+            previous = cumulativeWeights[i];
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,56 @@
+package com.hh.TaskManagementSystems.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.lang.NonNull;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Счетчик сущностей, загруженных Hibernate при обработке одного HTTP-запроса.
+ *
+ * <p>Как слушатель {@link PostLoadEvent} увеличивает счетчик в атрибутах текущего запроса, а как
+ * {@link HandlerInterceptor} по завершении запроса записывает накопленное значение в метрику
+ * {@code hibernate.request.entity.loads} с шаблоном URI в теге. Загрузки вне HTTP-запроса не учитываются.</p>
+ */
+@RequiredArgsConstructor
+public class EntityLoadCounter implements PostLoadEventListener, HandlerInterceptor {
+
+    private static final String COUNTER_ATTRIBUTE = EntityLoadCounter.class.getName() + ".COUNT";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        int[] count = (int[]) attributes.getAttribute(COUNTER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (count == null) {
+            attributes.setAttribute(COUNTER_ATTRIBUTE, new int[]{1}, RequestAttributes.SCOPE_REQUEST);
+        } else {
+            count[0]++;
+        }
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        int[] count = (int[]) request.getAttribute(COUNTER_ATTRIBUTE);
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("hibernate.request.entity.loads")
+                .description("Количество сущностей, загруженных за один HTTP-запрос")
+                .baseUnit("entities")
+                .tag("uri", uri != null ? uri.toString() : "UNKNOWN")
+                .register(meterRegistry)
+                .record(count != null ? count[0] : 0);
+    }
+}
@@ -2,6 +2,7 @@ package com.hh.TaskManagementSystems.config;
 
 import com.hh.TaskManagementSystems.exception.NotEnoughRightsException;
 import com.hh.TaskManagementSystems.exception.NotFoundException;
+import com.hh.TaskManagementSystems.exception.UnknownTaskFieldException;
 import com.hh.TaskManagementSystems.exception.UserAlreadyExistException;
 import com.hh.TaskManagementSystems.exception.WrongJwtException;
 import org.springframework.context.MessageSourceResolvable;
@@ -42,6 +43,18 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     public ProblemDetail handleControllerException(RuntimeException e) {
         return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
     }
+
+    /**
+     * Обрабатывает исключение {@link UnknownTaskFieldException}, возникающее при неизвестном имени поля
+     * в параметре {@code fields}.
+     *
+     * @param e исключение с именем неизвестного поля
+     * @return объект {@link ProblemDetail} с деталями ошибки и статусом 400
+     */
+    @ExceptionHandler(UnknownTaskFieldException.class)
+    public ProblemDetail handleUnknownTaskField(UnknownTaskFieldException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
     
 
     /**
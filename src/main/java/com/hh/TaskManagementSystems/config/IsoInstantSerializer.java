@@ -0,0 +1,73 @@
+package com.hh.TaskManagementSystems.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Сериализатор {@link Instant} в строку ISO-8601 вида {@code yyyy-MM-ddTHH:mm:ss.SSSZ}.
+ *
+ * <p>В отличие от стандартного {@code InstantSerializer}, не использует {@code DateTimeFormatter}
+ * и не строит промежуточных строк: дата вычисляется арифметически из количества дней с начала эпохи
+ * и записывается в генератор напрямую из массива символов. Точность — миллисекунды.</p>
+ *
+ * <p>Для лет вне диапазона 0000–9999 используется {@link Instant#toString()}.</p>
+ */
+public class IsoInstantSerializer extends StdSerializer<Instant> {
+
+    private static final int LENGTH = 24;
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    public IsoInstantSerializer() {
+        super(Instant.class);
+    }
+
+    @Override
+    public void serialize(Instant value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        long epochDay = Math.floorDiv(value.getEpochSecond(), SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(value.getEpochSecond(), SECONDS_PER_DAY);
+
+        // Преобразование дня эпохи в григорианскую дату (алгоритм civil_from_days Говарда Хиннанта)
+        long z = epochDay + 719_468;
+        long era = (z >= 0 ? z : z - 146_096) / 146_097;
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long monthIndex = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * monthIndex + 2) / 5 + 1);
+        int month = (int) (monthIndex < 10 ? monthIndex + 3 : monthIndex - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        if (year < 0 || year > 9999) {
+            gen.writeString(value.toString());
+            return;
+        }
+
+        char[] buffer = new char[LENGTH];
+        writeDigits(buffer, 0, (int) year, 4);
+        buffer[4] = '-';
+        writeDigits(buffer, 5, month, 2);
+        buffer[7] = '-';
+        writeDigits(buffer, 8, day, 2);
+        buffer[10] = 'T';
+        writeDigits(buffer, 11, secondOfDay / 3600, 2);
+        buffer[13] = ':';
+        writeDigits(buffer, 14, secondOfDay / 60 % 60, 2);
+        buffer[16] = ':';
+        writeDigits(buffer, 17, secondOfDay % 60, 2);
+        buffer[19] = '.';
+        writeDigits(buffer, 20, value.getNano() / 1_000_000, 3);
+        buffer[23] = 'Z';
+        gen.writeString(buffer, 0, LENGTH);
+    }
+
+    private static void writeDigits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
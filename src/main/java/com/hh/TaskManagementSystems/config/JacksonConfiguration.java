@@ -0,0 +1,60 @@
+package com.hh.TaskManagementSystems.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.hh.TaskManagementSystems.dto.TaskDto;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Instant;
+
+/**
+ * Конфигурация сериализации JSON.
+ *
+ * <p>Регистрирует {@link BlackbirdModule}, который заменяет рефлексивный доступ к свойствам DTO
+ * на сгенерированные через {@code LambdaMetafactory} аксессоры. Spring Boot автоматически подключает
+ * все бины типа {@link Module} к основному {@code ObjectMapper}.</p>
+ *
+ * <p>Также подключает {@link IsoInstantSerializer} для записи {@link Instant} в ISO-8601 без промежуточных строк
+ * и регистрирует фильтр полей {@link TaskDto} по умолчанию.</p>
+ */
+@Configuration
+public class JacksonConfiguration {
+
+    /**
+     * Создает модуль Blackbird для ускоренной (де)сериализации.
+     *
+     * @return модуль Jackson Blackbird
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * Создает модуль с сериализатором {@link Instant} в ISO-8601.
+     *
+     * @return модуль Jackson с {@link IsoInstantSerializer}
+     */
+    @Bean
+    public Module isoInstantModule() {
+        return new SimpleModule("IsoInstantModule").addSerializer(Instant.class, new IsoInstantSerializer());
+    }
+
+    /**
+     * Регистрирует фильтр {@link TaskDto#FIELDS_FILTER}, который по умолчанию сериализует все поля.
+     *
+     * <p>Ограниченный набор полей подставляется для конкретного ответа в {@link TaskFieldsResponseBodyAdvice}.</p>
+     *
+     * @return настройка {@code ObjectMapper}
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer taskFieldsFilterCustomizer() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .addFilter(TaskDto.FIELDS_FILTER, SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
@@ -1,5 +1,7 @@
 package com.hh.TaskManagementSystems.config;
 
+import com.hh.TaskManagementSystems.jfr.UserResolutionEvent;
+import com.hh.TaskManagementSystems.model.User;
 import com.hh.TaskManagementSystems.service.JwtService;
 import com.hh.TaskManagementSystems.service.UserService;
 import jakarta.servlet.FilterChain;
@@ -73,9 +75,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String email = jwtService.extractEmail(jwt);
 
         if (StringUtils.isNotEmpty(email) && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userService
-                    .userDetailsService()
-                    .loadUserByUsername(email);
+            UserResolutionEvent resolutionEvent = new UserResolutionEvent();
+            resolutionEvent.begin();
+            UserDetails userDetails = null;
+            try {
+                userDetails = userService
+                        .userDetailsService()
+                        .loadUserByUsername(email);
+                resolutionEvent.found = true;
+            } finally {
+                resolutionEvent.end();
+                if (resolutionEvent.shouldCommit()) {
+                    if (userDetails instanceof User user) {
+                        resolutionEvent.userId = user.getId();
+                    }
+                    resolutionEvent.commit();
+                }
+            }
 
             if (jwtService.isTokenValid(jwt, userDetails)) {
                 SecurityContext context = SecurityContextHolder.createEmptyContext();
@@ -0,0 +1,65 @@
+package com.hh.TaskManagementSystems.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Конфигурация метрик приложения, дополняющих стандартные метрики Actuator.
+ *
+ * <p>Регистрирует {@link EntityLoadCounter} одновременно как слушатель загрузки сущностей Hibernate и как
+ * перехватчик Spring MVC. Задержки эндпоинтов, методов репозиториев, пула соединений Hikari и статистика
+ * Hibernate публикуются автоконфигурацией Actuator, их гистограммы настраиваются в {@code application.yml}.</p>
+ */
+@Configuration
+public class MetricsConfiguration implements WebMvcConfigurer {
+
+    private final EntityLoadCounter entityLoadCounter;
+
+    public MetricsConfiguration(MeterRegistry meterRegistry) {
+        this.entityLoadCounter = new EntityLoadCounter(meterRegistry);
+    }
+
+    /**
+     * Добавляет {@link EntityLoadCounter} в слушатели события загрузки сущностей Hibernate.
+     *
+     * @return настройка свойств Hibernate с провайдером интеграторов
+     */
+    @Bean
+    public HibernatePropertiesCustomizer entityLoadCounterCustomizer() {
+        Integrator integrator = new Integrator() {
+            @Override
+            public void integrate(@NonNull Metadata metadata, @NonNull BootstrapContext bootstrapContext,
+                                  @NonNull SessionFactoryImplementor sessionFactory) {
+                sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class)
+                        .appendListeners(EventType.POST_LOAD, entityLoadCounter);
+            }
+
+            @Override
+            public void disintegrate(@NonNull SessionFactoryImplementor sessionFactory,
+                                     @NonNull SessionFactoryServiceRegistry serviceRegistry) {
+            }
+        };
+        return properties -> properties.put("hibernate.integrator_provider",
+                (IntegratorProvider) () -> List.of(integrator));
+    }
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(entityLoadCounter);
+    }
+}
@@ -0,0 +1,69 @@
+package com.hh.TaskManagementSystems.config;
+
+import jakarta.servlet.ServletRequest;
+import lombok.Getter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Статистика SQL-запросов, выполненных при обработке одного HTTP-запроса.
+ *
+ * <p>Хранится в атрибуте запроса {@link #ATTRIBUTE} и заполняется {@link SqlProfilerListener}.</p>
+ */
+@Getter
+public class QueryStatistics {
+
+    /**
+     * Имя атрибута HTTP-запроса, в котором хранится статистика.
+     */
+    public static final String ATTRIBUTE = QueryStatistics.class.getName();
+
+    /**
+     * Количество выполненных SQL-выражений. Пакет выражений считается одним выполнением.
+     */
+    private int count;
+
+    /**
+     * Суммарное время выполнения SQL-выражений в миллисекундах.
+     */
+    private long elapsedMillis;
+
+    /**
+     * Учитывает одно выполнение SQL-выражения.
+     *
+     * @param elapsedMillis время выполнения в миллисекундах
+     */
+    public synchronized void record(long elapsedMillis) {
+        this.count++;
+        this.elapsedMillis += elapsedMillis;
+    }
+
+    /**
+     * Возвращает статистику текущего HTTP-запроса, создавая ее при первом обращении.
+     *
+     * @return статистика или {@code null}, если текущий поток не обрабатывает HTTP-запрос
+     */
+    public static QueryStatistics current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        QueryStatistics statistics = (QueryStatistics) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (statistics == null) {
+            statistics = new QueryStatistics();
+            attributes.setAttribute(ATTRIBUTE, statistics, RequestAttributes.SCOPE_REQUEST);
+        }
+        return statistics;
+    }
+
+    /**
+     * Возвращает статистику указанного HTTP-запроса.
+     *
+     * @param request HTTP-запрос
+     * @return статистика запроса или пустая статистика, если запросов к базе данных не было
+     */
+    public static QueryStatistics of(ServletRequest request) {
+        QueryStatistics statistics = (QueryStatistics) request.getAttribute(ATTRIBUTE);
+        return statistics != null ? statistics : new QueryStatistics();
+    }
+}
@@ -0,0 +1,68 @@
+package com.hh.TaskManagementSystems.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Фильтр, добавляющий в ответ заголовки {@code X-Query-Count} и {@code X-DB-Time} со статистикой SQL-запросов.
+ *
+ * <p>Включается только в профиле {@code dev}. Заголовки устанавливаются непосредственно перед фиксацией ответа,
+ * поэтому учитываются запросы, выполненные до начала записи тела.</p>
+ */
+@Component
+@Profile("dev")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryStatisticsHeaderFilter extends OncePerRequestFilter {
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String DB_TIME_HEADER = "X-DB-Time";
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        QueryStatistics statistics = new QueryStatistics();
+        request.setAttribute(QueryStatistics.ATTRIBUTE, statistics);
+
+        HeaderWritingResponse wrapper = new HeaderWritingResponse(response, statistics);
+        filterChain.doFilter(request, wrapper);
+        if (!response.isCommitted()) {
+            wrapper.onResponseCommitted();
+        }
+    }
+
+    /**
+     * Обертка ответа, записывающая заголовки статистики один раз перед фиксацией ответа.
+     */
+    private static final class HeaderWritingResponse extends OnCommittedResponseWrapper {
+        private final QueryStatistics statistics;
+
+        private HeaderWritingResponse(HttpServletResponse response, QueryStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            if (isDisableOnResponseCommitted()) {
+                return;
+            }
+            disableOnResponseCommitted();
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            response.setHeader(QUERY_COUNT_HEADER, String.valueOf(statistics.getCount()));
+            response.setHeader(DB_TIME_HEADER, String.valueOf(statistics.getElapsedMillis()));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.hh.TaskManagementSystems.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Включает периодические задачи {@code @Scheduled}, например возврат в очередь задач с истекшей арендой.
+ *
+ * <p>Размер пула планировщика ({@code spring.task.scheduling.pool.size}) равен количеству периодических задач,
+ * поэтому долгая сверка счетчиков или архивация не задерживают доставку уведомлений и другие задачи. При добавлении
+ * новой периодической задачи пул нужно увеличить.</p>
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
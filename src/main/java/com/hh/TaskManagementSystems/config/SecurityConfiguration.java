@@ -1,6 +1,8 @@
 package com.hh.TaskManagementSystems.config;
 
+import com.hh.TaskManagementSystems.model.Role;
 import com.hh.TaskManagementSystems.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -35,6 +37,8 @@ import static org.springframework.security.config.http.SessionCreationPolicy.STA
  *   <li>Настройку авторизации для различных URL-шаблонов и ролей.</li>
  *   <li>Настройку аутентификации с использованием JWT и BCrypt.</li>
  *   <li>Настройку фильтра JWT для проверки токенов.</li>
+ *   <li>Открытый доступ к проверке состояния и метрикам Prometheus, остальные эндпоинты Actuator только для
+ *       администраторов.</li>
  * </ul>
  * </p>
  */
@@ -45,6 +49,7 @@ import static org.springframework.security.config.http.SessionCreationPolicy.STA
 public class SecurityConfiguration {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final UserService userService;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Создает {@link SecurityFilterChain} для настройки безопасности HTTP-запросов.
@@ -70,6 +75,9 @@ public class SecurityConfiguration {
                 .authorizeHttpRequests(request -> request
                         .requestMatchers("/auth/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/swagger-resources/*", "/v3/api-docs/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority(Role.ADMIN.name())
+                        .requestMatchers("/api/tasks/search/rebuild").hasAuthority(Role.ADMIN.name())
                         .anyRequest().authenticated())
                 .sessionManagement(manager -> manager.sessionCreationPolicy(STATELESS))
                 .authenticationProvider(authenticationProvider())
@@ -80,13 +88,14 @@ public class SecurityConfiguration {
     /**
      * Создает {@link PasswordEncoder} для хеширования паролей.
      *
-     * <p>Этот метод настраивает {@link PasswordEncoder} для использования алгоритма BCrypt.</p>
+     * <p>Этот метод настраивает {@link PasswordEncoder} для использования алгоритма BCrypt и оборачивает его
+     * в {@link TimedPasswordEncoder} для замера времени хеширования.</p>
      *
      * @return {@link PasswordEncoder} для хеширования паролей
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 
     /**
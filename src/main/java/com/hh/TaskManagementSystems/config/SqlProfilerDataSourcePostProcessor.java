@@ -0,0 +1,37 @@
+package com.hh.TaskManagementSystems.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Оборачивает {@link DataSource} приложения в прокси datasource-proxy с {@link SqlProfilerListener}.
+ *
+ * <p>Порог медленного запроса задается свойством {@code sql.profiler.slow-query-threshold-ms}.</p>
+ */
+@Component
+public class SqlProfilerDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final long slowQueryThresholdMillis;
+
+    public SqlProfilerDataSourcePostProcessor(
+            @Value("${sql.profiler.slow-query-threshold-ms:200}") long slowQueryThresholdMillis) {
+        this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(new SqlProfilerListener(slowQueryThresholdMillis))
+                    .build();
+        }
+        return bean;
+    }
+}
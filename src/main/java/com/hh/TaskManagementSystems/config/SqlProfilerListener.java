@@ -0,0 +1,63 @@
+package com.hh.TaskManagementSystems.config;
+
+import com.hh.TaskManagementSystems.model.User;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Слушатель выполнения SQL-выражений, подключаемый через datasource-proxy.
+ *
+ * <p>Учитывает каждое выполнение в {@link QueryStatistics} текущего HTTP-запроса и логирует выражения,
+ * выполнявшиеся дольше порога, вместе с эндпоинтом и идентификатором пользователя.</p>
+ */
+@Slf4j
+public class SqlProfilerListener implements QueryExecutionListener {
+
+    private final long slowQueryThresholdMillis;
+
+    public SqlProfilerListener(long slowQueryThresholdMillis) {
+        this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        QueryStatistics statistics = QueryStatistics.current();
+        if (statistics != null) {
+            statistics.record(execInfo.getElapsedTime());
+        }
+
+        if (execInfo.getElapsedTime() >= slowQueryThresholdMillis) {
+            log.warn("Медленный SQL-запрос {} мс, эндпоинт: {}, пользователь: {}, запрос: {}",
+                    execInfo.getElapsedTime(), currentEndpoint(), currentUserId(),
+                    queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; ")));
+        }
+    }
+
+    private static String currentEndpoint() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getMethod() + " " + attributes.getRequest().getRequestURI();
+        }
+        return "-";
+    }
+
+    private static Object currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        return "-";
+    }
+}
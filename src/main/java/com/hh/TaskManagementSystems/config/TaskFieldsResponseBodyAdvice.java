@@ -0,0 +1,85 @@
+package com.hh.TaskManagementSystems.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.hh.TaskManagementSystems.controller.TaskController;
+import com.hh.TaskManagementSystems.dto.PageDto;
+import com.hh.TaskManagementSystems.dto.TaskDto;
+import com.hh.TaskManagementSystems.model.TaskField;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Ограничивает набор полей {@link TaskDto} в ответах {@link TaskController} согласно параметру {@code fields}.
+ *
+ * <p>Если параметр не указан, используется фильтр по умолчанию из {@link JacksonConfiguration},
+ * который сериализует все поля. Фильтр применяется только к ответам, содержащим {@link TaskDto}:
+ * одиночной задаче, списку задач или {@link PageDto} задач.</p>
+ */
+@RestControllerAdvice(assignableTypes = TaskController.class)
+public class TaskFieldsResponseBodyAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    public static final String FIELDS_PARAMETER = "fields";
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType,
+                            @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return super.supports(returnType, converterType) && isTaskBody(returnType);
+    }
+
+    private static boolean isTaskBody(MethodParameter returnType) {
+        ResolvableType type = ResolvableType.forMethodParameter(returnType);
+        if (HttpEntity.class.isAssignableFrom(type.toClass())) {
+            type = type.as(HttpEntity.class).getGeneric(0);
+        }
+        if (Collection.class.isAssignableFrom(type.toClass())) {
+            type = type.as(Collection.class).getGeneric(0);
+        } else if (PageDto.class.isAssignableFrom(type.toClass())) {
+            type = type.as(PageDto.class).getGeneric(0);
+        }
+        return TaskDto.class.isAssignableFrom(type.toClass());
+    }
+
+    @Override
+    protected void beforeBodyWriteInternal(@NonNull MappingJacksonValue bodyContainer,
+                                           @NonNull MediaType contentType,
+                                           @NonNull MethodParameter returnType,
+                                           @NonNull ServerHttpRequest request,
+                                           @NonNull ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        String[] values = servletRequest.getServletRequest().getParameterValues(FIELDS_PARAMETER);
+        if (values == null) {
+            return;
+        }
+
+        Set<String> fields = Arrays.stream(values)
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .map(name -> TaskField.fromJsonName(name).getJsonName())
+                .collect(Collectors.toSet());
+        if (fields.isEmpty()) {
+            return;
+        }
+
+        bodyContainer.setFilters(new SimpleFilterProvider()
+                .addFilter(TaskDto.FIELDS_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+    }
+}
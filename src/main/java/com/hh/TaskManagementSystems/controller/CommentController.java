@@ -1,12 +1,12 @@
 package com.hh.TaskManagementSystems.controller;
 
 import com.hh.TaskManagementSystems.dto.CommentDto;
+import com.hh.TaskManagementSystems.dto.PageDto;
 import com.hh.TaskManagementSystems.service.CommentService;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -29,13 +29,22 @@ public class CommentController {
         return ResponseEntity.ok(commentService.saveComment(taskId, commentDto));
     }
 
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Удалить комментарий")
+    public ResponseEntity<Void> deleteComment(
+            @PathVariable @Positive(message = "Id не может быть меньше 1") Long taskId,
+            @PathVariable @Positive(message = "Id не может быть меньше 1") Long id) {
+        commentService.deleteComment(taskId, id);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/all")
     @Operation(summary = "Получить комментарии по id задачи")
-    public Page<CommentDto> getCommentsForTask(@PathVariable Long taskId,
-                                               @RequestParam(defaultValue = "0") Integer page,
-                                               @RequestParam(defaultValue = "10") Integer size,
-                                               @RequestParam(defaultValue = "id") String sortBy) {
+    public PageDto<CommentDto> getCommentsForTask(@PathVariable Long taskId,
+                                                  @RequestParam(defaultValue = "0") Integer page,
+                                                  @RequestParam(defaultValue = "10") Integer size,
+                                                  @RequestParam(defaultValue = "id") String sortBy) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy));
-        return commentService.getCommentsByTaskId(taskId, pageable);
+        return PageDto.of(commentService.getCommentsByTaskId(taskId, pageable));
     }
 }
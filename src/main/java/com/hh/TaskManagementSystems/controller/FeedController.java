@@ -0,0 +1,41 @@
+package com.hh.TaskManagementSystems.controller;
+
+import com.hh.TaskManagementSystems.dto.FeedPageDto;
+import com.hh.TaskManagementSystems.service.ActivityFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/feed")
+@RequiredArgsConstructor
+public class FeedController {
+
+    /**
+     * Максимальное количество записей ленты в ответе.
+     */
+    private static final int MAX_FEED_LIMIT = 100;
+
+    private final ActivityFeedService activityFeedService;
+
+    @GetMapping
+    @Operation(summary = "Получить ленту изменений задач текущего пользователя как автора и исполнителя")
+    public ResponseEntity<FeedPageDto> getFeed(
+            @Parameter(description = "Курсор из предыдущего ответа; без курсора — последние записи")
+            @RequestParam(required = false)
+            @Positive(message = "Курсор не может быть меньше 1") Long cursor,
+            @RequestParam(defaultValue = "20")
+            @Min(value = 1, message = "Количество записей не может быть меньше 1")
+            @Max(value = MAX_FEED_LIMIT, message = "Количество записей не может быть больше " + MAX_FEED_LIMIT)
+            Integer limit) {
+        return ResponseEntity.ok(activityFeedService.getFeed(cursor, limit));
+    }
+}
@@ -1,33 +1,94 @@
 package com.hh.TaskManagementSystems.controller;
 
+import com.hh.TaskManagementSystems.dto.AuditEventDto;
+import com.hh.TaskManagementSystems.dto.PageDto;
+import com.hh.TaskManagementSystems.dto.TaskAnalyticsDto;
+import com.hh.TaskManagementSystems.dto.TaskBatchDto;
+import com.hh.TaskManagementSystems.dto.TaskBatchRequestDto;
+import com.hh.TaskManagementSystems.dto.TaskBoardColumnDto;
+import com.hh.TaskManagementSystems.dto.TaskBoardDto;
 import com.hh.TaskManagementSystems.dto.TaskDto;
+import com.hh.TaskManagementSystems.dto.TaskFacetsDto;
+import com.hh.TaskManagementSystems.dto.TaskFilterDto;
+import com.hh.TaskManagementSystems.dto.TaskTreeDto;
+import com.hh.TaskManagementSystems.model.TaskField;
+import com.hh.TaskManagementSystems.model.TaskSortKey;
 import com.hh.TaskManagementSystems.model.TaskPriority;
 import com.hh.TaskManagementSystems.model.TaskStatus;
+import com.hh.TaskManagementSystems.model.TimeBucket;
+import com.hh.TaskManagementSystems.service.TaskAnalyticsService;
+import com.hh.TaskManagementSystems.service.AuditLogService;
 import com.hh.TaskManagementSystems.service.CommentService;
+import com.hh.TaskManagementSystems.service.TaskBoardService;
+import com.hh.TaskManagementSystems.service.TaskClaimService;
+import com.hh.TaskManagementSystems.service.TaskFacetService;
+import com.hh.TaskManagementSystems.service.TaskHierarchyService;
+import com.hh.TaskManagementSystems.service.TaskSearchService;
 import com.hh.TaskManagementSystems.service.TaskService;
 import com.hh.TaskManagementSystems.validator.EnumValid;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/tasks")
 @RequiredArgsConstructor
 public class TaskController {
 
+    /**
+     * Максимальное количество идентификаторов в GET-запросе пакетного получения задач.
+     */
+    private static final int MAX_BATCH_GET_IDS = 100;
+
+    /**
+     * Максимальное количество последних комментариев в превью для каждой задачи.
+     */
+    private static final int MAX_COMMENT_PREVIEW = 20;
+
+    /**
+     * Максимальные номер и размер страницы полнотекстового поиска: не более 10 000 результатов на запрос.
+     */
+    private static final int MAX_SEARCH_PAGE = 99;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
+    /**
+     * Максимальное количество задач в колонке доски за один запрос.
+     */
+    private static final int MAX_BOARD_COLUMN_SIZE = 100;
+
+    /**
+     * Максимальный размер страницы истории изменений задачи.
+     */
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
     private final TaskService taskService;
     private final CommentService commentService;
+    private final TaskSearchService taskSearchService;
+    private final TaskFacetService taskFacetService;
+    private final TaskClaimService taskClaimService;
+    private final TaskHierarchyService taskHierarchyService;
+    private final TaskBoardService taskBoardService;
+    private final TaskAnalyticsService taskAnalyticsService;
+    private final AuditLogService auditLogService;
 
     @PostMapping
     @Operation(summary = "Создать задачу")
@@ -46,8 +107,7 @@ public class TaskController {
     @Operation(summary = "Изменить статус задачи")
     public ResponseEntity<TaskDto> updateTaskStatus(
             @PathVariable @Positive(message = "Id не может быть меньше 1") Long id,
-            @EnumValid(enumClass = TaskStatus.class, message = "Неправильный статус задачи")
-            @NotBlank(message = "Статус не может быть пустым")
+            @NotNull(message = "Статус не может быть пустым")
             @RequestBody TaskStatus taskStatus) {
         return ResponseEntity.ok(taskService.updateStatus(id, taskStatus));
     }
@@ -72,34 +132,255 @@ public class TaskController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/claim")
+    @Operation(summary = "Взять в работу следующую задачу из очереди")
+    public ResponseEntity<TaskDto> claimTask(
+            @RequestParam(required = false)
+            @EnumValid(enumClass = TaskPriority.class, message = "Неправильный приоритет задачи") String priority,
+            @RequestParam(required = false)
+            @Size(max = 50, message = "Метка должна содержать до 50 символов") String label) {
+        return taskClaimService.claimNext(priority, label)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @PostMapping("/{id}/heartbeat")
+    @Operation(summary = "Продлить аренду задачи, взятой из очереди")
+    public ResponseEntity<Instant> heartbeat(@PathVariable @Positive(message = "Id не может быть меньше 1") Long id) {
+        return ResponseEntity.ok(taskClaimService.heartbeat(id));
+    }
+
+    @PutMapping("/{id}/parent")
+    @Operation(summary = "Перенести задачу под другую задачу или сделать задачей верхнего уровня")
+    public ResponseEntity<TaskDto> moveTask(
+            @PathVariable @Positive(message = "Id не может быть меньше 1") Long id,
+            @Parameter(description = "Id новой родительской задачи; если не указан, задача становится задачей верхнего "
+                    + "уровня")
+            @RequestParam(required = false) @Positive(message = "Id не может быть меньше 1") Long parentId) {
+        return ResponseEntity.ok(taskService.moveTask(id, parentId));
+    }
+
+    @GetMapping("/{id}/subtree")
+    @Operation(summary = "Получить задачу со всеми подзадачами")
+    public ResponseEntity<TaskTreeDto> getSubtree(
+            @PathVariable @Positive(message = "Id не может быть меньше 1") Long id) {
+        return ResponseEntity.ok(taskHierarchyService.getSubtree(id));
+    }
+
+    @GetMapping("/{id}/ancestors")
+    @Operation(summary = "Получить цепочку родительских задач от задачи верхнего уровня")
+    public ResponseEntity<List<TaskTreeDto>> getAncestors(
+            @PathVariable @Positive(message = "Id не может быть меньше 1") Long id) {
+        return ResponseEntity.ok(taskHierarchyService.getAncestors(id));
+    }
+
     @GetMapping("/created/{email}")
     @Operation(summary = "Получить задачи по автору")
     public ResponseEntity<List<TaskDto>> getCreatedTasks(
-            @PathVariable String email) {
-        return ResponseEntity.ok(taskService.getCreatedTasks(email));
+            @PathVariable String email,
+            @Parameter(description = "Поля задачи в ответе через запятую, например id,title,status,priority")
+            @RequestParam(required = false) Set<TaskField> fields,
+            @Parameter(description = "Количество последних комментариев для каждой задачи")
+            @RequestParam(required = false)
+            @Min(value = 1, message = "Количество комментариев не может быть меньше 1")
+            @Max(value = MAX_COMMENT_PREVIEW, message = "Количество комментариев не может быть больше " + MAX_COMMENT_PREVIEW)
+            Integer commentPreview) {
+        return ResponseEntity.ok(taskService.getCreatedTasks(email, fields, commentPreview));
     }
 
     @GetMapping("/to-complete/{email}")
     @Operation(summary = "Получить задачи по исполнителю")
     public ResponseEntity<List<TaskDto>> getTasksToComplete(
-            @PathVariable String email) {
-        return ResponseEntity.ok(taskService.getTasksToComplete(email));
+            @PathVariable String email,
+            @Parameter(description = "Поля задачи в ответе через запятую, например id,title,status,priority")
+            @RequestParam(required = false) Set<TaskField> fields,
+            @Parameter(description = "Количество последних комментариев для каждой задачи")
+            @RequestParam(required = false)
+            @Min(value = 1, message = "Количество комментариев не может быть меньше 1")
+            @Max(value = MAX_COMMENT_PREVIEW, message = "Количество комментариев не может быть больше " + MAX_COMMENT_PREVIEW)
+            Integer commentPreview) {
+        return ResponseEntity.ok(taskService.getTasksToComplete(email, fields, commentPreview));
     }
 
     @GetMapping("/all")
     @Operation(summary = "Получить все задачи с пагинацией и фильтрацией")
     public ResponseEntity<List<TaskDto>> getAllTasks(
+            @Valid @ParameterObject TaskFilterDto filter,
+            @RequestParam(defaultValue = "0") Integer page,
+            @RequestParam(defaultValue = "10") Integer size,
+            @Parameter(description = "Поле сортировки: id, title, dateCreation, commentCount или lastCommentAt")
+            @RequestParam(defaultValue = "title") TaskSortKey sortBy,
+            @Parameter(description = "Направление сортировки, например DESC вместе с sortBy=commentCount или lastCommentAt")
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @Parameter(description = "Поля задачи в ответе через запятую, например id,title,status,priority")
+            @RequestParam(required = false) Set<TaskField> fields,
+            @Parameter(description = "Количество последних комментариев для каждой задачи")
+            @RequestParam(required = false)
+            @Min(value = 1, message = "Количество комментариев не может быть меньше 1")
+            @Max(value = MAX_COMMENT_PREVIEW, message = "Количество комментариев не может быть больше " + MAX_COMMENT_PREVIEW)
+            Integer commentPreview
+    ) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy.getProperty()));
+        return ResponseEntity.ok(taskService.getAllTasks(filter, fields, commentPreview, pageable));
+
+    }
+
+    @GetMapping("/board")
+    @Operation(summary = "Получить доску задач: колонки по статусам с первыми задачами и количеством задач")
+    public ResponseEntity<TaskBoardDto> getBoard(
+            @Valid @ParameterObject TaskFilterDto filter,
+            @Parameter(description = "Количество задач в каждой колонке")
+            @RequestParam(defaultValue = "20")
+            @Min(value = 1, message = "Количество задач не может быть меньше 1")
+            @Max(value = MAX_BOARD_COLUMN_SIZE, message = "Количество задач не может быть больше "
+                    + MAX_BOARD_COLUMN_SIZE)
+            Integer limit) {
+        return ResponseEntity.ok(taskBoardService.getBoard(filter, limit));
+    }
+
+    @GetMapping("/board/{status}")
+    @Operation(summary = "Получить следующие задачи колонки доски по курсору")
+    public ResponseEntity<TaskBoardColumnDto> getBoardColumn(
+            @PathVariable
+            @EnumValid(enumClass = TaskStatus.class, message = "Неправильный статус задачи") String status,
+            @Valid @ParameterObject TaskFilterDto filter,
+            @Parameter(description = "Курсор nextCursor из предыдущего ответа")
+            @RequestParam @NotBlank(message = "Курсор не может быть пустым") String cursor,
+            @Parameter(description = "Количество задач")
+            @RequestParam(defaultValue = "20")
+            @Min(value = 1, message = "Количество задач не может быть меньше 1")
+            @Max(value = MAX_BOARD_COLUMN_SIZE, message = "Количество задач не может быть больше "
+                    + MAX_BOARD_COLUMN_SIZE)
+            Integer limit) {
+        return ResponseEntity.ok(taskBoardService.getColumn(TaskStatus.valueOf(status), filter, cursor, limit));
+    }
+
+    @GetMapping("/{id}/labels")
+    @Operation(summary = "Получить метки задачи")
+    public ResponseEntity<List<String>> getTaskLabels(
+            @PathVariable @Positive(message = "Id не может быть меньше 1") Long id) {
+        return ResponseEntity.ok(taskService.getLabels(id));
+    }
+
+    @PutMapping("/{id}/labels")
+    @Operation(summary = "Заменить метки задачи")
+    public ResponseEntity<TaskDto> replaceTaskLabels(
+            @PathVariable @Positive(message = "Id не может быть меньше 1") Long id,
+            @RequestBody
+            @NotNull(message = "Список меток не может быть пустым")
+            @Size(max = TaskService.MAX_LABELS, message = "У задачи может быть не более " + TaskService.MAX_LABELS + " меток")
+            List<@NotBlank(message = "Метка не может быть пустой")
+                 @Size(max = 50, message = "Метка должна содержать до 50 символов") String> labels) {
+        return ResponseEntity.ok(taskService.replaceLabels(id, labels));
+    }
+
+    @PostMapping("/{id}/labels/{label}")
+    @Operation(summary = "Добавить метку задаче")
+    public ResponseEntity<TaskDto> addTaskLabel(
+            @PathVariable @Positive(message = "Id не может быть меньше 1") Long id,
+            @PathVariable
+            @NotBlank(message = "Метка не может быть пустой")
+            @Size(max = 50, message = "Метка должна содержать до 50 символов")
+            String label) {
+        return ResponseEntity.ok(taskService.addLabel(id, label));
+    }
+
+    @DeleteMapping("/{id}/labels/{label}")
+    @Operation(summary = "Удалить метку задачи")
+    public ResponseEntity<TaskDto> removeTaskLabel(
+            @PathVariable @Positive(message = "Id не может быть меньше 1") Long id,
+            @PathVariable String label) {
+        return ResponseEntity.ok(taskService.removeLabel(id, label));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Полнотекстовый поиск задач по заголовку, описанию и комментариям")
+    public ResponseEntity<PageDto<TaskDto>> searchTasks(
+            @Parameter(description = "Текст запроса: слова объединяются по И, поддерживаются \"фразы\", префиксы слово*, исключение -слово")
+            @RequestParam
+            @NotBlank(message = "Запрос не может быть пустым")
+            @Size(max = 500, message = "Запрос не может быть длиннее 500 символов")
+            String q,
             @RequestParam(required = false)
             @EnumValid(enumClass = TaskStatus.class, message = "Неправильный статус задачи") String status,
             @RequestParam(required = false)
             @EnumValid(enumClass = TaskPriority.class, message = "Неправильный приоритет задачи") String priority,
-            @RequestParam(defaultValue = "0") Integer page,
-            @RequestParam(defaultValue = "10") Integer size,
-            @RequestParam(defaultValue = "title") String sortBy
-    ) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy));
-        return ResponseEntity.ok(taskService.getAllTasks(status, priority, pageable));
+            @RequestParam(defaultValue = "0")
+            @Min(value = 0, message = "Номер страницы не может быть меньше 0")
+            @Max(value = MAX_SEARCH_PAGE, message = "Номер страницы не может быть больше " + MAX_SEARCH_PAGE)
+            Integer page,
+            @RequestParam(defaultValue = "10")
+            @Min(value = 1, message = "Размер страницы не может быть меньше 1")
+            @Max(value = MAX_SEARCH_PAGE_SIZE, message = "Размер страницы не может быть больше " + MAX_SEARCH_PAGE_SIZE)
+            Integer size) {
+        return ResponseEntity.ok(taskSearchService.search(q, status, priority, page, size));
+    }
+
+    @PostMapping("/search/rebuild")
+    @Operation(summary = "Перестроить полнотекстовый индекс задач по базе данных")
+    public ResponseEntity<Long> rebuildSearchIndex() {
+        return ResponseEntity.ok(taskSearchService.rebuildIndex());
+    }
+
+    @GetMapping("/facets")
+    @Operation(summary = "Получить количества задач по статусу, приоритету и их сочетаниям")
+    public ResponseEntity<TaskFacetsDto> getTaskFacets(
+            @RequestParam(required = false)
+            @Email(message = "Email должен быть в формате example@example.com") String authorEmail,
+            @RequestParam(required = false)
+            @Email(message = "Email должен быть в формате example@example.com") String executorEmail) {
+        return ResponseEntity.ok(taskFacetService.getFacets(authorEmail, executorEmail));
+    }
+
+    @GetMapping("/analytics")
+    @Operation(summary = "Получить процентили времени выполнения и количество завершенных задач по исполнителю "
+            + "и приоритету")
+    public ResponseEntity<TaskAnalyticsDto> getTaskAnalytics(
+            @Parameter(description = "Начало периода включительно, по умолчанию за 30 дней до конца периода",
+                    example = "2024-01-01T00:00:00Z")
+            @RequestParam(required = false) Instant from,
+            @Parameter(description = "Конец периода, не включая, по умолчанию текущий момент",
+                    example = "2024-02-01T00:00:00Z")
+            @RequestParam(required = false) Instant to,
+            @Parameter(description = "Интервал пропускной способности: DAY или WEEK")
+            @RequestParam(defaultValue = "DAY")
+            @EnumValid(enumClass = TimeBucket.class, message = "Неправильный интервал") String bucket,
+            @RequestParam(required = false)
+            @Email(message = "Email должен быть в формате example@example.com") String executorEmail,
+            @RequestParam(required = false)
+            @EnumValid(enumClass = TaskPriority.class, message = "Неправильный приоритет задачи") String priority) {
+        return ResponseEntity.ok(taskAnalyticsService.getAnalytics(from, to, TimeBucket.valueOf(bucket),
+                executorEmail, priority != null ? TaskPriority.valueOf(priority) : null));
+    }
+
+    @GetMapping("/batch")
+    @Operation(summary = "Получить набор задач по id")
+    public ResponseEntity<TaskBatchDto> getTasksBatch(
+            @RequestParam
+            @NotEmpty(message = "Список идентификаторов не может быть пустым")
+            @Size(max = MAX_BATCH_GET_IDS, message = "Можно запросить не более " + MAX_BATCH_GET_IDS + " задач, используйте POST")
+            List<@Positive(message = "Id не может быть меньше 1") Long> ids,
+            @RequestParam(defaultValue = "false") boolean includeComments) {
+        return ResponseEntity.ok(taskService.getTasksByIds(ids, includeComments));
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Получить большой набор задач по id")
+    public ResponseEntity<TaskBatchDto> getTasksBatch(@Valid @RequestBody TaskBatchRequestDto request) {
+        return ResponseEntity.ok(taskService.getTasksByIds(request.ids(), request.includeComments()));
+    }
 
+    @GetMapping("/{id}/history")
+    @Operation(summary = "Получить историю изменений задачи и ее комментариев, начиная с последних")
+    public ResponseEntity<PageDto<AuditEventDto>> getTaskHistory(
+            @PathVariable @Positive(message = "Id не может быть меньше 1") Long id,
+            @RequestParam(defaultValue = "0")
+            @Min(value = 0, message = "Номер страницы не может быть меньше 0") Integer page,
+            @RequestParam(defaultValue = "20")
+            @Min(value = 1, message = "Размер страницы не может быть меньше 1")
+            @Max(value = MAX_HISTORY_PAGE_SIZE, message = "Размер страницы не может быть больше "
+                    + MAX_HISTORY_PAGE_SIZE) Integer size) {
+        return ResponseEntity.ok(auditLogService.getTaskHistory(id, page, size));
     }
 
     @GetMapping("/{id}")
@@ -107,8 +388,10 @@ public class TaskController {
     public ResponseEntity<TaskDto> getTask(@PathVariable @Positive(message = "Id не может быть меньше 1") Long id,
                                            @RequestParam(defaultValue = "0") Integer page,
                                            @RequestParam(defaultValue = "10") Integer size,
-                                           @RequestParam(defaultValue = "dateCreation") String sortBy) {
+                                           @RequestParam(defaultValue = "dateCreation") String sortBy,
+                                           @Parameter(description = "Поля задачи в ответе через запятую, например id,title,comments")
+                                           @RequestParam(required = false) Set<TaskField> fields) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy));
-        return ResponseEntity.ok(taskService.getTaskById(id, pageable));
+        return ResponseEntity.ok(taskService.getTaskById(id, fields, pageable));
     }
 }
@@ -0,0 +1,54 @@
+package com.hh.TaskManagementSystems.controller;
+
+import com.hh.TaskManagementSystems.dto.UserTaskStatsDto;
+import com.hh.TaskManagementSystems.service.UserService;
+import com.hh.TaskManagementSystems.service.UserTaskStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserController {
+
+    /**
+     * Максимальное количество подсказок в ответе автодополнения.
+     */
+    private static final int MAX_AUTOCOMPLETE_LIMIT = 50;
+
+    private final UserService userService;
+    private final UserTaskStatsService userTaskStatsService;
+
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Подсказать email пользователей по префиксу, например для выбора исполнителя")
+    public ResponseEntity<List<String>> autocomplete(
+            @Parameter(description = "Начало email без учета регистра")
+            @RequestParam
+            @NotBlank(message = "Префикс не может быть пустым")
+            @Size(max = 255, message = "Префикс не может быть длиннее 255 символов")
+            String prefix,
+            @RequestParam(defaultValue = "10")
+            @Min(value = 1, message = "Количество подсказок не может быть меньше 1")
+            @Max(value = MAX_AUTOCOMPLETE_LIMIT, message = "Количество подсказок не может быть больше " + MAX_AUTOCOMPLETE_LIMIT)
+            Integer limit) {
+        return ResponseEntity.ok(userService.findEmailsByPrefix(prefix, limit));
+    }
+
+    @GetMapping("/me/stats")
+    @Operation(summary = "Получить количество задач текущего пользователя по статусу и приоритету, как автора и как исполнителя")
+    public ResponseEntity<UserTaskStatsDto> getMyStats() {
+        return ResponseEntity.ok(userTaskStatsService.getCurrentUserStats());
+    }
+}
@@ -2,7 +2,10 @@ package com.hh.TaskManagementSystems.converter;
 
 import com.hh.TaskManagementSystems.dto.CommentDto;
 import com.hh.TaskManagementSystems.exception.NotFoundException;
+import com.hh.TaskManagementSystems.jfr.ConversionEvent;
+import com.hh.TaskManagementSystems.model.ArchivedComment;
 import com.hh.TaskManagementSystems.model.Comment;
+import com.hh.TaskManagementSystems.repository.CommentPreview;
 import com.hh.TaskManagementSystems.repository.TaskRepository;
 import com.hh.TaskManagementSystems.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -12,7 +15,8 @@ import org.springframework.stereotype.Component;
  * Конвертер для преобразования между сущностями {@link Comment} и {@link CommentDto}.
  *
  * <p>Этот компонент предоставляет методы для преобразования данных комментариев между внутренним представлением
- * {@link Comment} и DTO объектами {@link CommentDto} для передачи по сети или отображения на клиенте.</p>
+ * {@link Comment} и DTO объектами {@link CommentDto} для передачи по сети или отображения на клиенте. Долгие
+ * преобразования записываются как события JFR {@link ConversionEvent}.</p>
  */
 @Component
 @RequiredArgsConstructor
@@ -30,16 +34,64 @@ public class CommentConverter {
      * @return {@link CommentDto} представляющий комментарий, или {@code null} если комментарий равен {@code null}
      */
     public CommentDto toDto(Comment comment) {
-        if (comment == null) {
-            return null;
+        ConversionEvent event = ConversionEvent.start();
+        try {
+            if (comment == null) {
+                return null;
+            }
+
+            return CommentDto.builder()
+                    .id(comment.getId())
+                    .body(comment.getBody())
+                    .taskId(comment.getTask().getId())
+                    .authorEmail(comment.getAuthor().getEmail())
+                    .dateCreation(comment.getDateCreation().toInstant())
+                    .build();
+        } finally {
+            event.finish("CommentConverter", "toDto");
+        }
+    }
+
+    /**
+     * Преобразует проекцию {@link CommentPreview} в {@link CommentDto}.
+     *
+     * @param preview проекция комментария
+     * @return {@link CommentDto} представляющий комментарий
+     */
+    public CommentDto toDto(CommentPreview preview) {
+        ConversionEvent event = ConversionEvent.start();
+        try {
+            return CommentDto.builder()
+                    .id(preview.getId())
+                    .body(preview.getBody())
+                    .taskId(preview.getTaskId())
+                    .authorEmail(preview.getAuthorEmail())
+                    .dateCreation(preview.getDateCreation().toInstant())
+                    .build();
+        } finally {
+            event.finish("CommentConverter", "toDto(CommentPreview)");
         }
+    }
 
-        return CommentDto.builder()
-                .body(comment.getBody())
-                .taskId(comment.getTask().getId())
-                .authorEmail(comment.getAuthor().getEmail())
-                .dateCreation(comment.getDateCreation().toString())
-                .build();
+    /**
+     * Преобразует комментарий архивной задачи {@link ArchivedComment} в {@link CommentDto}.
+     *
+     * @param comment комментарий архивной задачи
+     * @return {@link CommentDto} представляющий комментарий
+     */
+    public CommentDto toDto(ArchivedComment comment) {
+        ConversionEvent event = ConversionEvent.start();
+        try {
+            return CommentDto.builder()
+                    .id(comment.getId())
+                    .body(comment.getBody())
+                    .taskId(comment.getTask().getId())
+                    .authorEmail(comment.getAuthor().getEmail())
+                    .dateCreation(comment.getDateCreation().toInstant())
+                    .build();
+        } finally {
+            event.finish("CommentConverter", "toDto(ArchivedComment)");
+        }
     }
 
     /**
@@ -53,16 +105,21 @@ public class CommentConverter {
      * @throws NotFoundException если задача или пользователь не найдены по указанным идентификаторам
      */
     public Comment toEntity(CommentDto commentDto) {
-        if (commentDto == null) {
-            return null;
-        }
+        ConversionEvent event = ConversionEvent.start();
+        try {
+            if (commentDto == null) {
+                return null;
+            }
 
-        return Comment.builder()
-                .body(commentDto.body())
-                .task(taskRepository.findById(commentDto.taskId()).orElseThrow(() -> new NotFoundException("Id")))
-                .author(userRepository.findByEmail(commentDto.authorEmail())
-                        .orElse(null))
-                .build();
+            return Comment.builder()
+                    .body(commentDto.body())
+                    .task(taskRepository.findById(commentDto.taskId()).orElseThrow(() -> new NotFoundException("Id")))
+                    .author(userRepository.findByEmail(commentDto.authorEmail())
+                            .orElse(null))
+                    .build();
+        } finally {
+            event.finish("CommentConverter", "toEntity");
+        }
     }
 
     /**
@@ -77,15 +134,20 @@ public class CommentConverter {
      * @throws NotFoundException если задача или пользователь не найдены по указанным идентификаторам
      */
     public Comment toEntity(CommentDto commentDto, Long taskId) {
-        if (commentDto == null) {
-            return null;
-        }
+        ConversionEvent event = ConversionEvent.start();
+        try {
+            if (commentDto == null) {
+                return null;
+            }
 
-        return Comment.builder()
-                .body(commentDto.body())
-                .task(taskRepository.findById(taskId).orElseThrow(() -> new NotFoundException("Id")))
-                .author(userRepository.findByEmail(commentDto.authorEmail())
-                        .orElse(null))
-                .build();
+            return Comment.builder()
+                    .body(commentDto.body())
+                    .task(taskRepository.findById(taskId).orElseThrow(() -> new NotFoundException("Id")))
+                    .author(userRepository.findByEmail(commentDto.authorEmail())
+                            .orElse(null))
+                    .build();
+        } finally {
+            event.finish("CommentConverter", "toEntity");
+        }
     }
 }
@@ -0,0 +1,21 @@
+package com.hh.TaskManagementSystems.converter;
+
+import com.hh.TaskManagementSystems.model.TaskField;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+/**
+ * Конвертер для преобразования значений параметра {@code fields} в {@link TaskField}.
+ *
+ * <p>Принимает имена полей в том виде, в котором они присутствуют в JSON ({@code executorEmail}),
+ * а не имена констант перечисления. Spring Boot автоматически регистрирует конвертер в Spring MVC.</p>
+ */
+@Component
+public class StringToTaskFieldConverter implements Converter<String, TaskField> {
+
+    @Override
+    public TaskField convert(@NonNull String source) {
+        return TaskField.fromJsonName(source.trim());
+    }
+}
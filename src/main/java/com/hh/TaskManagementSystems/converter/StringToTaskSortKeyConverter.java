@@ -0,0 +1,20 @@
+package com.hh.TaskManagementSystems.converter;
+
+import com.hh.TaskManagementSystems.model.TaskSortKey;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+/**
+ * Конвертер для преобразования параметра {@code sortBy} в {@link TaskSortKey}.
+ *
+ * <p>Принимает имена атрибутов задачи ({@code lastCommentAt}); неизвестное поле приводит к ответу 400.</p>
+ */
+@Component
+public class StringToTaskSortKeyConverter implements Converter<String, TaskSortKey> {
+
+    @Override
+    public TaskSortKey convert(@NonNull String source) {
+        return TaskSortKey.fromProperty(source.trim());
+    }
+}
@@ -1,15 +1,27 @@
 package com.hh.TaskManagementSystems.converter;
 
 import com.hh.TaskManagementSystems.dto.CommentDto;
+import com.hh.TaskManagementSystems.dto.PageDto;
 import com.hh.TaskManagementSystems.dto.TaskDto;
+import com.hh.TaskManagementSystems.dto.TaskTreeDto;
+import com.hh.TaskManagementSystems.jfr.ConversionEvent;
+import com.hh.TaskManagementSystems.model.ArchivedTask;
 import com.hh.TaskManagementSystems.model.Task;
+import com.hh.TaskManagementSystems.model.TaskField;
 import com.hh.TaskManagementSystems.model.TaskPriority;
 import com.hh.TaskManagementSystems.model.TaskStatus;
+import com.hh.TaskManagementSystems.repository.TaskTreeNode;
 import com.hh.TaskManagementSystems.repository.UserRepository;
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
 /**
  * Конвертер для преобразования между сущностями {@link Task} и {@link TaskDto}.
  *
@@ -31,21 +43,7 @@ public class TaskConverter {
      * @return {@link TaskDto} представляющий задачу, или {@code null} если задача равна {@code null}
      */
     public TaskDto toDto(Task task) {
-        if (task == null) {
-            return null;
-        }
-
-        return TaskDto.builder()
-                .id(task.getId())
-                .title(task.getTitle())
-                .description(task.getDescription())
-                .status(task.getStatus() != null ? task.getStatus().name() : null)
-                .priority(task.getPriority() != null ? task.getPriority().name() : null)
-                .executorEmail(task.getExecutor() != null ? task.getExecutor().getEmail() : null)
-                .authorEmail(task.getAuthor().getEmail())
-                .build();
-
-
+        return toDto(task, (PageDto<CommentDto>) null);
     }
 
     /**
@@ -58,22 +56,136 @@ public class TaskConverter {
      * @return {@link TaskDto} представляющий задачу и ее комментарии, или {@code null} если задача равна {@code null}
      */
     public TaskDto toDto(Task task, Page<CommentDto> commentDtoPage) {
-        if (task == null) {
-            return null;
+        return toDto(task, PageDto.of(commentDtoPage));
+    }
+
+    /**
+     * Преобразует сущность {@link Task} в {@link TaskDto} с уже подготовленной страницей комментариев.
+     *
+     * @param task     сущность задачи
+     * @param comments страница с комментариями в виде {@link PageDto}
+     * @return {@link TaskDto} представляющий задачу и ее комментарии, или {@code null} если задача равна {@code null}
+     */
+    public TaskDto toDto(Task task, PageDto<CommentDto> comments) {
+        ConversionEvent event = ConversionEvent.start();
+        try {
+            if (task == null) {
+                return null;
+            }
+
+            return TaskDto.builder()
+                    .id(task.getId())
+                    .title(task.getTitle())
+                    .description(task.getDescription())
+                    .status(task.getStatus() != null ? task.getStatus().name() : null)
+                    .priority(task.getPriority() != null ? task.getPriority().name() : null)
+                    .labels(toList(task.getLabels()))
+                    .executorEmail(task.getExecutor() != null ? task.getExecutor().getEmail() : null)
+                    .authorEmail(task.getAuthor().getEmail())
+                    .parentId(task.getParent() != null ? task.getParent().getId() : null)
+                    .childCount(task.getChildCount())
+                    .completedChildCount(task.getCompletedChildCount())
+                    .dateCreation(toInstant(task.getDateCreation()))
+                    .commentCount(task.getCommentCount())
+                    .lastCommentAt(toInstant(task.getLastCommentAt()))
+                    .leaseExpiresAt(toInstant(task.getLeaseExpiresAt()))
+                    .comments(comments)
+                    .build();
+        } finally {
+            event.finish("TaskConverter", "toDto");
         }
+    }
 
-        return TaskDto.builder()
-                .id(task.getId())
-                .title(task.getTitle())
-                .description(task.getDescription())
-                .status(task.getStatus() != null ? task.getStatus().name() : null)
-                .priority(task.getPriority() != null ? task.getPriority().name() : null)
-                .executorEmail(task.getExecutor() != null ? task.getExecutor().getEmail() : null)
-                .authorEmail(task.getAuthor().getEmail())
-                .comments(commentDtoPage)
-                .build();
+    /**
+     * Преобразует архивную задачу {@link ArchivedTask} в {@link TaskDto} с комментариями. У архивной задачи нет
+     * родителя, подзадач и аренды.
+     *
+     * @param task     архивная задача
+     * @param comments страница с комментариями в виде {@link PageDto}
+     * @return {@link TaskDto} представляющий задачу и ее комментарии
+     */
+    public TaskDto toDto(ArchivedTask task, PageDto<CommentDto> comments) {
+        ConversionEvent event = ConversionEvent.start();
+        try {
+            return TaskDto.builder()
+                    .id(task.getId())
+                    .title(task.getTitle())
+                    .description(task.getDescription())
+                    .status(task.getStatus() != null ? task.getStatus().name() : null)
+                    .priority(task.getPriority() != null ? task.getPriority().name() : null)
+                    .labels(toList(task.getLabels()))
+                    .executorEmail(task.getExecutor() != null ? task.getExecutor().getEmail() : null)
+                    .authorEmail(task.getAuthor() != null ? task.getAuthor().getEmail() : null)
+                    .childCount(0L)
+                    .completedChildCount(0L)
+                    .dateCreation(toInstant(task.getDateCreation()))
+                    .commentCount(task.getCommentCount())
+                    .lastCommentAt(toInstant(task.getLastCommentAt()))
+                    .comments(comments)
+                    .build();
+        } finally {
+            event.finish("TaskConverter", "toDto(ArchivedTask)");
+        }
+    }
 
+    /**
+     * Преобразует кортеж с частью полей задачи в {@link TaskDto}.
+     *
+     * <p>Заполняются только запрошенные поля, остальные остаются {@code null}. Комментарии передаются отдельно
+     * и устанавливаются, только если запрошено поле {@link TaskField#COMMENTS}.</p>
+     *
+     * @param tuple    кортеж, значения в котором доступны по {@link TaskField#getJsonName()}
+     * @param fields   запрошенные поля
+     * @param comments страница с комментариями или {@code null}
+     * @return {@link TaskDto} с запрошенными полями
+     */
+    public TaskDto toDto(Tuple tuple, Set<TaskField> fields, PageDto<CommentDto> comments) {
+        ConversionEvent event = ConversionEvent.start();
+        try {
+            TaskDto.TaskDtoBuilder builder = TaskDto.builder();
+            for (TaskField field : fields) {
+                switch (field) {
+                    case ID -> builder.id(tuple.get(field.getJsonName(), Long.class));
+                    case TITLE -> builder.title(tuple.get(field.getJsonName(), String.class));
+                    case DESCRIPTION -> builder.description(tuple.get(field.getJsonName(), String.class));
+                    case STATUS -> {
+                        TaskStatus status = tuple.get(field.getJsonName(), TaskStatus.class);
+                        builder.status(status != null ? status.name() : null);
+                    }
+                    case PRIORITY -> {
+                        TaskPriority priority = tuple.get(field.getJsonName(), TaskPriority.class);
+                        builder.priority(priority != null ? priority.name() : null);
+                    }
+                    case LABELS -> builder.labels(toList(tuple.get(field.getJsonName(), String[].class)));
+                    case EXECUTOR_EMAIL -> builder.executorEmail(tuple.get(field.getJsonName(), String.class));
+                    case AUTHOR_EMAIL -> builder.authorEmail(tuple.get(field.getJsonName(), String.class));
+                    case PARENT_ID -> builder.parentId(tuple.get(field.getJsonName(), Long.class));
+                    case CHILD_COUNT -> builder.childCount(tuple.get(field.getJsonName(), Long.class));
+                    case COMPLETED_CHILD_COUNT ->
+                            builder.completedChildCount(tuple.get(field.getJsonName(), Long.class));
+                    case DATE_CREATION -> builder.dateCreation(toInstant(tuple.get(field.getJsonName(), Date.class)));
+                    case COMMENT_COUNT -> builder.commentCount(tuple.get(field.getJsonName(), Long.class));
+                    case LAST_COMMENT_AT -> builder.lastCommentAt(toInstant(tuple.get(field.getJsonName(), Date.class)));
+                    case COMMENTS -> builder.comments(comments);
+                }
+            }
+            return builder.build();
+        } finally {
+            event.finish("TaskConverter", "toDto(Tuple)");
+        }
+    }
 
+    /**
+     * Преобразует узел иерархии задач в {@link TaskTreeDto}.
+     *
+     * @param node     узел иерархии задач
+     * @param children список подзадач, заполняемый при построении дерева, или {@code null}
+     * @return {@link TaskTreeDto} представляющий узел
+     */
+    public TaskTreeDto toTreeDto(TaskTreeNode node, List<TaskTreeDto> children) {
+        return new TaskTreeDto(node.getId(), node.getParentId(), node.getTitle(), node.getStatus(),
+                node.getPriority(), node.getExecutorEmail(), node.getChildCount(), node.getCompletedChildCount(),
+                children);
     }
 
     /**
@@ -87,20 +199,34 @@ public class TaskConverter {
      */
 
     public Task toEntity(TaskDto taskDto) {
-        if (taskDto == null) {
-            return null;
+        ConversionEvent event = ConversionEvent.start();
+        try {
+            if (taskDto == null) {
+                return null;
+            }
+
+            return Task.builder()
+                    .id(taskDto.id())
+                    .title(taskDto.title())
+                    .description(taskDto.description())
+                    .status(taskDto.status() != null ? TaskStatus.valueOf(taskDto.status()) : null)
+                    .priority(taskDto.priority() != null ? TaskPriority.valueOf(taskDto.priority()) : null)
+                    .labels(taskDto.labels() != null ? taskDto.labels().toArray(String[]::new) : new String[0])
+                    .executor(userRepository.findByEmail(taskDto.executorEmail())
+                            .orElse(null))
+                    .author(userRepository.findByEmail(taskDto.authorEmail())
+                            .orElse(null))
+                    .build();
+        } finally {
+            event.finish("TaskConverter", "toEntity");
         }
+    }
+
+    private static List<String> toList(String[] labels) {
+        return labels != null ? List.of(labels) : List.of();
+    }
 
-        return Task.builder()
-                .id(taskDto.id())
-                .title(taskDto.title())
-                .description(taskDto.description())
-                .status(taskDto.status() != null ? TaskStatus.valueOf(taskDto.status()) : null)
-                .priority(taskDto.priority() != null ? TaskPriority.valueOf(taskDto.priority()) : null)
-                .executor(userRepository.findByEmail(taskDto.executorEmail())
-                        .orElse(null))
-                .author(userRepository.findByEmail(taskDto.authorEmail())
-                        .orElse(null))
-                .build();
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
     }
 }
@@ -0,0 +1,29 @@
+package com.hh.TaskManagementSystems.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Objects;
+
+public record AuditChangeDto(
+        @Schema(description = "Значение до изменения; null, если поля не было", example = "PENDING")
+        Object oldValue,
+        @Schema(description = "Значение после изменения; null, если поле удалено", example = "COMPLETED")
+        Object newValue
+) {
+    @Override public boolean equals(Object o) {
+        if (this == o)
+            return true;
+
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        AuditChangeDto that = (AuditChangeDto) o;
+
+        return Objects.equals(oldValue, that.oldValue)
+                && Objects.equals(newValue, that.newValue);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(oldValue, newValue);
+    }
+}
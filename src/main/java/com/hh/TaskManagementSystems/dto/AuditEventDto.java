@@ -0,0 +1,46 @@
+package com.hh.TaskManagementSystems.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+
+public record AuditEventDto(
+        @Schema(description = "Идентификатор записи", example = "1")
+        Long id,
+        @Schema(description = "Тип сущности: TASK или COMMENT", example = "TASK")
+        String entityType,
+        @Schema(description = "Идентификатор сущности", example = "42")
+        Long entityId,
+        @Schema(description = "Вид изменения: CREATED, UPDATED или DELETED", example = "UPDATED")
+        String action,
+        @Schema(description = "Email пользователя, выполнившего изменение", example = "example@example.com")
+        String actorEmail,
+        @Schema(description = "Время изменения", example = "2024-01-01T00:00:00Z")
+        Instant occurredAt,
+        @Schema(description = "Измененные поля со значениями до и после изменения")
+        Map<String, AuditChangeDto> changes
+) {
+    @Override public boolean equals(Object o) {
+        if (this == o)
+            return true;
+
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        AuditEventDto that = (AuditEventDto) o;
+
+        return Objects.equals(id, that.id)
+                && Objects.equals(entityType, that.entityType)
+                && Objects.equals(entityId, that.entityId)
+                && Objects.equals(action, that.action)
+                && Objects.equals(actorEmail, that.actorEmail)
+                && Objects.equals(occurredAt, that.occurredAt)
+                && Objects.equals(changes, that.changes);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(id, entityType, entityId, action, actorEmail, occurredAt, changes);
+    }
+}
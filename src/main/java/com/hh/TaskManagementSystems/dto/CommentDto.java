@@ -6,11 +6,14 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import lombok.Builder;
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import java.time.Instant;
+import java.util.Objects;
 
 @Builder
 public record CommentDto(
+        @Schema(description = "Id комментария, заполняется автоматически", example = "1")
+        Long id,
         @Schema(description = "Тело комментария", example = "Сделай это вот так.")
         @NotBlank(message = "Комментарий не можем быть пустым")
         @Size(max = 255, message = "Тело комментария должен содержать до 255 символов")
@@ -22,8 +25,8 @@ public record CommentDto(
         @Email(message = "Email должен быть в формате example@example.com")
         @Size(max = 255, message = "Email должен содержать до 255 символов")
         String authorEmail,
-        @Schema(description = "Дата создания", example = "dow mon dd hh:mm:ss zzz yyyy")
-        String dateCreation
+        @Schema(description = "Дата создания в формате ISO-8601", example = "2024-08-01T12:00:00Z")
+        Instant dateCreation
 ) {
     @Override public boolean equals(Object o) {
         if (this == o)
@@ -34,19 +37,15 @@ public record CommentDto(
 
         CommentDto that = (CommentDto) o;
 
-        return new EqualsBuilder().append(body, that.body)
-                .append(taskId, that.taskId)
-                .append(authorEmail, that.authorEmail)
-                .append(dateCreation, that.dateCreation)
-                .isEquals();
+        return Objects.equals(id, that.id)
+                && Objects.equals(body, that.body)
+                && Objects.equals(taskId, that.taskId)
+                && Objects.equals(authorEmail, that.authorEmail)
+                && Objects.equals(dateCreation, that.dateCreation);
     }
 
     @Override public int hashCode() {
-        return new HashCodeBuilder(17, 37).append(body)
-                .append(taskId)
-                .append(authorEmail)
-                .append(dateCreation)
-                .toHashCode();
+        return Objects.hash(id, body, taskId, authorEmail, dateCreation);
     }
 }
 
@@ -0,0 +1,49 @@
+package com.hh.TaskManagementSystems.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+public record FeedEntryDto(
+        @Schema(description = "Идентификатор записи", example = "1")
+        Long id,
+        @Schema(description = "Идентификатор задачи", example = "42")
+        Long taskId,
+        @Schema(description = "Название задачи на момент изменения", example = "Task Title")
+        String taskTitle,
+        @Schema(description = "Тип сущности: TASK или COMMENT", example = "TASK")
+        String entityType,
+        @Schema(description = "Вид изменения: CREATED, UPDATED или DELETED", example = "UPDATED")
+        String action,
+        @Schema(description = "Измененные поля задачи", example = "[\"status\"]")
+        List<String> fields,
+        @Schema(description = "Email пользователя, выполнившего изменение", example = "example@example.com")
+        String actorEmail,
+        @Schema(description = "Время изменения", example = "2024-01-01T00:00:00Z")
+        Instant occurredAt
+) {
+    @Override public boolean equals(Object o) {
+        if (this == o)
+            return true;
+
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        FeedEntryDto that = (FeedEntryDto) o;
+
+        return Objects.equals(id, that.id)
+                && Objects.equals(taskId, that.taskId)
+                && Objects.equals(taskTitle, that.taskTitle)
+                && Objects.equals(entityType, that.entityType)
+                && Objects.equals(action, that.action)
+                && Objects.equals(fields, that.fields)
+                && Objects.equals(actorEmail, that.actorEmail)
+                && Objects.equals(occurredAt, that.occurredAt);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(id, taskId, taskTitle, entityType, action, fields, actorEmail, occurredAt);
+    }
+}
@@ -0,0 +1,30 @@
+package com.hh.TaskManagementSystems.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Objects;
+
+public record FeedPageDto(
+        @Schema(description = "Записи ленты, начиная с последних")
+        List<FeedEntryDto> entries,
+        @Schema(description = "Курсор для загрузки следующих записей; null, если записей больше нет", example = "42")
+        Long nextCursor
+) {
+    @Override public boolean equals(Object o) {
+        if (this == o)
+            return true;
+
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        FeedPageDto that = (FeedPageDto) o;
+
+        return Objects.equals(entries, that.entries)
+                && Objects.equals(nextCursor, that.nextCursor);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(entries, nextCursor);
+    }
+}
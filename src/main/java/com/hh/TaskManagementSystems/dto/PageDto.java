@@ -0,0 +1,51 @@
+package com.hh.TaskManagementSystems.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Компактная обертка страницы для ответов API.
+ *
+ * <p>В отличие от сериализации {@link Page} напрямую, содержит только стабильный набор полей
+ * без {@code pageable}, {@code sort} и других служебных структур Spring Data.</p>
+ *
+ * @param <T> тип элементов страницы
+ */
+public record PageDto<T>(
+        @Schema(description = "Элементы страницы")
+        List<T> content,
+        @Schema(description = "Номер страницы", example = "0")
+        int page,
+        @Schema(description = "Размер страницы", example = "10")
+        int size,
+        @Schema(description = "Общее количество элементов", example = "42")
+        long totalElements,
+        @Schema(description = "Общее количество страниц", example = "5")
+        int totalPages
+) {
+
+    /**
+     * Создает {@link PageDto} из страницы Spring Data.
+     *
+     * @param page страница Spring Data
+     * @param <T>  тип элементов страницы
+     * @return компактное представление страницы
+     */
+    public static <T> PageDto<T> of(Page<T> page) {
+        return new PageDto<>(page.getContent(), page.getNumber(), page.getSize(), page.getTotalElements(),
+                page.getTotalPages());
+    }
+
+    /**
+     * Создает {@link PageDto} из полного списка элементов, представленного одной страницей.
+     *
+     * @param content элементы
+     * @param <T>     тип элементов страницы
+     * @return страница, содержащая все элементы
+     */
+    public static <T> PageDto<T> of(List<T> content) {
+        return new PageDto<>(content, 0, content.size(), content.size(), content.isEmpty() ? 0 : 1);
+    }
+}
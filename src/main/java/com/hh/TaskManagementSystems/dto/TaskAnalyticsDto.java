@@ -0,0 +1,40 @@
+package com.hh.TaskManagementSystems.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+public record TaskAnalyticsDto(
+        @Schema(description = "Начало периода включительно", example = "2024-01-01T00:00:00Z")
+        Instant from,
+        @Schema(description = "Конец периода, не включая", example = "2024-02-01T00:00:00Z")
+        Instant to,
+        @Schema(description = "Интервал пропускной способности", example = "DAY")
+        String bucket,
+        @Schema(description = "Количество завершений за период во всех группах", example = "420")
+        long completed,
+        @Schema(description = "Время выполнения и пропускная способность по исполнителю и приоритету")
+        List<TaskAnalyticsGroupDto> groups
+) {
+    @Override public boolean equals(Object o) {
+        if (this == o)
+            return true;
+
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        TaskAnalyticsDto that = (TaskAnalyticsDto) o;
+
+        return completed == that.completed
+                && Objects.equals(from, that.from)
+                && Objects.equals(to, that.to)
+                && Objects.equals(bucket, that.bucket)
+                && Objects.equals(groups, that.groups);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(from, to, bucket, completed, groups);
+    }
+}
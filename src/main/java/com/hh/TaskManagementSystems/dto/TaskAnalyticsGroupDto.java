@@ -0,0 +1,62 @@
+package com.hh.TaskManagementSystems.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Objects;
+
+public record TaskAnalyticsGroupDto(
+        @Schema(description = "Email исполнителя в момент завершения; null для задач без исполнителя и удаленных "
+                + "пользователей", example = "example@example.com")
+        String executorEmail,
+        @Schema(description = "Приоритет задач", example = "HIGH")
+        String priority,
+        @Schema(description = "Количество завершений за период", example = "42")
+        long completed,
+        @Schema(description = "Количество завершений, для которых известно время выполнения", example = "40")
+        long measured,
+        @Schema(description = "Медиана времени выполнения в секундах", example = "3600")
+        Long p50Seconds,
+        @Schema(description = "75-й процентиль времени выполнения в секундах", example = "7200")
+        Long p75Seconds,
+        @Schema(description = "90-й процентиль времени выполнения в секундах", example = "14400")
+        Long p90Seconds,
+        @Schema(description = "95-й процентиль времени выполнения в секундах", example = "28800")
+        Long p95Seconds,
+        @Schema(description = "99-й процентиль времени выполнения в секундах", example = "86400")
+        Long p99Seconds,
+        @Schema(description = "Максимальное время выполнения в секундах", example = "172800")
+        Long maxSeconds,
+        @Schema(description = "Среднее время выполнения в секундах", example = "5400.5")
+        Double meanSeconds,
+        @Schema(description = "Завершения по интервалам, только непустые интервалы по возрастанию")
+        List<TaskThroughputDto> throughput
+) {
+    @Override public boolean equals(Object o) {
+        if (this == o)
+            return true;
+
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        TaskAnalyticsGroupDto that = (TaskAnalyticsGroupDto) o;
+
+        return completed == that.completed
+                && measured == that.measured
+                && Objects.equals(executorEmail, that.executorEmail)
+                && Objects.equals(priority, that.priority)
+                && Objects.equals(p50Seconds, that.p50Seconds)
+                && Objects.equals(p75Seconds, that.p75Seconds)
+                && Objects.equals(p90Seconds, that.p90Seconds)
+                && Objects.equals(p95Seconds, that.p95Seconds)
+                && Objects.equals(p99Seconds, that.p99Seconds)
+                && Objects.equals(maxSeconds, that.maxSeconds)
+                && Objects.equals(meanSeconds, that.meanSeconds)
+                && Objects.equals(throughput, that.throughput);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(executorEmail, priority, completed, measured, p50Seconds, p75Seconds, p90Seconds,
+                p95Seconds, p99Seconds, maxSeconds, meanSeconds, throughput);
+    }
+}
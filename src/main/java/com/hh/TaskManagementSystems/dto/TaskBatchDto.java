@@ -0,0 +1,29 @@
+package com.hh.TaskManagementSystems.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Objects;
+
+public record TaskBatchDto(
+        @Schema(description = "Найденные задачи в порядке запроса")
+        List<TaskDto> tasks,
+        @Schema(description = "Идентификаторы, для которых задачи не найдены", example = "[42]")
+        List<Long> missingIds
+) {
+    @Override public boolean equals(Object o) {
+        if (this == o)
+            return true;
+
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        TaskBatchDto that = (TaskBatchDto) o;
+
+        return Objects.equals(tasks, that.tasks) && Objects.equals(missingIds, that.missingIds);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(tasks, missingIds);
+    }
+}
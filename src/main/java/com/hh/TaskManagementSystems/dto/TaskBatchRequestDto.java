@@ -0,0 +1,40 @@
+package com.hh.TaskManagementSystems.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.Objects;
+
+public record TaskBatchRequestDto(
+        @Schema(description = "Идентификаторы задач", example = "[1, 2, 3]")
+        @NotEmpty(message = "Список идентификаторов не может быть пустым")
+        @Size(max = TaskBatchRequestDto.MAX_IDS, message = "Можно запросить не более " + TaskBatchRequestDto.MAX_IDS + " задач")
+        List<@NotNull @Positive(message = "Id не может быть меньше 1") Long> ids,
+        @Schema(description = "Загружать ли комментарии к задачам", example = "false")
+        boolean includeComments
+) {
+    /**
+     * Максимальное количество идентификаторов в одном запросе.
+     */
+    public static final int MAX_IDS = 1000;
+
+    @Override public boolean equals(Object o) {
+        if (this == o)
+            return true;
+
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        TaskBatchRequestDto that = (TaskBatchRequestDto) o;
+
+        return includeComments == that.includeComments && Objects.equals(ids, that.ids);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(ids, includeComments);
+    }
+}
@@ -0,0 +1,37 @@
+package com.hh.TaskManagementSystems.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Objects;
+
+public record TaskBoardColumnDto(
+        @Schema(description = "Статус задач колонки", example = "PENDING")
+        String status,
+        @Schema(description = "Количество задач в колонке; в продолжении колонки не заполняется", example = "42")
+        Long total,
+        @Schema(description = "Задачи колонки по приоритету и id")
+        List<TaskDto> tasks,
+        @Schema(description = "Курсор для загрузки следующих задач колонки; null, если задач больше нет",
+                example = "SElHSDo0Mg")
+        String nextCursor
+) {
+    @Override public boolean equals(Object o) {
+        if (this == o)
+            return true;
+
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        TaskBoardColumnDto that = (TaskBoardColumnDto) o;
+
+        return Objects.equals(status, that.status)
+                && Objects.equals(total, that.total)
+                && Objects.equals(tasks, that.tasks)
+                && Objects.equals(nextCursor, that.nextCursor);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(status, total, tasks, nextCursor);
+    }
+}
@@ -0,0 +1,27 @@
+package com.hh.TaskManagementSystems.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Objects;
+
+public record TaskBoardDto(
+        @Schema(description = "Колонки доски в порядке статусов")
+        List<TaskBoardColumnDto> columns
+) {
+    @Override public boolean equals(Object o) {
+        if (this == o)
+            return true;
+
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        TaskBoardDto that = (TaskBoardDto) o;
+
+        return Objects.equals(columns, that.columns);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(columns);
+    }
+}
@@ -1,5 +1,6 @@
 package com.hh.TaskManagementSystems.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.hh.TaskManagementSystems.model.TaskPriority;
 import com.hh.TaskManagementSystems.model.TaskStatus;
 import com.hh.TaskManagementSystems.validator.EnumValid;
@@ -9,11 +10,13 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import lombok.Builder;
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
-import org.springframework.data.domain.Page;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
 
 @Builder
+@JsonFilter(TaskDto.FIELDS_FILTER)
 public record TaskDto(
 
         @Positive(message = "Id не может быть меньше 1")
@@ -33,15 +36,39 @@ public record TaskDto(
         @Schema(description = "Приоритет задачи", example = "HIGH")
         @EnumValid(enumClass = TaskPriority.class, message = "Неправильный приоритет задачи")
         String priority,
+        @Schema(description = "Метки задачи, сохраняются в нижнем регистре", example = "[\"backend\", \"release-2.0\"]")
+        @Size(max = 20, message = "У задачи может быть не более 20 меток")
+        List<@NotBlank(message = "Метка не может быть пустой")
+             @Size(max = 50, message = "Метка должна содержать до 50 символов") String> labels,
         @Schema(description = "Адрес электронной почты исполнителя", example = "example@example.com")
         @Email(message = "Email должен быть в формате example@example.com")
         @Size(max = 255, message = "Email должен содержать до 255 символов")
         String executorEmail,
         @Schema(description = "Адрес электронной почты автора, заполняется автоматически")
         String authorEmail,
+        @Positive(message = "Id родительской задачи не может быть меньше 1")
+        @Schema(description = "Id родительской задачи", example = "1")
+        Long parentId,
+        @Schema(description = "Количество подзадач, заполняется автоматически", example = "4")
+        Long childCount,
+        @Schema(description = "Количество завершенных подзадач, заполняется автоматически", example = "1")
+        Long completedChildCount,
+        @Schema(description = "Дата создания задачи, заполняется автоматически")
+        Instant dateCreation,
+        @Schema(description = "Количество комментариев, заполняется автоматически", example = "3")
+        Long commentCount,
+        @Schema(description = "Дата последнего комментария, заполняется автоматически")
+        Instant lastCommentAt,
+        @Schema(description = "Срок аренды задачи, взятой из очереди, заполняется автоматически")
+        Instant leaseExpiresAt,
         @Schema(description = "Комментарии к задаче")
-        Page<CommentDto> comments
+        PageDto<CommentDto> comments
 ) {
+    /**
+     * Имя фильтра Jackson, которым ограничивается набор полей в ответе (параметр {@code fields}).
+     */
+    public static final String FIELDS_FILTER = "taskFields";
+
     @Override public boolean equals(Object o) {
         if (this == o)
             return true;
@@ -51,24 +78,23 @@ public record TaskDto(
 
         TaskDto taskDto = (TaskDto) o;
 
-        return new EqualsBuilder().append(title, taskDto.title)
-                .append(description, taskDto.description)
-                .append(status, taskDto.status)
-                .append(priority, taskDto.priority)
-                .append(executorEmail, taskDto.executorEmail)
-                .append(authorEmail, taskDto.authorEmail)
-                .append(comments, taskDto.comments)
-                .isEquals();
+        return Objects.equals(title, taskDto.title)
+                && Objects.equals(description, taskDto.description)
+                && Objects.equals(status, taskDto.status)
+                && Objects.equals(priority, taskDto.priority)
+                && Objects.equals(labels, taskDto.labels)
+                && Objects.equals(executorEmail, taskDto.executorEmail)
+                && Objects.equals(authorEmail, taskDto.authorEmail)
+                && Objects.equals(parentId, taskDto.parentId)
+                && Objects.equals(childCount, taskDto.childCount)
+                && Objects.equals(completedChildCount, taskDto.completedChildCount)
+                && Objects.equals(commentCount, taskDto.commentCount)
+                && Objects.equals(lastCommentAt, taskDto.lastCommentAt)
+                && Objects.equals(comments, taskDto.comments);
     }
 
     @Override public int hashCode() {
-        return new HashCodeBuilder(17, 37).append(title)
-                .append(description)
-                .append(status)
-                .append(priority)
-                .append(executorEmail)
-                .append(authorEmail)
-                .append(comments)
-                .toHashCode();
+        return Objects.hash(title, description, status, priority, labels, executorEmail, authorEmail, parentId,
+                childCount, completedChildCount, commentCount, lastCommentAt, comments);
     }
 }
@@ -0,0 +1,37 @@
+package com.hh.TaskManagementSystems.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+import java.util.Objects;
+
+public record TaskFacetsDto(
+        @Schema(description = "Общее количество задач с учетом фильтров", example = "42")
+        long total,
+        @Schema(description = "Количество задач по статусу", example = "{\"PENDING\": 30, \"COMPLETED\": 12}")
+        Map<String, Long> byStatus,
+        @Schema(description = "Количество задач по приоритету", example = "{\"HIGH\": 5, \"LOW\": 37}")
+        Map<String, Long> byPriority,
+        @Schema(description = "Количество задач по каждому сочетанию статуса и приоритета",
+                example = "{\"PENDING\": {\"HIGH\": 3, \"LOW\": 27}}")
+        Map<String, Map<String, Long>> byStatusAndPriority
+) {
+    @Override public boolean equals(Object o) {
+        if (this == o)
+            return true;
+
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        TaskFacetsDto that = (TaskFacetsDto) o;
+
+        return total == that.total
+                && Objects.equals(byStatus, that.byStatus)
+                && Objects.equals(byPriority, that.byPriority)
+                && Objects.equals(byStatusAndPriority, that.byStatusAndPriority);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(total, byStatus, byPriority, byStatusAndPriority);
+    }
+}
@@ -0,0 +1,74 @@
+package com.hh.TaskManagementSystems.dto;
+
+import com.hh.TaskManagementSystems.model.LabelMatch;
+import com.hh.TaskManagementSystems.model.TaskPriority;
+import com.hh.TaskManagementSystems.model.TaskStatus;
+import com.hh.TaskManagementSystems.validator.EnumValid;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Параметры фильтрации списка задач. Все условия необязательны и объединяются по И.
+ */
+public record TaskFilterDto(
+        @Schema(description = "Статусы через запятую, задача должна иметь один из них", example = "PENDING,IN_PROGRESS")
+        Set<@EnumValid(enumClass = TaskStatus.class, message = "Неправильный статус задачи") String> status,
+        @Schema(description = "Приоритеты через запятую, задача должна иметь один из них", example = "HIGH")
+        Set<@EnumValid(enumClass = TaskPriority.class, message = "Неправильный приоритет задачи") String> priority,
+        @Schema(description = "Адрес электронной почты автора", example = "example@example.com")
+        @Email(message = "Email должен быть в формате example@example.com")
+        String authorEmail,
+        @Schema(description = "Адрес электронной почты исполнителя", example = "example@example.com")
+        @Email(message = "Email должен быть в формате example@example.com")
+        String executorEmail,
+        @Schema(description = "true — только задачи с комментариями, false — только без комментариев")
+        Boolean hasComments,
+        @Schema(description = "Начало периода создания включительно", example = "2024-01-01T00:00:00Z")
+        Instant createdFrom,
+        @Schema(description = "Конец периода создания, не включая", example = "2024-02-01T00:00:00Z")
+        Instant createdTo,
+        @Schema(description = "Начало периода последнего комментария включительно", example = "2024-01-01T00:00:00Z")
+        Instant lastCommentFrom,
+        @Schema(description = "Конец периода последнего комментария, не включая", example = "2024-02-01T00:00:00Z")
+        Instant lastCommentTo,
+        @Schema(description = "Метки через запятую", example = "backend,urgent")
+        @Size(max = 20, message = "Можно указать не более 20 меток")
+        List<@NotBlank(message = "Метка не может быть пустой")
+             @Size(max = 50, message = "Метка должна содержать до 50 символов") String> labels,
+        @Schema(description = "ANY — задачи хотя бы с одной из меток, ALL — со всеми метками", defaultValue = "ALL")
+        LabelMatch labelMatch
+) {
+    @Override public boolean equals(Object o) {
+        if (this == o)
+            return true;
+
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        TaskFilterDto that = (TaskFilterDto) o;
+
+        return Objects.equals(status, that.status)
+                && Objects.equals(priority, that.priority)
+                && Objects.equals(authorEmail, that.authorEmail)
+                && Objects.equals(executorEmail, that.executorEmail)
+                && Objects.equals(hasComments, that.hasComments)
+                && Objects.equals(createdFrom, that.createdFrom)
+                && Objects.equals(createdTo, that.createdTo)
+                && Objects.equals(lastCommentFrom, that.lastCommentFrom)
+                && Objects.equals(lastCommentTo, that.lastCommentTo)
+                && Objects.equals(labels, that.labels)
+                && labelMatch == that.labelMatch;
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(status, priority, authorEmail, executorEmail, hasComments, createdFrom, createdTo,
+                lastCommentFrom, lastCommentTo, labels, labelMatch);
+    }
+}
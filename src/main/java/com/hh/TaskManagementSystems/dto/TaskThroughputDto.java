@@ -0,0 +1,30 @@
+package com.hh.TaskManagementSystems.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.Objects;
+
+public record TaskThroughputDto(
+        @Schema(description = "Начало интервала в UTC", example = "2024-01-01T00:00:00Z")
+        Instant bucketStart,
+        @Schema(description = "Количество завершенных задач за интервал", example = "12")
+        long completed
+) {
+    @Override public boolean equals(Object o) {
+        if (this == o)
+            return true;
+
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        TaskThroughputDto that = (TaskThroughputDto) o;
+
+        return completed == that.completed
+                && Objects.equals(bucketStart, that.bucketStart);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(bucketStart, completed);
+    }
+}
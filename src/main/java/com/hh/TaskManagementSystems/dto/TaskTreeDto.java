@@ -0,0 +1,52 @@
+package com.hh.TaskManagementSystems.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Objects;
+
+public record TaskTreeDto(
+        @Schema(description = "Id задачи", example = "1")
+        Long id,
+        @Schema(description = "Id родительской задачи", example = "1")
+        Long parentId,
+        @Schema(description = "Заголовок задачи", example = "Пример заголовка")
+        String title,
+        @Schema(description = "Статус задачи", example = "PENDING")
+        String status,
+        @Schema(description = "Приоритет задачи", example = "HIGH")
+        String priority,
+        @Schema(description = "Адрес электронной почты исполнителя", example = "example@example.com")
+        String executorEmail,
+        @Schema(description = "Количество подзадач", example = "4")
+        long childCount,
+        @Schema(description = "Количество завершенных подзадач", example = "1")
+        long completedChildCount,
+        @Schema(description = "Подзадачи; в цепочке предков не заполняется")
+        List<TaskTreeDto> children
+) {
+    @Override public boolean equals(Object o) {
+        if (this == o)
+            return true;
+
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        TaskTreeDto that = (TaskTreeDto) o;
+
+        return childCount == that.childCount
+                && completedChildCount == that.completedChildCount
+                && Objects.equals(id, that.id)
+                && Objects.equals(parentId, that.parentId)
+                && Objects.equals(title, that.title)
+                && Objects.equals(status, that.status)
+                && Objects.equals(priority, that.priority)
+                && Objects.equals(executorEmail, that.executorEmail)
+                && Objects.equals(children, that.children);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(id, parentId, title, status, priority, executorEmail, childCount, completedChildCount,
+                children);
+    }
+}
@@ -0,0 +1,29 @@
+package com.hh.TaskManagementSystems.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Objects;
+
+public record UserTaskStatsDto(
+        @Schema(description = "Количество задач, созданных пользователем")
+        TaskFacetsDto asAuthor,
+        @Schema(description = "Количество задач, назначенных на пользователя")
+        TaskFacetsDto asExecutor
+) {
+    @Override public boolean equals(Object o) {
+        if (this == o)
+            return true;
+
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        UserTaskStatsDto that = (UserTaskStatsDto) o;
+
+        return Objects.equals(asAuthor, that.asAuthor)
+                && Objects.equals(asExecutor, that.asExecutor);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(asAuthor, asExecutor);
+    }
+}
@@ -0,0 +1,10 @@
+package com.hh.TaskManagementSystems.event;
+
+/**
+ * К задаче добавлен комментарий.
+ *
+ * @param taskId    идентификатор задачи
+ * @param commentId идентификатор комментария
+ */
+public record CommentCreatedEvent(Long taskId, Long commentId) {
+}
@@ -0,0 +1,10 @@
+package com.hh.TaskManagementSystems.event;
+
+/**
+ * Комментарий задачи удален.
+ *
+ * @param taskId    идентификатор задачи
+ * @param commentId идентификатор комментария
+ */
+public record CommentDeletedEvent(Long taskId, Long commentId) {
+}
@@ -0,0 +1,24 @@
+package com.hh.TaskManagementSystems.event;
+
+import com.hh.TaskManagementSystems.model.AuditAction;
+import com.hh.TaskManagementSystems.model.AuditEntityType;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Изменение задачи или ее комментариев, которое нужно показать в лентах связанных с задачей пользователей.
+ *
+ * @param taskId       идентификатор задачи
+ * @param taskTitle    название задачи на момент изменения
+ * @param entityType   измененная сущность: задача или комментарий
+ * @param action       вид изменения
+ * @param fields       измененные поля задачи; для создания, удаления и комментариев пустой
+ * @param actorEmail   email пользователя, выполнившего изменение, или {@code null}
+ * @param occurredAt   время изменения
+ * @param recipientIds автор и исполнитель задачи, кроме самого пользователя, выполнившего изменение
+ */
+public record TaskActivityEvent(Long taskId, String taskTitle, AuditEntityType entityType, AuditAction action,
+                                List<String> fields, String actorEmail, Instant occurredAt, Set<Long> recipientIds) {
+}
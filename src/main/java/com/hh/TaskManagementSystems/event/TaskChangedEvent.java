@@ -0,0 +1,11 @@
+package com.hh.TaskManagementSystems.event;
+
+/**
+ * Задача создана или изменена.
+ *
+ * <p>Публикуется сервисом задач внутри транзакции изменения.</p>
+ *
+ * @param taskId идентификатор задачи
+ */
+public record TaskChangedEvent(Long taskId) {
+}
@@ -0,0 +1,9 @@
+package com.hh.TaskManagementSystems.event;
+
+/**
+ * Задача удалена вместе с ее комментариями.
+ *
+ * @param taskId идентификатор задачи
+ */
+public record TaskDeletedEvent(Long taskId) {
+}
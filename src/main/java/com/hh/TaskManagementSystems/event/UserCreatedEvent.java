@@ -0,0 +1,10 @@
+package com.hh.TaskManagementSystems.event;
+
+/**
+ * Зарегистрирован новый пользователь.
+ *
+ * @param userId идентификатор пользователя
+ * @param email  email пользователя
+ */
+public record UserCreatedEvent(Long userId, String email) {
+}
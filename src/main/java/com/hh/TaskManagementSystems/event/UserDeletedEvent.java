@@ -0,0 +1,16 @@
+package com.hh.TaskManagementSystems.event;
+
+import java.util.List;
+
+/**
+ * Пользователь удален.
+ *
+ * <p>Вместе с пользователем каскадно удаляются задачи, в которых он автор или исполнитель, и его комментарии
+ * к остальным задачам.</p>
+ *
+ * @param userId           идентификатор пользователя
+ * @param email            email пользователя
+ * @param commentedTaskIds задачи, из которых удалены комментарии пользователя
+ */
+public record UserDeletedEvent(Long userId, String email, List<Long> commentedTaskIds) {
+}
@@ -0,0 +1,7 @@
+package com.hh.TaskManagementSystems.exception;
+
+public class UnknownTaskFieldException extends IllegalArgumentException {
+    public UnknownTaskFieldException(String jsonName) {
+        super("Неизвестное поле задачи: " + jsonName);
+    }
+}
@@ -0,0 +1,174 @@
+package com.hh.TaskManagementSystems.feed;
+
+import com.hh.TaskManagementSystems.event.TaskActivityEvent;
+import com.hh.TaskManagementSystems.event.UserDeletedEvent;
+import com.hh.TaskManagementSystems.repository.FeedEntryRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Раскладывает изменения задач по лентам активности пользователей.
+ *
+ * <p>После фиксации транзакции, изменившей задачу или ее комментарии, {@link TaskActivityEvent} ставится в очередь.
+ * Отдельный поток забирает из очереди до {@value #BATCH_SIZE} событий и в одной транзакции добавляет по записи в
+ * ленту каждого получателя одним запросом, а затем обрезает ленты этих получателей до
+ * {@code task.feed.max-entries-per-user} последних записей. Так запросы к API не ждут записи в ленты, а объем
+ * ленты не растет с числом изменений. События, не записанные до остановки приложения, теряются: лента — не
+ * журнал, полная история задачи остается в журнале аудита.</p>
+ *
+ * <p>Записи старше {@code task.feed.retention-ms} удаляются по расписанию, лента удаленного пользователя — сразу
+ * после фиксации его удаления, в новой транзакции.
+ * Метрика {@code task.feed.queue} — количество событий, ожидающих записи.</p>
+ */
+@Slf4j
+@Component
+public class ActivityFeedWriter {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int CLEANUP_BATCH_SIZE = 1_000;
+
+    private final FeedEntryRepository feedEntryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransactionTemplate;
+    private final int maxEntriesPerUser;
+    private final Duration retention;
+    private final BlockingQueue<TaskActivityEvent> pending = new LinkedBlockingQueue<>();
+    private final Thread worker = Thread.ofPlatform().name("activity-feed-writer").daemon().unstarted(this::run);
+
+    public ActivityFeedWriter(FeedEntryRepository feedEntryRepository, PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${task.feed.max-entries-per-user:1000}") int maxEntriesPerUser,
+                              @Value("${task.feed.retention-ms:2592000000}") long retentionMillis) {
+        this.feedEntryRepository = feedEntryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxEntriesPerUser = maxEntriesPerUser;
+        this.retention = Duration.ofMillis(retentionMillis);
+        Gauge.builder("task.feed.queue", pending, BlockingQueue::size)
+                .description("События, ожидающие записи в ленты активности")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        worker.interrupt();
+        worker.join();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskActivity(TaskActivityEvent event) {
+        pending.add(event);
+    }
+
+    /**
+     * Удаляет ленту удаленного пользователя. Слушатель вызывается после фиксации транзакции, ресурсы которой еще
+     * привязаны к потоку, поэтому удаление выполняется в новой транзакции, а не присоединяется к завершенной.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        newTransactionTemplate.executeWithoutResult(status -> feedEntryRepository.deleteByUserId(event.userId()));
+    }
+
+    private void run() {
+        List<TaskActivityEvent> batch = new ArrayList<>(BATCH_SIZE);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(pending.take());
+                pending.drainTo(batch, BATCH_SIZE - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Не удалось записать {} событий в ленты активности", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Добавляет записи событий в ленты получателей и обрезает эти ленты в одной транзакции.
+     *
+     * @param events события в порядке изменений
+     * @return количество добавленных записей
+     */
+    public int write(Collection<TaskActivityEvent> events) {
+        List<Long> userIds = new ArrayList<>();
+        List<TaskActivityEvent> entries = new ArrayList<>();
+        for (TaskActivityEvent event : events) {
+            for (Long recipientId : event.recipientIds()) {
+                userIds.add(recipientId);
+                entries.add(event);
+            }
+        }
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        int size = entries.size();
+        String[] taskTitles = new String[size];
+        Long[] taskIds = new Long[size];
+        String[] entityTypes = new String[size];
+        String[] actions = new String[size];
+        String[] fields = new String[size];
+        String[] actorEmails = new String[size];
+        Timestamp[] occurredAt = new Timestamp[size];
+        for (int i = 0; i < size; i++) {
+            TaskActivityEvent event = entries.get(i);
+            taskIds[i] = event.taskId();
+            taskTitles[i] = event.taskTitle();
+            entityTypes[i] = event.entityType().name();
+            actions[i] = event.action().name();
+            fields[i] = String.join(",", event.fields());
+            actorEmails[i] = event.actorEmail();
+            occurredAt[i] = Timestamp.from(event.occurredAt());
+        }
+        Set<Long> recipients = new LinkedHashSet<>(userIds);
+        return transactionTemplate.execute(status -> {
+            int inserted = feedEntryRepository.insertAll(userIds.toArray(Long[]::new), taskIds, taskTitles,
+                    entityTypes, actions, fields, actorEmails, occurredAt);
+            feedEntryRepository.trim(recipients.toArray(Long[]::new), maxEntriesPerUser);
+            return inserted;
+        });
+    }
+
+    /**
+     * Удаляет записи лент старше {@code task.feed.retention-ms} (по умолчанию 30 дней) порциями по
+     * {@value #CLEANUP_BATCH_SIZE}, каждая порция — в своей транзакции.
+     */
+    @Scheduled(fixedDelayString = "${task.feed.cleanup-interval-ms:3600000}")
+    public void deleteExpired() {
+        Date before = new Date(System.currentTimeMillis() - retention.toMillis());
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status ->
+                    feedEntryRepository.deleteOlderThan(before, CLEANUP_BATCH_SIZE));
+        } while (deleted == CLEANUP_BATCH_SIZE);
+    }
+}
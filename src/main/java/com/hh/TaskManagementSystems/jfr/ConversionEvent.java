@@ -0,0 +1,58 @@
+package com.hh.TaskManagementSystems.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Событие JFR: преобразование между сущностью и DTO в конвертерах.
+ *
+ * <p>По умолчанию записываются только преобразования дольше 1 мс, как правило, это {@code toEntity}
+ * с запросами к базе данных.</p>
+ */
+@Name("com.hh.tms.Conversion")
+@Label("Conversion")
+@Description("Преобразование между сущностью и DTO")
+@Category({"Task Management Systems", "Converter"})
+@Threshold("1 ms")
+@StackTrace(false)
+public class ConversionEvent extends jdk.jfr.Event {
+
+    @Label("Converter")
+    public String converter;
+
+    @Label("Operation")
+    public String operation;
+
+    /**
+     * Начинает замер преобразования.
+     *
+     * <p>Вызывается вместе с {@link #finish(String, String)} в блоке {@code try/finally} прямо в методе конвертера,
+     * без лямбды: событие не покидает метод, поэтому при выключенной записи JIT убирает его создание.</p>
+     *
+     * @return начатое событие
+     */
+    public static ConversionEvent start() {
+        ConversionEvent event = new ConversionEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Завершает замер и записывает событие, если оно проходит по настройкам записи.
+     *
+     * @param converter имя конвертера
+     * @param operation название преобразования
+     */
+    public void finish(String converter, String operation) {
+        end();
+        if (shouldCommit()) {
+            this.converter = converter;
+            this.operation = operation;
+            commit();
+        }
+    }
+}
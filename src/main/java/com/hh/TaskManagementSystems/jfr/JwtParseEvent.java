@@ -0,0 +1,24 @@
+package com.hh.TaskManagementSystems.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Событие JFR: проверка подписи и разбор JWT токена в фильтре аутентификации.
+ */
+@Name("com.hh.tms.JwtParse")
+@Label("JWT Parse")
+@Description("Проверка подписи и разбор JWT токена")
+@Category({"Task Management Systems", "Security"})
+@Threshold("0 ms")
+@StackTrace(false)
+public class JwtParseEvent extends jdk.jfr.Event {
+
+    @Label("Valid")
+    @Description("Токен успешно разобран")
+    public boolean valid;
+}
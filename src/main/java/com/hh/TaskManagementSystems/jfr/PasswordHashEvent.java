@@ -0,0 +1,24 @@
+package com.hh.TaskManagementSystems.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Событие JFR: хеширование или проверка пароля.
+ */
+@Name("com.hh.tms.PasswordHash")
+@Label("Password Hash")
+@Description("Хеширование или проверка пароля")
+@Category({"Task Management Systems", "Security"})
+@Threshold("0 ms")
+@StackTrace(false)
+public class PasswordHashEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    @Description("encode или matches")
+    public String operation;
+}
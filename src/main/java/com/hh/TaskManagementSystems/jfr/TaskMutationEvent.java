@@ -0,0 +1,90 @@
+package com.hh.TaskManagementSystems.jfr;
+
+import com.hh.TaskManagementSystems.dto.TaskDto;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+import java.util.function.Supplier;
+
+/**
+ * Событие JFR: изменение задачи в {@code TaskService}.
+ */
+@Name("com.hh.tms.TaskMutation")
+@Label("Task Mutation")
+@Description("Создание, изменение или удаление задачи")
+@Category({"Task Management Systems", "Service"})
+@Threshold("0 ms")
+@StackTrace(false)
+public class TaskMutationEvent extends jdk.jfr.Event {
+
+    /**
+     * Результат успешного изменения.
+     */
+    public static final String OUTCOME_OK = "OK";
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Task Id")
+    public long taskId;
+
+    @Label("Outcome")
+    @Description("OK или простое имя класса исключения")
+    public String outcome;
+
+    /**
+     * Выполняет изменение задачи, записывая его длительность и результат.
+     *
+     * <p>Если идентификатор задачи заранее неизвестен (создание), он берется из возвращенного {@link TaskDto}.
+     * Когда запись событий выключена, накладные расходы сводятся к проверке {@link #shouldCommit()}.</p>
+     *
+     * @param operation название операции
+     * @param taskId    идентификатор задачи или {@code null}
+     * @param action    изменение задачи
+     * @param <T>       тип результата
+     * @return результат изменения
+     */
+    public static <T> T record(String operation, Long taskId, Supplier<T> action) {
+        TaskMutationEvent event = new TaskMutationEvent();
+        event.begin();
+        String outcome = OUTCOME_OK;
+        T result = null;
+        try {
+            result = action.get();
+            return result;
+        } catch (RuntimeException exception) {
+            outcome = exception.getClass().getSimpleName();
+            throw exception;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation;
+                event.outcome = outcome;
+                if (taskId != null) {
+                    event.taskId = taskId;
+                } else if (result instanceof TaskDto taskDto && taskDto.id() != null) {
+                    event.taskId = taskDto.id();
+                }
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Выполняет изменение задачи без результата, записывая его длительность и результат.
+     *
+     * @param operation название операции
+     * @param taskId    идентификатор задачи
+     * @param action    изменение задачи
+     */
+    public static void record(String operation, Long taskId, Runnable action) {
+        record(operation, taskId, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,28 @@
+package com.hh.TaskManagementSystems.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Событие JFR: загрузка пользователя по email из токена в фильтре аутентификации.
+ */
+@Name("com.hh.tms.UserResolution")
+@Label("User Resolution")
+@Description("Загрузка пользователя по email из JWT токена")
+@Category({"Task Management Systems", "Security"})
+@Threshold("0 ms")
+@StackTrace(false)
+public class UserResolutionEvent extends jdk.jfr.Event {
+
+    @Label("User Id")
+    @Description("Идентификатор найденного пользователя")
+    public long userId;
+
+    @Label("Found")
+    @Description("Пользователь найден")
+    public boolean found;
+}
@@ -0,0 +1,40 @@
+package com.hh.TaskManagementSystems.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.Date;
+
+/**
+ * Комментарий архивной задачи. Переносится в архив вместе с задачей и сохраняет свой идентификатор.
+ */
+@Entity
+@Table(name = "comment_archive", indexes = {
+        @Index(name = "idx_comment_archive_task_date_creation", columnList = "task_id, date_creation"),
+        @Index(name = "idx_comment_archive_author_id", columnList = "author_id")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ArchivedComment {
+    @Id
+    @Column(nullable = false)
+    private Long id;
+
+    @Column(name = "body", nullable = false)
+    private String body;
+
+    @ManyToOne
+    @JoinColumn(name = "author_id", nullable = false)
+    @ToString.Exclude
+    private User author;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "task_id", nullable = false)
+    @ToString.Exclude
+    private ArchivedTask task;
+
+    @Column(name = "date_creation", nullable = false)
+    private Date dateCreation;
+}
@@ -0,0 +1,75 @@
+package com.hh.TaskManagementSystems.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.Date;
+
+/**
+ * Задача, перенесенная в архив после завершения. Колонки повторяют {@link Task}, кроме аренды и иерархии: в архив
+ * попадают только задачи без родителя и подзадач.
+ *
+ * <p>Строки добавляются только запросом {@code ArchivedTaskRepository#archiveCompleted}, который переносит задачу
+ * вместе с ее идентификатором, поэтому идентификатор не генерируется. Архивные задачи доступны только для
+ * чтения.</p>
+ */
+@Entity
+@Table(name = "task_archive", indexes = {
+        @Index(name = "idx_task_archive_author_id", columnList = "author_id"),
+        @Index(name = "idx_task_archive_executor_id", columnList = "executor_id")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ArchivedTask {
+    @Id
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "title", nullable = false, length = 100)
+    private String title;
+
+    @Column(name = "description", length = 4000)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private TaskStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority")
+    private TaskPriority priority;
+
+    @Column(name = "labels", nullable = false, columnDefinition = "varchar(50)[]")
+    private String[] labels;
+
+    @ManyToOne
+    @JoinColumn(name = "executor_id")
+    @ToString.Exclude
+    private User executor;
+
+    @ManyToOne
+    @JoinColumn(name = "author_id")
+    @ToString.Exclude
+    private User author;
+
+    @Column(name = "date_creation", nullable = false)
+    private Date dateCreation;
+
+    @Column(name = "comment_count", nullable = false)
+    private long commentCount;
+
+    @Column(name = "last_comment_at")
+    private Date lastCommentAt;
+
+    /**
+     * Время последнего перехода в {@code COMPLETED} по истории смен статусов или {@code null}, если задача
+     * завершена до появления истории.
+     */
+    @Column(name = "completed_at")
+    private Date completedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private Date archivedAt;
+}
@@ -0,0 +1,10 @@
+package com.hh.TaskManagementSystems.model;
+
+/**
+ * Вид изменения в журнале аудита.
+ */
+public enum AuditAction {
+    CREATED,
+    UPDATED,
+    DELETED
+}
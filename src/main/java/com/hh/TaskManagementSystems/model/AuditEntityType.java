@@ -0,0 +1,10 @@
+package com.hh.TaskManagementSystems.model;
+
+/**
+ * Тип сущности, изменение которой записано в журнал аудита.
+ */
+public enum AuditEntityType {
+    TASK,
+    COMMENT,
+    USER
+}
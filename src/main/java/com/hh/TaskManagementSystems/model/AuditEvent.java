@@ -0,0 +1,64 @@
+package com.hh.TaskManagementSystems.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.util.Date;
+
+/**
+ * Запись журнала аудита: кто, когда и какие поля изменил. Записи только добавляются и остаются после удаления
+ * сущности и пользователя, поэтому идентификаторы хранятся без внешних ключей, а email пользователя — копией.
+ *
+ * <p>Записи добавляются пачкой одним запросом в {@code AuditEventRepository#insertAll}, поэтому идентификатор
+ * выдает сама база данных.</p>
+ */
+@Entity
+@Table(name = "audit_event", indexes = @Index(name = "idx_audit_event_task_id", columnList = "task_id, id"))
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class AuditEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false)
+    private AuditEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    /**
+     * Задача, к истории которой относится запись: сама задача или задача комментария.
+     */
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action", nullable = false)
+    private AuditAction action;
+
+    /**
+     * Пользователь, выполнивший изменение, или {@code null}, если изменение выполнено без аутентификации.
+     */
+    @Column(name = "actor_id")
+    private Long actorId;
+
+    @Column(name = "actor_email")
+    private String actorEmail;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Date occurredAt;
+
+    /**
+     * Измененные поля в JSON: {@code {"status": {"oldValue": "PENDING", "newValue": "COMPLETED"}}}.
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "changes", nullable = false, columnDefinition = "jsonb")
+    private String changes;
+}
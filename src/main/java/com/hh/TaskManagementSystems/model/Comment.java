@@ -6,6 +6,7 @@ import lombok.*;
 import java.util.Date;
 
 @Entity
+@Table(indexes = @Index(name = "idx_comment_task_date_creation", columnList = "task_id, date_creation"))
 @Builder
 @Getter
 @Setter
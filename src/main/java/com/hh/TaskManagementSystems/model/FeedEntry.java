@@ -0,0 +1,62 @@
+package com.hh.TaskManagementSystems.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.Date;
+
+/**
+ * Запись ленты активности пользователя: что и кем изменено в задаче, где он автор или исполнитель.
+ *
+ * <p>Записи добавляются при изменении задачи, по одной в ленту каждого связанного с ней пользователя, поэтому
+ * чтение ленты — один проход по индексу {@code idx_feed_entry_user_id} без соединений. Название задачи и email
+ * пользователя хранятся копией, идентификаторы — без внешних ключей, как в {@link AuditEvent}. Записи добавляются
+ * пачкой одним запросом в {@code FeedEntryRepository#insertAll}, поэтому идентификатор выдает сама база данных.</p>
+ */
+@Entity
+@Table(name = "feed_entry", indexes = {
+        @Index(name = "idx_feed_entry_user_id", columnList = "user_id, id"),
+        @Index(name = "idx_feed_entry_occurred_at", columnList = "occurred_at")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class FeedEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    /**
+     * Владелец ленты.
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "task_title")
+    private String taskTitle;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false)
+    private AuditEntityType entityType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action", nullable = false)
+    private AuditAction action;
+
+    /**
+     * Измененные поля задачи по именам полей {@code TaskDto}.
+     */
+    @Column(name = "fields", nullable = false, columnDefinition = "varchar(50)[]")
+    private String[] fields;
+
+    @Column(name = "actor_email")
+    private String actorEmail;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Date occurredAt;
+}
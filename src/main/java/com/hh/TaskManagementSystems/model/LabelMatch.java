@@ -0,0 +1,15 @@
+package com.hh.TaskManagementSystems.model;
+
+/**
+ * Режим фильтрации задач по нескольким меткам.
+ */
+public enum LabelMatch {
+    /**
+     * Задача содержит хотя бы одну из меток, оператор {@code &&}.
+     */
+    ANY,
+    /**
+     * Задача содержит все метки, оператор {@code @>}.
+     */
+    ALL
+}
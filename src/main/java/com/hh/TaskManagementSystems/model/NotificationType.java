@@ -0,0 +1,15 @@
+package com.hh.TaskManagementSystems.model;
+
+/**
+ * Вид уведомления.
+ */
+public enum NotificationType {
+    /**
+     * Пользователь назначен исполнителем задачи.
+     */
+    TASK_ASSIGNED,
+    /**
+     * К задаче пользователя добавлен комментарий.
+     */
+    TASK_COMMENTED
+}
@@ -0,0 +1,75 @@
+package com.hh.TaskManagementSystems.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.util.Date;
+
+/**
+ * Исходящее уведомление. Добавляется в транзакции, которая выполняет изменение, и доставляется в фоне
+ * {@code OutboxDispatcher}, поэтому уведомление отправляется тогда и только тогда, когда изменение зафиксировано.
+ *
+ * <p>Частичные индексы по ожидающим и доставленным сообщениям создаются скриптом {@code schema.sql}.</p>
+ */
+@Entity
+@Table(name = "outbox_message")
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class OutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private NotificationType type;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    /**
+     * Содержимое уведомления в JSON: получатели, заголовок задачи, автор изменения и текст.
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "payload", nullable = false, columnDefinition = "jsonb")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    @Builder.Default
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Date createdAt;
+
+    /**
+     * Время, не раньше которого сообщение будет доставляться; после неудачной попытки отодвигается.
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private Date nextAttemptAt;
+
+    @Column(name = "sent_at")
+    private Date sentAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    /**
+     * Имена каналов, которые уже приняли сообщение. Повторная попытка передает сообщение только в остальные каналы.
+     */
+    @Column(name = "delivered_sinks", nullable = false, columnDefinition = "varchar(50)[]")
+    @ColumnDefault("'{}'")
+    @Builder.Default
+    private String[] deliveredSinks = new String[0];
+}
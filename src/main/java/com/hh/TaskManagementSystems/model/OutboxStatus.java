@@ -0,0 +1,19 @@
+package com.hh.TaskManagementSystems.model;
+
+/**
+ * Состояние сообщения в таблице исходящих уведомлений.
+ */
+public enum OutboxStatus {
+    /**
+     * Ожидает доставки или повторной попытки.
+     */
+    PENDING,
+    /**
+     * Доставлено во все каналы.
+     */
+    SENT,
+    /**
+     * Не доставлено за максимальное количество попыток.
+     */
+    FAILED
+}
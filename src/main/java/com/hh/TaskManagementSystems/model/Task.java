@@ -2,10 +2,23 @@ package com.hh.TaskManagementSystems.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
+import java.util.Date;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_task_comment_count", columnList = "comment_count"),
+        @Index(name = "idx_task_last_comment_at", columnList = "last_comment_at"),
+        @Index(name = "idx_task_title", columnList = "title"),
+        @Index(name = "idx_task_date_creation", columnList = "date_creation"),
+        @Index(name = "idx_task_author_id", columnList = "author_id"),
+        @Index(name = "idx_task_executor_id", columnList = "executor_id"),
+        @Index(name = "idx_task_parent_id", columnList = "parent_id")
+})
 @Builder
 @Getter
 @Setter
@@ -34,6 +47,16 @@ public class Task {
     @Builder.Default
     private TaskPriority priority = TaskPriority.LOW;
 
+    /**
+     * Метки задачи в нижнем регистре без повторов. Хранятся массивом {@code varchar(50)[]} в строке задачи, поэтому
+     * не требуют отдельных запросов при выводе списков; фильтры по меткам используют GIN-индекс
+     * {@code idx_task_labels} из {@code schema.sql}.
+     */
+    @Column(name = "labels", nullable = false, columnDefinition = "varchar(50)[]")
+    @ColumnDefault("'{}'")
+    @Builder.Default
+    private String[] labels = new String[0];
+
     @ManyToOne()
     @JoinColumn(name = "executor_id")
     @ToString.Exclude
@@ -44,7 +67,63 @@ public class Task {
     @ToString.Exclude
     private User author;
 
+    /**
+     * Родительская задача. Иерархия не содержит циклов: это проверяется при каждой смене родителя. При удалении
+     * родителя подзадачи становятся задачами верхнего уровня.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    @ToString.Exclude
+    private Task parent;
+
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL, orphanRemoval = true)
     @ToString.Exclude
     private List<Comment> comments;
+
+    /**
+     * Дата создания задачи. Задачам, созданным до появления колонки, проставляется время обновления схемы.
+     */
+    @Column(name = "date_creation", nullable = false, updatable = false)
+    @ColumnDefault("now()")
+    @Builder.Default
+    private Date dateCreation = new Date();
+
+    /**
+     * Количество комментариев к задаче. Изменяется только атомарными запросами в {@code TaskRepository}.
+     */
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private long commentCount = 0;
+
+    /**
+     * Дата последнего комментария. Изменяется только атомарными запросами в {@code TaskRepository}.
+     */
+    @Column(name = "last_comment_at", insertable = false, updatable = false)
+    private Date lastCommentAt;
+
+    /**
+     * Количество прямых подзадач. Изменяется только атомарными запросами в {@code TaskRepository}.
+     */
+    @Column(name = "child_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private long childCount = 0;
+
+    /**
+     * Количество завершенных прямых подзадач. Изменяется только атомарными запросами в {@code TaskRepository}.
+     */
+    @Column(name = "completed_child_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private long completedChildCount = 0;
+
+    /**
+     * Срок аренды задачи, взятой из очереди через {@code POST /api/tasks/claim}. Исполнитель продлевает аренду
+     * запросами heartbeat; задачи с истекшей арендой возвращаются в очередь. У задач, взятых в работу вручную,
+     * аренды нет.
+     */
+    @Column(name = "lease_expires_at")
+    private Date leaseExpiresAt;
 }
@@ -0,0 +1,53 @@
+package com.hh.TaskManagementSystems.model;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.hh.TaskManagementSystems.exception.UnknownTaskFieldException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+/**
+ * Поля задачи, которые можно запросить через параметр {@code fields}.
+ *
+ * <p>Набор полей определяет как состав JSON-ответа, так и колонки и соединения, которые выбираются из базы данных.</p>
+ */
+@Getter
+@RequiredArgsConstructor
+public enum TaskField {
+    ID("id"),
+    TITLE("title"),
+    DESCRIPTION("description"),
+    STATUS("status"),
+    PRIORITY("priority"),
+    LABELS("labels"),
+    EXECUTOR_EMAIL("executorEmail"),
+    AUTHOR_EMAIL("authorEmail"),
+    PARENT_ID("parentId"),
+    CHILD_COUNT("childCount"),
+    COMPLETED_CHILD_COUNT("completedChildCount"),
+    DATE_CREATION("dateCreation"),
+    COMMENT_COUNT("commentCount"),
+    LAST_COMMENT_AT("lastCommentAt"),
+    COMMENTS("comments");
+
+    /**
+     * Имя поля в JSON-представлении задачи.
+     */
+    @JsonValue
+    private final String jsonName;
+
+    /**
+     * Находит поле задачи по его имени в JSON.
+     *
+     * @param jsonName имя поля в JSON
+     * @return поле задачи
+     * @throws UnknownTaskFieldException если поле с таким именем не существует
+     */
+    public static TaskField fromJsonName(String jsonName) {
+        return Arrays.stream(values())
+                .filter(field -> field.jsonName.equals(jsonName))
+                .findFirst()
+                .orElseThrow(() -> new UnknownTaskFieldException(jsonName));
+    }
+}
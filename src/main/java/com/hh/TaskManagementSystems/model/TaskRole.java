@@ -0,0 +1,15 @@
+package com.hh.TaskManagementSystems.model;
+
+/**
+ * Роль пользователя в задаче.
+ */
+public enum TaskRole {
+    /**
+     * Пользователь создал задачу.
+     */
+    AUTHOR,
+    /**
+     * Пользователь назначен исполнителем задачи.
+     */
+    EXECUTOR
+}
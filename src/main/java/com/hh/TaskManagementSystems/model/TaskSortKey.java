@@ -0,0 +1,41 @@
+package com.hh.TaskManagementSystems.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+/**
+ * Поля, по которым можно сортировать списки задач.
+ *
+ * <p>Допускаются только колонки с индексом, чтобы сортировка вместе с ограничением страницы читала индекс, а не
+ * сортировала всю отфильтрованную выборку.</p>
+ */
+@Getter
+@RequiredArgsConstructor
+public enum TaskSortKey {
+    ID("id"),
+    TITLE("title"),
+    DATE_CREATION("dateCreation"),
+    COMMENT_COUNT("commentCount"),
+    LAST_COMMENT_AT("lastCommentAt");
+
+    /**
+     * Имя атрибута сущности {@link Task}, оно же имя параметра {@code sortBy}.
+     */
+    private final String property;
+
+    /**
+     * Находит поле сортировки по имени атрибута.
+     *
+     * @param property имя атрибута
+     * @return поле сортировки
+     * @throws IllegalArgumentException если сортировка по атрибуту не поддерживается
+     */
+    public static TaskSortKey fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(key -> key.property.equals(property))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Сортировка по полю не поддерживается: " + property));
+    }
+}
@@ -0,0 +1,67 @@
+package com.hh.TaskManagementSystems.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.Date;
+
+/**
+ * Смена статуса задачи. Строки только добавляются — в транзакции, которая меняет статус, — и не изменяются и не
+ * удаляются вместе с задачей или пользователем, поэтому идентификаторы задачи и пользователей хранятся без внешних
+ * ключей.
+ *
+ * <p>Идентификатор выдает сама база данных, чтобы смены статуса при взятии задачи из очереди и возврате задач с
+ * истекшей арендой записывались тем же запросом в {@code TaskRepository}, что и меняет задачу.</p>
+ */
+@Entity
+@Table(name = "task_status_transition", indexes = {
+        @Index(name = "idx_task_status_transition_to_status", columnList = "to_status, changed_at"),
+        @Index(name = "idx_task_status_transition_task_id", columnList = "task_id, to_status, changed_at")
+})
+@Builder
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class TaskStatusTransition {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    /**
+     * Статус до изменения или {@code null} для новой задачи.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status")
+    private TaskStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false)
+    private TaskStatus toStatus;
+
+    /**
+     * Приоритет задачи после изменения.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority")
+    private TaskPriority priority;
+
+    /**
+     * Исполнитель задачи после изменения.
+     */
+    @Column(name = "executor_id")
+    private Long executorId;
+
+    /**
+     * Пользователь, изменивший статус, или {@code null}, если статус изменило само приложение.
+     */
+    @Column(name = "changed_by")
+    private Long changedBy;
+
+    @Column(name = "changed_at", nullable = false)
+    private Date changedAt;
+}
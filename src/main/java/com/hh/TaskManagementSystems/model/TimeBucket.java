@@ -0,0 +1,38 @@
+package com.hh.TaskManagementSystems.model;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Интервал, по которому группируется пропускная способность в аналитике задач. Границы интервалов считаются
+ * в UTC.
+ */
+public enum TimeBucket {
+    /**
+     * Сутки.
+     */
+    DAY,
+    /**
+     * Неделя с понедельника.
+     */
+    WEEK;
+
+    /**
+     * Возвращает начало интервала, в который попадает момент времени.
+     *
+     * @param instant момент времени
+     * @return начало интервала
+     */
+    public Instant truncate(Instant instant) {
+        Instant day = instant.truncatedTo(ChronoUnit.DAYS);
+        if (this == DAY) {
+            return day;
+        }
+        return day.atOffset(ZoneOffset.UTC)
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                .toInstant();
+    }
+}
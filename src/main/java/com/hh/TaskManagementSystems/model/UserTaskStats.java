@@ -0,0 +1,25 @@
+package com.hh.TaskManagementSystems.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Количество задач пользователя в одной роли с одним статусом и приоритетом.
+ *
+ * <p>У пользователя не больше 24 строк, поэтому статистика читается за время, не зависящее от количества задач.
+ * Строки изменяются только атомарными запросами в {@code UserTaskStatsRepository} и {@code TaskRepository} в
+ * транзакции, которая меняет задачу, и периодически сверяются с таблицей задач.</p>
+ */
+@Entity
+@Table(name = "user_task_stats", indexes = @Index(name = "idx_user_task_stats_user_id", columnList = "user_id"))
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class UserTaskStats {
+    @EmbeddedId
+    private UserTaskStatsId id;
+
+    @Column(name = "task_count", nullable = false)
+    private long taskCount;
+}
@@ -0,0 +1,50 @@
+package com.hh.TaskManagementSystems.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Ключ счетчика задач пользователя: пользователь, его роль в задачах, статус и приоритет задач.
+ *
+ * <p>Приоритет хранится именем {@link TaskPriority}, задачи без приоритета учитываются в отдельном счетчике
+ * {@link #NO_PRIORITY}.</p>
+ */
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class UserTaskStatsId implements Serializable {
+
+    /**
+     * Значение приоритета в счетчике задач без приоритета.
+     */
+    public static final String NO_PRIORITY = "NONE";
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "role", nullable = false)
+    private TaskRole role;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private TaskStatus status;
+
+    @Column(name = "priority", nullable = false)
+    private String priority;
+
+    /**
+     * Возвращает значение приоритета в ключе счетчика.
+     *
+     * @param priority приоритет задачи или {@code null}
+     * @return имя приоритета или {@link #NO_PRIORITY}
+     */
+    public static String priorityKey(TaskPriority priority) {
+        return priority != null ? priority.name() : NO_PRIORITY;
+    }
+}
@@ -0,0 +1,43 @@
+package com.hh.TaskManagementSystems.notification;
+
+import com.hh.TaskManagementSystems.model.NotificationType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Заглушка почтового канала: составляет письма и записывает их в журнал вместо отправки. Включается
+ * {@code task.outbox.email.enabled=true}; для настоящей отправки достаточно заменить {@link #send}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "task.outbox.email.enabled", havingValue = "true")
+public class EmailNotificationSink implements NotificationSink {
+
+    @Override
+    public String name() {
+        return "email";
+    }
+
+    @Override
+    public void deliver(List<Notification> notifications) {
+        for (Notification notification : notifications) {
+            Notification.Payload payload = notification.payload();
+            String subject = notification.type() == NotificationType.TASK_ASSIGNED
+                    ? "Вам назначена задача «" + payload.taskTitle() + "»"
+                    : "Новый комментарий к задаче «" + payload.taskTitle() + "»";
+            String body = notification.type() == NotificationType.TASK_ASSIGNED
+                    ? payload.actorEmail() + " назначил вас исполнителем задачи " + notification.taskId()
+                    : payload.actorEmail() + ": " + payload.text();
+            for (String recipient : payload.recipients()) {
+                send(recipient, subject, body);
+            }
+        }
+    }
+
+    private void send(String recipient, String subject, String body) {
+        log.info("Письмо для {}: {}\n{}", recipient, subject, body);
+    }
+}
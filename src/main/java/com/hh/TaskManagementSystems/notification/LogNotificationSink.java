@@ -0,0 +1,29 @@
+package com.hh.TaskManagementSystems.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Записывает уведомления в журнал приложения. Включен, пока не задано {@code task.outbox.log.enabled=false}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "task.outbox.log.enabled", havingValue = "true", matchIfMissing = true)
+public class LogNotificationSink implements NotificationSink {
+
+    @Override
+    public String name() {
+        return "log";
+    }
+
+    @Override
+    public void deliver(List<Notification> notifications) {
+        for (Notification notification : notifications) {
+            log.info("Уведомление {} {} по задаче {} для {}", notification.id(), notification.type(),
+                    notification.taskId(), notification.payload().recipients());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.hh.TaskManagementSystems.notification;
+
+import com.hh.TaskManagementSystems.model.NotificationType;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Уведомление, передаваемое в каналы доставки.
+ *
+ * @param id         идентификатор сообщения в таблице исходящих уведомлений; повторная доставка того же
+ *                   уведомления приходит с тем же идентификатором
+ * @param type       вид уведомления
+ * @param taskId     идентификатор задачи
+ * @param createdAt  время изменения, о котором уведомление
+ * @param payload    содержимое уведомления
+ */
+public record Notification(Long id, NotificationType type, Long taskId, Instant createdAt, Payload payload) {
+
+    /**
+     * Содержимое уведомления, которое хранится в сообщении в JSON.
+     *
+     * @param recipients email получателей
+     * @param taskTitle  заголовок задачи в момент изменения
+     * @param actorEmail email пользователя, выполнившего изменение
+     * @param text       текст комментария или {@code null}
+     */
+    public record Payload(List<String> recipients, String taskTitle, String actorEmail, String text) {
+    }
+}
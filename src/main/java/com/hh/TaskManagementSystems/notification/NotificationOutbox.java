@@ -0,0 +1,80 @@
+package com.hh.TaskManagementSystems.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hh.TaskManagementSystems.model.Comment;
+import com.hh.TaskManagementSystems.model.NotificationType;
+import com.hh.TaskManagementSystems.model.OutboxMessage;
+import com.hh.TaskManagementSystems.model.Task;
+import com.hh.TaskManagementSystems.model.User;
+import com.hh.TaskManagementSystems.repository.OutboxMessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Добавляет уведомления в таблицу исходящих уведомлений в текущей транзакции. Запрос к API только вставляет одну
+ * строку, а доставку выполняет {@link OutboxDispatcher} после фиксации.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationOutbox {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Уведомляет исполнителя задачи о назначении, если он назначил себя не сам.
+     *
+     * @param task  задача с новым исполнителем
+     * @param actor пользователь, назначивший исполнителя
+     */
+    public void taskAssigned(Task task, User actor) {
+        User executor = task.getExecutor();
+        if (executor == null || executor.getId().equals(actor.getId())) {
+            return;
+        }
+        enqueue(NotificationType.TASK_ASSIGNED, task,
+                new Notification.Payload(List.of(executor.getEmail()), task.getTitle(), actor.getEmail(), null));
+    }
+
+    /**
+     * Уведомляет автора и исполнителя задачи о новом комментарии, кроме автора комментария.
+     *
+     * @param comment сохраненный комментарий
+     */
+    public void taskCommented(Comment comment) {
+        Task task = comment.getTask();
+        User actor = comment.getAuthor();
+        Set<String> recipients = new LinkedHashSet<>();
+        for (User user : new User[]{task.getAuthor(), task.getExecutor()}) {
+            if (user != null && !user.getId().equals(actor.getId())) {
+                recipients.add(user.getEmail());
+            }
+        }
+        if (recipients.isEmpty()) {
+            return;
+        }
+        enqueue(NotificationType.TASK_COMMENTED, task, new Notification.Payload(List.copyOf(recipients),
+                task.getTitle(), actor.getEmail(), comment.getBody()));
+    }
+
+    private void enqueue(NotificationType type, Task task, Notification.Payload payload) {
+        Date now = new Date();
+        try {
+            outboxMessageRepository.save(OutboxMessage.builder()
+                    .type(type)
+                    .taskId(task.getId())
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .createdAt(now)
+                    .nextAttemptAt(now)
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сериализовать уведомление", e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.hh.TaskManagementSystems.notification;
+
+import java.util.List;
+
+/**
+ * Канал доставки уведомлений. Каналы — бины Spring; {@link OutboxDispatcher} передает каждую пачку уведомлений во
+ * все каналы.
+ *
+ * <p>Доставка выполняется не меньше одного раза. Для каждого сообщения запоминаются каналы, которые его приняли,
+ * и если один из каналов не принял пачку, повтор передается только в него. Повтор в принявший канал все же возможен,
+ * если транзакция пачки не зафиксировалась после доставки, поэтому каналы должны выдерживать повторы, например по
+ * {@link Notification#id()}.</p>
+ */
+public interface NotificationSink {
+
+    /**
+     * Имя канала для журналов и метрик. Запоминается в доставленных сообщениях, поэтому не должно меняться.
+     */
+    String name();
+
+    /**
+     * Доставляет пачку уведомлений.
+     *
+     * @param notifications уведомления в порядке создания
+     * @throws RuntimeException если пачка не доставлена; тогда она будет доставлена повторно
+     */
+    void deliver(List<Notification> notifications);
+}
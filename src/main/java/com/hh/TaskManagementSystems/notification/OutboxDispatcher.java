@@ -0,0 +1,227 @@
+package com.hh.TaskManagementSystems.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hh.TaskManagementSystems.model.OutboxMessage;
+import com.hh.TaskManagementSystems.model.OutboxStatus;
+import com.hh.TaskManagementSystems.repository.OutboxMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Доставляет исходящие уведомления в фоне.
+ *
+ * <p>Каждый проход забирает пачками по {@code task.outbox.batch-size} сообщения, время доставки которых наступило,
+ * блокируя их {@code FOR UPDATE SKIP LOCKED}, поэтому несколько экземпляров приложения доставляют разные сообщения,
+ * и передает пачку во все {@link NotificationSink}. Каждая пачка обрабатывается в своей транзакции. Каналы, которые
+ * приняли сообщение, запоминаются в нем в той же транзакции. Если канал не принял пачку, остальные каналы ее все
+ * равно получают, а сообщения повторяются через 1, 2, 4... секунды, но не реже раза в час, только в каналах, которые
+ * их еще не приняли; после {@code task.outbox.max-attempts} попыток сообщение помечается
+ * {@link OutboxStatus#FAILED}.</p>
+ *
+ * <p>Метрики: {@code task.outbox.lag} — возраст самого старого недоставленного сообщения в секундах,
+ * {@code task.outbox.delivery.lag} — время от создания до доставки, счетчики {@code task.outbox.delivered},
+ * {@code task.outbox.retried} и {@code task.outbox.failed}.</p>
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+    private static final int CLEANUP_BATCH_SIZE = 1_000;
+    private static final int MAX_ERROR_LENGTH = 1_000;
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final List<NotificationSink> sinks;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retention;
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final Timer deliveryLag;
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter failed;
+
+    public OutboxDispatcher(OutboxMessageRepository outboxMessageRepository, List<NotificationSink> sinks,
+                            ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${task.outbox.batch-size:100}") int batchSize,
+                            @Value("${task.outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${task.outbox.retention-ms:604800000}") long retentionMillis) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.sinks = sinks;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retention = Duration.ofMillis(retentionMillis);
+        Gauge.builder("task.outbox.lag", lagSeconds, AtomicLong::get)
+                .description("Возраст самого старого недоставленного уведомления")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder("task.outbox.delivery.lag")
+                .description("Время от создания уведомления до доставки")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.delivered = Counter.builder("task.outbox.delivered").register(meterRegistry);
+        this.retried = Counter.builder("task.outbox.retried").register(meterRegistry);
+        this.failed = Counter.builder("task.outbox.failed").register(meterRegistry);
+    }
+
+    /**
+     * Доставляет все сообщения, время доставки которых наступило, и обновляет метрику задержки.
+     *
+     * @return количество сообщений, обработанных за проход, включая неудачные попытки
+     */
+    @Scheduled(fixedDelayString = "${task.outbox.poll-interval-ms:1000}")
+    public int dispatch() {
+        int processed = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> dispatchBatch());
+            processed += batch;
+        } while (batch == batchSize);
+        Date oldest = outboxMessageRepository.findOldestPendingCreatedAt();
+        lagSeconds.set(oldest != null
+                ? Math.max(0, (System.currentTimeMillis() - oldest.getTime()) / 1000)
+                : 0);
+        return processed;
+    }
+
+    private int dispatchBatch() {
+        Date now = new Date();
+        List<OutboxMessage> messages = outboxMessageRepository.lockDue(now, batchSize);
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        List<OutboxMessage> deliverable = new ArrayList<>(messages.size());
+        List<Notification> notifications = new ArrayList<>(messages.size());
+        for (OutboxMessage message : messages) {
+            try {
+                notifications.add(new Notification(message.getId(), message.getType(), message.getTaskId(),
+                        message.getCreatedAt().toInstant(),
+                        objectMapper.readValue(message.getPayload(), Notification.Payload.class)));
+                deliverable.add(message);
+            } catch (JsonProcessingException e) {
+                log.error("Не удалось прочитать уведомление {}", message.getId(), e);
+                message.setAttempts(maxAttempts);
+                message.setStatus(OutboxStatus.FAILED);
+                message.setLastError(truncate(e.getMessage()));
+                failed.increment();
+            }
+        }
+        if (deliverable.isEmpty()) {
+            return messages.size();
+        }
+        Map<OutboxMessage, String> errors = new HashMap<>();
+        for (NotificationSink sink : sinks) {
+            List<OutboxMessage> pending = new ArrayList<>(deliverable.size());
+            List<Notification> batch = new ArrayList<>(deliverable.size());
+            for (int i = 0; i < deliverable.size(); i++) {
+                if (!isDeliveredTo(deliverable.get(i), sink)) {
+                    pending.add(deliverable.get(i));
+                    batch.add(notifications.get(i));
+                }
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+            try {
+                sink.deliver(batch);
+                pending.forEach(message -> markDelivered(message, sink));
+            } catch (RuntimeException e) {
+                log.warn("Канал {} не принял {} уведомлений", sink.name(), batch.size(), e);
+                String error = sink.name() + ": " + e.getMessage();
+                pending.forEach(message -> errors.putIfAbsent(message, error));
+            }
+        }
+        int sent = 0;
+        for (OutboxMessage message : deliverable) {
+            String error = errors.get(message);
+            if (error != null) {
+                retry(message, now, error);
+                continue;
+            }
+            message.setStatus(OutboxStatus.SENT);
+            message.setSentAt(now);
+            message.setAttempts(message.getAttempts() + 1);
+            message.setLastError(null);
+            deliveryLag.record(now.getTime() - message.getCreatedAt().getTime(), TimeUnit.MILLISECONDS);
+            sent++;
+        }
+        delivered.increment(sent);
+        return messages.size();
+    }
+
+    private static boolean isDeliveredTo(OutboxMessage message, NotificationSink sink) {
+        return Arrays.asList(message.getDeliveredSinks()).contains(sink.name());
+    }
+
+    private static void markDelivered(OutboxMessage message, NotificationSink sink) {
+        String[] deliveredSinks = Arrays.copyOf(message.getDeliveredSinks(), message.getDeliveredSinks().length + 1);
+        deliveredSinks[deliveredSinks.length - 1] = sink.name();
+        message.setDeliveredSinks(deliveredSinks);
+    }
+
+    private void retry(OutboxMessage message, Date now, String error) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(truncate(error));
+        if (attempts >= maxAttempts) {
+            message.setStatus(OutboxStatus.FAILED);
+            failed.increment();
+            log.error("Уведомление {} не доставлено за {} попыток", message.getId(), attempts);
+            return;
+        }
+        message.setNextAttemptAt(new Date(now.getTime() + backoff(attempts).toMillis()));
+        retried.increment();
+    }
+
+    /**
+     * Задержка перед следующей попыткой: 1 секунда после первой неудачи, дальше вдвое больше, но не больше часа.
+     */
+    static Duration backoff(int attempts) {
+        int shift = Math.min(attempts - 1, 30);
+        Duration delay = INITIAL_BACKOFF.multipliedBy(1L << shift);
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    /**
+     * Удаляет доставленные сообщения старше {@code task.outbox.retention-ms} (по умолчанию 7 дней) порциями по
+     * {@value #CLEANUP_BATCH_SIZE}, каждая порция — в своей транзакции.
+     */
+    @Scheduled(fixedDelayString = "${task.outbox.cleanup-interval-ms:3600000}")
+    public void deleteSent() {
+        Date before = new Date(System.currentTimeMillis() - retention.toMillis());
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status ->
+                    outboxMessageRepository.deleteSentBefore(before, CLEANUP_BATCH_SIZE));
+        } while (deleted == CLEANUP_BATCH_SIZE);
+    }
+}
@@ -0,0 +1,63 @@
+package com.hh.TaskManagementSystems.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Отправляет пачку уведомлений одним запросом {@code POST} с JSON-массивом на адрес {@code task.outbox.webhook.url},
+ * например на локальную заглушку. Включается, если адрес задан; ответ не из диапазона 2xx считается неудачей.
+ */
+@Component
+@ConditionalOnProperty(name = "task.outbox.webhook.url")
+public class WebhookNotificationSink implements NotificationSink {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final URI url;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+
+    public WebhookNotificationSink(@Value("${task.outbox.webhook.url}") String url, ObjectMapper objectMapper) {
+        this.url = URI.create(url);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return "webhook";
+    }
+
+    @Override
+    public void deliver(List<Notification> notifications) {
+        HttpResponse<Void> response;
+        try {
+            HttpRequest request = HttpRequest.newBuilder(url)
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(notifications)))
+                    .build();
+            response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сериализовать уведомления", e);
+        } catch (IOException e) {
+            throw new IllegalStateException("Не удалось отправить уведомления на " + url, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Отправка уведомлений прервана", e);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Адрес " + url + " ответил " + response.statusCode());
+        }
+    }
+}
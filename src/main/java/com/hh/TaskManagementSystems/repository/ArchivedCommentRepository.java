@@ -0,0 +1,15 @@
+package com.hh.TaskManagementSystems.repository;
+
+import com.hh.TaskManagementSystems.model.ArchivedComment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Комментарии архивных задач.
+ */
+@Repository
+public interface ArchivedCommentRepository extends JpaRepository<ArchivedComment, Long> {
+    Page<ArchivedComment> findByTask_Id(Long id, Pageable pageable);
+}
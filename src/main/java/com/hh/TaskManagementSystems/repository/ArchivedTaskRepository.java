@@ -0,0 +1,104 @@
+package com.hh.TaskManagementSystems.repository;
+
+import com.hh.TaskManagementSystems.model.ArchivedTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Архив завершенных задач.
+ */
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+
+    @Query("select t from ArchivedTask t left join fetch t.author left join fetch t.executor where t.id = :id")
+    Optional<ArchivedTask> findWithUsersById(@Param("id") Long id);
+
+    /**
+     * Переносит в архив не больше {@code limit} задач {@code COMPLETED} без родителя и подзадач, завершенных и
+     * созданных раньше {@code before}, вместе с их комментариями. Задачи, заблокированные другими транзакциями,
+     * пропускаются до следующего прохода, поэтому перенос не ждет изменений задач, а изменения ждут перенос только
+     * своей порции. Счетчики задач авторов и исполнителей в {@code user_task_stats} уменьшаются тем же запросом.
+     *
+     * @return идентификаторы перенесенных задач
+     */
+    @Query(value = """
+            WITH batch AS (
+                SELECT t.id FROM task t
+                WHERE t.status = 'COMPLETED' AND t.parent_id IS NULL AND t.date_creation < :before
+                  AND NOT EXISTS (SELECT 1 FROM task c WHERE c.parent_id = t.id)
+                  AND NOT EXISTS (SELECT 1 FROM task_status_transition s
+                                  WHERE s.task_id = t.id AND s.to_status = 'COMPLETED' AND s.changed_at >= :before)
+                ORDER BY t.id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            ), moved_comments AS (
+                DELETE FROM comment c USING batch b
+                WHERE c.task_id = b.id
+                RETURNING c.id, c.body, c.author_id, c.task_id, c.date_creation
+            ), archived_comments AS (
+                INSERT INTO comment_archive (id, body, author_id, task_id, date_creation)
+                SELECT id, body, author_id, task_id, date_creation FROM moved_comments
+            ), moved AS (
+                DELETE FROM task t USING batch b
+                WHERE t.id = b.id
+                RETURNING t.id, t.title, t.description, t.status, t.priority, t.labels, t.author_id, t.executor_id,
+                          t.date_creation, t.comment_count, t.last_comment_at
+            ), archived AS (
+                INSERT INTO task_archive (id, title, description, status, priority, labels, author_id, executor_id,
+                                          date_creation, comment_count, last_comment_at, completed_at, archived_at)
+                SELECT m.id, m.title, m.description, m.status, m.priority, m.labels, m.author_id, m.executor_id,
+                       m.date_creation, m.comment_count, m.last_comment_at,
+                       (SELECT max(s.changed_at) FROM task_status_transition s
+                        WHERE s.task_id = m.id AND s.to_status = 'COMPLETED'),
+                       :now
+                FROM moved m
+            ), changes (user_id, role, status, priority, delta) AS (
+                SELECT author_id, 'AUTHOR', status, COALESCE(priority, 'NONE'), -1 FROM moved
+                UNION ALL
+                SELECT executor_id, 'EXECUTOR', status, COALESCE(priority, 'NONE'), -1 FROM moved
+            ), adjusted AS (
+                INSERT INTO user_task_stats (user_id, role, status, priority, task_count)
+                SELECT user_id, role, status, priority, sum(delta)
+                FROM changes, (SELECT pg_advisory_xact_lock_shared(:lockKey)) l
+                WHERE user_id IS NOT NULL
+                GROUP BY user_id, role, status, priority
+                ORDER BY user_id, role, status, priority
+                ON CONFLICT (user_id, role, status, priority)
+                DO UPDATE SET task_count = user_task_stats.task_count + EXCLUDED.task_count
+            )
+            SELECT id FROM moved
+            """, nativeQuery = true)
+    List<Long> archiveCompleted(@Param("before") Date before, @Param("now") Date now, @Param("limit") int limit,
+                                @Param("lockKey") long lockKey);
+
+    /**
+     * Удаляет из архива задачи, в которых пользователь автор или исполнитель, с их комментариями и комментарии
+     * пользователя к остальным архивным задачам, пересчитывая их счетчики комментариев, — так же, как при
+     * удалении пользователя удаляются рабочие задачи.
+     */
+    @Modifying
+    @Query(value = """
+            WITH tasks AS (
+                SELECT id FROM task_archive WHERE author_id = :userId OR executor_id = :userId
+            ), comments AS (
+                DELETE FROM comment_archive c
+                WHERE c.author_id = :userId OR c.task_id IN (SELECT id FROM tasks)
+                RETURNING c.task_id
+            ), recounted AS (
+                UPDATE task_archive t SET comment_count = t.comment_count - s.cnt,
+                                          last_comment_at = (SELECT max(c.date_creation) FROM comment_archive c
+                                                             WHERE c.task_id = t.id AND c.author_id <> :userId)
+                FROM (SELECT task_id, count(*) AS cnt FROM comments GROUP BY task_id) s
+                WHERE t.id = s.task_id AND t.id NOT IN (SELECT id FROM tasks)
+            )
+            DELETE FROM task_archive WHERE id IN (SELECT id FROM tasks)
+            """, nativeQuery = true)
+    int deleteByUser(@Param("userId") Long userId);
+}
@@ -0,0 +1,46 @@
+package com.hh.TaskManagementSystems.repository;
+
+import com.hh.TaskManagementSystems.model.AuditEvent;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+
+/**
+ * Журнал аудита.
+ */
+@Repository
+public interface AuditEventRepository extends JpaRepository<AuditEvent, Long> {
+
+    /**
+     * Выбирает записи истории задачи и ее комментариев по индексу {@code idx_audit_event_task_id}.
+     */
+    Page<AuditEvent> findByTaskId(Long taskId, Pageable pageable);
+
+    /**
+     * Добавляет записи одним запросом. Массивы параллельны: {@code i}-е элементы описывают одну запись; записи
+     * получают идентификаторы в порядке массивов. Время передается массивом {@link Timestamp}, который драйвер
+     * привязывает как {@code timestamp[]} без разбора строк.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO audit_event (entity_type, entity_id, task_id, action, actor_id, actor_email, occurred_at,
+                                     changes)
+            SELECT e.entity_type, e.entity_id, e.task_id, e.action, e.actor_id, e.actor_email, e.occurred_at, e.changes
+            FROM unnest(CAST(:entityTypes AS varchar[]), CAST(:entityIds AS bigint[]), CAST(:taskIds AS bigint[]),
+                        CAST(:actions AS varchar[]), CAST(:actorIds AS bigint[]), CAST(:actorEmails AS varchar[]),
+                        CAST(:occurredAt AS timestamp[]), CAST(:changes AS jsonb[]))
+                     WITH ORDINALITY AS e (entity_type, entity_id, task_id, action, actor_id, actor_email,
+                                           occurred_at, changes, n)
+            ORDER BY e.n
+            """, nativeQuery = true)
+    int insertAll(@Param("entityTypes") String[] entityTypes, @Param("entityIds") Long[] entityIds,
+                  @Param("taskIds") Long[] taskIds, @Param("actions") String[] actions,
+                  @Param("actorIds") Long[] actorIds, @Param("actorEmails") String[] actorEmails,
+                  @Param("occurredAt") Timestamp[] occurredAt, @Param("changes") String[] changes);
+}
@@ -0,0 +1,23 @@
+package com.hh.TaskManagementSystems.repository;
+
+import java.util.Date;
+
+/**
+ * Проекция комментария для превью в списках задач.
+ *
+ * <p>Помимо полей комментария содержит общее количество комментариев к задаче,
+ * вычисленное оконной функцией в том же запросе.</p>
+ */
+public interface CommentPreview {
+    Long getId();
+
+    String getBody();
+
+    Long getTaskId();
+
+    Date getDateCreation();
+
+    String getAuthorEmail();
+
+    Long getTotal();
+}
@@ -4,10 +4,35 @@ import com.hh.TaskManagementSystems.model.Comment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     Page<Comment> findByTask_Id(Long id, Pageable pageable);
 
+    @Query(value = """
+            SELECT p.id AS id, p.body AS body, p.task_id AS taskId, p.date_creation AS dateCreation,
+                   p.author_email AS authorEmail, p.total AS total
+            FROM (SELECT c.id, c.body, c.task_id, c.date_creation, u.email AS author_email,
+                         ROW_NUMBER() OVER (PARTITION BY c.task_id ORDER BY c.date_creation DESC, c.id DESC) AS rn,
+                         COUNT(*) OVER (PARTITION BY c.task_id) AS total
+                  FROM comment c
+                  JOIN api_user u ON u.id = c.author_id
+                  WHERE c.task_id = ANY (CAST(:taskIds AS bigint[]))) p
+            WHERE p.rn <= :limit
+            ORDER BY p.task_id, p.rn
+            """, nativeQuery = true)
+    List<CommentPreview> findLatestByTaskIdIn(@Param("taskIds") Long[] taskIds, @Param("limit") int limit);
+
+    @Query("select c.task.id as taskId, c.body as body from Comment c where c.task.id in :taskIds order by c.id")
+    List<CommentText> findTextsByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+
+    @Query(value = "SELECT DISTINCT task_id FROM comment WHERE author_id = :authorId", nativeQuery = true)
+    List<Long> findTaskIdsByAuthorId(@Param("authorId") Long authorId);
+
 }
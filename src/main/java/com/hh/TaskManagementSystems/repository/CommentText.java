@@ -0,0 +1,10 @@
+package com.hh.TaskManagementSystems.repository;
+
+/**
+ * Проекция текста комментария для полнотекстового индекса.
+ */
+public interface CommentText {
+    Long getTaskId();
+
+    String getBody();
+}
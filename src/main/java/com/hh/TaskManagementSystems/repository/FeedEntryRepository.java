@@ -0,0 +1,89 @@
+package com.hh.TaskManagementSystems.repository;
+
+import com.hh.TaskManagementSystems.model.FeedEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Ленты активности пользователей.
+ */
+@Repository
+public interface FeedEntryRepository extends JpaRepository<FeedEntry, Long> {
+
+    /**
+     * Выбирает записи ленты пользователя с идентификатором меньше {@code beforeId}, начиная с последних, одним
+     * проходом по индексу {@code idx_feed_entry_user_id}.
+     */
+    @Query(value = """
+            SELECT * FROM feed_entry
+            WHERE user_id = :userId AND id < :beforeId
+            ORDER BY id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<FeedEntry> findPage(@Param("userId") Long userId, @Param("beforeId") Long beforeId,
+                             @Param("limit") int limit);
+
+    /**
+     * Добавляет записи одним запросом. Массивы параллельны: {@code i}-е элементы описывают одну запись; записи
+     * получают идентификаторы в порядке массивов. Измененные поля передаются строкой через запятую, время —
+     * массивом {@link Timestamp}, как в {@link AuditEventRepository#insertAll}.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO feed_entry (user_id, task_id, task_title, entity_type, action, fields, actor_email,
+                                    occurred_at)
+            SELECT e.user_id, e.task_id, e.task_title, e.entity_type, e.action,
+                   CAST(string_to_array(e.fields, ',') AS varchar(50)[]), e.actor_email, e.occurred_at
+            FROM unnest(CAST(:userIds AS bigint[]), CAST(:taskIds AS bigint[]), CAST(:taskTitles AS varchar[]),
+                        CAST(:entityTypes AS varchar[]), CAST(:actions AS varchar[]), CAST(:fields AS varchar[]),
+                        CAST(:actorEmails AS varchar[]), CAST(:occurredAt AS timestamp[]))
+                     WITH ORDINALITY AS e (user_id, task_id, task_title, entity_type, action, fields, actor_email,
+                                           occurred_at, n)
+            ORDER BY e.n
+            """, nativeQuery = true)
+    int insertAll(@Param("userIds") Long[] userIds, @Param("taskIds") Long[] taskIds,
+                  @Param("taskTitles") String[] taskTitles, @Param("entityTypes") String[] entityTypes,
+                  @Param("actions") String[] actions, @Param("fields") String[] fields,
+                  @Param("actorEmails") String[] actorEmails, @Param("occurredAt") Timestamp[] occurredAt);
+
+    /**
+     * Оставляет в лентах пользователей только {@code maxEntries} последних записей. Граница каждой ленты находится
+     * проходом по индексу {@code idx_feed_entry_user_id} на {@code maxEntries} записей от конца.
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM feed_entry f
+            USING (SELECT u.user_id,
+                          (SELECT e.id FROM feed_entry e
+                           WHERE e.user_id = u.user_id
+                           ORDER BY e.id DESC
+                           OFFSET :maxEntries LIMIT 1) AS boundary
+                   FROM unnest(CAST(:userIds AS bigint[])) AS u (user_id)) b
+            WHERE f.user_id = b.user_id AND f.id <= b.boundary
+            """, nativeQuery = true)
+    int trim(@Param("userIds") Long[] userIds, @Param("maxEntries") int maxEntries);
+
+    /**
+     * Удаляет не больше {@code limit} записей, добавленных раньше {@code before}.
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM feed_entry
+            WHERE id IN (SELECT id FROM feed_entry WHERE occurred_at < :before LIMIT :limit)
+            """, nativeQuery = true)
+    int deleteOlderThan(@Param("before") Date before, @Param("limit") int limit);
+
+    /**
+     * Удаляет ленту пользователя.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM feed_entry WHERE user_id = :userId", nativeQuery = true)
+    int deleteByUserId(@Param("userId") Long userId);
+}
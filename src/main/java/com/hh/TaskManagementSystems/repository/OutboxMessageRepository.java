@@ -0,0 +1,50 @@
+package com.hh.TaskManagementSystems.repository;
+
+import com.hh.TaskManagementSystems.model.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Исходящие уведомления.
+ */
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Выбирает и блокирует до конца транзакции ожидающие сообщения, время доставки которых наступило, в порядке
+     * этого времени. Сообщения, уже заблокированные другими экземплярами приложения, пропускаются, поэтому
+     * экземпляры доставляют разные сообщения. Порядок обслуживается частичным индексом {@code idx_outbox_message_due}.
+     */
+    @Query(value = """
+            SELECT * FROM outbox_message
+            WHERE status = 'PENDING' AND next_attempt_at <= :now
+            ORDER BY next_attempt_at, id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxMessage> lockDue(@Param("now") Date now, @Param("limit") int limit);
+
+    /**
+     * Возвращает время создания самого старого недоставленного сообщения или {@code null}, если таких нет.
+     */
+    @Query(value = """
+            SELECT created_at FROM outbox_message WHERE status = 'PENDING' ORDER BY created_at LIMIT 1
+            """, nativeQuery = true)
+    Date findOldestPendingCreatedAt();
+
+    /**
+     * Удаляет не больше {@code limit} сообщений, доставленных раньше {@code before}.
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM outbox_message
+            WHERE id IN (SELECT id FROM outbox_message WHERE status = 'SENT' AND sent_at < :before LIMIT :limit)
+            """, nativeQuery = true)
+    int deleteSentBefore(@Param("before") Date before, @Param("limit") int limit);
+}
@@ -0,0 +1,12 @@
+package com.hh.TaskManagementSystems.repository;
+
+import com.hh.TaskManagementSystems.model.Task;
+
+/**
+ * Задача на доске вместе с количеством задач в ее колонке.
+ *
+ * @param task        задача с автором и исполнителем
+ * @param columnTotal количество задач с тем же статусом, удовлетворяющих фильтру
+ */
+public record TaskBoardRow(Task task, long columnTotal) {
+}
@@ -0,0 +1,24 @@
+package com.hh.TaskManagementSystems.repository;
+
+import java.util.Date;
+
+/**
+ * Завершение задачи в выборке для аналитики времени выполнения.
+ */
+public interface TaskCompletion {
+
+    /**
+     * Исполнитель задачи в момент завершения или {@code null}.
+     */
+    Long getExecutorId();
+
+    String getPriority();
+
+    Date getCompletedAt();
+
+    /**
+     * Первый переход задачи в {@code IN_PROGRESS} после ее предыдущего завершения или {@code null}, если задача
+     * завершена, не побывав в работе.
+     */
+    Date getStartedAt();
+}
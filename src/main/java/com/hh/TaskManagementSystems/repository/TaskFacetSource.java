@@ -0,0 +1,20 @@
+package com.hh.TaskManagementSystems.repository;
+
+import com.hh.TaskManagementSystems.model.TaskPriority;
+import com.hh.TaskManagementSystems.model.TaskStatus;
+
+/**
+ * Проекция задачи для индекса фасетов: только измерения, по которым считаются количества задач.
+ *
+ * <p>Не читает текстовые колонки и не соединяется с {@code api_user}. В отличие от интерфейсных проекций
+ * заполняется конструктором прямо из результата запроса, без прокси на каждую строку, поэтому загрузка индекса по
+ * всей таблице ограничена чтением узких строк из базы данных.</p>
+ *
+ * @param id         идентификатор задачи
+ * @param status     статус задачи
+ * @param priority   приоритет задачи
+ * @param authorId   идентификатор автора
+ * @param executorId идентификатор исполнителя или {@code null}
+ */
+public record TaskFacetSource(Long id, TaskStatus status, TaskPriority priority, Long authorId, Long executorId) {
+}
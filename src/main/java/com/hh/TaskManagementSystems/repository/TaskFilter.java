@@ -0,0 +1,48 @@
+package com.hh.TaskManagementSystems.repository;
+
+import com.hh.TaskManagementSystems.model.LabelMatch;
+import com.hh.TaskManagementSystems.model.TaskPriority;
+import com.hh.TaskManagementSystems.model.TaskStatus;
+import lombok.Builder;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Условия выборки задач для {@link TaskQueryRepository}. Незаданные ({@code null} или пустые) условия не
+ * применяются, заданные объединяются по И.
+ *
+ * @param id              идентификатор задачи
+ * @param statuses        допустимые статусы
+ * @param priorities      допустимые приоритеты
+ * @param authorEmail     email автора
+ * @param executorEmail   email исполнителя
+ * @param hasComments     {@code true} — только задачи с комментариями, {@code false} — только без комментариев
+ * @param createdFrom     начало периода создания включительно
+ * @param createdTo       конец периода создания, не включая
+ * @param lastCommentFrom начало периода последнего комментария включительно
+ * @param lastCommentTo   конец периода последнего комментария, не включая
+ * @param labels          метки в нормализованном виде
+ * @param labelMatch      режим фильтра по меткам, по умолчанию {@link LabelMatch#ALL}
+ */
+@Builder
+public record TaskFilter(
+        Long id,
+        Set<TaskStatus> statuses,
+        Set<TaskPriority> priorities,
+        String authorEmail,
+        String executorEmail,
+        Boolean hasComments,
+        Date createdFrom,
+        Date createdTo,
+        Date lastCommentFrom,
+        Date lastCommentTo,
+        List<String> labels,
+        LabelMatch labelMatch
+) {
+    static boolean isSet(Collection<?> values) {
+        return values != null && !values.isEmpty();
+    }
+}
@@ -0,0 +1,71 @@
+package com.hh.TaskManagementSystems.repository;
+
+import com.hh.TaskManagementSystems.model.Task;
+import com.hh.TaskManagementSystems.model.TaskField;
+import com.hh.TaskManagementSystems.model.TaskPriority;
+import com.hh.TaskManagementSystems.model.TaskSortKey;
+import com.hh.TaskManagementSystems.model.TaskStatus;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Репозиторий для выборки задач по произвольному сочетанию условий {@link TaskFilter}.
+ *
+ * <p>Каждое сочетание заданных условий, запрошенных полей и сортировки дает одну и ту же строку JPQL, а значения
+ * условий передаются параметрами. Поэтому план запроса разбирается Hibernate один раз на форму фильтра и дальше
+ * берется из кэша планов. Сортировка допускается только по {@link TaskSortKey}.</p>
+ */
+public interface TaskQueryRepository {
+
+    /**
+     * Выбирает задачи, удовлетворяющие фильтру, вместе с авторами и исполнителями одним запросом.
+     *
+     * @param filter   условия выборки
+     * @param pageable параметры пагинации и сортировки, допускается {@link Pageable#unpaged()}
+     * @return страница задач
+     * @throws IllegalArgumentException если сортировка указана не по {@link TaskSortKey}
+     */
+    Page<Task> findAll(TaskFilter filter, Pageable pageable);
+
+    /**
+     * Выбирает задачи, удовлетворяющие фильтру, с указанным набором полей.
+     *
+     * <p>Выбирает только колонки, соответствующие запрошенным {@link TaskField}, и соединяется с {@code api_user}
+     * только если запрошен или фильтруется email автора или исполнителя. Каждый элемент результата —
+     * {@link Tuple}, в котором значения доступны по псевдонимам, совпадающим с {@link TaskField#getJsonName()}.</p>
+     *
+     * @param filter   условия выборки
+     * @param fields   запрошенные поля
+     * @param pageable параметры пагинации и сортировки, допускается {@link Pageable#unpaged()}
+     * @return страница кортежей с запрошенными полями
+     * @throws IllegalArgumentException если сортировка указана не по {@link TaskSortKey}
+     */
+    Page<Tuple> findAllProjected(TaskFilter filter, Set<TaskField> fields, Pageable pageable);
+
+    /**
+     * Выбирает для доски первые задачи каждого статуса вместе с количеством задач в каждом статусе одним запросом
+     * с оконными функциями. Задачи колонки упорядочены по {@link TaskPriority} и идентификатору.
+     *
+     * @param filter условия выборки
+     * @param limit  максимальное количество задач в колонке
+     * @return задачи с авторами и исполнителями, сгруппированные по статусу и упорядоченные внутри колонки
+     */
+    List<TaskBoardRow> findBoard(TaskFilter filter, int limit);
+
+    /**
+     * Выбирает следующие задачи колонки доски после указанной задачи.
+     *
+     * @param filter        условия выборки
+     * @param status        статус колонки
+     * @param afterPriority приоритет последней показанной задачи или {@code null}, если у нее нет приоритета
+     * @param afterId       идентификатор последней показанной задачи
+     * @param limit         максимальное количество задач
+     * @return задачи с авторами и исполнителями в порядке колонки
+     */
+    List<Task> findBoardColumn(TaskFilter filter, TaskStatus status, TaskPriority afterPriority, Long afterId,
+                               int limit);
+}
@@ -0,0 +1,299 @@
+package com.hh.TaskManagementSystems.repository;
+
+import com.hh.TaskManagementSystems.model.LabelMatch;
+import com.hh.TaskManagementSystems.model.Task;
+import com.hh.TaskManagementSystems.model.TaskField;
+import com.hh.TaskManagementSystems.model.TaskPriority;
+import com.hh.TaskManagementSystems.model.TaskSortKey;
+import com.hh.TaskManagementSystems.model.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import static com.hh.TaskManagementSystems.repository.TaskFilter.isSet;
+
+/**
+ * Реализация {@link TaskQueryRepository}, собирающая JPQL из условий фильтра.
+ *
+ * <p>Условия добавляются в фиксированном порядке и всегда с одними и теми же именами параметров, поэтому строка
+ * запроса зависит только от того, какие условия заданы, а не от их значений. Коллекции в условиях {@code in}
+ * дополняются до степени двойки ({@code hibernate.query.in_clause_parameter_padding}), чтобы разное количество
+ * статусов не порождало новые SQL-запросы.</p>
+ */
+public class TaskQueryRepositoryImpl implements TaskQueryRepository {
+
+    /**
+     * Ранг задач без приоритета: они идут в колонке доски после задач с приоритетом {@link TaskPriority#LOW}.
+     */
+    private static final int NO_PRIORITY_RANK = TaskPriority.values().length;
+
+    /**
+     * Ранг приоритета в порядке {@link TaskPriority}, задачи без приоритета получают {@link #NO_PRIORITY_RANK}.
+     * Выражение совпадает с индексом {@code idx_task_board_rank} из {@code schema.sql}, поэтому колонка доски
+     * читается по индексу.
+     */
+    private static final String PRIORITY_RANK = "case t.priority"
+            + " when com.hh.TaskManagementSystems.model.TaskPriority.HIGH then 0"
+            + " when com.hh.TaskManagementSystems.model.TaskPriority.MEDIUM then 1"
+            + " when com.hh.TaskManagementSystems.model.TaskPriority.LOW then 2 else " + NO_PRIORITY_RANK + " end";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Task> findAll(TaskFilter filter, Pageable pageable) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        String jpql = "select t from Task t left join fetch t.author a left join fetch t.executor e"
+                + where(filter, parameters) + orderBy(pageable.getSort());
+        TypedQuery<Task> query = entityManager.createQuery(jpql, Task.class);
+        return page(query, parameters, filter, pageable);
+    }
+
+    @Override
+    public Page<Tuple> findAllProjected(TaskFilter filter, Set<TaskField> fields, Pageable pageable) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        String jpql = "select " + selections(fields) + " from Task t"
+                + joins(filter, fields.contains(TaskField.AUTHOR_EMAIL), fields.contains(TaskField.EXECUTOR_EMAIL))
+                + where(filter, parameters) + orderBy(pageable.getSort());
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql, Tuple.class);
+        return page(query, parameters, filter, pageable);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Нумерация задач внутри статуса и размер колонки считаются оконными функциями в CTE, внешний запрос
+     * оставляет первые {@code limit} задач каждой колонки и загружает их вместе с пользователями.</p>
+     */
+    @Override
+    public List<TaskBoardRow> findBoard(TaskFilter filter, int limit) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        String jpql = "with ranked as (select t.id as id,"
+                + " row_number() over (partition by t.status order by " + PRIORITY_RANK + ", t.id) as position,"
+                + " count(*) over (partition by t.status) as columnTotal"
+                + " from Task t" + joins(filter, false, false) + where(filter, parameters) + ")"
+                + " select t, r.columnTotal from Task t join ranked r on r.id = t.id"
+                + " left join fetch t.author left join fetch t.executor"
+                + " where r.position <= :limit order by t.status, r.position";
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql, Object[].class);
+        parameters.forEach(query::setParameter);
+        query.setParameter("limit", (long) limit);
+        return query.getResultList().stream()
+                .map(row -> new TaskBoardRow((Task) row[0], (Long) row[1]))
+                .toList();
+    }
+
+    @Override
+    public List<Task> findBoardColumn(TaskFilter filter, TaskStatus status, TaskPriority afterPriority, Long afterId,
+                                      int limit) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        StringJoiner where = conditions(filter, parameters);
+        where.add("t.status = :boardStatus");
+        where.add("(" + PRIORITY_RANK + ", t.id) > (:afterRank, :afterId)");
+        parameters.put("boardStatus", status);
+        parameters.put("afterRank", afterPriority != null ? afterPriority.ordinal() : NO_PRIORITY_RANK);
+        parameters.put("afterId", afterId);
+        String jpql = "select t from Task t left join fetch t.author a left join fetch t.executor e"
+                + where + " order by " + PRIORITY_RANK + ", t.id";
+        TypedQuery<Task> query = entityManager.createQuery(jpql, Task.class);
+        parameters.forEach(query::setParameter);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    private <T> Page<T> page(TypedQuery<T> query, Map<String, Object> parameters, TaskFilter filter,
+                             Pageable pageable) {
+        parameters.forEach(query::setParameter);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(filter));
+    }
+
+    /**
+     * Строит список выбираемых выражений для запрошенных полей.
+     *
+     * <p>Поля перебираются в порядке объявления {@link TaskField}, чтобы один и тот же набор полей всегда давал
+     * одну строку запроса. Поле {@link TaskField#COMMENTS} не выбирается из таблицы задач, но требует
+     * идентификатора задачи для загрузки комментариев. Идентификатор также выбирается, если других полей
+     * не запрошено, чтобы запрос оставался корректным.</p>
+     *
+     * @param fields запрошенные поля
+     * @return список выражений с псевдонимами
+     */
+    private String selections(Set<TaskField> fields) {
+        StringJoiner selections = new StringJoiner(", ");
+        for (TaskField field : TaskField.values()) {
+            if (!fields.contains(field)) {
+                continue;
+            }
+            String path = switch (field) {
+                case ID -> "t.id";
+                case TITLE -> "t.title";
+                case DESCRIPTION -> "t.description";
+                case STATUS -> "t.status";
+                case PRIORITY -> "t.priority";
+                case LABELS -> "t.labels";
+                case EXECUTOR_EMAIL -> "e.email";
+                case AUTHOR_EMAIL -> "a.email";
+                case PARENT_ID -> "t.parent.id";
+                case CHILD_COUNT -> "t.childCount";
+                case COMPLETED_CHILD_COUNT -> "t.completedChildCount";
+                case DATE_CREATION -> "t.dateCreation";
+                case COMMENT_COUNT -> "t.commentCount";
+                case LAST_COMMENT_AT -> "t.lastCommentAt";
+                case COMMENTS -> null;
+            };
+            if (path != null) {
+                selections.add(path + " as " + field.getJsonName());
+            }
+        }
+        if (selections.length() == 0 || fields.contains(TaskField.COMMENTS) && !fields.contains(TaskField.ID)) {
+            selections.add("t.id as " + TaskField.ID.getJsonName());
+        }
+        return selections.toString();
+    }
+
+    /**
+     * Строит соединения с пользователями, нужные для фильтра и выбираемых полей.
+     *
+     * @param filter         условия выборки
+     * @param selectAuthor   выбирается ли email автора
+     * @param selectExecutor выбирается ли email исполнителя
+     * @return соединения, возможно пустая строка
+     */
+    private String joins(TaskFilter filter, boolean selectAuthor, boolean selectExecutor) {
+        String joins = "";
+        if (selectAuthor || filter.authorEmail() != null) {
+            joins += " left join t.author a";
+        }
+        if (selectExecutor || filter.executorEmail() != null) {
+            joins += " left join t.executor e";
+        }
+        return joins;
+    }
+
+    /**
+     * Строит условие {@code where} из заданных условий фильтра и заполняет значения параметров.
+     *
+     * <p>Метки сравниваются операторами массивов PostgreSQL: {@code array_overlaps} дает {@code labels && ?} для
+     * {@link LabelMatch#ANY}, {@code array_contains} с массивом — {@code labels @> ?} для {@link LabelMatch#ALL};
+     * оба обслуживаются GIN-индексом по {@code task.labels}.</p>
+     *
+     * @param filter     условия выборки
+     * @param parameters значения параметров запроса
+     * @return условие, возможно пустая строка
+     */
+    private String where(TaskFilter filter, Map<String, Object> parameters) {
+        return conditions(filter, parameters).toString();
+    }
+
+    /**
+     * Собирает условия фильтра, к которым можно добавить собственные условия запроса.
+     *
+     * @param filter     условия выборки
+     * @param parameters значения параметров запроса
+     * @return условия, объединенные по И, с префиксом {@code where}, если они есть
+     */
+    private StringJoiner conditions(TaskFilter filter, Map<String, Object> parameters) {
+        StringJoiner where = new StringJoiner(" and ", " where ", "").setEmptyValue("");
+        if (filter.id() != null) {
+            where.add("t.id = :id");
+            parameters.put("id", filter.id());
+        }
+        if (isSet(filter.statuses())) {
+            where.add("t.status in :statuses");
+            parameters.put("statuses", filter.statuses());
+        }
+        if (isSet(filter.priorities())) {
+            where.add("t.priority in :priorities");
+            parameters.put("priorities", filter.priorities());
+        }
+        if (filter.authorEmail() != null) {
+            where.add("a.email = :authorEmail");
+            parameters.put("authorEmail", filter.authorEmail());
+        }
+        if (filter.executorEmail() != null) {
+            where.add("e.email = :executorEmail");
+            parameters.put("executorEmail", filter.executorEmail());
+        }
+        if (filter.hasComments() != null) {
+            where.add(filter.hasComments() ? "t.commentCount > 0" : "t.commentCount = 0");
+        }
+        if (filter.createdFrom() != null) {
+            where.add("t.dateCreation >= :createdFrom");
+            parameters.put("createdFrom", filter.createdFrom());
+        }
+        if (filter.createdTo() != null) {
+            where.add("t.dateCreation < :createdTo");
+            parameters.put("createdTo", filter.createdTo());
+        }
+        if (filter.lastCommentFrom() != null) {
+            where.add("t.lastCommentAt >= :lastCommentFrom");
+            parameters.put("lastCommentFrom", filter.lastCommentFrom());
+        }
+        if (filter.lastCommentTo() != null) {
+            where.add("t.lastCommentAt < :lastCommentTo");
+            parameters.put("lastCommentTo", filter.lastCommentTo());
+        }
+        if (isSet(filter.labels())) {
+            where.add(filter.labelMatch() == LabelMatch.ANY
+                    ? "array_overlaps(t.labels, :labels)"
+                    : "array_contains(t.labels, :labels)");
+            parameters.put("labels", filter.labels().toArray(String[]::new));
+        }
+        return where;
+    }
+
+    /**
+     * Строит сортировку по допустимым полям. Для устойчивого порядка страниц последним ключом добавляется
+     * идентификатор задачи, если сортировка по нему не задана.
+     *
+     * @param sort сортировка
+     * @return условие {@code order by}, возможно пустая строка
+     * @throws IllegalArgumentException если сортировка указана не по {@link TaskSortKey}
+     */
+    private String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        StringJoiner orderBy = new StringJoiner(", ", " order by ", "");
+        boolean byId = false;
+        for (Sort.Order order : sort) {
+            TaskSortKey key = TaskSortKey.fromProperty(order.getProperty());
+            byId |= key == TaskSortKey.ID;
+            orderBy.add("t." + key.getProperty() + (order.isAscending() ? " asc" : " desc"));
+        }
+        if (!byId) {
+            orderBy.add("t.id");
+        }
+        return orderBy.toString();
+    }
+
+    /**
+     * Подсчитывает количество задач, удовлетворяющих фильтру. Соединения с пользователями добавляются, только если
+     * по ним есть условие.
+     *
+     * @param filter условия выборки
+     * @return количество задач
+     */
+    private long count(TaskFilter filter) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        String jpql = "select count(t) from Task t" + joins(filter, false, false) + where(filter, parameters);
+        TypedQuery<Long> query = entityManager.createQuery(jpql, Long.class);
+        parameters.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+}
@@ -1,28 +1,281 @@
 package com.hh.TaskManagementSystems.repository;
 
 import com.hh.TaskManagementSystems.model.Task;
-import com.hh.TaskManagementSystems.model.TaskPriority;
-import com.hh.TaskManagementSystems.model.TaskStatus;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    List<Task> findByAuthor_Email(String email);
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskQueryRepository {
+    @Query("select t from Task t left join fetch t.author left join fetch t.executor where t.id in :ids")
+    List<Task> findAllWithUsersByIdIn(@Param("ids") Collection<Long> ids);
 
-    List<Task> findByExecutor_Email(String email);
+    @Query("""
+            select t.id as id, t.title as title, t.description as description, t.status as status,
+                   t.priority as priority, t.author.id as authorId, t.executor.id as executorId
+            from Task t where t.id in :ids
+            """)
+    List<TaskSearchSource> findSearchSourcesByIdIn(@Param("ids") Collection<Long> ids);
 
-    Page<Task> findByStatus(TaskStatus status, Pageable pageable);
+    @Query("""
+            select t.id as id, t.title as title, t.description as description, t.status as status,
+                   t.priority as priority, t.author.id as authorId, t.executor.id as executorId
+            from Task t where t.id > :afterId order by t.id
+            """)
+    List<TaskSearchSource> findSearchSourcesAfter(@Param("afterId") Long afterId, Limit limit);
 
-    Page<Task> findByPriority(TaskPriority priority, Pageable pageable);
+    @Query("""
+            select new com.hh.TaskManagementSystems.repository.TaskFacetSource(
+                       t.id, t.status, t.priority, t.author.id, t.executor.id)
+            from Task t where t.id in :ids
+            """)
+    List<TaskFacetSource> findFacetSourcesByIdIn(@Param("ids") Collection<Long> ids);
 
-    Page<Task> findByCommentsNotEmpty(Pageable pageable);
+    @Query("""
+            select new com.hh.TaskManagementSystems.repository.TaskFacetSource(
+                       t.id, t.status, t.priority, t.author.id, t.executor.id)
+            from Task t where t.id > :afterId order by t.id
+            """)
+    List<TaskFacetSource> findFacetSourcesAfter(@Param("afterId") Long afterId, Limit limit);
 
-    Page<Task> findByStatusAndPriority(TaskStatus status, TaskPriority priority, Pageable pageable);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.id = :id")
+    Optional<Task> findByIdForUpdate(@Param("id") Long id);
 
+    /**
+     * Выбирает задачу и все ее подзадачи на любую глубину одним рекурсивным запросом, по уровням от корня.
+     *
+     * @param id    идентификатор корня поддерева
+     * @param limit максимальное количество задач
+     * @return задачи поддерева, пустой список, если задачи нет
+     */
+    @Query(value = """
+            WITH RECURSIVE subtree(id, depth) AS (
+                SELECT id, 0 FROM task WHERE id = :id
+                UNION ALL
+                SELECT c.id, s.depth + 1 FROM task c JOIN subtree s ON c.parent_id = s.id
+            )
+            SELECT t.id AS id, t.parent_id AS parentId, t.title AS title, t.status AS status,
+                   t.priority AS priority, e.email AS executorEmail, t.child_count AS childCount,
+                   t.completed_child_count AS completedChildCount, s.depth AS depth
+            FROM subtree s
+            JOIN task t ON t.id = s.id
+            LEFT JOIN api_user e ON e.id = t.executor_id
+            ORDER BY s.depth, t.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<TaskTreeNode> findSubtree(@Param("id") Long id, @Param("limit") int limit);
+
+    /**
+     * Выбирает задачу и цепочку ее предков до задачи верхнего уровня одним рекурсивным запросом.
+     *
+     * @param id идентификатор задачи
+     * @return задача и ее предки, начиная с задачи верхнего уровня; пустой список, если задачи нет
+     */
+    @Query(value = """
+            WITH RECURSIVE chain(id, parent_id, depth) AS (
+                SELECT id, parent_id, 0 FROM task WHERE id = :id
+                UNION ALL
+                SELECT p.id, p.parent_id, c.depth + 1 FROM task p JOIN chain c ON p.id = c.parent_id
+            )
+            SELECT t.id AS id, t.parent_id AS parentId, t.title AS title, t.status AS status,
+                   t.priority AS priority, e.email AS executorEmail, t.child_count AS childCount,
+                   t.completed_child_count AS completedChildCount, c.depth AS depth
+            FROM chain c
+            JOIN task t ON t.id = c.id
+            LEFT JOIN api_user e ON e.id = t.executor_id
+            ORDER BY c.depth DESC
+            """, nativeQuery = true)
+    List<TaskTreeNode> findAncestors(@Param("id") Long id);
+
+    /**
+     * Проверяет, является ли задача {@code ancestorId} задачей {@code id} или одним из ее предков.
+     */
+    @Query(value = """
+            WITH RECURSIVE chain(id, parent_id) AS (
+                SELECT id, parent_id FROM task WHERE id = :id
+                UNION ALL
+                SELECT p.id, p.parent_id FROM task p JOIN chain c ON p.id = c.parent_id
+            )
+            SELECT EXISTS (SELECT 1 FROM chain WHERE id = :ancestorId)
+            """, nativeQuery = true)
+    boolean isSelfOrAncestor(@Param("ancestorId") Long ancestorId, @Param("id") Long id);
+
+    /**
+     * Берет транзакционную advisory-блокировку изменений иерархии задач. Две параллельные смены родителя иначе
+     * могли бы по отдельности пройти проверку на цикл и вместе образовать его.
+     */
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(:key)) l", nativeQuery = true)
+    int lockHierarchy(@Param("key") long key);
+
+    @Modifying
+    @Query(value = """
+            UPDATE task SET child_count = child_count + :children,
+                            completed_child_count = completed_child_count + :completedChildren
+            WHERE id = :id
+            """, nativeQuery = true)
+    int adjustChildCounts(@Param("id") Long id, @Param("children") int children,
+                          @Param("completedChildren") int completedChildren);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE task p SET child_count = p.child_count - s.cnt,
+                              completed_child_count = p.completed_child_count - s.completed
+            FROM (SELECT parent_id, count(*) AS cnt, count(*) FILTER (WHERE status = 'COMPLETED') AS completed
+                  FROM task WHERE (author_id = :userId OR executor_id = :userId) AND parent_id IS NOT NULL
+                  GROUP BY parent_id) s
+            WHERE p.id = s.parent_id
+            """, nativeQuery = true)
+    int decrementChildCountsByUser(@Param("userId") Long userId);
+
+    /**
+     * Берет в работу следующую задачу из очереди одним запросом: выбирает задачу {@code PENDING} с наибольшим
+     * приоритетом, не назначенную или назначенную на исполнителя, блокирует ее, пропуская строки, уже
+     * заблокированные другими исполнителями, и переводит в {@code IN_PROGRESS} с арендой до указанного срока.
+     * Порядок обслуживается частичным индексом {@code idx_task_claim} из {@code schema.sql}. Счетчики задач автора
+     * и исполнителей в {@code user_task_stats} обновляются тем же запросом, как в
+     * {@link UserTaskStatsRepository#adjust}, и тем же запросом смена статуса записывается в
+     * {@code task_status_transition} с моментом {@code now}.
+     *
+     * @return идентификатор взятой задачи или пустой список, если подходящих задач нет
+     */
+    @Query(value = """
+            WITH claimed AS (
+                UPDATE task t SET status = 'IN_PROGRESS', executor_id = :executorId, lease_expires_at = :leaseExpiresAt
+                FROM (SELECT q.id, q.executor_id FROM task q
+                      WHERE q.status = 'PENDING'
+                        AND (q.executor_id IS NULL OR q.executor_id = :executorId)
+                        AND (CAST(:priority AS varchar) IS NULL OR q.priority = CAST(:priority AS varchar))
+                        AND (CAST(:label AS varchar) IS NULL OR q.labels @> ARRAY[CAST(:label AS varchar)])
+                      ORDER BY CASE q.priority WHEN 'HIGH' THEN 0 WHEN 'MEDIUM' THEN 1 ELSE 2 END, q.id
+                      LIMIT 1
+                      FOR UPDATE SKIP LOCKED) c
+                WHERE t.id = c.id
+                RETURNING t.id, t.author_id, t.priority, c.executor_id AS previous_executor_id
+            ), changes (user_id, role, status, priority, delta) AS (
+                SELECT author_id, 'AUTHOR', 'PENDING', COALESCE(priority, 'NONE'), -1 FROM claimed
+                UNION ALL
+                SELECT author_id, 'AUTHOR', 'IN_PROGRESS', COALESCE(priority, 'NONE'), 1 FROM claimed
+                UNION ALL
+                SELECT previous_executor_id, 'EXECUTOR', 'PENDING', COALESCE(priority, 'NONE'), -1 FROM claimed
+                UNION ALL
+                SELECT CAST(:executorId AS bigint), 'EXECUTOR', 'IN_PROGRESS', COALESCE(priority, 'NONE'), 1
+                FROM claimed
+            ), logged AS (
+                INSERT INTO task_status_transition (task_id, from_status, to_status, priority, executor_id,
+                                                    changed_by, changed_at)
+                SELECT id, 'PENDING', 'IN_PROGRESS', priority, :executorId, :executorId, :now FROM claimed
+            ), adjusted AS (
+                INSERT INTO user_task_stats (user_id, role, status, priority, task_count)
+                SELECT user_id, role, status, priority, sum(delta)
+                FROM changes, (SELECT pg_advisory_xact_lock_shared(:lockKey)) l
+                WHERE user_id IS NOT NULL
+                GROUP BY user_id, role, status, priority
+                ORDER BY user_id, role, status, priority
+                ON CONFLICT (user_id, role, status, priority)
+                DO UPDATE SET task_count = user_task_stats.task_count + EXCLUDED.task_count
+            )
+            SELECT id FROM claimed
+            """, nativeQuery = true)
+    List<Long> claimNext(@Param("executorId") Long executorId, @Param("priority") String priority,
+                         @Param("label") String label, @Param("now") Date now,
+                         @Param("leaseExpiresAt") Date leaseExpiresAt, @Param("lockKey") long lockKey);
+
+    @Modifying
+    @Query(value = """
+            UPDATE task SET lease_expires_at = :leaseExpiresAt
+            WHERE id = :id AND executor_id = :executorId AND status = 'IN_PROGRESS' AND lease_expires_at IS NOT NULL
+            """, nativeQuery = true)
+    int extendLease(@Param("id") Long id, @Param("executorId") Long executorId,
+                    @Param("leaseExpiresAt") Date leaseExpiresAt);
+
+    /**
+     * Возвращает в очередь задачи с истекшей арендой. Строки, заблокированные исполнителями, которые как раз
+     * продлевают аренду, пропускаются до следующего прохода. Счетчики задач авторов и бывших исполнителей в
+     * {@code user_task_stats} и история смен статусов в {@code task_status_transition} обновляются тем же
+     * запросом.
+     *
+     * @return идентификаторы возвращенных задач
+     */
+    @Query(value = """
+            WITH released AS (
+                UPDATE task t SET status = 'PENDING', executor_id = NULL, lease_expires_at = NULL
+                FROM (SELECT q.id, q.executor_id FROM task q
+                      WHERE q.lease_expires_at < :now AND q.status = 'IN_PROGRESS'
+                      LIMIT :limit
+                      FOR UPDATE SKIP LOCKED) r
+                WHERE t.id = r.id
+                RETURNING t.id, t.author_id, t.priority, r.executor_id AS previous_executor_id
+            ), changes (user_id, role, status, priority, delta) AS (
+                SELECT author_id, 'AUTHOR', 'IN_PROGRESS', COALESCE(priority, 'NONE'), -1 FROM released
+                UNION ALL
+                SELECT author_id, 'AUTHOR', 'PENDING', COALESCE(priority, 'NONE'), 1 FROM released
+                UNION ALL
+                SELECT previous_executor_id, 'EXECUTOR', 'IN_PROGRESS', COALESCE(priority, 'NONE'), -1 FROM released
+            ), logged AS (
+                INSERT INTO task_status_transition (task_id, from_status, to_status, priority, executor_id,
+                                                    changed_by, changed_at)
+                SELECT id, 'IN_PROGRESS', 'PENDING', priority, NULL, NULL, :now FROM released
+            ), adjusted AS (
+                INSERT INTO user_task_stats (user_id, role, status, priority, task_count)
+                SELECT user_id, role, status, priority, sum(delta)
+                FROM changes, (SELECT pg_advisory_xact_lock_shared(:lockKey)) l
+                WHERE user_id IS NOT NULL
+                GROUP BY user_id, role, status, priority
+                ORDER BY user_id, role, status, priority
+                ON CONFLICT (user_id, role, status, priority)
+                DO UPDATE SET task_count = user_task_stats.task_count + EXCLUDED.task_count
+            )
+            SELECT id FROM released
+            """, nativeQuery = true)
+    List<Long> releaseExpiredLeases(@Param("now") Date now, @Param("limit") int limit,
+                                    @Param("lockKey") long lockKey);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE task SET comment_count = comment_count + 1,
+                            last_comment_at = GREATEST(last_comment_at, :commentDate)
+            WHERE id = :id
+            """, nativeQuery = true)
+    int incrementCommentCount(@Param("id") Long id, @Param("commentDate") Date commentDate);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE task SET comment_count = comment_count - 1,
+                            last_comment_at = (SELECT max(c.date_creation) FROM comment c WHERE c.task_id = :id)
+            WHERE id = :id
+            """, nativeQuery = true)
+    int decrementCommentCount(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE task t SET comment_count = t.comment_count - s.cnt,
+                              last_comment_at = (SELECT max(c.date_creation) FROM comment c
+                                                 WHERE c.task_id = t.id AND c.author_id <> :authorId)
+            FROM (SELECT task_id, count(*) AS cnt FROM comment WHERE author_id = :authorId GROUP BY task_id) s
+            WHERE t.id = s.task_id
+            """, nativeQuery = true)
+    int decrementCommentCountsByCommentAuthor(@Param("authorId") Long authorId);
+
+    @Modifying
+    @Query(value = """
+            UPDATE task t SET comment_count = COALESCE(s.cnt, 0), last_comment_at = s.last
+            FROM task t2
+            LEFT JOIN (SELECT task_id, count(*) AS cnt, max(date_creation) AS last FROM comment GROUP BY task_id) s
+                   ON s.task_id = t2.id
+            WHERE t.id = t2.id
+              AND (t.comment_count <> COALESCE(s.cnt, 0) OR t.last_comment_at IS DISTINCT FROM s.last)
+            """, nativeQuery = true)
+    int reconcileCommentCounters();
 
 }
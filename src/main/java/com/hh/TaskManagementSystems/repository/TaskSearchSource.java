@@ -0,0 +1,26 @@
+package com.hh.TaskManagementSystems.repository;
+
+import com.hh.TaskManagementSystems.model.TaskPriority;
+import com.hh.TaskManagementSystems.model.TaskStatus;
+
+/**
+ * Проекция задачи для полнотекстового индекса.
+ *
+ * <p>Не загружает пользователей и не попадает в контекст персистентности, поэтому перестроение индекса по всей
+ * таблице не накапливает сущности в памяти.</p>
+ */
+public interface TaskSearchSource {
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    TaskStatus getStatus();
+
+    TaskPriority getPriority();
+
+    Long getAuthorId();
+
+    Long getExecutorId();
+}
@@ -0,0 +1,59 @@
+package com.hh.TaskManagementSystems.repository;
+
+import com.hh.TaskManagementSystems.model.TaskStatusTransition;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.stream.Stream;
+
+/**
+ * История смен статусов задач.
+ */
+@Repository
+public interface TaskStatusTransitionRepository extends JpaRepository<TaskStatusTransition, Long> {
+
+    /**
+     * Выбирает завершения задач из {@code [from, to)} вместе с началом работы над задачей. Началом считается первый
+     * переход в {@code IN_PROGRESS} после предыдущего завершения той же задачи, поэтому возврат задачи в очередь и
+     * повторное взятие не сбрасывают время выполнения, а повторно открытая задача считается заново. Оба поиска идут
+     * по индексу {@code idx_task_status_transition_task_id}.
+     *
+     * <p>Строки читаются курсором порциями по 1000 и должны обрабатываться по одной внутри транзакции; поток нужно
+     * закрыть.</p>
+     *
+     * @param from       начало периода, включительно
+     * @param to         конец периода, не включительно
+     * @param executorId исполнитель или {@code null}, если фильтр не нужен
+     * @param priority   приоритет или {@code null}, если фильтр не нужен
+     * @return завершения задач
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = """
+            SELECT c.executor_id AS executorId, c.priority AS priority, c.changed_at AS completedAt,
+                   s.started_at AS startedAt
+            FROM task_status_transition c
+            LEFT JOIN LATERAL (
+                SELECT min(i.changed_at) AS started_at
+                FROM task_status_transition i
+                WHERE i.task_id = c.task_id AND i.to_status = 'IN_PROGRESS' AND i.changed_at <= c.changed_at
+                  AND i.changed_at > COALESCE((SELECT max(p.changed_at) FROM task_status_transition p
+                                               WHERE p.task_id = c.task_id AND p.to_status = 'COMPLETED'
+                                                 AND p.changed_at < c.changed_at), '-infinity')
+            ) s ON true
+            WHERE c.to_status = 'COMPLETED' AND c.changed_at >= :from AND c.changed_at < :to
+              AND (CAST(:executorId AS bigint) IS NULL OR c.executor_id = :executorId)
+              AND (CAST(:priority AS varchar) IS NULL OR c.priority = CAST(:priority AS varchar))
+            """, nativeQuery = true)
+    Stream<TaskCompletion> streamCompletions(@Param("from") Date from, @Param("to") Date to,
+                                             @Param("executorId") Long executorId,
+                                             @Param("priority") String priority);
+}
@@ -0,0 +1,28 @@
+package com.hh.TaskManagementSystems.repository;
+
+/**
+ * Задача в выборке поддерева или цепочки предков.
+ */
+public interface TaskTreeNode {
+
+    Long getId();
+
+    Long getParentId();
+
+    String getTitle();
+
+    String getStatus();
+
+    String getPriority();
+
+    String getExecutorEmail();
+
+    long getChildCount();
+
+    long getCompletedChildCount();
+
+    /**
+     * Расстояние от задачи, с которой начат обход: вниз для поддерева, вверх для цепочки предков.
+     */
+    int getDepth();
+}
@@ -1,9 +1,13 @@
 package com.hh.TaskManagementSystems.repository;
 
 import com.hh.TaskManagementSystems.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +17,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
 
     void deleteByEmail(String email);
+
+    @Query("select u.email from User u where u.email > :after order by u.email")
+    List<String> findEmailsAfter(@Param("after") String after, Limit limit);
+
+    @Query("select max(u.id) from User u")
+    Long findMaxId();
 }
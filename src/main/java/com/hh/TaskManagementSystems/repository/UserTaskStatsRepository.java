@@ -0,0 +1,115 @@
+package com.hh.TaskManagementSystems.repository;
+
+import com.hh.TaskManagementSystems.model.UserTaskStats;
+import com.hh.TaskManagementSystems.model.UserTaskStatsId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Счетчики задач пользователей.
+ *
+ * <p>Задачи без приоритета учитываются под приоритетом {@code 'NONE'}
+ * ({@link com.hh.TaskManagementSystems.model.UserTaskStatsId#NO_PRIORITY}).</p>
+ *
+ * <p>Изменения счетчиков берут разделяемую advisory-блокировку {@code lockKey} до конца транзакции, а сверка —
+ * исключительную. Поэтому сверка не начинается, пока не зафиксированы уже изменившие счетчики транзакции, и не
+ * перезаписывает их изменения значениями из более раннего снимка.</p>
+ */
+@Repository
+public interface UserTaskStatsRepository extends JpaRepository<UserTaskStats, UserTaskStatsId> {
+
+    List<UserTaskStats> findByIdUserId(Long userId);
+
+    /**
+     * Прибавляет к счетчикам изменения одним запросом, создавая строки счетчиков, которых еще нет. Массивы
+     * параллельны: {@code i}-е элементы описывают одно изменение; ключи изменений не должны повторяться. Строки
+     * обновляются в порядке ключа, поэтому параллельные транзакции не блокируют друг друга взаимно.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_task_stats (user_id, role, status, priority, task_count)
+            SELECT d.user_id, d.role, d.status, d.priority, d.delta
+            FROM unnest(CAST(:userIds AS bigint[]), CAST(:roles AS varchar[]), CAST(:statuses AS varchar[]),
+                        CAST(:priorities AS varchar[]), CAST(:deltas AS bigint[]))
+                     AS d (user_id, role, status, priority, delta),
+                 (SELECT pg_advisory_xact_lock_shared(:lockKey)) l
+            ORDER BY d.user_id, d.role, d.status, d.priority
+            ON CONFLICT (user_id, role, status, priority)
+            DO UPDATE SET task_count = user_task_stats.task_count + EXCLUDED.task_count
+            """, nativeQuery = true)
+    int adjust(@Param("userIds") Long[] userIds, @Param("roles") String[] roles,
+               @Param("statuses") String[] statuses, @Param("priorities") String[] priorities,
+               @Param("deltas") Long[] deltas, @Param("lockKey") long lockKey);
+
+    /**
+     * Уменьшает счетчики других пользователей на задачи, которые будут удалены вместе с пользователем
+     * {@code userId}: исполнителей его задач и авторов задач, назначенных на него.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE user_task_stats s SET task_count = s.task_count - d.cnt
+            FROM (SELECT author_id AS user_id, 'AUTHOR' AS role, status, COALESCE(priority, 'NONE') AS priority,
+                         count(*) AS cnt
+                  FROM task WHERE executor_id = :userId AND author_id <> :userId
+                  GROUP BY author_id, status, COALESCE(priority, 'NONE')
+                  UNION ALL
+                  SELECT executor_id, 'EXECUTOR', status, COALESCE(priority, 'NONE'), count(*)
+                  FROM task WHERE author_id = :userId AND executor_id <> :userId
+                  GROUP BY executor_id, status, COALESCE(priority, 'NONE')) d,
+                 (SELECT pg_advisory_xact_lock_shared(:lockKey)) l
+            WHERE s.user_id = d.user_id AND s.role = d.role AND s.status = d.status AND s.priority = d.priority
+            """, nativeQuery = true)
+    int decrementByDeletedUser(@Param("userId") Long userId, @Param("lockKey") long lockKey);
+
+    @Modifying
+    @Query("delete from UserTaskStats s where s.id.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * Берет исключительную advisory-блокировку счетчиков до конца транзакции. Вызывается отдельным запросом до
+     * сверки: снимок данных запроса сверки должен быть сделан уже после получения блокировки.
+     */
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(:lockKey)) l", nativeQuery = true)
+    int lockExclusive(@Param("lockKey") long lockKey);
+
+    /**
+     * Пересчитывает счетчики пользователей с идентификаторами из {@code [fromId, toId)} по таблице задач, изменяя
+     * только расходящиеся строки. Счетчики, для которых задач больше нет, обнуляются.
+     *
+     * @return количество исправленных строк
+     */
+    @Query(value = """
+            WITH actual AS (
+                SELECT author_id AS user_id, 'AUTHOR' AS role, status, COALESCE(priority, 'NONE') AS priority,
+                       count(*) AS cnt
+                FROM task
+                WHERE author_id >= :fromId AND author_id < :toId AND status IS NOT NULL
+                GROUP BY author_id, status, COALESCE(priority, 'NONE')
+                UNION ALL
+                SELECT executor_id, 'EXECUTOR', status, COALESCE(priority, 'NONE'), count(*)
+                FROM task
+                WHERE executor_id >= :fromId AND executor_id < :toId AND status IS NOT NULL
+                GROUP BY executor_id, status, COALESCE(priority, 'NONE')
+            ), upserted AS (
+                INSERT INTO user_task_stats (user_id, role, status, priority, task_count)
+                SELECT user_id, role, status, priority, cnt FROM actual
+                ON CONFLICT (user_id, role, status, priority) DO UPDATE SET task_count = EXCLUDED.task_count
+                WHERE user_task_stats.task_count <> EXCLUDED.task_count
+                RETURNING 1
+            ), zeroed AS (
+                UPDATE user_task_stats s SET task_count = 0
+                WHERE s.user_id >= :fromId AND s.user_id < :toId AND s.task_count <> 0
+                  AND NOT EXISTS (SELECT 1 FROM actual a
+                                  WHERE a.user_id = s.user_id AND a.role = s.role
+                                    AND a.status = s.status AND a.priority = s.priority)
+                RETURNING 1
+            )
+            SELECT (SELECT count(*) FROM upserted) + (SELECT count(*) FROM zeroed)
+            """, nativeQuery = true)
+    long reconcile(@Param("fromId") Long fromId, @Param("toId") Long toId);
+}
@@ -0,0 +1,13 @@
+package com.hh.TaskManagementSystems.search;
+
+/**
+ * Количества задач по фасетам. Массивы индексируются порядковыми номерами {@code TaskStatus} и
+ * {@code TaskPriority}; задачи без статуса или приоритета учитываются только в {@code total}.
+ *
+ * @param total               общее количество задач
+ * @param byStatus            количество задач по статусу
+ * @param byPriority          количество задач по приоритету
+ * @param byStatusAndPriority количество задач по каждому сочетанию статуса и приоритета
+ */
+public record TaskFacetCounts(long total, long[] byStatus, long[] byPriority, long[][] byStatusAndPriority) {
+}
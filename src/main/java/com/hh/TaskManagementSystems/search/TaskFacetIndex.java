@@ -0,0 +1,316 @@
+package com.hh.TaskManagementSystems.search;
+
+import com.hh.TaskManagementSystems.event.TaskChangedEvent;
+import com.hh.TaskManagementSystems.event.TaskDeletedEvent;
+import com.hh.TaskManagementSystems.event.UserDeletedEvent;
+import com.hh.TaskManagementSystems.model.TaskPriority;
+import com.hh.TaskManagementSystems.model.TaskStatus;
+import com.hh.TaskManagementSystems.repository.TaskFacetSource;
+import com.hh.TaskManagementSystems.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Индекс фасетов задач в памяти: количества задач по статусу, приоритету, автору и исполнителю.
+ *
+ * <p>Для каждого значения измерения хранится сжатое множество идентификаторов задач {@link RoaringBitmap}, поэтому
+ * количество задач по любому сочетанию фильтров — это пересечение нескольких множеств и подсчет мощности без
+ * обращений к базе данных. Чтобы при изменении задачи убрать ее из множеств прежних автора и исполнителя, они
+ * хранятся в массивах, индексированных идентификатором задачи. Память ограничена примерно восемью байтами на
+ * идентификатор задачи плюс несколькими битами на задачу в каждом измерении; идентификаторы задач и пользователей
+ * должны помещаться в {@code int}.</p>
+ *
+ * <p>После старта приложения отдельный поток загружает индекс из базы порциями, затем применяет изменения:
+ * после фиксации транзакции, изменившей или удалившей задачу, ее идентификатор ставится в очередь, поток забирает
+ * до {@value #BATCH_SIZE} идентификаторов, читает задачи одним запросом и обновляет множества под блокировкой
+ * записи. Количества отстают от базы на время обработки очереди.</p>
+ */
+@Slf4j
+@Component
+public class TaskFacetIndex {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int LOAD_BATCH_SIZE = 10_000;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Long> pending = new LinkedBlockingQueue<>();
+    private final Thread worker = Thread.ofPlatform().name("task-facet-indexer").daemon().unstarted(this::run);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final Map<TaskStatus, RoaringBitmap> byStatus = new EnumMap<>(TaskStatus.class);
+    private final Map<TaskPriority, RoaringBitmap> byPriority = new EnumMap<>(TaskPriority.class);
+    private final Map<Integer, RoaringBitmap> byAuthor = new HashMap<>();
+    private final Map<Integer, RoaringBitmap> byExecutor = new HashMap<>();
+    private int[] authorOf = new int[0];
+    private int[] executorOf = new int[0];
+
+    public TaskFacetIndex(TaskRepository taskRepository, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        for (TaskStatus status : STATUSES) {
+            byStatus.put(status, new RoaringBitmap());
+        }
+        for (TaskPriority priority : PRIORITIES) {
+            byPriority.put(priority, new RoaringBitmap());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        worker.interrupt();
+        if (worker.isAlive()) {
+            worker.join();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        pending.add(event.taskId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskDeleted(TaskDeletedEvent event) {
+        pending.add(event.taskId());
+    }
+
+    /**
+     * Задачи удаленного пользователя удаляются каскадно; они перечитываются из базы и исчезают из индекса.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        int userId = Math.toIntExact(event.userId());
+        RoaringBitmap tasks;
+        lock.readLock().lock();
+        try {
+            tasks = RoaringBitmap.or(
+                    byAuthor.getOrDefault(userId, new RoaringBitmap()),
+                    byExecutor.getOrDefault(userId, new RoaringBitmap()));
+        } finally {
+            lock.readLock().unlock();
+        }
+        tasks.forEach((int taskId) -> pending.add((long) taskId));
+    }
+
+    /**
+     * Загружает индекс по всем задачам, читая их порциями по возрастанию идентификатора.
+     */
+    public void load() {
+        long started = System.nanoTime();
+        long count = 0;
+        Long afterId = 0L;
+        List<TaskFacetSource> tasks;
+        do {
+            Long from = afterId;
+            tasks = transactionTemplate.execute(
+                    status -> taskRepository.findFacetSourcesAfter(from, Limit.of(LOAD_BATCH_SIZE)));
+            update(tasks);
+            if (!tasks.isEmpty()) {
+                afterId = tasks.get(tasks.size() - 1).id();
+                count += tasks.size();
+            }
+        } while (tasks.size() == LOAD_BATCH_SIZE);
+        lock.writeLock().lock();
+        try {
+            all.runOptimize();
+            byStatus.values().forEach(RoaringBitmap::runOptimize);
+            byPriority.values().forEach(RoaringBitmap::runOptimize);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Индекс фасетов задач загружен: {} задач за {} мс", count, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Добавляет или заменяет задачи в индексе.
+     *
+     * @param tasks задачи
+     */
+    public void update(Collection<TaskFacetSource> tasks) {
+        lock.writeLock().lock();
+        try {
+            for (TaskFacetSource task : tasks) {
+                int taskId = Math.toIntExact(task.id());
+                removeUnlocked(taskId);
+                all.add(taskId);
+                if (task.status() != null) {
+                    byStatus.get(task.status()).add(taskId);
+                }
+                if (task.priority() != null) {
+                    byPriority.get(task.priority()).add(taskId);
+                }
+                ensureCapacity(taskId);
+                if (task.authorId() != null) {
+                    authorOf[taskId] = Math.toIntExact(task.authorId());
+                    byAuthor.computeIfAbsent(authorOf[taskId], id -> new RoaringBitmap()).add(taskId);
+                }
+                if (task.executorId() != null) {
+                    executorOf[taskId] = Math.toIntExact(task.executorId());
+                    byExecutor.computeIfAbsent(executorOf[taskId], id -> new RoaringBitmap()).add(taskId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Удаляет задачу из индекса.
+     *
+     * @param taskId идентификатор задачи
+     */
+    public void remove(long taskId) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(Math.toIntExact(taskId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Подсчитывает задачи по статусу, приоритету и их сочетаниям среди задач автора и исполнителя.
+     *
+     * @param authorId   идентификатор автора или {@code null}, если фильтр не нужен
+     * @param executorId идентификатор исполнителя или {@code null}, если фильтр не нужен
+     * @return количества задач
+     */
+    public TaskFacetCounts count(Long authorId, Long executorId) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap base = all;
+            if (authorId != null) {
+                base = RoaringBitmap.and(base, tasksOf(byAuthor, authorId));
+            }
+            if (executorId != null) {
+                base = RoaringBitmap.and(base, tasksOf(byExecutor, executorId));
+            }
+
+            long[] statusCounts = new long[STATUSES.length];
+            long[] priorityCounts = new long[PRIORITIES.length];
+            long[][] combinationCounts = new long[STATUSES.length][PRIORITIES.length];
+            // Множества статусов и приоритетов — подмножества all, без фильтров пересекать их с base не нужно.
+            boolean filtered = base != all;
+            for (TaskPriority priority : PRIORITIES) {
+                priorityCounts[priority.ordinal()] = filtered
+                        ? RoaringBitmap.andCardinality(base, byPriority.get(priority))
+                        : byPriority.get(priority).getLongCardinality();
+            }
+            for (TaskStatus status : STATUSES) {
+                RoaringBitmap withStatus = filtered
+                        ? RoaringBitmap.and(base, byStatus.get(status))
+                        : byStatus.get(status);
+                statusCounts[status.ordinal()] = withStatus.getLongCardinality();
+                for (TaskPriority priority : PRIORITIES) {
+                    combinationCounts[status.ordinal()][priority.ordinal()] =
+                            RoaringBitmap.andCardinality(withStatus, byPriority.get(priority));
+                }
+            }
+            return new TaskFacetCounts(base.getLongCardinality(), statusCounts, priorityCounts, combinationCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Обновляет задачи по текущему состоянию базы данных и удаляет из индекса отсутствующие.
+     *
+     * @param taskIds идентификаторы задач
+     */
+    void reindex(Set<Long> taskIds) {
+        List<TaskFacetSource> tasks = transactionTemplate.execute(
+                status -> taskRepository.findFacetSourcesByIdIn(taskIds));
+        update(tasks);
+        Set<Long> missing = new LinkedHashSet<>(taskIds);
+        tasks.forEach(task -> missing.remove(task.id()));
+        missing.forEach(this::remove);
+    }
+
+    private void run() {
+        try {
+            load();
+        } catch (RuntimeException e) {
+            log.error("Не удалось загрузить индекс фасетов задач", e);
+        }
+        List<Long> batch = new ArrayList<>(BATCH_SIZE);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(pending.take());
+                pending.drainTo(batch, BATCH_SIZE - 1);
+                reindex(new LinkedHashSet<>(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Не удалось обновить индекс фасетов для задач {}", batch, e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void removeUnlocked(int taskId) {
+        if (!all.checkedRemove(taskId)) {
+            return;
+        }
+        byStatus.values().forEach(bitmap -> bitmap.remove(taskId));
+        byPriority.values().forEach(bitmap -> bitmap.remove(taskId));
+        removeUser(byAuthor, authorOf[taskId], taskId);
+        removeUser(byExecutor, executorOf[taskId], taskId);
+        authorOf[taskId] = 0;
+        executorOf[taskId] = 0;
+    }
+
+    private static void removeUser(Map<Integer, RoaringBitmap> byUser, int userId, int taskId) {
+        RoaringBitmap tasks = byUser.get(userId);
+        if (tasks != null) {
+            tasks.remove(taskId);
+            if (tasks.isEmpty()) {
+                byUser.remove(userId);
+            }
+        }
+    }
+
+    private static RoaringBitmap tasksOf(Map<Integer, RoaringBitmap> byUser, long userId) {
+        RoaringBitmap tasks = userId <= Integer.MAX_VALUE ? byUser.get((int) userId) : null;
+        return tasks != null ? tasks : new RoaringBitmap();
+    }
+
+    private void ensureCapacity(int taskId) {
+        if (taskId >= authorOf.length) {
+            int length = Math.max(taskId + 1, authorOf.length + (authorOf.length >> 1));
+            authorOf = Arrays.copyOf(authorOf, length);
+            executorOf = Arrays.copyOf(executorOf, length);
+        }
+    }
+}
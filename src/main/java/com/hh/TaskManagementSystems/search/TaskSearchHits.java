@@ -0,0 +1,12 @@
+package com.hh.TaskManagementSystems.search;
+
+import java.util.List;
+
+/**
+ * Результат поиска по индексу задач.
+ *
+ * @param totalHits общее количество совпадений
+ * @param taskIds   идентификаторы задач запрошенной страницы в порядке релевантности
+ */
+public record TaskSearchHits(long totalHits, List<Long> taskIds) {
+}
@@ -0,0 +1,261 @@
+package com.hh.TaskManagementSystems.search;
+
+import com.hh.TaskManagementSystems.model.TaskPriority;
+import com.hh.TaskManagementSystems.model.TaskStatus;
+import com.hh.TaskManagementSystems.repository.TaskSearchSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.ru.RussianAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollectorManager;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Полнотекстовый индекс задач на Lucene.
+ *
+ * <p>Каждая задача — один документ с полями {@code title}, {@code description} и многозначным полем
+ * {@code comment} с текстами всех комментариев. Статус и приоритет индексируются как точные значения для
+ * фильтрации, идентификаторы автора и исполнителя — для удаления задач вместе с пользователем.</p>
+ *
+ * <p>Изменения видны поиску почти в реальном времени: {@link ControlledRealTimeReopenThread} переоткрывает
+ * {@link SearcherManager} не реже чем раз в {@code task.search.max-stale-ms}. Если задан
+ * {@code task.search.index-path}, индекс хранится на диске и фиксируется периодически, иначе живет в памяти и
+ * перестраивается при старте приложения.</p>
+ */
+@Slf4j
+@Component
+public class TaskSearchIndex {
+
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final String COMMENT = "comment";
+    private static final String STATUS = "status";
+    private static final String PRIORITY = "priority";
+    private static final String AUTHOR_ID = "authorId";
+    private static final String EXECUTOR_ID = "executorId";
+
+    /**
+     * Веса полей при ранжировании: совпадение в заголовке важнее совпадения в описании или комментарии.
+     */
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(TITLE, 3f, DESCRIPTION, 1f, COMMENT, 1f);
+
+    private static final long COMMIT_INTERVAL_NANOS = 10_000_000_000L;
+
+    private final Analyzer analyzer = new RussianAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+    private volatile long lastCommit = System.nanoTime();
+
+    public TaskSearchIndex(@Value("${task.search.index-path:}") String indexPath,
+                           @Value("${task.search.max-stale-ms:1000}") long maxStaleMillis) throws IOException {
+        this.directory = indexPath.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexPath));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, new SearcherFactory());
+        this.reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager,
+                maxStaleMillis / 1000.0, Math.min(0.025, maxStaleMillis / 1000.0));
+        reopenThread.setName("task-search-reopen");
+        reopenThread.setDaemon(true);
+        reopenThread.start();
+    }
+
+    /**
+     * Добавляет или заменяет документ задачи.
+     *
+     * @param task     задача
+     * @param comments тексты комментариев задачи
+     */
+    public void update(TaskSearchSource task, List<String> comments) {
+        Document document = new Document();
+        document.add(new StringField(ID, task.getId().toString(), Field.Store.YES));
+        document.add(new TextField(TITLE, task.getTitle(), Field.Store.NO));
+        if (task.getDescription() != null) {
+            document.add(new TextField(DESCRIPTION, task.getDescription(), Field.Store.NO));
+        }
+        for (String comment : comments) {
+            document.add(new TextField(COMMENT, comment, Field.Store.NO));
+        }
+        if (task.getStatus() != null) {
+            document.add(new StringField(STATUS, task.getStatus().name(), Field.Store.NO));
+        }
+        if (task.getPriority() != null) {
+            document.add(new StringField(PRIORITY, task.getPriority().name(), Field.Store.NO));
+        }
+        if (task.getAuthorId() != null) {
+            document.add(new StringField(AUTHOR_ID, task.getAuthorId().toString(), Field.Store.NO));
+        }
+        if (task.getExecutorId() != null) {
+            document.add(new StringField(EXECUTOR_ID, task.getExecutorId().toString(), Field.Store.NO));
+        }
+        try {
+            writer.updateDocument(new Term(ID, task.getId().toString()), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Удаляет документ задачи.
+     *
+     * @param taskId идентификатор задачи
+     */
+    public void delete(Long taskId) {
+        try {
+            writer.deleteDocuments(new Term(ID, taskId.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Удаляет документы задач, в которых пользователь автор или исполнитель.
+     *
+     * @param userId идентификатор пользователя
+     */
+    public void deleteByUser(Long userId) {
+        try {
+            writer.deleteDocuments(new Term(AUTHOR_ID, userId.toString()), new Term(EXECUTOR_ID, userId.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Удаляет все документы перед перестроением индекса.
+     */
+    public void deleteAll() {
+        try {
+            writer.deleteAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Фиксирует изменения и сразу делает их видимыми для поиска.
+     */
+    public void commitAndRefresh() {
+        try {
+            writer.commit();
+            lastCommit = System.nanoTime();
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Фиксирует изменения, если с прошлой фиксации прошло больше десяти секунд. Видимость для поиска от фиксации
+     * не зависит, она нужна только для сохранения индекса на диске.
+     */
+    public void maybeCommit() {
+        if (System.nanoTime() - lastCommit < COMMIT_INTERVAL_NANOS || !writer.hasUncommittedChanges()) {
+            return;
+        }
+        try {
+            writer.commit();
+            lastCommit = System.nanoTime();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return {@code true}, если в индексе нет ни одного документа
+     */
+    public boolean isEmpty() {
+        return writer.getDocStats().numDocs == 0;
+    }
+
+    /**
+     * Ищет задачи по тексту запроса с необязательными фильтрами.
+     *
+     * <p>Запрос разбирается {@link SimpleQueryParser}: слова объединяются по И, поддерживаются фразы в кавычках,
+     * префиксы {@code слово*}, исключение {@code -слово} и альтернатива {@code |}. Результаты упорядочены по
+     * релевантности, общее количество совпадений подсчитывается точно.</p>
+     *
+     * @param text     текст запроса
+     * @param status   статус задачи или {@code null}
+     * @param priority приоритет задачи или {@code null}
+     * @param offset   количество пропускаемых результатов
+     * @param limit    максимальное количество результатов
+     * @return идентификаторы найденных задач и общее количество совпадений
+     */
+    public TaskSearchHits search(String text, TaskStatus status, TaskPriority priority, int offset, int limit) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query textQuery = parser.parse(text);
+        if (textQuery == null) {
+            return new TaskSearchHits(0, List.of());
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder().add(textQuery, BooleanClause.Occur.MUST);
+        if (status != null) {
+            query.add(new TermQuery(new Term(STATUS, status.name())), BooleanClause.Occur.FILTER);
+        }
+        if (priority != null) {
+            query.add(new TermQuery(new Term(PRIORITY, priority.name())), BooleanClause.Occur.FILTER);
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query.build(),
+                        new TopScoreDocCollectorManager(offset + limit, Integer.MAX_VALUE));
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> taskIds = new ArrayList<>(limit);
+                for (int i = offset; i < topDocs.scoreDocs.length; i++) {
+                    ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                    taskIds.add(Long.valueOf(storedFields.document(scoreDoc.doc).get(ID)));
+                }
+                return new TaskSearchHits(topDocs.totalHits.value, taskIds);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        reopenThread.close();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+        log.info("Полнотекстовый индекс задач закрыт");
+    }
+}
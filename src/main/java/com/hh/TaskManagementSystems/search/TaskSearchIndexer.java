@@ -0,0 +1,199 @@
+package com.hh.TaskManagementSystems.search;
+
+import com.hh.TaskManagementSystems.event.CommentCreatedEvent;
+import com.hh.TaskManagementSystems.event.CommentDeletedEvent;
+import com.hh.TaskManagementSystems.event.TaskChangedEvent;
+import com.hh.TaskManagementSystems.event.TaskDeletedEvent;
+import com.hh.TaskManagementSystems.event.UserDeletedEvent;
+import com.hh.TaskManagementSystems.repository.CommentRepository;
+import com.hh.TaskManagementSystems.repository.CommentText;
+import com.hh.TaskManagementSystems.repository.TaskRepository;
+import com.hh.TaskManagementSystems.repository.TaskSearchSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Поддерживает {@link TaskSearchIndex} в соответствии с базой данных.
+ *
+ * <p>После фиксации транзакции, изменившей задачу или ее комментарии, идентификатор задачи ставится в очередь.
+ * Отдельный поток забирает из очереди до {@value #BATCH_SIZE} задач, читает их и тексты комментариев двумя
+ * запросами и обновляет документы; задачи, которых уже нет в базе, удаляются из индекса. Так запросы к API не
+ * ждут индексации, а частые изменения одной задачи схлопываются в одно обновление.</p>
+ *
+ * <p>Полное перестроение выполняется при старте, если индекс пуст или задано
+ * {@code task.search.rebuild-on-startup=true}, и по команде администратора. Стартовое перестроение выполняет
+ * тот же поток, поэтому оно не задерживает готовность приложения, а изменения, накопившиеся в очереди за это время,
+ * применяются после него.</p>
+ */
+@Slf4j
+@Component
+public class TaskSearchIndexer {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final TaskSearchIndex index;
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean rebuildOnStartup;
+    private final BlockingQueue<Long> pending = new LinkedBlockingQueue<>();
+    private final Thread worker = Thread.ofPlatform().name("task-search-indexer").daemon().unstarted(this::run);
+
+    public TaskSearchIndexer(TaskSearchIndex index, TaskRepository taskRepository,
+                             CommentRepository commentRepository, PlatformTransactionManager transactionManager,
+                             @Value("${task.search.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+        this.index = index;
+        this.taskRepository = taskRepository;
+        this.commentRepository = commentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        worker.interrupt();
+        worker.join();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        pending.add(event.taskId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskDeleted(TaskDeletedEvent event) {
+        pending.add(event.taskId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentCreated(CommentCreatedEvent event) {
+        pending.add(event.taskId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentDeleted(CommentDeletedEvent event) {
+        pending.add(event.taskId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        index.deleteByUser(event.userId());
+        pending.addAll(event.commentedTaskIds());
+    }
+
+    /**
+     * Запускает поток индексации после готовности приложения. Изменения, опубликованные раньше, ждут в очереди.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        worker.start();
+    }
+
+    /**
+     * Перестраивает индекс по всем задачам, читая их порциями по возрастанию идентификатора.
+     *
+     * <p>Пока перестроение не завершено, поиск может возвращать неполные результаты. Одновременные перестроения
+     * выполняются по очереди.</p>
+     *
+     * @return количество проиндексированных задач
+     */
+    public synchronized long rebuild() {
+        long started = System.nanoTime();
+        Long indexed = transactionTemplate.execute(status -> {
+            index.deleteAll();
+            long count = 0;
+            Long afterId = 0L;
+            List<TaskSearchSource> tasks;
+            do {
+                tasks = taskRepository.findSearchSourcesAfter(afterId, Limit.of(BATCH_SIZE));
+                if (!tasks.isEmpty()) {
+                    index(tasks);
+                    afterId = tasks.get(tasks.size() - 1).getId();
+                    count += tasks.size();
+                }
+            } while (tasks.size() == BATCH_SIZE);
+            return count;
+        });
+        index.commitAndRefresh();
+        log.info("Полнотекстовый индекс задач перестроен: {} задач за {} мс", indexed,
+                (System.nanoTime() - started) / 1_000_000);
+        return indexed;
+    }
+
+    private void run() {
+        rebuildIfNeeded();
+        List<Long> batch = new ArrayList<>(BATCH_SIZE);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(pending.take());
+                pending.drainTo(batch, BATCH_SIZE - 1);
+                reindex(new LinkedHashSet<>(batch));
+                index.maybeCommit();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Не удалось обновить полнотекстовый индекс для задач {}", batch, e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void rebuildIfNeeded() {
+        try {
+            if (rebuildOnStartup || index.isEmpty()) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            log.error("Не удалось перестроить полнотекстовый индекс задач при старте", e);
+        }
+    }
+
+    /**
+     * Обновляет документы задач по текущему состоянию базы данных и удаляет документы отсутствующих задач.
+     *
+     * @param taskIds идентификаторы задач
+     */
+    private void reindex(Set<Long> taskIds) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<TaskSearchSource> tasks = taskRepository.findSearchSourcesByIdIn(taskIds);
+            index(tasks);
+            Set<Long> missing = new LinkedHashSet<>(taskIds);
+            tasks.forEach(task -> missing.remove(task.getId()));
+            missing.forEach(index::delete);
+        });
+    }
+
+    private void index(Collection<TaskSearchSource> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        Map<Long, List<String>> comments = new HashMap<>();
+        for (CommentText comment : commentRepository.findTextsByTaskIdIn(
+                tasks.stream().map(TaskSearchSource::getId).toList())) {
+            comments.computeIfAbsent(comment.getTaskId(), id -> new ArrayList<>()).add(comment.getBody());
+        }
+        for (TaskSearchSource task : tasks) {
+            index.update(task, comments.getOrDefault(task.getId(), List.of()));
+        }
+    }
+}
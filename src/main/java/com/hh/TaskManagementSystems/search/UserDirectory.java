@@ -0,0 +1,112 @@
+package com.hh.TaskManagementSystems.search;
+
+import com.hh.TaskManagementSystems.event.UserCreatedEvent;
+import com.hh.TaskManagementSystems.event.UserDeletedEvent;
+import com.hh.TaskManagementSystems.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Индекс email пользователей в памяти для автодополнения по префиксу.
+ *
+ * <p>Email хранятся в {@link ConcurrentSkipListSet}, упорядоченном по email в нижнем регистре, поэтому поиск по
+ * префиксу без учета регистра — это спуск к началу диапазона за {@code O(log n)} и чтение не более {@code limit}
+ * следующих элементов, без обращений к базе данных. Добавление и удаление тоже логарифмические и не блокируют
+ * читателей.</p>
+ *
+ * <p>Индекс загружается из базы порциями после старта приложения и обновляется после фиксации транзакций
+ * регистрации и удаления пользователей.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserDirectory {
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    /**
+     * Разделитель ключа: email в нижнем регистре, затем исходный email. Меньше любого символа email, поэтому не
+     * нарушает порядок по префиксу и различает адреса, отличающиеся только регистром.
+     */
+    private static final char SEPARATOR = '\0';
+
+    private final UserRepository userRepository;
+    private final NavigableSet<String> entries = new ConcurrentSkipListSet<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.nanoTime();
+        String after = "";
+        List<String> emails;
+        do {
+            emails = userRepository.findEmailsAfter(after, Limit.of(LOAD_BATCH_SIZE));
+            emails.forEach(this::add);
+            if (!emails.isEmpty()) {
+                after = emails.get(emails.size() - 1);
+            }
+        } while (emails.size() == LOAD_BATCH_SIZE);
+        log.info("Справочник пользователей загружен за {} мс", (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserCreated(UserCreatedEvent event) {
+        add(event.email());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        remove(event.email());
+    }
+
+    /**
+     * Добавляет email в индекс.
+     *
+     * @param email email пользователя
+     */
+    public void add(String email) {
+        entries.add(key(email));
+    }
+
+    /**
+     * Удаляет email из индекса.
+     *
+     * @param email email пользователя
+     */
+    public void remove(String email) {
+        entries.remove(key(email));
+    }
+
+    /**
+     * Возвращает email, начинающиеся с префикса без учета регистра, в алфавитном порядке.
+     *
+     * @param prefix префикс email
+     * @param limit  максимальное количество результатов
+     * @return не более {@code limit} email
+     */
+    public List<String> complete(String prefix, int limit) {
+        String from = prefix.toLowerCase(Locale.ROOT);
+        List<String> result = new ArrayList<>(Math.min(limit, 16));
+        for (String entry : entries.subSet(from, true, from + Character.MAX_VALUE, false)) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(entry.substring(entry.indexOf(SEPARATOR) + 1));
+        }
+        return result;
+    }
+
+    private static String key(String email) {
+        return email.toLowerCase(Locale.ROOT) + SEPARATOR + email;
+    }
+}
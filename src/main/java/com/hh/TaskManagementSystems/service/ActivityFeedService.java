@@ -0,0 +1,52 @@
+package com.hh.TaskManagementSystems.service;
+
+import com.hh.TaskManagementSystems.dto.FeedEntryDto;
+import com.hh.TaskManagementSystems.dto.FeedPageDto;
+import com.hh.TaskManagementSystems.model.FeedEntry;
+import com.hh.TaskManagementSystems.repository.FeedEntryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Чтение ленты активности текущего пользователя. Записи добавляет
+ * {@link com.hh.TaskManagementSystems.feed.ActivityFeedWriter}.
+ */
+@Service
+@RequiredArgsConstructor
+public class ActivityFeedService {
+
+    private final FeedEntryRepository feedEntryRepository;
+    private final UserService userService;
+
+    /**
+     * Получает записи ленты текущего пользователя, начиная с последних.
+     *
+     * <p>Курсор — идентификатор последней показанной записи, поэтому записи, добавленные во время прокрутки, не
+     * сдвигают следующие страницы. Записи появляются в ленте с небольшой задержкой после изменения задачи.</p>
+     *
+     * @param cursor курсор из предыдущего ответа или {@code null} для первой страницы
+     * @param limit  максимальное количество записей
+     * @return записи ленты и курсор следующей страницы
+     */
+    @Transactional(readOnly = true)
+    public FeedPageDto getFeed(Long cursor, int limit) {
+        Long userId = userService.getCurrentUser().getId();
+        List<FeedEntry> entries = feedEntryRepository.findPage(userId, cursor != null ? cursor : Long.MAX_VALUE,
+                limit + 1);
+        boolean hasMore = entries.size() > limit;
+        if (hasMore) {
+            entries = entries.subList(0, limit);
+        }
+        return new FeedPageDto(entries.stream().map(ActivityFeedService::toDto).toList(),
+                hasMore ? entries.get(entries.size() - 1).getId() : null);
+    }
+
+    private static FeedEntryDto toDto(FeedEntry entry) {
+        return new FeedEntryDto(entry.getId(), entry.getTaskId(), entry.getTaskTitle(), entry.getEntityType().name(),
+                entry.getAction().name(), List.of(entry.getFields()), entry.getActorEmail(),
+                entry.getOccurredAt().toInstant());
+    }
+}
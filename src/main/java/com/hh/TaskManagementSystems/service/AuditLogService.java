@@ -0,0 +1,315 @@
+package com.hh.TaskManagementSystems.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hh.TaskManagementSystems.dto.AuditChangeDto;
+import com.hh.TaskManagementSystems.dto.AuditEventDto;
+import com.hh.TaskManagementSystems.dto.PageDto;
+import com.hh.TaskManagementSystems.event.TaskActivityEvent;
+import com.hh.TaskManagementSystems.model.AuditAction;
+import com.hh.TaskManagementSystems.model.AuditEntityType;
+import com.hh.TaskManagementSystems.model.AuditEvent;
+import com.hh.TaskManagementSystems.model.Comment;
+import com.hh.TaskManagementSystems.model.Task;
+import com.hh.TaskManagementSystems.model.User;
+import com.hh.TaskManagementSystems.repository.AuditEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Журнал аудита изменений задач, комментариев и пользователей.
+ *
+ * <p>Записи копятся в памяти, привязанные к текущей транзакции, и добавляются в таблицу {@code audit_event} одним
+ * запросом перед фиксацией, поэтому изменение, сколько бы записей оно ни порождало, добавляет к транзакции один
+ * запрос. Записи фиксируются вместе с изменением и пропадают при его откате. Буфер сбрасывается раньше, если в нем
+ * накопилось {@value #MAX_BUFFERED} записей, и перед чтением истории в той же транзакции.</p>
+ *
+ * <p>Каждое изменение задачи или комментария публикуется также как {@link TaskActivityEvent} для лент активности
+ * автора и исполнителя задачи.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class AuditLogService {
+
+    /**
+     * Максимальное количество записей, которые копятся в памяти до сброса в базу данных.
+     */
+    static final int MAX_BUFFERED = 1000;
+
+    private static final TypeReference<LinkedHashMap<String, AuditChangeDto>> CHANGES_TYPE = new TypeReference<>() {
+    };
+
+    private final AuditEventRepository auditEventRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Запись, ожидающая сброса в базу данных.
+     */
+    private record PendingEvent(AuditEntityType entityType, Long entityId, Long taskId, AuditAction action,
+                                Long actorId, String actorEmail, Date occurredAt, String changes) {
+    }
+
+    /**
+     * Записывает изменение задачи.
+     *
+     * @param action вид изменения
+     * @param task   задача после изменения; для удаленной задачи — до удаления
+     * @param before состояние до изменения из {@link #taskState(Task)} или {@code null} для новой задачи
+     * @param after  состояние после изменения или {@code null} для удаленной задачи
+     */
+    public void recordTask(AuditAction action, Task task, Map<String, Object> before, Map<String, Object> after) {
+        record(AuditEntityType.TASK, task.getId(), task, action, before, after);
+    }
+
+    /**
+     * Записывает создание или удаление комментария в историю его задачи.
+     *
+     * @param action  вид изменения
+     * @param comment комментарий
+     */
+    public void recordComment(AuditAction action, Comment comment) {
+        Map<String, Object> state = commentState(comment);
+        record(AuditEntityType.COMMENT, comment.getId(), comment.getTask(), action,
+                action == AuditAction.CREATED ? null : state, action == AuditAction.DELETED ? null : state);
+    }
+
+    /**
+     * Записывает создание или удаление пользователя.
+     *
+     * @param action вид изменения
+     * @param user   пользователь
+     */
+    public void recordUser(AuditAction action, User user) {
+        Map<String, Object> state = userState(user);
+        record(AuditEntityType.USER, user.getId(), null, action,
+                action == AuditAction.CREATED ? null : state, action == AuditAction.DELETED ? null : state);
+    }
+
+    /**
+     * Снимает поля задачи, изменения которых записываются в журнал. Вызывается до изменения задачи, если нужно
+     * состояние до изменения.
+     *
+     * @param task задача
+     * @return значения полей по именам полей {@code TaskDto}
+     */
+    public static Map<String, Object> taskState(Task task) {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("title", task.getTitle());
+        state.put("description", task.getDescription());
+        state.put("status", task.getStatus() != null ? task.getStatus().name() : null);
+        state.put("priority", task.getPriority() != null ? task.getPriority().name() : null);
+        state.put("labels", task.getLabels() != null ? List.of(task.getLabels()) : List.of());
+        state.put("executorEmail", task.getExecutor() != null ? task.getExecutor().getEmail() : null);
+        state.put("parentId", task.getParent() != null ? task.getParent().getId() : null);
+        return state;
+    }
+
+    private static Map<String, Object> commentState(Comment comment) {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("body", comment.getBody());
+        state.put("authorEmail", comment.getAuthor() != null ? comment.getAuthor().getEmail() : null);
+        return state;
+    }
+
+    private static Map<String, Object> userState(User user) {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("email", user.getEmail());
+        state.put("role", user.getRole() != null ? user.getRole().name() : null);
+        return state;
+    }
+
+    private void record(AuditEntityType entityType, Long entityId, Task task, AuditAction action,
+                        Map<String, Object> before, Map<String, Object> after) {
+        Map<String, AuditChangeDto> changes = diff(before, after);
+        if (action == AuditAction.UPDATED && changes.isEmpty()) {
+            return;
+        }
+        Long actorId = null;
+        String actorEmail = null;
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User actor) {
+            actorId = actor.getId();
+            actorEmail = actor.getEmail();
+        }
+        Date occurredAt = new Date();
+        PendingEvent event = new PendingEvent(entityType, entityId, task != null ? task.getId() : null, action,
+                actorId, actorEmail, occurredAt, toJson(changes));
+        if (task != null) {
+            publishActivity(task, entityType, action, changes, actorId, actorEmail, occurredAt);
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(List.of(event));
+            return;
+        }
+        List<PendingEvent> buffer = buffer();
+        buffer.add(event);
+        if (buffer.size() >= MAX_BUFFERED) {
+            flush();
+        }
+    }
+
+    /**
+     * Публикует изменение для лент автора и исполнителя задачи, кроме пользователя, выполнившего изменение.
+     */
+    private void publishActivity(Task task, AuditEntityType entityType, AuditAction action,
+                                 Map<String, AuditChangeDto> changes, Long actorId, String actorEmail,
+                                 Date occurredAt) {
+        Set<Long> recipientIds = new LinkedHashSet<>();
+        if (task.getAuthor() != null) {
+            recipientIds.add(task.getAuthor().getId());
+        }
+        if (task.getExecutor() != null) {
+            recipientIds.add(task.getExecutor().getId());
+        }
+        recipientIds.remove(actorId);
+        if (recipientIds.isEmpty()) {
+            return;
+        }
+        List<String> fields = action == AuditAction.UPDATED && entityType == AuditEntityType.TASK
+                ? List.copyOf(changes.keySet())
+                : List.of();
+        eventPublisher.publishEvent(new TaskActivityEvent(task.getId(), task.getTitle(), entityType, action, fields,
+                actorEmail, occurredAt.toInstant(), Set.copyOf(recipientIds)));
+    }
+
+    private static Map<String, AuditChangeDto> diff(Map<String, Object> before, Map<String, Object> after) {
+        Map<String, Object> oldState = before != null ? before : Map.of();
+        Map<String, Object> newState = after != null ? after : Map.of();
+        Set<String> fields = new LinkedHashSet<>(oldState.keySet());
+        fields.addAll(newState.keySet());
+        Map<String, AuditChangeDto> changes = new LinkedHashMap<>();
+        for (String field : fields) {
+            Object oldValue = oldState.get(field);
+            Object newValue = newState.get(field);
+            if (!Objects.equals(oldValue, newValue)) {
+                changes.put(field, new AuditChangeDto(oldValue, newValue));
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Возвращает буфер текущей транзакции, при первом обращении привязывая его к транзакции вместе со сбросом
+     * перед фиксацией.
+     */
+    @SuppressWarnings("unchecked")
+    private List<PendingEvent> buffer() {
+        List<PendingEvent> buffer = (List<PendingEvent>) TransactionSynchronizationManager.getResource(this);
+        if (buffer != null) {
+            return buffer;
+        }
+        List<PendingEvent> created = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                flush();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(AuditLogService.this);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * Добавляет в базу данных записи, накопленные в текущей транзакции.
+     */
+    public void flush() {
+        @SuppressWarnings("unchecked")
+        List<PendingEvent> buffer = (List<PendingEvent>) TransactionSynchronizationManager.getResource(this);
+        if (buffer == null || buffer.isEmpty()) {
+            return;
+        }
+        List<PendingEvent> events = List.copyOf(buffer);
+        buffer.clear();
+        write(events);
+    }
+
+    private void write(List<PendingEvent> events) {
+        int size = events.size();
+        String[] entityTypes = new String[size];
+        Long[] entityIds = new Long[size];
+        Long[] taskIds = new Long[size];
+        String[] actions = new String[size];
+        Long[] actorIds = new Long[size];
+        String[] actorEmails = new String[size];
+        Timestamp[] occurredAt = new Timestamp[size];
+        String[] changes = new String[size];
+        for (int i = 0; i < size; i++) {
+            PendingEvent event = events.get(i);
+            entityTypes[i] = event.entityType().name();
+            entityIds[i] = event.entityId();
+            taskIds[i] = event.taskId();
+            actions[i] = event.action().name();
+            actorIds[i] = event.actorId();
+            actorEmails[i] = event.actorEmail();
+            occurredAt[i] = new Timestamp(event.occurredAt().getTime());
+            changes[i] = event.changes();
+        }
+        auditEventRepository.insertAll(entityTypes, entityIds, taskIds, actions, actorIds, actorEmails, occurredAt,
+                changes);
+    }
+
+    /**
+     * Получает историю изменений задачи и ее комментариев, начиная с последних изменений. Записи, еще не
+     * сброшенные текущей транзакцией, сбрасываются перед чтением.
+     *
+     * @param taskId идентификатор задачи; история удаленной задачи тоже доступна
+     * @param page   номер страницы
+     * @param size   размер страницы
+     * @return страница истории, пустая, если изменений задачи не было
+     */
+    @Transactional(readOnly = true)
+    public PageDto<AuditEventDto> getTaskHistory(Long taskId, int page, int size) {
+        flush();
+        return PageDto.of(auditEventRepository.findByTaskId(taskId,
+                        PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id")))
+                .map(this::toDto));
+    }
+
+    private AuditEventDto toDto(AuditEvent event) {
+        return new AuditEventDto(event.getId(), event.getEntityType().name(), event.getEntityId(),
+                event.getAction().name(), event.getActorEmail(), event.getOccurredAt().toInstant(),
+                fromJson(event.getChanges()));
+    }
+
+    private String toJson(Map<String, AuditChangeDto> changes) {
+        try {
+            return objectMapper.writeValueAsString(changes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сериализовать изменения для журнала аудита", e);
+        }
+    }
+
+    private Map<String, AuditChangeDto> fromJson(String changes) {
+        try {
+            return Collections.unmodifiableMap(objectMapper.readValue(changes, CHANGES_TYPE));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось прочитать изменения из журнала аудита", e);
+        }
+    }
+}
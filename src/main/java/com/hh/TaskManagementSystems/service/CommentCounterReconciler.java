@@ -0,0 +1,36 @@
+package com.hh.TaskManagementSystems.service;
+
+import com.hh.TaskManagementSystems.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Сверка денормализованных счетчиков комментариев задач с таблицей комментариев.
+ *
+ * <p>Запускается после старта приложения, если задано свойство
+ * {@code task.comment-counters.reconcile-on-startup=true}. Нужна после первого развертывания колонок
+ * {@code comment_count} и {@code last_comment_at} или после изменения комментариев в обход приложения.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "task.comment-counters.reconcile-on-startup", havingValue = "true")
+public class CommentCounterReconciler {
+
+    private final TaskRepository taskRepository;
+
+    /**
+     * Пересчитывает счетчики и даты последних комментариев, обновляя только расходящиеся строки.
+     */
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        int updated = taskRepository.reconcileCommentCounters();
+        log.info("Сверка счетчиков комментариев завершена, исправлено задач: {}", updated);
+    }
+}
@@ -2,26 +2,49 @@ package com.hh.TaskManagementSystems.service;
 
 import com.hh.TaskManagementSystems.converter.CommentConverter;
 import com.hh.TaskManagementSystems.dto.CommentDto;
+import com.hh.TaskManagementSystems.dto.PageDto;
+import com.hh.TaskManagementSystems.event.CommentCreatedEvent;
+import com.hh.TaskManagementSystems.event.CommentDeletedEvent;
+import com.hh.TaskManagementSystems.exception.NotEnoughRightsException;
+import com.hh.TaskManagementSystems.exception.NotFoundException;
+import com.hh.TaskManagementSystems.model.AuditAction;
 import com.hh.TaskManagementSystems.model.Comment;
 import com.hh.TaskManagementSystems.model.User;
+import com.hh.TaskManagementSystems.notification.NotificationOutbox;
+import com.hh.TaskManagementSystems.repository.CommentPreview;
 import com.hh.TaskManagementSystems.repository.CommentRepository;
+import com.hh.TaskManagementSystems.repository.TaskRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Сервис для работы с комментариями.
  *
- * <p>Этот сервис предоставляет методы для получения комментариев по задаче и сохранения новых комментариев.</p>
+ * <p>Этот сервис предоставляет методы для получения комментариев по задаче, сохранения и удаления комментариев.
+ * При сохранении и удалении атомарно обновляются счетчик комментариев и дата последнего комментария задачи,
+ * а изменение записывается в историю задачи через {@link AuditLogService}.</p>
  */
 @Service
 @RequiredArgsConstructor
 public class CommentService {
 
     private final CommentRepository commentRepository;
+    private final TaskRepository taskRepository;
     private final CommentConverter commentConverter;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditLogService auditLogService;
+    private final NotificationOutbox notificationOutbox;
 
     /**
      * Получает комментарии по идентификатору задачи.
@@ -37,20 +60,86 @@ public class CommentService {
         return comments.map(commentConverter::toDto);
     }
 
+    /**
+     * Получает последние комментарии для набора задач одним запросом.
+     *
+     * <p>Для каждой задачи возвращается первая страница размером {@code limit} с комментариями,
+     * отсортированными от новых к старым, и общим количеством комментариев к задаче. Для задач без комментариев
+     * возвращается пустая страница. Идентификаторы передаются одним параметром-массивом, поэтому их количество не
+     * ограничено числом параметров запроса PostgreSQL.</p>
+     *
+     * @param taskIds идентификаторы задач
+     * @param limit   максимальное количество комментариев на задачу
+     * @return страницы комментариев по идентификатору задачи
+     */
+    public Map<Long, PageDto<CommentDto>> getCommentPreviews(Collection<Long> taskIds, int limit) {
+        Map<Long, List<CommentDto>> comments = new HashMap<>();
+        Map<Long, Long> totals = new HashMap<>();
+        if (!taskIds.isEmpty()) {
+            for (CommentPreview preview : commentRepository.findLatestByTaskIdIn(taskIds.toArray(Long[]::new), limit)) {
+                comments.computeIfAbsent(preview.getTaskId(), id -> new ArrayList<>())
+                        .add(commentConverter.toDto(preview));
+                totals.put(preview.getTaskId(), preview.getTotal());
+            }
+        }
+
+        Map<Long, PageDto<CommentDto>> previews = new HashMap<>();
+        for (Long taskId : taskIds) {
+            long total = totals.getOrDefault(taskId, 0L);
+            previews.put(taskId, new PageDto<>(comments.getOrDefault(taskId, List.of()), 0, limit, total,
+                    (int) ((total + limit - 1) / limit)));
+        }
+        return previews;
+    }
+
     /**
      * Сохраняет новый комментарий.
      *
-     * <p>Сохраняет комментарий, связанный с указанной задачей, и присваивает авторство текущему пользователю.</p>
+     * <p>Сохраняет комментарий, связанный с указанной задачей, и присваивает авторство текущему пользователю.
+     * В той же транзакции увеличивает счетчик комментариев задачи без чтения текущего значения и ставит уведомление
+     * автору и исполнителю задачи в {@link NotificationOutbox}.</p>
      *
      * @param taskId     идентификатор задачи, к которой относится комментарий
      * @param commentDto данные комментария
      * @return сохраненный комментарий в виде DTO
      */
+    @Transactional
     public CommentDto saveComment(Long taskId, CommentDto commentDto) {
         Comment comment = commentConverter.toEntity(commentDto, taskId);
         User user = userService.getCurrentUser();
         comment.setAuthor(user);
         comment = commentRepository.save(comment);
+        taskRepository.incrementCommentCount(taskId, comment.getDateCreation());
+        auditLogService.recordComment(AuditAction.CREATED, comment);
+        notificationOutbox.taskCommented(comment);
+        eventPublisher.publishEvent(new CommentCreatedEvent(taskId, comment.getId()));
         return commentConverter.toDto(comment);
     }
+
+    /**
+     * Удаляет комментарий.
+     *
+     * <p>Удалить комментарий может его автор или автор задачи. В той же транзакции уменьшает счетчик комментариев
+     * задачи и пересчитывает дату последнего комментария.</p>
+     *
+     * @param taskId    идентификатор задачи, к которой относится комментарий
+     * @param commentId идентификатор комментария
+     * @throws NotFoundException        если комментарий не найден или относится к другой задаче
+     * @throws NotEnoughRightsException если текущий пользователь не является автором комментария или задачи
+     */
+    @Transactional
+    public void deleteComment(Long taskId, Long commentId) {
+        Comment comment = commentRepository.findById(commentId)
+                .filter(c -> c.getTask().getId().equals(taskId))
+                .orElseThrow(() -> new NotFoundException("Комментарий"));
+        User user = userService.getCurrentUser();
+        if (!user.getId().equals(comment.getAuthor().getId())
+                && !user.getId().equals(comment.getTask().getAuthor().getId())) {
+            throw new NotEnoughRightsException();
+        }
+        commentRepository.delete(comment);
+        taskRepository.decrementCommentCount(taskId);
+        auditLogService.recordComment(AuditAction.DELETED, comment);
+        eventPublisher.publishEvent(new CommentDeletedEvent(taskId, commentId));
+    }
 }
@@ -2,11 +2,14 @@ package com.hh.TaskManagementSystems.service;
 
 import com.hh.TaskManagementSystems.exception.NotFoundException;
 import com.hh.TaskManagementSystems.exception.WrongJwtException;
+import com.hh.TaskManagementSystems.jfr.JwtParseEvent;
 import com.hh.TaskManagementSystems.model.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -20,13 +23,27 @@ import java.util.function.Function;
 /**
  * Сервис для работы с JSON Web Token (JWT).
  *
- * <p>Этот сервис предоставляет методы для создания, проверки и извлечения информации из JWT токенов.</p>
+ * <p>Этот сервис предоставляет методы для создания, проверки и извлечения информации из JWT токенов.
+ * Время подписи и разбора токенов публикуется в метриках {@code jwt.sign} и {@code jwt.parse},
+ * каждый разбор также записывается как событие JFR {@link JwtParseEvent}.</p>
  */
 @Service
 public class JwtService {
     @Value("${token.signing.key}")
     private String jwtSigningKey;
 
+    private final Timer signTimer;
+    private final Timer parseTimer;
+
+    public JwtService(MeterRegistry meterRegistry) {
+        this.signTimer = Timer.builder("jwt.sign")
+                .description("Время подписи JWT токена")
+                .register(meterRegistry);
+        this.parseTimer = Timer.builder("jwt.parse")
+                .description("Время проверки подписи и разбора JWT токена")
+                .register(meterRegistry);
+    }
+
     /**
      * Извлекает email из JWT токена.
      *
@@ -90,10 +107,10 @@ public class JwtService {
      * @return сгенерированный JWT токен
      */
     private String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return Jwts.builder().claims(extraClaims).subject(userDetails.getUsername())
+        return signTimer.record(() -> Jwts.builder().claims(extraClaims).subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24))
-                .signWith(getSigningKey(), Jwts.SIG.HS256).compact();
+                .signWith(getSigningKey(), Jwts.SIG.HS256).compact());
     }
 
     /**
@@ -124,12 +141,17 @@ public class JwtService {
      * @throws NotFoundException если Jwt токен неверный
      */
     private Claims extractAllClaims(String token) {
+        JwtParseEvent event = new JwtParseEvent();
+        event.begin();
         try {
-            return Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(token)
-                    .getPayload();
-
+            Claims claims = parseTimer.record(() -> Jwts.parser().verifyWith(getSigningKey()).build()
+                    .parseSignedClaims(token).getPayload());
+            event.valid = true;
+            return claims;
         } catch (RuntimeException exception) {
             throw new WrongJwtException();
+        } finally {
+            event.commit();
         }
     }
 
@@ -0,0 +1,161 @@
+package com.hh.TaskManagementSystems.service;
+
+import com.hh.TaskManagementSystems.dto.TaskAnalyticsDto;
+import com.hh.TaskManagementSystems.dto.TaskAnalyticsGroupDto;
+import com.hh.TaskManagementSystems.dto.TaskThroughputDto;
+import com.hh.TaskManagementSystems.exception.NotFoundException;
+import com.hh.TaskManagementSystems.model.TaskPriority;
+import com.hh.TaskManagementSystems.model.TimeBucket;
+import com.hh.TaskManagementSystems.model.User;
+import com.hh.TaskManagementSystems.repository.TaskCompletion;
+import com.hh.TaskManagementSystems.repository.TaskStatusTransitionRepository;
+import com.hh.TaskManagementSystems.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.HdrHistogram.Histogram;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Аналитика времени выполнения и пропускной способности по истории смен статусов задач.
+ *
+ * <p>Временем выполнения считается время от первого перехода задачи в {@code IN_PROGRESS} до ее завершения.
+ * Завершения читаются из базы потоком и сразу добавляются в гистограммы HdrHistogram по исполнителю и приоритету,
+ * поэтому память зависит от количества групп и интервалов, а не от количества завершений. Запрос выполняется
+ * в транзакции только для чтения.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskAnalyticsService {
+
+    /**
+     * Максимальная длина периода аналитики.
+     */
+    static final Duration MAX_PERIOD = Duration.ofDays(366);
+
+    /**
+     * Период по умолчанию, если начало периода не указано.
+     */
+    private static final Duration DEFAULT_PERIOD = Duration.ofDays(30);
+
+    /**
+     * Точность гистограмм: три значащие цифры, то есть погрешность процентилей не больше 0,1%.
+     */
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final TaskStatusTransitionRepository taskStatusTransitionRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * Считает процентили времени выполнения и количество завершенных задач по интервалам для каждого сочетания
+     * исполнителя и приоритета.
+     *
+     * @param from          начало периода включительно или {@code null} — за 30 дней до конца периода
+     * @param to            конец периода, не включая, или {@code null} — текущий момент
+     * @param bucket        интервал пропускной способности
+     * @param executorEmail email исполнителя или {@code null}, если фильтр не нужен
+     * @param priority      приоритет или {@code null}, если фильтр не нужен
+     * @return аналитика за период
+     * @throws NotFoundException       если пользователь с указанным email не найден
+     * @throws ResponseStatusException если период пуст или длиннее 366 дней
+     */
+    @Transactional(readOnly = true)
+    public TaskAnalyticsDto getAnalytics(Instant from, Instant to, TimeBucket bucket, String executorEmail,
+                                         TaskPriority priority) {
+        Instant periodTo = to != null ? to : Instant.now();
+        Instant periodFrom = from != null ? from : periodTo.minus(DEFAULT_PERIOD);
+        if (!periodFrom.isBefore(periodTo) || Duration.between(periodFrom, periodTo).compareTo(MAX_PERIOD) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Период должен быть непустым и не длиннее " + MAX_PERIOD.toDays() + " дней");
+        }
+        Long executorId = executorEmail != null
+                ? userRepository.findByEmail(executorEmail).map(User::getId)
+                        .orElseThrow(() -> new NotFoundException("Email"))
+                : null;
+
+        Map<GroupKey, Group> groups = new HashMap<>();
+        try (Stream<TaskCompletion> completions = taskStatusTransitionRepository.streamCompletions(
+                Date.from(periodFrom), Date.from(periodTo), executorId, priority != null ? priority.name() : null)) {
+            completions.forEach(completion -> groups
+                    .computeIfAbsent(new GroupKey(completion.getExecutorId(), completion.getPriority()),
+                            key -> new Group())
+                    .add(completion, bucket));
+        }
+
+        Map<Long, String> emails = userRepository.findAllById(groups.keySet().stream()
+                        .map(GroupKey::executorId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(User::getId, User::getEmail));
+        List<TaskAnalyticsGroupDto> result = new ArrayList<>(groups.size());
+        long completed = 0;
+        for (Map.Entry<GroupKey, Group> entry : sorted(groups)) {
+            result.add(entry.getValue().toDto(emails.get(entry.getKey().executorId()), entry.getKey().priority()));
+            completed += entry.getValue().completed;
+        }
+        return new TaskAnalyticsDto(periodFrom, periodTo, bucket.name(), completed, result);
+    }
+
+    private static List<Map.Entry<GroupKey, Group>> sorted(Map<GroupKey, Group> groups) {
+        return groups.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator
+                        .comparing(GroupKey::executorId, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(GroupKey::priority,
+                                Comparator.nullsLast(Comparator.comparing(TaskPriority::valueOf)))))
+                .toList();
+    }
+
+    private record GroupKey(Long executorId, String priority) {
+    }
+
+    /**
+     * Накопленные значения одной группы: гистограмма времени выполнения в секундах и количество завершений по
+     * интервалам.
+     */
+    private static final class Group {
+        private final Histogram cycleTime = new Histogram(SIGNIFICANT_DIGITS);
+        private final TreeMap<Instant, Long> throughput = new TreeMap<>();
+        private long completed;
+
+        void add(TaskCompletion completion, TimeBucket bucket) {
+            completed++;
+            throughput.merge(bucket.truncate(completion.getCompletedAt().toInstant()), 1L, Long::sum);
+            if (completion.getStartedAt() != null) {
+                long millis = completion.getCompletedAt().getTime() - completion.getStartedAt().getTime();
+                cycleTime.recordValue(Math.max(0, millis / 1000));
+            }
+        }
+
+        TaskAnalyticsGroupDto toDto(String executorEmail, String priority) {
+            List<TaskThroughputDto> buckets = throughput.entrySet().stream()
+                    .map(entry -> new TaskThroughputDto(entry.getKey(), entry.getValue()))
+                    .toList();
+            long measured = cycleTime.getTotalCount();
+            if (measured == 0) {
+                return new TaskAnalyticsGroupDto(executorEmail, priority, completed, 0, null, null, null, null,
+                        null, null, null, buckets);
+            }
+            return new TaskAnalyticsGroupDto(executorEmail, priority, completed, measured,
+                    percentile(50), percentile(75), percentile(90), percentile(95), percentile(99),
+                    cycleTime.getMaxValue(), cycleTime.getMean(), buckets);
+        }
+
+        private long percentile(double percentile) {
+            return cycleTime.getValueAtPercentile(percentile);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.hh.TaskManagementSystems.service;
+
+import com.hh.TaskManagementSystems.converter.CommentConverter;
+import com.hh.TaskManagementSystems.converter.TaskConverter;
+import com.hh.TaskManagementSystems.dto.PageDto;
+import com.hh.TaskManagementSystems.dto.TaskDto;
+import com.hh.TaskManagementSystems.event.TaskDeletedEvent;
+import com.hh.TaskManagementSystems.repository.ArchivedCommentRepository;
+import com.hh.TaskManagementSystems.repository.ArchivedTaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Архив завершенных задач.
+ *
+ * <p>Задачи {@code COMPLETED} без родителя и подзадач, завершенные больше {@code task.archive.completed-age-ms}
+ * назад, периодически переносятся вместе с комментариями из {@code task} и {@code comment} в {@code task_archive}
+ * и {@code comment_archive}, поэтому рабочие таблицы и их индексы растут с количеством незавершенных задач, а не
+ * со всей историей. Перенос идет порциями по {@code task.archive.batch-size}, каждая порция — один запрос в своей
+ * транзакции, блокирующий только строки порции. Списки, поиск, фасеты и счетчики задач пользователей учитывают
+ * только рабочие задачи; задача по идентификатору ищется и в архиве. Архивные задачи доступны только для
+ * чтения.</p>
+ */
+@Slf4j
+@Service
+public class TaskArchiveService {
+
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final ArchivedCommentRepository archivedCommentRepository;
+    private final TaskConverter taskConverter;
+    private final CommentConverter commentConverter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration completedAge;
+    private final int batchSize;
+
+    public TaskArchiveService(ArchivedTaskRepository archivedTaskRepository,
+                              ArchivedCommentRepository archivedCommentRepository, TaskConverter taskConverter,
+                              CommentConverter commentConverter, ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${task.archive.completed-age-ms:7776000000}") long completedAgeMillis,
+                              @Value("${task.archive.batch-size:500}") int batchSize) {
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.archivedCommentRepository = archivedCommentRepository;
+        this.taskConverter = taskConverter;
+        this.commentConverter = commentConverter;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.completedAge = Duration.ofMillis(completedAgeMillis);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Переносит в архив все задачи, завершенные больше {@code task.archive.completed-age-ms} (по умолчанию
+     * 90 дней) назад. Из полнотекстового индекса и фасетов перенесенные задачи удаляются как удаленные.
+     *
+     * @return количество перенесенных задач
+     */
+    @Scheduled(fixedDelayString = "${task.archive.interval-ms:3600000}")
+    public int archiveCompleted() {
+        Date now = new Date();
+        Date before = new Date(now.getTime() - completedAge.toMillis());
+        int archived = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> {
+                List<Long> ids = archivedTaskRepository.archiveCompleted(before, now, batchSize,
+                        UserTaskStatsService.STATS_LOCK_KEY);
+                ids.forEach(id -> eventPublisher.publishEvent(new TaskDeletedEvent(id)));
+                return ids.size();
+            });
+            archived += batch;
+        } while (batch == batchSize);
+        if (archived > 0) {
+            log.info("Перенесено в архив завершенных задач: {}", archived);
+        }
+        return archived;
+    }
+
+    /**
+     * Получает архивную задачу по идентификатору с постраничным выводом комментариев.
+     *
+     * @param id       идентификатор задачи
+     * @param pageable объект для настройки постраничного вывода комментариев
+     * @return задача с комментариями или пустое значение, если в архиве такой задачи нет
+     */
+    @Transactional(readOnly = true)
+    public Optional<TaskDto> getTask(Long id, Pageable pageable) {
+        return archivedTaskRepository.findWithUsersById(id)
+                .map(task -> taskConverter.toDto(task, PageDto.of(
+                        archivedCommentRepository.findByTask_Id(id, pageable).map(commentConverter::toDto))));
+    }
+}
@@ -0,0 +1,138 @@
+package com.hh.TaskManagementSystems.service;
+
+import com.hh.TaskManagementSystems.converter.TaskConverter;
+import com.hh.TaskManagementSystems.dto.TaskBoardColumnDto;
+import com.hh.TaskManagementSystems.dto.TaskBoardDto;
+import com.hh.TaskManagementSystems.dto.TaskDto;
+import com.hh.TaskManagementSystems.dto.TaskFilterDto;
+import com.hh.TaskManagementSystems.model.Task;
+import com.hh.TaskManagementSystems.model.TaskPriority;
+import com.hh.TaskManagementSystems.model.TaskStatus;
+import com.hh.TaskManagementSystems.repository.TaskBoardRow;
+import com.hh.TaskManagementSystems.repository.TaskFilter;
+import com.hh.TaskManagementSystems.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Канбан-доска задач: колонки по статусам с первыми задачами и точным количеством задач в каждой колонке.
+ *
+ * <p>Доска загружается одним запросом с оконными функциями вместо отдельного запроса и подсчета на каждый статус.
+ * Продолжение колонки загружается по курсору — приоритету и идентификатору последней показанной задачи, — поэтому
+ * глубокая прокрутка не требует {@code OFFSET} и не пропускает задачи, добавленные в начало колонки.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskBoardService {
+
+    private final TaskRepository taskRepository;
+    private final TaskConverter taskConverter;
+
+    /**
+     * Получает доску задач, удовлетворяющих фильтру.
+     *
+     * <p>Колонки возвращаются для всех статусов в порядке {@link TaskStatus}, а если в фильтре указаны статусы —
+     * только для них.</p>
+     *
+     * @param filter условия выборки
+     * @param limit  максимальное количество задач в колонке
+     * @return колонки доски
+     */
+    @Transactional(readOnly = true)
+    public TaskBoardDto getBoard(TaskFilterDto filter, int limit) {
+        TaskFilter taskFilter = TaskService.toFilter(filter);
+        Map<TaskStatus, List<Task>> tasks = new EnumMap<>(TaskStatus.class);
+        Map<TaskStatus, Long> totals = new EnumMap<>(TaskStatus.class);
+        for (TaskBoardRow row : taskRepository.findBoard(taskFilter, limit)) {
+            TaskStatus status = row.task().getStatus();
+            tasks.computeIfAbsent(status, key -> new ArrayList<>()).add(row.task());
+            totals.put(status, row.columnTotal());
+        }
+
+        List<TaskBoardColumnDto> columns = new ArrayList<>();
+        for (TaskStatus status : TaskStatus.values()) {
+            if (taskFilter.statuses() != null && !taskFilter.statuses().contains(status)) {
+                continue;
+            }
+            List<Task> column = tasks.getOrDefault(status, List.of());
+            long total = totals.getOrDefault(status, 0L);
+            columns.add(new TaskBoardColumnDto(status.name(), total, toDtos(column),
+                    total > column.size() ? cursor(column.get(column.size() - 1)) : null));
+        }
+        return new TaskBoardDto(columns);
+    }
+
+    /**
+     * Получает следующие задачи колонки доски.
+     *
+     * @param status статус колонки
+     * @param filter условия выборки, те же, что при загрузке доски
+     * @param cursor курсор из предыдущего ответа
+     * @param limit  максимальное количество задач
+     * @return задачи колонки после курсора; количество задач в колонке не заполняется
+     * @throws ResponseStatusException со статусом 400, если курсор поврежден
+     */
+    @Transactional(readOnly = true)
+    public TaskBoardColumnDto getColumn(TaskStatus status, TaskFilterDto filter, String cursor, int limit) {
+        String[] position = decodeCursor(cursor);
+        List<Task> column = taskRepository.findBoardColumn(TaskService.toFilter(filter), status,
+                toPriority(position[0]), Long.valueOf(position[1]), limit + 1);
+        boolean hasMore = column.size() > limit;
+        if (hasMore) {
+            column = column.subList(0, limit);
+        }
+        return new TaskBoardColumnDto(status.name(), null, toDtos(column),
+                hasMore ? cursor(column.get(column.size() - 1)) : null);
+    }
+
+    private List<TaskDto> toDtos(List<Task> tasks) {
+        return tasks.stream().map(taskConverter::toDto).toList();
+    }
+
+    /**
+     * Кодирует позицию задачи в колонке. У задачи без приоритета имя приоритета в курсоре пустое.
+     *
+     * @param task последняя показанная задача
+     * @return курсор
+     */
+    private static String cursor(Task task) {
+        String position = (task.getPriority() != null ? task.getPriority().name() : "") + ":" + task.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Разбирает курсор колонки на приоритет и идентификатор последней показанной задачи.
+     *
+     * @param cursor курсор
+     * @return имя приоритета, пустое для задачи без приоритета, и идентификатор задачи
+     * @throws ResponseStatusException со статусом 400, если курсор поврежден
+     */
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(":", -1);
+            if (position.length == 2) {
+                toPriority(position[0]);
+                Long.parseLong(position[1]);
+                return position;
+            }
+        } catch (IllegalArgumentException e) {
+            // Некорректный Base64, приоритет или идентификатор.
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Некорректный курсор колонки");
+    }
+
+    private static TaskPriority toPriority(String name) {
+        return name.isEmpty() ? null : TaskPriority.valueOf(name);
+    }
+}
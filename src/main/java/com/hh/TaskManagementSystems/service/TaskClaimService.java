@@ -0,0 +1,116 @@
+package com.hh.TaskManagementSystems.service;
+
+import com.hh.TaskManagementSystems.converter.TaskConverter;
+import com.hh.TaskManagementSystems.dto.TaskDto;
+import com.hh.TaskManagementSystems.event.TaskChangedEvent;
+import com.hh.TaskManagementSystems.jfr.TaskMutationEvent;
+import com.hh.TaskManagementSystems.model.User;
+import com.hh.TaskManagementSystems.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Очередь задач для исполнителей.
+ *
+ * <p>Исполнитель берет следующую задачу {@code PENDING} с наибольшим приоритетом одним запросом
+ * {@code UPDATE ... FOR UPDATE SKIP LOCKED}: параллельные исполнители не ждут друг друга и не получают одну и ту же
+ * задачу. Взятая задача переводится в {@code IN_PROGRESS} с арендой на {@code task.claim.lease-duration-ms};
+ * исполнитель продлевает аренду запросами heartbeat, а задачи с истекшей арендой периодически возвращаются в
+ * очередь. Счетчики задач пользователей обновляются теми же запросами.</p>
+ */
+@Slf4j
+@Service
+public class TaskClaimService {
+
+    private static final int RELEASE_BATCH_SIZE = 500;
+
+    private final TaskRepository taskRepository;
+    private final UserService userService;
+    private final TaskConverter taskConverter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration leaseDuration;
+
+    public TaskClaimService(TaskRepository taskRepository, UserService userService, TaskConverter taskConverter,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${task.claim.lease-duration-ms:300000}") long leaseDurationMillis) {
+        this.taskRepository = taskRepository;
+        this.userService = userService;
+        this.taskConverter = taskConverter;
+        this.eventPublisher = eventPublisher;
+        this.leaseDuration = Duration.ofMillis(leaseDurationMillis);
+    }
+
+    /**
+     * Берет в работу следующую задачу из очереди и назначает текущего пользователя исполнителем.
+     *
+     * <p>Рассматриваются задачи {@code PENDING} без исполнителя или уже назначенные на текущего пользователя,
+     * сначала с большим приоритетом, при равном приоритете — более старые.</p>
+     *
+     * @param priority приоритет задачи или {@code null}
+     * @param label    метка задачи или {@code null}
+     * @return взятая задача или пустое значение, если подходящих задач нет
+     */
+    @Transactional
+    public Optional<TaskDto> claimNext(String priority, String label) {
+        return TaskMutationEvent.record("claimTask", null, () -> {
+            User user = userService.getCurrentUser();
+            Instant now = Instant.now();
+            List<Long> claimed = taskRepository.claimNext(user.getId(), priority,
+                    label != null ? TaskService.normalizeLabel(label) : null, Date.from(now),
+                    Date.from(now.plus(leaseDuration)), UserTaskStatsService.STATS_LOCK_KEY);
+            if (claimed.isEmpty()) {
+                return Optional.empty();
+            }
+            eventPublisher.publishEvent(new TaskChangedEvent(claimed.get(0)));
+            return taskRepository.findAllWithUsersByIdIn(claimed).stream().findFirst().map(taskConverter::toDto);
+        });
+    }
+
+    /**
+     * Продлевает аренду задачи, взятой текущим пользователем из очереди.
+     *
+     * @param id идентификатор задачи
+     * @return новый срок аренды
+     * @throws ResponseStatusException со статусом 409, если задача не взята текущим пользователем из очереди или
+     *                                 уже возвращена в очередь
+     */
+    @Transactional
+    public Instant heartbeat(Long id) {
+        User user = userService.getCurrentUser();
+        Date deadline = leaseDeadline();
+        if (taskRepository.extendLease(id, user.getId(), deadline) == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Задача не арендована текущим пользователем");
+        }
+        return deadline.toInstant();
+    }
+
+    /**
+     * Возвращает в очередь задачи с истекшей арендой, не более {@value #RELEASE_BATCH_SIZE} за проход.
+     */
+    @Transactional
+    @Scheduled(fixedDelayString = "${task.claim.release-interval-ms:30000}")
+    public void releaseExpiredLeases() {
+        List<Long> released = taskRepository.releaseExpiredLeases(new Date(), RELEASE_BATCH_SIZE,
+                UserTaskStatsService.STATS_LOCK_KEY);
+        released.forEach(id -> eventPublisher.publishEvent(new TaskChangedEvent(id)));
+        if (!released.isEmpty()) {
+            log.info("Возвращено в очередь задач с истекшей арендой: {}", released.size());
+        }
+    }
+
+    private Date leaseDeadline() {
+        return Date.from(Instant.now().plus(leaseDuration));
+    }
+}
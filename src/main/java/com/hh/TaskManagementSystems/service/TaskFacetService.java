@@ -0,0 +1,84 @@
+package com.hh.TaskManagementSystems.service;
+
+import com.hh.TaskManagementSystems.dto.TaskFacetsDto;
+import com.hh.TaskManagementSystems.exception.NotFoundException;
+import com.hh.TaskManagementSystems.model.TaskPriority;
+import com.hh.TaskManagementSystems.model.TaskStatus;
+import com.hh.TaskManagementSystems.model.User;
+import com.hh.TaskManagementSystems.model.UserTaskStatsId;
+import com.hh.TaskManagementSystems.repository.UserRepository;
+import com.hh.TaskManagementSystems.search.TaskFacetCounts;
+import com.hh.TaskManagementSystems.search.TaskFacetIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Сервис количеств задач по фасетам для дашбордов.
+ *
+ * <p>Количества считаются по {@link TaskFacetIndex} в памяти; в базу данных запрос обращается, только чтобы найти
+ * идентификаторы автора и исполнителя по email.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskFacetService {
+
+    private final TaskFacetIndex taskFacetIndex;
+    private final UserRepository userRepository;
+
+    /**
+     * Подсчитывает задачи по статусу, приоритету и всем их сочетаниям.
+     *
+     * @param authorEmail   email автора или {@code null}, если фильтр не нужен
+     * @param executorEmail email исполнителя или {@code null}, если фильтр не нужен
+     * @return количества задач
+     * @throws NotFoundException если пользователь с указанным email не найден
+     */
+    public TaskFacetsDto getFacets(String authorEmail, String executorEmail) {
+        return toDto(taskFacetIndex.count(userId(authorEmail), userId(executorEmail)));
+    }
+
+    /**
+     * Преобразует количества задач в DTO со всеми статусами и приоритетами, в том числе с нулевыми количествами.
+     *
+     * <p>Если в массивах приоритетов есть ячейка после последнего {@link TaskPriority}, она выводится как
+     * количество задач без приоритета под ключом {@value UserTaskStatsId#NO_PRIORITY}.</p>
+     *
+     * @param counts количества задач
+     * @return количества задач в формате DTO
+     */
+    static TaskFacetsDto toDto(TaskFacetCounts counts) {
+        boolean hasNoPriority = counts.byPriority().length > TaskPriority.values().length;
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        Map<String, Map<String, Long>> byStatusAndPriority = new LinkedHashMap<>();
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status.name(), counts.byStatus()[status.ordinal()]);
+            Map<String, Long> byPriority = new LinkedHashMap<>();
+            for (TaskPriority priority : TaskPriority.values()) {
+                byPriority.put(priority.name(), counts.byStatusAndPriority()[status.ordinal()][priority.ordinal()]);
+            }
+            if (hasNoPriority) {
+                byPriority.put(UserTaskStatsId.NO_PRIORITY,
+                        counts.byStatusAndPriority()[status.ordinal()][TaskPriority.values().length]);
+            }
+            byStatusAndPriority.put(status.name(), byPriority);
+        }
+        Map<String, Long> byPriority = new LinkedHashMap<>();
+        for (TaskPriority priority : TaskPriority.values()) {
+            byPriority.put(priority.name(), counts.byPriority()[priority.ordinal()]);
+        }
+        if (hasNoPriority) {
+            byPriority.put(UserTaskStatsId.NO_PRIORITY, counts.byPriority()[TaskPriority.values().length]);
+        }
+        return new TaskFacetsDto(counts.total(), byStatus, byPriority, byStatusAndPriority);
+    }
+
+    private Long userId(String email) {
+        if (email == null) {
+            return null;
+        }
+        return userRepository.findByEmail(email).map(User::getId).orElseThrow(() -> new NotFoundException("Email"));
+    }
+}
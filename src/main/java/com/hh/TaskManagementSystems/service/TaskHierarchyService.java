@@ -0,0 +1,147 @@
+package com.hh.TaskManagementSystems.service;
+
+import com.hh.TaskManagementSystems.converter.TaskConverter;
+import com.hh.TaskManagementSystems.dto.TaskTreeDto;
+import com.hh.TaskManagementSystems.exception.NotFoundException;
+import com.hh.TaskManagementSystems.model.Task;
+import com.hh.TaskManagementSystems.model.TaskStatus;
+import com.hh.TaskManagementSystems.repository.TaskRepository;
+import com.hh.TaskManagementSystems.repository.TaskTreeNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Иерархия задач: подзадачи, проверка циклов и счетчики подзадач.
+ *
+ * <p>Поддерево и цепочка предков загружаются одним рекурсивным запросом. Смена родителя проверяет, что задача не
+ * становится подзадачей самой себя или своей подзадачи, под advisory-блокировкой, чтобы параллельные изменения
+ * не образовали цикл. Счетчики {@code child_count} и {@code completed_child_count} родителя меняются атомарными
+ * запросами при создании, удалении, переносе подзадачи и смене ее статуса.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskHierarchyService {
+
+    /**
+     * Максимальное количество задач в поддереве, возвращаемом одним запросом.
+     */
+    public static final int MAX_SUBTREE_SIZE = 10_000;
+
+    /**
+     * Ключ advisory-блокировки изменений иерархии задач.
+     */
+    private static final long HIERARCHY_LOCK_KEY = 0x7461736b_74726565L;
+
+    private final TaskRepository taskRepository;
+    private final TaskConverter taskConverter;
+
+    /**
+     * Находит задачу, которая станет родителем задачи {@code taskId}, и проверяет, что иерархия останется без
+     * циклов. Блокировка иерархии удерживается до конца транзакции.
+     *
+     * @param taskId   идентификатор задачи или {@code null} для новой задачи
+     * @param parentId идентификатор родителя
+     * @return родительская задача
+     * @throws NotFoundException       если родительская задача не найдена
+     * @throws ResponseStatusException со статусом 400, если задача станет подзадачей самой себя или своей
+     *                                 подзадачи
+     */
+    @Transactional
+    public Task resolveParent(Long taskId, Long parentId) {
+        if (taskId != null) {
+            taskRepository.lockHierarchy(HIERARCHY_LOCK_KEY);
+            if (taskRepository.isSelfOrAncestor(taskId, parentId)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Задача не может быть подзадачей самой себя или своей подзадачи");
+            }
+        }
+        return taskRepository.findById(parentId).orElseThrow(() -> new NotFoundException("ParentId"));
+    }
+
+    /**
+     * Обновляет счетчики подзадач родителей после изменения родителя или статуса задачи.
+     *
+     * @param oldParent родитель до изменения или {@code null}
+     * @param oldStatus статус до изменения или {@code null} для новой задачи
+     * @param newParent родитель после изменения или {@code null}, в том числе для удаленной задачи
+     * @param newStatus статус после изменения
+     */
+    @Transactional
+    public void updateCounts(Task oldParent, TaskStatus oldStatus, Task newParent, TaskStatus newStatus) {
+        Long oldParentId = oldParent != null ? oldParent.getId() : null;
+        Long newParentId = newParent != null ? newParent.getId() : null;
+        int wasCompleted = oldStatus == TaskStatus.COMPLETED ? 1 : 0;
+        int completed = newStatus == TaskStatus.COMPLETED ? 1 : 0;
+        if (Objects.equals(oldParentId, newParentId)) {
+            if (newParentId != null && wasCompleted != completed) {
+                taskRepository.adjustChildCounts(newParentId, 0, completed - wasCompleted);
+            }
+            return;
+        }
+        if (oldParentId != null) {
+            taskRepository.adjustChildCounts(oldParentId, -1, -wasCompleted);
+        }
+        if (newParentId != null) {
+            taskRepository.adjustChildCounts(newParentId, 1, completed);
+        }
+    }
+
+    /**
+     * Получает задачу со всеми подзадачами на любую глубину.
+     *
+     * @param id идентификатор задачи
+     * @return дерево задач с корнем в указанной задаче
+     * @throws NotFoundException       если задача не найдена
+     * @throws ResponseStatusException со статусом 400, если в поддереве больше {@value #MAX_SUBTREE_SIZE} задач
+     */
+    @Transactional(readOnly = true)
+    public TaskTreeDto getSubtree(Long id) {
+        List<TaskTreeNode> nodes = taskRepository.findSubtree(id, MAX_SUBTREE_SIZE + 1);
+        if (nodes.isEmpty()) {
+            throw new NotFoundException("Id");
+        }
+        if (nodes.size() > MAX_SUBTREE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Поддерево содержит больше " + MAX_SUBTREE_SIZE + " задач");
+        }
+        // Узлы упорядочены по глубине, поэтому родитель всегда встречается раньше своих подзадач.
+        Map<Long, TaskTreeDto> byId = new HashMap<>(nodes.size() * 2);
+        for (TaskTreeNode node : nodes) {
+            TaskTreeDto dto = taskConverter.toTreeDto(node, new ArrayList<>());
+            byId.put(node.getId(), dto);
+            TaskTreeDto parent = node.getDepth() > 0 ? byId.get(node.getParentId()) : null;
+            if (parent != null) {
+                parent.children().add(dto);
+            }
+        }
+        return byId.get(id);
+    }
+
+    /**
+     * Получает цепочку предков задачи.
+     *
+     * @param id идентификатор задачи
+     * @return предки задачи от задачи верхнего уровня до непосредственного родителя; пустой список для задачи
+     * верхнего уровня
+     * @throws NotFoundException если задача не найдена
+     */
+    @Transactional(readOnly = true)
+    public List<TaskTreeDto> getAncestors(Long id) {
+        List<TaskTreeNode> nodes = taskRepository.findAncestors(id);
+        if (nodes.isEmpty()) {
+            throw new NotFoundException("Id");
+        }
+        return nodes.subList(0, nodes.size() - 1).stream()
+                .map(node -> taskConverter.toTreeDto(node, null))
+                .toList();
+    }
+}
@@ -0,0 +1,76 @@
+package com.hh.TaskManagementSystems.service;
+
+import com.hh.TaskManagementSystems.converter.TaskConverter;
+import com.hh.TaskManagementSystems.dto.PageDto;
+import com.hh.TaskManagementSystems.dto.TaskDto;
+import com.hh.TaskManagementSystems.model.Task;
+import com.hh.TaskManagementSystems.model.TaskPriority;
+import com.hh.TaskManagementSystems.model.TaskStatus;
+import com.hh.TaskManagementSystems.repository.TaskRepository;
+import com.hh.TaskManagementSystems.search.TaskSearchHits;
+import com.hh.TaskManagementSystems.search.TaskSearchIndex;
+import com.hh.TaskManagementSystems.search.TaskSearchIndexer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Сервис полнотекстового поиска задач по заголовку, описанию и комментариям.
+ *
+ * <p>Индекс возвращает идентификаторы задач в порядке релевантности, сами задачи загружаются одним запросом
+ * {@code IN}. Задачи, удаленные после последнего обновления индекса, пропускаются.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskSearchService {
+
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskSearchIndexer taskSearchIndexer;
+    private final TaskRepository taskRepository;
+    private final TaskConverter taskConverter;
+
+    /**
+     * Ищет задачи по тексту.
+     *
+     * @param query    текст запроса
+     * @param status   статус задачи или {@code null}, если фильтр не нужен
+     * @param priority приоритет задачи или {@code null}, если фильтр не нужен
+     * @param page     номер страницы
+     * @param size     размер страницы
+     * @return страница найденных задач в порядке релевантности
+     */
+    @Transactional(readOnly = true)
+    public PageDto<TaskDto> search(String query, String status, String priority, int page, int size) {
+        TaskStatus taskStatus = status != null ? TaskStatus.valueOf(status) : null;
+        TaskPriority taskPriority = priority != null ? TaskPriority.valueOf(priority) : null;
+
+        TaskSearchHits hits = taskSearchIndex.search(query, taskStatus, taskPriority, page * size, size);
+        List<TaskDto> content = new ArrayList<>(hits.taskIds().size());
+        if (!hits.taskIds().isEmpty()) {
+            Map<Long, Task> tasks = taskRepository.findAllWithUsersByIdIn(hits.taskIds()).stream()
+                    .collect(Collectors.toMap(Task::getId, Function.identity()));
+            for (Long id : hits.taskIds()) {
+                Task task = tasks.get(id);
+                if (task != null) {
+                    content.add(taskConverter.toDto(task));
+                }
+            }
+        }
+        return new PageDto<>(content, page, size, hits.totalHits(), (int) ((hits.totalHits() + size - 1) / size));
+    }
+
+    /**
+     * Перестраивает индекс по всем задачам в базе данных.
+     *
+     * @return количество проиндексированных задач
+     */
+    public long rebuildIndex() {
+        return taskSearchIndexer.rebuild();
+    }
+}
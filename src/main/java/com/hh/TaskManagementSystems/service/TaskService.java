@@ -2,99 +2,210 @@ package com.hh.TaskManagementSystems.service;
 
 import com.hh.TaskManagementSystems.converter.TaskConverter;
 import com.hh.TaskManagementSystems.dto.CommentDto;
+import com.hh.TaskManagementSystems.dto.PageDto;
+import com.hh.TaskManagementSystems.dto.TaskBatchDto;
 import com.hh.TaskManagementSystems.dto.TaskDto;
+import com.hh.TaskManagementSystems.dto.TaskFilterDto;
+import com.hh.TaskManagementSystems.event.TaskChangedEvent;
+import com.hh.TaskManagementSystems.event.TaskDeletedEvent;
 import com.hh.TaskManagementSystems.exception.NotEnoughRightsException;
 import com.hh.TaskManagementSystems.exception.NotFoundException;
+import com.hh.TaskManagementSystems.jfr.TaskMutationEvent;
+import com.hh.TaskManagementSystems.model.AuditAction;
 import com.hh.TaskManagementSystems.model.Task;
+import com.hh.TaskManagementSystems.model.TaskField;
 import com.hh.TaskManagementSystems.model.TaskPriority;
 import com.hh.TaskManagementSystems.model.TaskStatus;
+import com.hh.TaskManagementSystems.model.TaskStatusTransition;
 import com.hh.TaskManagementSystems.model.User;
+import com.hh.TaskManagementSystems.notification.NotificationOutbox;
+import com.hh.TaskManagementSystems.repository.TaskFilter;
 import com.hh.TaskManagementSystems.repository.TaskRepository;
+import com.hh.TaskManagementSystems.repository.TaskStatusTransitionRepository;
+import com.hh.TaskManagementSystems.service.UserTaskStatsService.TaskDimensions;
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Сервис для управления задачами.
  *
  * <p>Этот сервис предоставляет методы для создания, обновления, удаления и получения задач,
- * а также для управления их статусом и исполнителями.</p>
+ * а также для управления их статусом и исполнителями. Каждое изменение задачи записывается как событие JFR
+ * {@link TaskMutationEvent} и публикуется в транзакции как {@link TaskChangedEvent} или {@link TaskDeletedEvent}.
+ * В той же транзакции обновляются счетчики задач автора и исполнителя в {@link UserTaskStatsService} и
+ * записывается смена статуса в историю {@link TaskStatusTransition}, а измененные поля — в журнал аудита
+ * {@link AuditLogService}.</p>
  */
 @Service
 @RequiredArgsConstructor
 public class TaskService {
 
+    /**
+     * Максимальное количество меток у одной задачи.
+     */
+    public static final int MAX_LABELS = 20;
+
+    /**
+     * Максимальное количество последних комментариев, возвращаемых для каждой задачи в пакетном запросе.
+     */
+    public static final int BATCH_COMMENT_LIMIT = 20;
+
     private final TaskRepository taskRepository;
     private final UserService userService;
     private final TaskConverter taskConverter;
     private final CommentService commentService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskHierarchyService taskHierarchyService;
+    private final UserTaskStatsService userTaskStatsService;
+    private final TaskStatusTransitionRepository taskStatusTransitionRepository;
+    private final AuditLogService auditLogService;
+    private final NotificationOutbox notificationOutbox;
+    private final TaskArchiveService taskArchiveService;
 
     /**
      * Сохраняет новую задачу.
      *
-     * <p>Создает задачу, устанавливая текущего пользователя как автора, и сохраняет её в базе данных.</p>
+     * <p>Создает задачу, устанавливая текущего пользователя как автора, и сохраняет её в базе данных. Если указана
+     * родительская задача, задача создается ее подзадачей.</p>
      *
      * @param taskDto DTO объекта задачи, который нужно сохранить
      * @return сохраненная задача в формате DTO
+     * @throws NotFoundException если родительская задача не найдена
      */
+    @Transactional
     public TaskDto saveTask(TaskDto taskDto) {
-        User user = userService.getCurrentUser();
-        Task task = taskConverter.toEntity(taskDto);
-        task.setAuthor(user);
-        return taskConverter.toDto(taskRepository.save(task));
+        return TaskMutationEvent.record("saveTask", null, () -> {
+            User user = userService.getCurrentUser();
+            Task task = taskConverter.toEntity(taskDto);
+            task.setAuthor(user);
+            task.setLabels(normalizeLabels(List.of(task.getLabels())));
+            if (taskDto.parentId() != null) {
+                task.setParent(taskHierarchyService.resolveParent(null, taskDto.parentId()));
+            }
+            task = taskRepository.save(task);
+            taskHierarchyService.updateCounts(null, null, task.getParent(), task.getStatus());
+            userTaskStatsService.updateCounts(null, TaskDimensions.of(task));
+            recordTransition(task, null, user);
+            auditLogService.recordTask(AuditAction.CREATED, task, null, AuditLogService.taskState(task));
+            eventPublisher.publishEvent(new TaskChangedEvent(task.getId()));
+            return taskConverter.toDto(task);
+        });
     }
 
     /**
      * Обновляет задачу по идентификатору.
      *
-     * <p>Проверяет, является ли текущий пользователь автором задачи. Если да, обновляет задачу и сохраняет её в базе данных.</p>
+     * <p>Проверяет, является ли текущий пользователь автором задачи. Если да, обновляет задачу и сохраняет её в базе данных.
+     * Если метки в DTO не указаны, метки задачи не меняются. Аренда задачи из очереди сохраняется, только если
+     * задача остается в работе у того же исполнителя. Если родительская задача в DTO не указана, задача остается
+     * подзадачей прежнего родителя.</p>
      *
      * @param id             идентификатор задачи, которую нужно обновить
      * @param updatedTaskDto DTO объекта задачи с обновленными данными
      * @return обновленная задача в формате DTO
      * @throws NotEnoughRightsException  если текущий пользователь не является автором задачи
-     * @throws NotFoundException если задача с указанным идентификатором не найдена
+     * @throws NotFoundException если задача с указанным идентификатором или родительская задача не найдена
+     * @throws ResponseStatusException  если задача станет подзадачей самой себя или своей подзадачи
      */
+    @Transactional
     public TaskDto updateTask(Long id, TaskDto updatedTaskDto) {
-        Task task = taskRepository.findById(id).orElseThrow(() -> new NotFoundException("Id"));
-        User user = userService.getCurrentUser();
-        if (isAuthorOfTask(user, task)) {
-            Task updatedTask = taskConverter.toEntity(updatedTaskDto);
-            updatedTask.setAuthor(user);
-            updatedTask.setId(id);
-            updatedTask.setComments(task.getComments());
-            return taskConverter.toDto(taskRepository.save(updatedTask));
-        }
-        throw new NotEnoughRightsException();
+        return TaskMutationEvent.record("updateTask", id, () -> {
+            Task task = taskRepository.findByIdForUpdate(id).orElseThrow(() -> new NotFoundException("Id"));
+            User user = userService.getCurrentUser();
+            if (isAuthorOfTask(user, task)) {
+                Task updatedTask = taskConverter.toEntity(updatedTaskDto);
+                updatedTask.setAuthor(user);
+                updatedTask.setId(id);
+                updatedTask.setComments(task.getComments());
+                updatedTask.setDateCreation(task.getDateCreation());
+                updatedTask.setChildCount(task.getChildCount());
+                updatedTask.setCompletedChildCount(task.getCompletedChildCount());
+                updatedTask.setCommentCount(task.getCommentCount());
+                updatedTask.setLastCommentAt(task.getLastCommentAt());
+                updatedTask.setParent(updatedTaskDto.parentId() != null
+                        ? taskHierarchyService.resolveParent(id, updatedTaskDto.parentId())
+                        : task.getParent());
+                if (updatedTask.getStatus() == TaskStatus.IN_PROGRESS && updatedTask.getExecutor() != null
+                        && isExecutorOfTask(updatedTask.getExecutor(), task)) {
+                    updatedTask.setLeaseExpiresAt(task.getLeaseExpiresAt());
+                }
+                updatedTask.setLabels(updatedTaskDto.labels() != null
+                        ? normalizeLabels(updatedTaskDto.labels())
+                        : task.getLabels());
+                Task oldParent = task.getParent();
+                TaskStatus oldStatus = task.getStatus();
+                TaskDimensions before = TaskDimensions.of(task);
+                Map<String, Object> state = AuditLogService.taskState(task);
+                updatedTask = taskRepository.save(updatedTask);
+                taskHierarchyService.updateCounts(oldParent, oldStatus, updatedTask.getParent(),
+                        updatedTask.getStatus());
+                userTaskStatsService.updateCounts(before, TaskDimensions.of(updatedTask));
+                recordTransition(updatedTask, oldStatus, user);
+                auditLogService.recordTask(AuditAction.UPDATED, updatedTask, state,
+                        AuditLogService.taskState(updatedTask));
+                eventPublisher.publishEvent(new TaskChangedEvent(id));
+                return taskConverter.toDto(updatedTask);
+            }
+            throw new NotEnoughRightsException();
+        });
     }
 
     /**
      * Удаляет задачу по идентификатору.
      *
-     * <p>Проверяет, является ли текущий пользователь автором задачи. Если да, удаляет задачу из базы данных.</p>
+     * <p>Проверяет, является ли текущий пользователь автором задачи. Если да, удаляет задачу из базы данных.
+     * Подзадачи удаленной задачи становятся задачами верхнего уровня.</p>
      *
      * @param id идентификатор задачи, которую нужно удалить
      * @throws NotEnoughRightsException  если текущий пользователь не является автором задачи
      * @throws NotFoundException если задача с указанным идентификатором не найдена
      */
+    @Transactional
     public void deleteTask(Long id) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Id"));
-        User user = userService.getCurrentUser();
-        if (isAuthorOfTask(user, task)) {
-            taskRepository.deleteById(id);
-        } else {
-            throw new NotEnoughRightsException();
-        }
+        TaskMutationEvent.record("deleteTask", id, () -> {
+            Task task = taskRepository.findByIdForUpdate(id)
+                    .orElseThrow(() -> new NotFoundException("Id"));
+            User user = userService.getCurrentUser();
+            if (isAuthorOfTask(user, task)) {
+                taskHierarchyService.updateCounts(task.getParent(), task.getStatus(), null, null);
+                userTaskStatsService.updateCounts(TaskDimensions.of(task), null);
+                auditLogService.recordTask(AuditAction.DELETED, task, AuditLogService.taskState(task), null);
+                taskRepository.deleteById(id);
+                eventPublisher.publishEvent(new TaskDeletedEvent(id));
+            } else {
+                throw new NotEnoughRightsException();
+            }
+        });
     }
 
     /**
      * Обновляет статус задачи.
      *
-     * <p>Проверяет, является ли текущий пользователь автором или исполнителем задачи. Если да, обновляет статус задачи.</p>
+     * <p>Проверяет, является ли текущий пользователь автором или исполнителем задачи. Если да, обновляет статус задачи.
+     * Статус, отличный от {@code IN_PROGRESS}, снимает аренду задачи, взятой из очереди. Счетчик завершенных
+     * подзадач родителя меняется при переходе в статус {@code COMPLETED} или из него.</p>
      *
      * @param id     идентификатор задачи, статус которой нужно обновить
      * @param status новый статус задачи
@@ -102,20 +213,59 @@ public class TaskService {
      * @throws NotEnoughRightsException  если текущий пользователь не является автором или исполнителем задачи
      * @throws NotFoundException если задача с указанным идентификатором не найдена
      */
+    @Transactional
     public TaskDto updateStatus(Long id, TaskStatus status) {
-        Task task = taskRepository.findById(id).orElseThrow(() -> new NotFoundException("Id"));
-        User user = userService.getCurrentUser();
-        if (isAuthorOfTask(user, task) || isExecutorOfTask(user, task)) {
-            task.setStatus(status);
-            return taskConverter.toDto(taskRepository.save(task));
+        return TaskMutationEvent.record("updateStatus", id, () -> {
+            Task task = taskRepository.findByIdForUpdate(id).orElseThrow(() -> new NotFoundException("Id"));
+            User user = userService.getCurrentUser();
+            if (isAuthorOfTask(user, task) || isExecutorOfTask(user, task)) {
+                taskHierarchyService.updateCounts(task.getParent(), task.getStatus(), task.getParent(), status);
+                TaskDimensions before = TaskDimensions.of(task);
+                TaskStatus oldStatus = task.getStatus();
+                Map<String, Object> state = AuditLogService.taskState(task);
+                task.setStatus(status);
+                if (status != TaskStatus.IN_PROGRESS) {
+                    task.setLeaseExpiresAt(null);
+                }
+                task = taskRepository.save(task);
+                userTaskStatsService.updateCounts(before, TaskDimensions.of(task));
+                recordTransition(task, oldStatus, user);
+                auditLogService.recordTask(AuditAction.UPDATED, task, state, AuditLogService.taskState(task));
+                eventPublisher.publishEvent(new TaskChangedEvent(id));
+                return taskConverter.toDto(task);
+            }
+            throw new NotEnoughRightsException();
+        });
+    }
+
+    /**
+     * Записывает смену статуса задачи в историю, если статус изменился.
+     *
+     * @param task       задача после изменения
+     * @param fromStatus статус до изменения или {@code null} для новой задачи
+     * @param user       пользователь, изменивший статус
+     */
+    private void recordTransition(Task task, TaskStatus fromStatus, User user) {
+        if (task.getStatus() == null || task.getStatus() == fromStatus) {
+            return;
         }
-        throw new NotEnoughRightsException();
+        taskStatusTransitionRepository.save(TaskStatusTransition.builder()
+                .taskId(task.getId())
+                .fromStatus(fromStatus)
+                .toStatus(task.getStatus())
+                .priority(task.getPriority())
+                .executorId(task.getExecutor() != null ? task.getExecutor().getId() : null)
+                .changedBy(user.getId())
+                .changedAt(new Date())
+                .build());
     }
 
     /**
      * Обновляет исполнителя задачи.
      *
-     * <p>Проверяет, является ли текущий пользователь автором задачи. Если да, обновляет исполнителя задачи.</p>
+     * <p>Проверяет, является ли текущий пользователь автором задачи. Если да, обновляет исполнителя задачи и снимает
+     * аренду задачи, взятой из очереди. Новому исполнителю, если он назначен не самим собой, в той же транзакции
+     * ставится уведомление в {@link NotificationOutbox}.</p>
      *
      * @param id    идентификатор задачи, у которой нужно обновить исполнителя
      * @param email email нового исполнителя задачи
@@ -123,17 +273,179 @@ public class TaskService {
      * @throws NotEnoughRightsException  если текущий пользователь не является автором задачи
      * @throws NotFoundException если задача с указанным идентификатором не найдена или пользователь не найден
      */
+    @Transactional
     public TaskDto updateExecutor(Long id, String email) {
+        return TaskMutationEvent.record("updateExecutor", id, () -> {
+            Task task = taskRepository.findByIdForUpdate(id).orElseThrow(() -> new NotFoundException("Id"));
+            User user = userService.getCurrentUser();
+            if (isAuthorOfTask(user, task)) {
+                User executor = (User) userService.userDetailsService().loadUserByUsername(email);
+                TaskDimensions before = TaskDimensions.of(task);
+                Map<String, Object> state = AuditLogService.taskState(task);
+                task.setExecutor(executor);
+                task.setLeaseExpiresAt(null);
+                task = taskRepository.save(task);
+                userTaskStatsService.updateCounts(before, TaskDimensions.of(task));
+                auditLogService.recordTask(AuditAction.UPDATED, task, state, AuditLogService.taskState(task));
+                if (!executor.getId().equals(before.executorId())) {
+                    notificationOutbox.taskAssigned(task, user);
+                }
+                eventPublisher.publishEvent(new TaskChangedEvent(id));
+                return taskConverter.toDto(task);
+            }
+            throw new NotEnoughRightsException();
+        });
+    }
+
+    /**
+     * Переносит задачу под другую родительскую задачу.
+     *
+     * <p>Проверяет, является ли текущий пользователь автором задачи. Задача вместе со своими подзадачами становится
+     * подзадачей указанной задачи; если родитель не указан, задача становится задачей верхнего уровня.</p>
+     *
+     * @param id       идентификатор задачи
+     * @param parentId идентификатор новой родительской задачи или {@code null}
+     * @return обновленная задача в формате DTO
+     * @throws NotEnoughRightsException если текущий пользователь не является автором задачи
+     * @throws NotFoundException        если задача или родительская задача не найдена
+     * @throws ResponseStatusException  если задача станет подзадачей самой себя или своей подзадачи
+     */
+    @Transactional
+    public TaskDto moveTask(Long id, Long parentId) {
+        return TaskMutationEvent.record("moveTask", id, () -> {
+            Task task = taskRepository.findByIdForUpdate(id).orElseThrow(() -> new NotFoundException("Id"));
+            User user = userService.getCurrentUser();
+            if (isAuthorOfTask(user, task)) {
+                Task parent = parentId != null ? taskHierarchyService.resolveParent(id, parentId) : null;
+                taskHierarchyService.updateCounts(task.getParent(), task.getStatus(), parent, task.getStatus());
+                Map<String, Object> state = AuditLogService.taskState(task);
+                task.setParent(parent);
+                task = taskRepository.save(task);
+                auditLogService.recordTask(AuditAction.UPDATED, task, state, AuditLogService.taskState(task));
+                eventPublisher.publishEvent(new TaskChangedEvent(id));
+                return taskConverter.toDto(task);
+            }
+            throw new NotEnoughRightsException();
+        });
+    }
+
+    /**
+     * Получает метки задачи.
+     *
+     * @param id идентификатор задачи
+     * @return метки задачи
+     * @throws NotFoundException если задача с указанным идентификатором не найдена
+     */
+    public List<String> getLabels(Long id) {
         Task task = taskRepository.findById(id).orElseThrow(() -> new NotFoundException("Id"));
+        return List.of(task.getLabels());
+    }
+
+    /**
+     * Заменяет метки задачи.
+     *
+     * <p>Менять метки может автор или исполнитель задачи. Метки приводятся к нижнему регистру, повторы удаляются.</p>
+     *
+     * @param id     идентификатор задачи
+     * @param labels новые метки задачи
+     * @return обновленная задача в формате DTO
+     * @throws NotEnoughRightsException если текущий пользователь не является автором или исполнителем задачи
+     * @throws NotFoundException        если задача с указанным идентификатором не найдена
+     */
+    @Transactional
+    public TaskDto replaceLabels(Long id, Collection<String> labels) {
+        String[] normalized = normalizeLabels(labels);
+        return TaskMutationEvent.record("replaceLabels", id, () -> updateLabels(id, task -> normalized));
+    }
+
+    /**
+     * Добавляет метку задаче. Если метка уже есть, задача не меняется.
+     *
+     * @param id    идентификатор задачи
+     * @param label метка
+     * @return обновленная задача в формате DTO
+     * @throws NotEnoughRightsException если текущий пользователь не является автором или исполнителем задачи
+     * @throws NotFoundException        если задача с указанным идентификатором не найдена
+     * @throws ResponseStatusException  если у задачи уже {@value #MAX_LABELS} меток
+     */
+    @Transactional
+    public TaskDto addLabel(Long id, String label) {
+        return TaskMutationEvent.record("addLabel", id, () -> updateLabels(id, task -> {
+            List<String> labels = new ArrayList<>(List.of(task.getLabels()));
+            labels.add(label);
+            return normalizeLabels(labels);
+        }));
+    }
+
+    /**
+     * Удаляет метку задачи. Если метки нет, задача не меняется.
+     *
+     * @param id    идентификатор задачи
+     * @param label метка
+     * @return обновленная задача в формате DTO
+     * @throws NotEnoughRightsException если текущий пользователь не является автором или исполнителем задачи
+     * @throws NotFoundException        если задача с указанным идентификатором не найдена
+     */
+    @Transactional
+    public TaskDto removeLabel(Long id, String label) {
+        String normalized = normalizeLabel(label);
+        return TaskMutationEvent.record("removeLabel", id, () -> updateLabels(id, task -> List.of(task.getLabels())
+                .stream()
+                .filter(existing -> !existing.equals(normalized))
+                .toArray(String[]::new)));
+    }
+
+    /**
+     * Изменяет метки задачи, проверив права текущего пользователя.
+     *
+     * @param id     идентификатор задачи
+     * @param labels функция, вычисляющая новые метки по задаче
+     * @return обновленная задача в формате DTO
+     */
+    private TaskDto updateLabels(Long id, Function<Task, String[]> labels) {
+        Task task = taskRepository.findByIdForUpdate(id).orElseThrow(() -> new NotFoundException("Id"));
         User user = userService.getCurrentUser();
-        if (isAuthorOfTask(user, task)) {
-            User executor = (User) userService.userDetailsService().loadUserByUsername(email);
-            task.setExecutor(executor);
-            return taskConverter.toDto(taskRepository.save(task));
+        if (isAuthorOfTask(user, task) || isExecutorOfTask(user, task)) {
+            String[] updated = labels.apply(task);
+            if (!Arrays.equals(updated, task.getLabels())) {
+                Map<String, Object> state = AuditLogService.taskState(task);
+                task.setLabels(updated);
+                task = taskRepository.save(task);
+                auditLogService.recordTask(AuditAction.UPDATED, task, state, AuditLogService.taskState(task));
+                eventPublisher.publishEvent(new TaskChangedEvent(id));
+            }
+            return taskConverter.toDto(task);
         }
         throw new NotEnoughRightsException();
     }
 
+    /**
+     * Приводит метки к виду, в котором они хранятся: без пробелов по краям, в нижнем регистре, без повторов,
+     * в порядке первого появления.
+     *
+     * @param labels метки или {@code null}
+     * @return нормализованные метки
+     * @throws ResponseStatusException если меток больше {@value #MAX_LABELS}
+     */
+    private static String[] normalizeLabels(Collection<String> labels) {
+        if (labels == null) {
+            return new String[0];
+        }
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String label : labels) {
+            normalized.add(normalizeLabel(label));
+        }
+        if (normalized.size() > MAX_LABELS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "У задачи может быть не более " + MAX_LABELS + " меток");
+        }
+        return normalized.toArray(String[]::new);
+    }
+
+    static String normalizeLabel(String label) {
+        return label.strip().toLowerCase(Locale.ROOT);
+    }
+
     /**
      * Проверяет, является ли пользователь автором задачи.
      *
@@ -153,109 +465,234 @@ public class TaskService {
      * @return {@code true}, если пользователь является исполнителем задачи, иначе {@code false}
      */
     private boolean isExecutorOfTask(User user, Task task) {
-        return user.getEmail().equals(task.getExecutor().getEmail());
+        return task.getExecutor() != null && user.getEmail().equals(task.getExecutor().getEmail());
     }
 
     /**
      * Получает все задачи, созданные пользователем по его email.
      *
-     * @param authorEmail email автора задач
+     * @param authorEmail    email автора задач
+     * @param fields         запрашиваемые поля задачи; если {@code null} или пусто, возвращаются все поля
+     * @param commentPreview количество последних комментариев для каждой задачи; если {@code null},
+     *                       комментарии не загружаются
      * @return список задач, созданных пользователем, в формате DTO
      */
-    public List<TaskDto> getCreatedTasks(String authorEmail) {
-        List<Task> tasks = taskRepository.findByAuthor_Email(authorEmail);
-        return tasks.stream().map(taskConverter::toDto).toList();
+    public List<TaskDto> getCreatedTasks(String authorEmail, Set<TaskField> fields, Integer commentPreview) {
+        TaskFilter filter = TaskFilter.builder().authorEmail(authorEmail).build();
+        if (isSparse(fields)) {
+            return getProjectedTasks(filter, fields, commentPreview, Pageable.unpaged());
+        }
+        return toDtos(taskRepository.findAll(filter, Pageable.unpaged()).getContent(), commentPreview);
     }
 
     /**
      * Получает все задачи, назначенные на исполнителя по его email.
      *
-     * @param executorEmail email исполнителя задач
+     * @param executorEmail  email исполнителя задач
+     * @param fields         запрашиваемые поля задачи; если {@code null} или пусто, возвращаются все поля
+     * @param commentPreview количество последних комментариев для каждой задачи; если {@code null},
+     *                       комментарии не загружаются
      * @return список задач, назначенных на исполнителя, в формате DTO
      */
-    public List<TaskDto> getTasksToComplete(String executorEmail) {
-        List<Task> tasks = taskRepository.findByExecutor_Email(executorEmail);
-        return tasks.stream().map(taskConverter::toDto).toList();
+    public List<TaskDto> getTasksToComplete(String executorEmail, Set<TaskField> fields, Integer commentPreview) {
+        TaskFilter filter = TaskFilter.builder().executorEmail(executorEmail).build();
+        if (isSparse(fields)) {
+            return getProjectedTasks(filter, fields, commentPreview, Pageable.unpaged());
+        }
+        return toDtos(taskRepository.findAll(filter, Pageable.unpaged()).getContent(), commentPreview);
+    }
+
+    /**
+     * Получает список объектов {@link TaskDto} на основе заданных фильтров и параметров пагинации.
+     * <p>
+     * Поддерживается любое сочетание условий {@link TaskFilterDto}: наборы статусов и приоритетов, автор,
+     * исполнитель, наличие комментариев, периоды создания и последнего комментария, метки. Заданные условия
+     * объединяются по И, незаданные не применяются. Выборка выполняется одним запросом с параметрами, авторы
+     * и исполнители загружаются в нем же.
+     *
+     * @param filter         условия выборки
+     * @param fields         запрашиваемые поля задачи. Если указаны, из базы данных выбираются только соответствующие
+     *                       колонки и соединения. Если {@code null} или пусто, возвращаются все поля.
+     * @param commentPreview количество последних комментариев для каждой задачи. Комментарии всех задач страницы
+     *                       загружаются одним запросом. Если {@code null}, комментарии не загружаются.
+     * @param pageable       параметры пагинации и сортировки; сортировка допускается только по
+     *                       {@link com.hh.TaskManagementSystems.model.TaskSortKey}.
+     * @return список объектов {@link TaskDto}, соответствующих указанным фильтрам и параметрам пагинации.
+     * @throws IllegalArgumentException если предоставленные значения статуса или приоритета не являются допустимыми
+     *                                  {@link TaskStatus} или {@link TaskPriority} соответственно.
+     */
+    public List<TaskDto> getAllTasks(TaskFilterDto filter, Set<TaskField> fields, Integer commentPreview,
+                                     Pageable pageable) {
+        TaskFilter taskFilter = toFilter(filter);
+        if (isSparse(fields)) {
+            return getProjectedTasks(taskFilter, fields, commentPreview, pageable);
+        }
+        return toDtos(taskRepository.findAll(taskFilter, pageable).getContent(), commentPreview);
+    }
+
+    /**
+     * Получает задачу по идентификатору и комментарии к задаче с поддержкой постраничного вывода.
+     *
+     * <p>Если указан набор полей, из базы данных выбираются только соответствующие колонки, а комментарии
+     * загружаются, только если запрошено поле {@link TaskField#COMMENTS}.</p>
+     *
+     * <p>Если среди рабочих задач такой нет, задача ищется в архиве {@link TaskArchiveService}; архивная задача
+     * возвращается со всеми полями, лишние поля отбрасываются при выводе ответа.</p>
+     *
+     * @param id       идентификатор задачи
+     * @param fields   запрашиваемые поля задачи; если {@code null} или пусто, возвращаются все поля
+     * @param pageable объект для настройки постраничного вывода комментариев
+     * @return задача с комментариями в формате DTO
+     * @throws NotFoundException если задача с указанным идентификатором не найдена ни среди рабочих, ни в архиве
+     */
+    public TaskDto getTaskById(Long id, Set<TaskField> fields, Pageable pageable) {
+        if (isSparse(fields)) {
+            Optional<Tuple> tuple = taskRepository.findAllProjected(TaskFilter.builder().id(id).build(), fields,
+                            Pageable.unpaged()).stream()
+                    .findFirst();
+            if (tuple.isEmpty()) {
+                return getArchivedTask(id, pageable);
+            }
+            PageDto<CommentDto> comments = fields.contains(TaskField.COMMENTS)
+                    ? PageDto.of(commentService.getCommentsByTaskId(id, pageable))
+                    : null;
+            return taskConverter.toDto(tuple.get(), fields, comments);
+        }
+        Optional<Task> task = taskRepository.findById(id);
+        if (task.isEmpty()) {
+            return getArchivedTask(id, pageable);
+        }
+        Page<CommentDto> commentDtoPage = commentService.getCommentsByTaskId(id, pageable);
+        return taskConverter.toDto(task.get(), commentDtoPage);
+    }
+
+    private TaskDto getArchivedTask(Long id, Pageable pageable) {
+        return taskArchiveService.getTask(id, pageable).orElseThrow(() -> new NotFoundException("Id"));
     }
 
     /**
-     * Получает все задачи с поддержкой постраничного вывода.
+     * Получает набор задач по идентификаторам.
+     *
+     * <p>Задачи вместе с авторами и исполнителями загружаются одним запросом {@code IN}. Если запрошены комментарии,
+     * для всех найденных задач вторым запросом загружаются не более {@link #BATCH_COMMENT_LIMIT} последних
+     * комментариев вместе с общим количеством комментариев к задаче. Повторяющиеся идентификаторы игнорируются,
+     * порядок задач в ответе соответствует порядку в запросе.</p>
      *
-     * @param pageable объект для настройки постраничного вывода
-     * @return список всех задач в формате DTO
+     * @param ids             идентификаторы задач
+     * @param includeComments загружать ли комментарии к задачам
+     * @return найденные задачи и идентификаторы, для которых задачи не найдены
      */
-    public List<TaskDto> getAllTasks(Pageable pageable) {
-        return taskRepository.findAll(pageable).map(taskConverter::toDto).toList();
+    @Transactional(readOnly = true)
+    public TaskBatchDto getTasksByIds(Collection<Long> ids, boolean includeComments) {
+        Set<Long> requestedIds = new LinkedHashSet<>(ids);
+        Map<Long, Task> tasks = taskRepository.findAllWithUsersByIdIn(requestedIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        Map<Long, PageDto<CommentDto>> comments = includeComments
+                ? commentService.getCommentPreviews(tasks.keySet(), BATCH_COMMENT_LIMIT)
+                : Map.of();
+
+        List<TaskDto> found = new ArrayList<>(tasks.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            Task task = tasks.get(id);
+            if (task == null) {
+                missingIds.add(id);
+            } else if (includeComments) {
+                found.add(taskConverter.toDto(task, comments.get(id)));
+            } else {
+                found.add(taskConverter.toDto(task));
+            }
+        }
+        return new TaskBatchDto(found, missingIds);
     }
 
     /**
-     * Получает все задачи с указанным статусом и поддержкой постраничного вывода.
+     * Получает задачи с ограниченным набором полей.
      *
-     * @param status   статус задач
-     * @param pageable объект для настройки постраничного вывода
-     * @return список задач с указанным статусом в формате DTO
+     * <p>Превью комментариев загружается, только если запрошено поле {@link TaskField#COMMENTS}.</p>
+     *
+     * @param filter         условия выборки
+     * @param fields         запрашиваемые поля задачи
+     * @param commentPreview количество последних комментариев для каждой задачи или {@code null}
+     * @param pageable       параметры пагинации и сортировки
+     * @return список задач в формате DTO, в которых заполнены только запрошенные поля
      */
-    private List<TaskDto> getAllTasks(TaskStatus status, Pageable pageable) {
-        return taskRepository.findByStatus(status, pageable).map(taskConverter::toDto).toList();
+    private List<TaskDto> getProjectedTasks(TaskFilter filter, Set<TaskField> fields, Integer commentPreview,
+                                            Pageable pageable) {
+        List<Tuple> tuples = taskRepository.findAllProjected(filter, fields, pageable).getContent();
+        if (commentPreview == null || !fields.contains(TaskField.COMMENTS)) {
+            return tuples.stream().map(tuple -> taskConverter.toDto(tuple, fields, null)).toList();
+        }
+
+        String idAlias = TaskField.ID.getJsonName();
+        Map<Long, PageDto<CommentDto>> previews = commentService.getCommentPreviews(
+                tuples.stream().map(tuple -> tuple.get(idAlias, Long.class)).toList(), commentPreview);
+        return tuples.stream()
+                .map(tuple -> taskConverter.toDto(tuple, fields, previews.get(tuple.get(idAlias, Long.class))))
+                .toList();
     }
 
     /**
-     * Получает все задачи с указанным приоритетом и поддержкой постраничного вывода.
+     * Преобразует задачи в DTO, при необходимости добавляя превью последних комментариев.
+     *
+     * <p>Превью для всех задач загружается одним запросом с оконной функцией.</p>
      *
-     * @param priority приоритет задач
-     * @param pageable объект для настройки постраничного вывода
-     * @return список задач с указанным приоритетом в формате DTO
+     * @param tasks          задачи
+     * @param commentPreview количество последних комментариев для каждой задачи или {@code null}
+     * @return список задач в формате DTO
      */
-    private List<TaskDto> getAllTasks(TaskPriority priority, Pageable pageable) {
-        return taskRepository.findByPriority(priority, pageable).map(taskConverter::toDto).toList();
+    private List<TaskDto> toDtos(List<Task> tasks, Integer commentPreview) {
+        if (commentPreview == null) {
+            return tasks.stream().map(taskConverter::toDto).toList();
+        }
+        Map<Long, PageDto<CommentDto>> previews = commentService.getCommentPreviews(
+                tasks.stream().map(Task::getId).toList(), commentPreview);
+        return tasks.stream().map(task -> taskConverter.toDto(task, previews.get(task.getId()))).toList();
     }
 
     /**
-     * Получает список объектов {@link TaskDto} на основе заданных фильтров и параметров пагинации.
-     * <p>
-     * Этот метод поддерживает фильтрацию задач по статусу и приоритету. Если указаны оба фильтра,
-     * возвращаются задачи, соответствующие обоим критериям. Если указан только один из фильтров,
-     * возвращаются задачи, соответствующие этому фильтру. Если фильтры не указаны, возвращаются все задачи
-     * в соответствии с параметрами пагинации.
-     *
-     * @param status   статус, по которому фильтруются задачи. Если {@code null}, задачи не фильтруются по статусу.
-     *                 Ожидаемые значения — это те, которые определены в {@link TaskStatus}.
-     * @param priority приоритет, по которому фильтруются задачи. Если {@code null}, задачи не фильтруются по приоритету.
-     *                 Ожидаемые значения — это те, которые определены в {@link TaskPriority}.
-     * @param pageable параметры пагинации и сортировки.
-     * @return список объектов {@link TaskDto}, соответствующих указанным фильтрам и параметрам пагинации.
-     * Если фильтры не указаны, возвращаются все задачи.
-     * @throws IllegalArgumentException если предоставленные значения статуса или приоритета не являются допустимыми
-     *                                  {@link TaskStatus} или {@link TaskPriority} соответственно.
+     * Преобразует параметры запроса в условия выборки: статусы и приоритеты в перечисления, метки в нормализованный
+     * вид, моменты времени в даты.
+     *
+     * @param filter параметры фильтрации
+     * @return условия выборки
      */
-    public List<TaskDto> getAllTasks(String status, String priority, Pageable pageable) {
-        TaskStatus taskStatus = status != null ? TaskStatus.valueOf(status) : null;
-        TaskPriority taskPriority = priority != null ? TaskPriority.valueOf(priority) : null;
-
-        if (taskStatus != null && taskPriority != null) {
-            return taskRepository.findByStatusAndPriority(taskStatus, taskPriority, pageable)
-                    .map(taskConverter::toDto)
-                    .toList();
-        } else if (taskPriority != null) {
-            return getAllTasks(taskPriority, pageable);
-        } else if (taskStatus != null) {
-            return getAllTasks(taskStatus, pageable);
-        } else {
-            return getAllTasks(pageable);
+    static TaskFilter toFilter(TaskFilterDto filter) {
+        return TaskFilter.builder()
+                .statuses(toEnumSet(filter.status(), TaskStatus.class))
+                .priorities(toEnumSet(filter.priority(), TaskPriority.class))
+                .authorEmail(filter.authorEmail())
+                .executorEmail(filter.executorEmail())
+                .hasComments(filter.hasComments())
+                .createdFrom(toDate(filter.createdFrom()))
+                .createdTo(toDate(filter.createdTo()))
+                .lastCommentFrom(toDate(filter.lastCommentFrom()))
+                .lastCommentTo(toDate(filter.lastCommentTo()))
+                .labels(filter.labels() != null ? List.of(normalizeLabels(filter.labels())) : null)
+                .labelMatch(filter.labelMatch())
+                .build();
+    }
+
+    private static <E extends Enum<E>> Set<E> toEnumSet(Collection<String> names, Class<E> enumClass) {
+        if (names == null || names.isEmpty()) {
+            return null;
         }
+        Set<E> values = EnumSet.noneOf(enumClass);
+        names.forEach(name -> values.add(Enum.valueOf(enumClass, name)));
+        return values;
+    }
+
+    private static Date toDate(Instant instant) {
+        return instant != null ? Date.from(instant) : null;
     }
 
     /**
-     * Получает задачу по идентификатору и комментарии к задаче с поддержкой постраничного вывода.
+     * Проверяет, запрошен ли ограниченный набор полей.
      *
-     * @param id       идентификатор задачи
-     * @param pageable объект для настройки постраничного вывода комментариев
-     * @return задача с комментариями в формате DTO
-     * @throws NotFoundException если задача с указанным идентификатором не найдена
+     * @param fields запрашиваемые поля задачи
+     * @return {@code true}, если набор полей указан и не пуст
      */
-    public TaskDto getTaskById(Long id, Pageable pageable) {
-        Task task = taskRepository.findById(id).orElseThrow(() -> new NotFoundException("Id"));
-        Page<CommentDto> commentDtoPage = commentService.getCommentsByTaskId(id, pageable);
-        return taskConverter.toDto(task, commentDtoPage);
+    private boolean isSparse(Set<TaskField> fields) {
+        return fields != null && !fields.isEmpty();
     }
 }
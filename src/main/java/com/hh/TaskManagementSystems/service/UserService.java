@@ -1,25 +1,45 @@
 package com.hh.TaskManagementSystems.service;
 
+import com.hh.TaskManagementSystems.event.UserCreatedEvent;
+import com.hh.TaskManagementSystems.event.UserDeletedEvent;
 import com.hh.TaskManagementSystems.exception.NotFoundException;
 import com.hh.TaskManagementSystems.exception.UserAlreadyExistException;
+import com.hh.TaskManagementSystems.model.AuditAction;
 import com.hh.TaskManagementSystems.model.User;
+import com.hh.TaskManagementSystems.repository.ArchivedTaskRepository;
+import com.hh.TaskManagementSystems.repository.CommentRepository;
+import com.hh.TaskManagementSystems.repository.TaskRepository;
 import com.hh.TaskManagementSystems.repository.UserRepository;
+import com.hh.TaskManagementSystems.repository.UserTaskStatsRepository;
+import com.hh.TaskManagementSystems.search.UserDirectory;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 /**
  * Сервис для управления пользователями.
  *
  * <p>Этот сервис предоставляет методы для создания, удаления и проверки существования пользователей,
- * а также для получения текущего пользователя из контекста безопасности.</p>
+ * а также для получения текущего пользователя из контекста безопасности. Создание и удаление пользователя
+ * записываются в журнал аудита {@link AuditLogService}.</p>
  */
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
     private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserDirectory userDirectory;
+    private final UserTaskStatsRepository userTaskStatsRepository;
+    private final AuditLogService auditLogService;
+    private final ArchivedTaskRepository archivedTaskRepository;
 
     /**
      * Создает нового пользователя.
@@ -31,28 +51,55 @@ public class UserService {
      * @return созданный пользователь
      * @throws UserAlreadyExistException если пользователь с таким email уже существует
      */
+    @Transactional
     public User createUser(User user) {
         if (userRepository.existsByEmail(user.getEmail())) {
             throw new UserAlreadyExistException("email");
         }
-        return userRepository.save(user);
+        user = userRepository.save(user);
+        auditLogService.recordUser(AuditAction.CREATED, user);
+        eventPublisher.publishEvent(new UserCreatedEvent(user.getId(), user.getEmail()));
+        return user;
     }
 
     /**
      * Удаляет пользователя по email.
      *
      * <p>Проверяет, существует ли пользователь с указанным email. Если существует, удаляет его.
-     * В противном случае выбрасывается исключение.</p>
+     * В противном случае выбрасывается исключение. Комментарии пользователя удаляются вместе с ним,
+     * поэтому счетчики комментариев затронутых задач уменьшаются в той же транзакции. Задачи пользователя
+     * удаляются вместе с ним, поэтому так же уменьшаются счетчики подзадач их родителей и счетчики задач других
+     * пользователей — авторов и исполнителей этих задач. Архивные задачи и комментарии пользователя удаляются
+     * из архива так же.</p>
      *
      * @param email email пользователя, которого нужно удалить
      * @throws NotFoundException если пользователь с таким email не найден
      */
+    @Transactional
     public void deleteUser(String email) {
-        if (userRepository.existsByEmail(email)) {
-            userRepository.deleteByEmail(email);
-        } else {
-            throw new NotFoundException("Email");
-        }
+        User user = userRepository.findByEmail(email).orElseThrow(() -> new NotFoundException("Email"));
+        List<Long> commentedTaskIds = commentRepository.findTaskIdsByAuthorId(user.getId());
+        taskRepository.decrementCommentCountsByCommentAuthor(user.getId());
+        taskRepository.decrementChildCountsByUser(user.getId());
+        userTaskStatsRepository.decrementByDeletedUser(user.getId(), UserTaskStatsService.STATS_LOCK_KEY);
+        userTaskStatsRepository.deleteByUserId(user.getId());
+        archivedTaskRepository.deleteByUser(user.getId());
+        userRepository.delete(user);
+        auditLogService.recordUser(AuditAction.DELETED, user);
+        eventPublisher.publishEvent(new UserDeletedEvent(user.getId(), user.getEmail(), commentedTaskIds));
+    }
+
+    /**
+     * Ищет email пользователей по префиксу для автодополнения.
+     *
+     * <p>Поиск выполняется по индексу в памяти без учета регистра и не обращается к базе данных.</p>
+     *
+     * @param prefix префикс email
+     * @param limit  максимальное количество результатов
+     * @return email пользователей в алфавитном порядке
+     */
+    public List<String> findEmailsByPrefix(String prefix, int limit) {
+        return userDirectory.complete(prefix, limit);
     }
 
     /**
@@ -0,0 +1,41 @@
+package com.hh.TaskManagementSystems.service;
+
+import com.hh.TaskManagementSystems.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Периодическая сверка счетчиков задач пользователей с таблицей задач.
+ *
+ * <p>Первая сверка выполняется при запуске приложения и заполняет счетчики после первого развертывания таблицы
+ * {@code user_task_stats}. Пользователи сверяются порциями по {@value #BATCH_SIZE} идентификаторов, каждая порция —
+ * в своей транзакции, поэтому изменения задач ждут сверки только одной порции.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserTaskStatsReconciler {
+
+    private static final long BATCH_SIZE = 1_000;
+
+    private final UserTaskStatsService userTaskStatsService;
+    private final UserRepository userRepository;
+
+    /**
+     * Пересчитывает счетчики всех пользователей, обновляя только расходящиеся строки.
+     */
+    @Scheduled(fixedDelayString = "${task.user-stats.reconcile-interval-ms:3600000}",
+            initialDelayString = "${task.user-stats.reconcile-initial-delay-ms:0}")
+    public void reconcile() {
+        Long maxId = userRepository.findMaxId();
+        long fixed = 0;
+        for (long fromId = 0; maxId != null && fromId <= maxId; fromId += BATCH_SIZE) {
+            fixed += userTaskStatsService.reconcile(fromId, fromId + BATCH_SIZE);
+        }
+        if (fixed > 0) {
+            log.warn("Сверка счетчиков задач пользователей исправила счетчиков: {}", fixed);
+        }
+    }
+}
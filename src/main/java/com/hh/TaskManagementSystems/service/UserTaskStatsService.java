@@ -0,0 +1,170 @@
+package com.hh.TaskManagementSystems.service;
+
+import com.hh.TaskManagementSystems.dto.UserTaskStatsDto;
+import com.hh.TaskManagementSystems.model.Task;
+import com.hh.TaskManagementSystems.model.TaskPriority;
+import com.hh.TaskManagementSystems.model.TaskRole;
+import com.hh.TaskManagementSystems.model.TaskStatus;
+import com.hh.TaskManagementSystems.model.UserTaskStats;
+import com.hh.TaskManagementSystems.model.UserTaskStatsId;
+import com.hh.TaskManagementSystems.repository.UserTaskStatsRepository;
+import com.hh.TaskManagementSystems.search.TaskFacetCounts;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Статистика задач пользователя: количество задач по статусу и приоритету, которые он создал и которые назначены
+ * на него.
+ *
+ * <p>Количества хранятся в таблице {@code user_task_stats} и изменяются в транзакции, которая меняет задачу, поэтому
+ * чтение статистики — один запрос не больше чем по 24 строкам независимо от количества задач. Задачи без приоритета
+ * учитываются под приоритетом {@value UserTaskStatsId#NO_PRIORITY}. Расхождения, например
+ * после изменения задач в обход приложения, исправляет {@link UserTaskStatsReconciler}.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class UserTaskStatsService {
+
+    /**
+     * Ключ advisory-блокировки счетчиков задач пользователей.
+     */
+    static final long STATS_LOCK_KEY = 0x7461736b_73746174L;
+
+    private final UserTaskStatsRepository userTaskStatsRepository;
+    private final UserService userService;
+
+    /**
+     * Значения задачи, от которых зависят счетчики.
+     *
+     * @param authorId   идентификатор автора
+     * @param executorId идентификатор исполнителя или {@code null}
+     * @param status     статус задачи
+     * @param priority   приоритет задачи
+     */
+    public record TaskDimensions(Long authorId, Long executorId, TaskStatus status, TaskPriority priority) {
+
+        /**
+         * Снимает значения задачи. Вызывается до изменения задачи, если нужны значения до изменения.
+         *
+         * @param task задача
+         * @return значения задачи
+         */
+        public static TaskDimensions of(Task task) {
+            return new TaskDimensions(task.getAuthor() != null ? task.getAuthor().getId() : null,
+                    task.getExecutor() != null ? task.getExecutor().getId() : null,
+                    task.getStatus(), task.getPriority());
+        }
+    }
+
+    /**
+     * Обновляет счетчики автора и исполнителей после изменения задачи.
+     *
+     * <p>Изменения одного счетчика суммируются, неизменившиеся счетчики не обновляются, остальные обновляются
+     * одним запросом.</p>
+     *
+     * @param before значения задачи до изменения или {@code null} для новой задачи
+     * @param after  значения задачи после изменения или {@code null} для удаленной задачи
+     */
+    @Transactional
+    public void updateCounts(TaskDimensions before, TaskDimensions after) {
+        Map<UserTaskStatsId, Long> deltas = new HashMap<>();
+        addDeltas(deltas, before, -1);
+        addDeltas(deltas, after, 1);
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        int size = deltas.size();
+        Long[] userIds = new Long[size];
+        String[] roles = new String[size];
+        String[] statuses = new String[size];
+        String[] priorities = new String[size];
+        Long[] values = new Long[size];
+        int i = 0;
+        for (Map.Entry<UserTaskStatsId, Long> delta : deltas.entrySet()) {
+            UserTaskStatsId key = delta.getKey();
+            userIds[i] = key.getUserId();
+            roles[i] = key.getRole().name();
+            statuses[i] = key.getStatus().name();
+            priorities[i] = key.getPriority();
+            values[i] = delta.getValue();
+            i++;
+        }
+        userTaskStatsRepository.adjust(userIds, roles, statuses, priorities, values, STATS_LOCK_KEY);
+    }
+
+    private static void addDeltas(Map<UserTaskStatsId, Long> deltas, TaskDimensions task, long delta) {
+        if (task == null || task.status() == null) {
+            return;
+        }
+        String priority = UserTaskStatsId.priorityKey(task.priority());
+        if (task.authorId() != null) {
+            deltas.merge(new UserTaskStatsId(task.authorId(), TaskRole.AUTHOR, task.status(), priority),
+                    delta, Long::sum);
+        }
+        if (task.executorId() != null) {
+            deltas.merge(new UserTaskStatsId(task.executorId(), TaskRole.EXECUTOR, task.status(), priority),
+                    delta, Long::sum);
+        }
+    }
+
+    /**
+     * Получает статистику задач текущего пользователя.
+     *
+     * @return количество задач по статусу и приоритету отдельно для задач, созданных пользователем, и для задач,
+     * назначенных на него; задачи без приоритета указываются под приоритетом {@value UserTaskStatsId#NO_PRIORITY}
+     */
+    @Transactional(readOnly = true)
+    public UserTaskStatsDto getCurrentUserStats() {
+        Map<TaskRole, TaskFacetCounts> counts = Map.of(TaskRole.AUTHOR, emptyCounts(),
+                TaskRole.EXECUTOR, emptyCounts());
+        for (UserTaskStats stats : userTaskStatsRepository.findByIdUserId(userService.getCurrentUser().getId())) {
+            TaskFacetCounts roleCounts = counts.get(stats.getId().getRole());
+            int status = stats.getId().getStatus().ordinal();
+            int priority = UserTaskStatsId.NO_PRIORITY.equals(stats.getId().getPriority())
+                    ? TaskPriority.values().length
+                    : TaskPriority.valueOf(stats.getId().getPriority()).ordinal();
+            roleCounts.byStatus()[status] += stats.getTaskCount();
+            roleCounts.byPriority()[priority] += stats.getTaskCount();
+            roleCounts.byStatusAndPriority()[status][priority] += stats.getTaskCount();
+        }
+        return new UserTaskStatsDto(TaskFacetService.toDto(withTotal(counts.get(TaskRole.AUTHOR))),
+                TaskFacetService.toDto(withTotal(counts.get(TaskRole.EXECUTOR))));
+    }
+
+    /**
+     * Создает пустые количества с дополнительной ячейкой приоритета для задач без приоритета.
+     *
+     * @return нулевые количества
+     */
+    private static TaskFacetCounts emptyCounts() {
+        return new TaskFacetCounts(0, new long[TaskStatus.values().length], new long[TaskPriority.values().length + 1],
+                new long[TaskStatus.values().length][TaskPriority.values().length + 1]);
+    }
+
+    private static TaskFacetCounts withTotal(TaskFacetCounts counts) {
+        long total = 0;
+        for (long count : counts.byStatus()) {
+            total += count;
+        }
+        return new TaskFacetCounts(total, counts.byStatus(), counts.byPriority(), counts.byStatusAndPriority());
+    }
+
+    /**
+     * Сверяет счетчики пользователей с идентификаторами из {@code [fromId, toId)} с таблицей задач. Изменения
+     * счетчиков другими транзакциями ждут окончания сверки.
+     *
+     * @param fromId первый идентификатор пользователя, включительно
+     * @param toId   последний идентификатор пользователя, не включительно
+     * @return количество исправленных счетчиков
+     */
+    @Transactional
+    public long reconcile(long fromId, long toId) {
+        userTaskStatsRepository.lockExclusive(STATS_LOCK_KEY);
+        return userTaskStatsRepository.reconcile(fromId, toId);
+    }
+}
@@ -12,7 +12,7 @@ import java.lang.annotation.Target;
  * Аннотация для проверки, что значение поля или параметра соответствует одному из значений перечисления.
  *
  * <p>Эта аннотация используется для валидации строковых значений с использованием перечислений.
- * Аннотация применяется к полям, методам и параметрам, и требует, чтобы значение соответствовало одному из значений
+ * Аннотация применяется к полям, методам, параметрам и элементам коллекций, и требует, чтобы значение соответствовало одному из значений
  * перечисления, указанного в {@code enumClass}.</p>
  *
  * <p>Для выполнения валидации используется {@link EnumValidator}.</p>
@@ -20,7 +20,7 @@ import java.lang.annotation.Target;
  * @see EnumValidator
  */
 @Constraint(validatedBy = EnumValidator.class)
-@Target({ElementType.METHOD, ElementType.FIELD, ElementType.PARAMETER})
+@Target({ElementType.METHOD, ElementType.FIELD, ElementType.PARAMETER, ElementType.TYPE_USE})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface EnumValid {
 
@@ -0,0 +1,26 @@
+-- Индексы, которые Hibernate не умеет описывать аннотациями. Выполняется после обновления схемы Hibernate
+-- (spring.jpa.defer-datasource-initialization), поэтому все команды должны быть идемпотентными.
+
+-- Фильтрация задач по меткам: labels && ARRAY[...] и labels @> ARRAY[...].
+CREATE INDEX IF NOT EXISTS idx_task_labels ON task USING gin (labels);
+
+-- Очередь задач: следующая задача PENDING по убыванию приоритета и возрастанию id (TaskRepository.claimNext).
+-- Выражение должно совпадать с ORDER BY запроса, иначе индекс не используется.
+CREATE INDEX IF NOT EXISTS idx_task_claim ON task ((CASE priority WHEN 'HIGH' THEN 0 WHEN 'MEDIUM' THEN 1 ELSE 2 END), id)
+    WHERE status = 'PENDING';
+
+-- Колонки доски: задачи статуса по приоритету и id (TaskQueryRepositoryImpl.findBoard и findBoardColumn),
+-- задачи без приоритета в конце колонки. Выражение должно совпадать с PRIORITY_RANK, иначе индекс не используется.
+-- idx_task_board — прежний индекс, в котором задачи без приоритета не отделялись от LOW.
+DROP INDEX IF EXISTS idx_task_board;
+CREATE INDEX IF NOT EXISTS idx_task_board_rank
+    ON task (status, (CASE priority WHEN 'HIGH' THEN 0 WHEN 'MEDIUM' THEN 1 WHEN 'LOW' THEN 2 ELSE 3 END), id);
+
+-- Возврат в очередь задач с истекшей арендой (TaskRepository.releaseExpiredLeases).
+CREATE INDEX IF NOT EXISTS idx_task_lease_expires_at ON task (lease_expires_at) WHERE lease_expires_at IS NOT NULL;
+
+-- Исходящие уведомления: ожидающие сообщения по времени доставки (OutboxMessageRepository.lockDue), самое старое
+-- ожидающее сообщение для метрики задержки и доставленные сообщения для очистки.
+CREATE INDEX IF NOT EXISTS idx_outbox_message_due ON outbox_message (next_attempt_at, id) WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_outbox_message_pending_created_at ON outbox_message (created_at) WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_outbox_message_sent_at ON outbox_message (sent_at) WHERE status = 'SENT';
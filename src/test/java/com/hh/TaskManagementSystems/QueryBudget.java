@@ -0,0 +1,41 @@
+package com.hh.TaskManagementSystems;
+
+import com.hh.TaskManagementSystems.config.QueryStatistics;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Ограничения на количество SQL-запросов, выполняемых эндпоинтом, для тестов MockMvc.
+ *
+ * <p>Использует {@link QueryStatistics}, которую заполняет профилировщик SQL, и позволяет ловить N+1
+ * регрессии в тестах: {@code .andExpect(QueryBudget.maxQueries(3))}.</p>
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    /**
+     * Проверяет, что при обработке запроса было выполнено не больше указанного количества SQL-выражений.
+     *
+     * <p>Статистика должна быть собрана профилировщиком SQL и содержать хотя бы одно выражение, иначе проверка
+     * падает: при отключенном профилировщике счетчик всегда равен нулю, и бюджет соблюдался бы формально.</p>
+     *
+     * @param budget допустимое количество SQL-выражений
+     * @return проверка результата MockMvc
+     */
+    public static ResultMatcher maxQueries(int budget) {
+        return result -> {
+            QueryStatistics statistics = (QueryStatistics) result.getRequest().getAttribute(QueryStatistics.ATTRIBUTE);
+            assertNotNull(statistics, () -> "Статистика SQL для запроса " + result.getRequest().getMethod() + " "
+                    + result.getRequest().getRequestURI() + " не собрана, проверьте, что профилировщик SQL включен");
+            assertTrue(statistics.getCount() > 0, () -> "Запрос " + result.getRequest().getMethod() + " "
+                    + result.getRequest().getRequestURI() + " не выполнил ни одного SQL-выражения");
+            assertTrue(statistics.getCount() <= budget, () -> "Запрос " + result.getRequest().getMethod() + " "
+                    + result.getRequest().getRequestURI() + " выполнил " + statistics.getCount()
+                    + " SQL-выражений, бюджет " + budget);
+        };
+    }
+}
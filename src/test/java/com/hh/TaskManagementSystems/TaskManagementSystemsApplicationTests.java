@@ -5,23 +5,62 @@ import com.hh.TaskManagementSystems.dto.AuthRequestDto;
 import com.hh.TaskManagementSystems.dto.CommentDto;
 import com.hh.TaskManagementSystems.dto.RegistrationRequestDto;
 import com.hh.TaskManagementSystems.dto.TaskDto;
+import com.hh.TaskManagementSystems.event.TaskActivityEvent;
+import com.hh.TaskManagementSystems.feed.ActivityFeedWriter;
+import com.hh.TaskManagementSystems.model.AuditAction;
+import com.hh.TaskManagementSystems.model.AuditEntityType;
+import com.hh.TaskManagementSystems.model.Role;
+import com.hh.TaskManagementSystems.model.User;
+import com.hh.TaskManagementSystems.notification.OutboxDispatcher;
+import com.hh.TaskManagementSystems.service.TaskArchiveService;
+import com.hh.TaskManagementSystems.service.TaskClaimService;
+import com.hh.TaskManagementSystems.service.TaskSearchService;
+import com.hh.TaskManagementSystems.service.TaskService;
 import com.hh.TaskManagementSystems.service.UserService;
+import com.hh.TaskManagementSystems.service.UserTaskStatsReconciler;
 import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@AutoConfigureObservability
+@RecordApplicationEvents
 @Transactional
 class TaskManagementSystemsApplicationTests {
 
@@ -32,6 +71,22 @@ class TaskManagementSystemsApplicationTests {
     private UserService userService;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private TaskSearchService taskSearchService;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private TaskClaimService taskClaimService;
+    @Autowired
+    private UserTaskStatsReconciler userTaskStatsReconciler;
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+    @Autowired
+    private ActivityFeedWriter activityFeedWriter;
+    @Autowired
+    private ApplicationEvents applicationEvents;
+    @Autowired
+    private TaskArchiveService taskArchiveService;
 
 
     @Test
@@ -157,4 +212,1161 @@ class TaskManagementSystemsApplicationTests {
         System.out.println(result);
     }
 
+    @Test
+    void testInstantSerializedAsIso() throws Exception {
+        assertEquals("\"1970-01-01T00:00:00.000Z\"", objectMapper.writeValueAsString(Instant.EPOCH));
+    }
+
+    @Test
+    void testSparseFieldsets() throws Exception {
+        String jwtToken = registerAndLogin("testuser4@example.com");
+
+        TaskDto taskDto = TaskDto.builder()
+                .title("Sparse Title")
+                .description("Sparse Description")
+                .build();
+
+        mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskDto)))
+                .andExpect(status().isOk());
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/created/testuser4@example.com")
+                        .param("fields", "id,title")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Sparse Title"))
+                .andReturn();
+
+        Map<String, Object> task = JsonPath.parse(result.getResponse().getContentAsString()).read("$[0]");
+        assertEquals(2, task.size());
+        Long id = ((Number) task.get("id")).longValue();
+
+        mockMvc.perform(get("/api/tasks/all")
+                        .param("fields", "title,unknown")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(put("/api/tasks/" + id + "/update-status")
+                        .param("fields", "unknown")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("\"IN_PROGRESS\""))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/tasks/" + id + "/labels")
+                        .param("fields", "unknown")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testBatchLookup() throws Exception {
+        String jwtToken = registerAndLogin("testuser5@example.com");
+
+        MvcResult created = mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TaskDto.builder()
+                                .title("Batch Title")
+                                .description("Batch Description")
+                                .build())))
+                .andExpect(status().isOk())
+                .andReturn();
+        Long taskId = JsonPath.parse(created.getResponse().getContentAsString()).read("$.id", Long.class);
+
+        mockMvc.perform(post("/api/tasks/" + taskId + "/comments")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CommentDto.builder().body("Batch comment").build())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/batch")
+                        .param("ids", taskId + "," + Long.MAX_VALUE)
+                        .param("includeComments", "true")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks[0].id").value(taskId))
+                .andExpect(jsonPath("$.tasks[0].comments.content[0].body").value("Batch comment"))
+                .andExpect(jsonPath("$.tasks[0].comments.size").value(TaskService.BATCH_COMMENT_LIMIT))
+                .andExpect(jsonPath("$.tasks[0].comments.totalElements").value(1))
+                .andExpect(QueryBudget.maxQueries(3))
+                .andExpect(jsonPath("$.missingIds[0]").value(Long.MAX_VALUE));
+
+        mockMvc.perform(post("/api/tasks/batch")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [" + taskId + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks[0].title").value("Batch Title"))
+                .andExpect(jsonPath("$.missingIds").isEmpty());
+
+        mockMvc.perform(get("/api/tasks/batch")
+                        .param("ids", "0")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testCommentPreview() throws Exception {
+        String jwtToken = registerAndLogin("testuser6@example.com");
+
+        MvcResult created = mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TaskDto.builder()
+                                .title("Preview Title")
+                                .description("Preview Description")
+                                .build())))
+                .andExpect(status().isOk())
+                .andReturn();
+        Long taskId = JsonPath.parse(created.getResponse().getContentAsString()).read("$.id", Long.class);
+
+        for (int i = 1; i <= 3; i++) {
+            mockMvc.perform(post("/api/tasks/" + taskId + "/comments")
+                            .header("Authorization", "Bearer " + jwtToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(CommentDto.builder().body("Comment " + i).build())))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/api/tasks/created/testuser6@example.com")
+                        .param("commentPreview", "2")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].comments.content.length()").value(2))
+                .andExpect(jsonPath("$[0].comments.content[0].body").value("Comment 3"))
+                .andExpect(jsonPath("$[0].comments.totalElements").value(3))
+                .andExpect(QueryBudget.maxQueries(3));
+
+        mockMvc.perform(get("/api/tasks/created/testuser6@example.com")
+                        .param("fields", "title,comments")
+                        .param("commentPreview", "1")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").doesNotExist())
+                .andExpect(jsonPath("$[0].comments.content.length()").value(1));
+    }
+
+    @Test
+    void testCommentCounters() throws Exception {
+        String jwtToken = registerAndLogin("testuser7@example.com");
+
+        MvcResult created = mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TaskDto.builder()
+                                .title("Counter Title")
+                                .description("Counter Description")
+                                .build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.commentCount").value(0))
+                .andReturn();
+        Long taskId = JsonPath.parse(created.getResponse().getContentAsString()).read("$.id", Long.class);
+
+        Long lastCommentId = null;
+        for (int i = 1; i <= 2; i++) {
+            MvcResult comment = mockMvc.perform(post("/api/tasks/" + taskId + "/comments")
+                            .header("Authorization", "Bearer " + jwtToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(CommentDto.builder().body("Comment " + i).build())))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            lastCommentId = JsonPath.parse(comment.getResponse().getContentAsString()).read("$.id", Long.class);
+        }
+        // Счетчики обновляются запросом в обход контекста, а запросы теста выполняются в одной транзакции.
+        entityManager.clear();
+
+        mockMvc.perform(get("/api/tasks/" + taskId)
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.commentCount").value(2))
+                .andExpect(jsonPath("$.lastCommentAt").isNotEmpty());
+
+        mockMvc.perform(put("/api/tasks/" + taskId)
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TaskDto.builder()
+                                .title("Counter Title Updated")
+                                .description("Counter Description")
+                                .build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.commentCount").value(2))
+                .andExpect(jsonPath("$.lastCommentAt").isNotEmpty());
+
+        mockMvc.perform(get("/api/tasks/all")
+                        .param("sortBy", "commentCount")
+                        .param("direction", "DESC")
+                        .param("fields", "id,commentCount,lastCommentAt")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(taskId))
+                .andExpect(jsonPath("$[0].commentCount").value(2))
+                .andExpect(QueryBudget.maxQueries(2));
+
+        mockMvc.perform(delete("/api/tasks/" + taskId + "/comments/" + lastCommentId)
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isNoContent());
+        entityManager.clear();
+
+        mockMvc.perform(get("/api/tasks/" + taskId)
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.commentCount").value(1));
+    }
+
+    @Test
+    void testPrometheusMetrics() throws Exception {
+        String jwtToken = registerAndLogin("testuser8@example.com");
+
+        mockMvc.perform(get("/api/tasks/created/testuser8@example.com")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isForbidden());
+
+        ((User) userService.userDetailsService().loadUserByUsername("testuser8@example.com")).setRole(Role.ADMIN);
+        mockMvc.perform(get("/actuator/prometheus")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("jwt_sign_seconds_count")))
+                .andExpect(content().string(containsString("jwt_parse_seconds_count")))
+                .andExpect(content().string(containsString("auth_password_encode_seconds_count")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_count")))
+                .andExpect(content().string(containsString("hikaricp_connections_pending")))
+                .andExpect(content().string(containsString("hibernate_entities_loads_total")))
+                .andExpect(content().string(containsString(
+                        "hibernate_request_entity_loads_entities_count{application=\"TaskManagementSystems\",uri=\"/api/tasks/created/{email}\"}")));
+    }
+
+    @Test
+    void testUpdateStatus() throws Exception {
+        String jwtToken = registerAndLogin("testuser9@example.com");
+
+        MvcResult created = mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TaskDto.builder()
+                                .title("Status Title")
+                                .description("Status Description")
+                                .status("PENDING")
+                                .build())))
+                .andExpect(status().isOk())
+                .andReturn();
+        Long taskId = JsonPath.parse(created.getResponse().getContentAsString()).read("$.id", Long.class);
+
+        mockMvc.perform(put("/api/tasks/" + taskId + "/update-status")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("\"IN_PROGRESS\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"));
+    }
+
+    @Test
+    void testFullTextSearch() throws Exception {
+        String jwtToken = registerAndLogin("testuser10@example.com");
+
+        Long titleMatchId = createTask(jwtToken, "Оптимизировать отчет по платежам", "Отчет строится слишком долго",
+                "PENDING");
+        Long commentMatchId = createTask(jwtToken, "Настроить сервер", "Обновить конфигурацию", "COMPLETED");
+        mockMvc.perform(post("/api/tasks/" + commentMatchId + "/comments")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CommentDto.builder()
+                                .body("После настройки проверить обработку платежей").build())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/tasks/search/rebuild")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isForbidden());
+        taskSearchService.rebuildIndex();
+
+        mockMvc.perform(get("/api/tasks/search")
+                        .param("q", "платеж")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].id").value(titleMatchId))
+                .andExpect(jsonPath("$.content[1].id").value(commentMatchId));
+
+        mockMvc.perform(get("/api/tasks/search")
+                        .param("q", "платежи")
+                        .param("status", "COMPLETED")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(commentMatchId))
+                .andExpect(jsonPath("$.content[0].authorEmail").value("testuser10@example.com"));
+
+        mockMvc.perform(get("/api/tasks/search")
+                        .param("q", "отчет -платеж")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(0));
+
+        mockMvc.perform(get("/api/tasks/search")
+                        .param("q", " ")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testLabels() throws Exception {
+        String jwtToken = registerAndLogin("testuser11@example.com");
+
+        MvcResult created = mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TaskDto.builder()
+                                .title("Labels Title")
+                                .description("Labels Description")
+                                .status("PENDING")
+                                .labels(List.of(" Backend-11 ", "urgent-11", "backend-11"))
+                                .build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.labels", contains("backend-11", "urgent-11")))
+                .andReturn();
+        Long bothId = JsonPath.parse(created.getResponse().getContentAsString()).read("$.id", Long.class);
+        Long backendId = createTask(jwtToken, "Backend Title", "Backend Description", "COMPLETED");
+        mockMvc.perform(post("/api/tasks/" + backendId + "/labels/BACKEND-11")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.labels", contains("backend-11")));
+        entityManager.flush();
+
+        mockMvc.perform(get("/api/tasks/all")
+                        .param("labels", "backend-11,urgent-11")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(bothId))
+                .andExpect(QueryBudget.maxQueries(2));
+
+        mockMvc.perform(get("/api/tasks/all")
+                        .param("labels", "Backend-11,urgent-11")
+                        .param("labelMatch", "ANY")
+                        .param("sortBy", "id")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(bothId.intValue(), backendId.intValue())))
+                .andExpect(jsonPath("$[1].authorEmail").value("testuser11@example.com"))
+                .andExpect(QueryBudget.maxQueries(2));
+
+        mockMvc.perform(get("/api/tasks/all")
+                        .param("labels", "backend-11")
+                        .param("status", "COMPLETED")
+                        .param("fields", "id,labels")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(backendId))
+                .andExpect(jsonPath("$[0].labels", contains("backend-11")));
+
+        mockMvc.perform(delete("/api/tasks/" + bothId + "/labels/urgent-11")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.labels", contains("backend-11")));
+
+        mockMvc.perform(put("/api/tasks/" + bothId + "/labels")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"frontend-11\"]"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/" + bothId + "/labels")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", contains("frontend-11")));
+
+        mockMvc.perform(put("/api/tasks/" + bothId + "/labels")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\" \"]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testTaskFilters() throws Exception {
+        String jwtToken = registerAndLogin("testuser12@example.com");
+        String author = "testuser12@example.com";
+        Instant started = Instant.now().minusSeconds(60);
+
+        MvcResult created = mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TaskDto.builder()
+                                .title("Filter Title 1")
+                                .description("Filter Description 1")
+                                .status("PENDING")
+                                .priority("HIGH")
+                                .build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dateCreation").isNotEmpty())
+                .andReturn();
+        Long pendingId = JsonPath.parse(created.getResponse().getContentAsString()).read("$.id", Long.class);
+        Long inProgressId = createTask(jwtToken, "Filter Title 2", "Filter Description 2", "IN_PROGRESS");
+        Long completedId = createTask(jwtToken, "Filter Title 3", "Filter Description 3", "COMPLETED");
+        mockMvc.perform(post("/api/tasks/" + pendingId + "/comments")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CommentDto.builder().body("Filter comment").build())))
+                .andExpect(status().isOk());
+        entityManager.flush();
+
+        mockMvc.perform(get("/api/tasks/all")
+                        .param("status", "PENDING,IN_PROGRESS")
+                        .param("authorEmail", author)
+                        .param("sortBy", "id")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(pendingId.intValue(), inProgressId.intValue())))
+                .andExpect(QueryBudget.maxQueries(2));
+
+        mockMvc.perform(get("/api/tasks/all")
+                        .param("priority", "HIGH")
+                        .param("hasComments", "true")
+                        .param("authorEmail", author)
+                        .param("fields", "id,authorEmail")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(pendingId.intValue())))
+                .andExpect(jsonPath("$[0].authorEmail").value(author))
+                .andExpect(QueryBudget.maxQueries(2));
+
+        mockMvc.perform(get("/api/tasks/all")
+                        .param("hasComments", "false")
+                        .param("authorEmail", author)
+                        .param("createdFrom", started.toString())
+                        .param("createdTo", started.plusSeconds(3600).toString())
+                        .param("sortBy", "dateCreation")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(inProgressId.intValue(), completedId.intValue())));
+
+        mockMvc.perform(get("/api/tasks/all")
+                        .param("authorEmail", author)
+                        .param("createdFrom", started.plusSeconds(3600).toString())
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        long planCacheHits = statistics.getQueryPlanCacheHitCount();
+        mockMvc.perform(get("/api/tasks/all")
+                        .param("status", "COMPLETED")
+                        .param("authorEmail", author)
+                        .param("sortBy", "id")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(completedId.intValue())));
+        assertTrue(statistics.getQueryPlanCacheHitCount() > planCacheHits);
+
+        mockMvc.perform(get("/api/tasks/all")
+                        .param("sortBy", "description")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/tasks/all")
+                        .param("status", "PENDING,UNKNOWN")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testClaimTask() throws Exception {
+        String jwtToken = registerAndLogin("testuser13@example.com");
+        Map<String, Long> ids = new HashMap<>();
+        for (String priority : List.of("LOW", "HIGH", "MEDIUM")) {
+            MvcResult created = mockMvc.perform(post("/api/tasks")
+                            .header("Authorization", "Bearer " + jwtToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(TaskDto.builder()
+                                    .title("Queue Title " + priority)
+                                    .description("Queue Description")
+                                    .status("PENDING")
+                                    .priority(priority)
+                                    .labels(List.of("queue-13"))
+                                    .build())))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            ids.put(priority, JsonPath.parse(created.getResponse().getContentAsString()).read("$.id", Long.class));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        mockMvc.perform(post("/api/tasks/claim")
+                        .param("label", "Queue-13")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(ids.get("HIGH")))
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.executorEmail").value("testuser13@example.com"))
+                .andExpect(jsonPath("$.leaseExpiresAt").isNotEmpty())
+                .andExpect(QueryBudget.maxQueries(4));
+        mockMvc.perform(post("/api/tasks/claim")
+                        .param("label", "queue-13")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(ids.get("MEDIUM")));
+
+        mockMvc.perform(post("/api/tasks/" + ids.get("HIGH") + "/heartbeat")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/tasks/" + ids.get("LOW") + "/heartbeat")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isConflict());
+
+        entityManager.createNativeQuery("UPDATE task SET lease_expires_at = now() - interval '1 minute' WHERE id = :id")
+                .setParameter("id", ids.get("HIGH"))
+                .executeUpdate();
+        taskClaimService.releaseExpiredLeases();
+        entityManager.clear();
+        mockMvc.perform(get("/api/tasks/" + ids.get("HIGH"))
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.executorEmail").doesNotExist());
+        entityManager.clear();
+
+        mockMvc.perform(post("/api/tasks/claim")
+                        .param("label", "queue-13")
+                        .param("priority", "LOW")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(ids.get("LOW")));
+        entityManager.clear();
+        mockMvc.perform(post("/api/tasks/claim")
+                        .param("label", "queue-13")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(ids.get("HIGH")));
+        mockMvc.perform(post("/api/tasks/claim")
+                        .param("label", "queue-13")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void testTaskHierarchy() throws Exception {
+        String jwtToken = registerAndLogin("testuser14@example.com");
+        Long epicId = createSubtask(jwtToken, "Epic", null);
+        Long childId = createSubtask(jwtToken, "Child", epicId);
+        Long secondChildId = createSubtask(jwtToken, "Second Child", epicId);
+        Long grandchildId = createSubtask(jwtToken, "Grandchild", childId);
+        entityManager.flush();
+        entityManager.clear();
+
+        mockMvc.perform(put("/api/tasks/" + childId + "/update-status")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("\"COMPLETED\""))
+                .andExpect(status().isOk());
+        entityManager.flush();
+        entityManager.clear();
+
+        mockMvc.perform(get("/api/tasks/" + epicId + "/subtree")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(epicId))
+                .andExpect(jsonPath("$.childCount").value(2))
+                .andExpect(jsonPath("$.completedChildCount").value(1))
+                .andExpect(jsonPath("$.children.length()").value(2))
+                .andExpect(jsonPath("$.children[0].id").value(childId))
+                .andExpect(jsonPath("$.children[0].status").value("COMPLETED"))
+                .andExpect(jsonPath("$.children[0].children[0].id").value(grandchildId))
+                .andExpect(jsonPath("$.children[1].id").value(secondChildId))
+                .andExpect(jsonPath("$.children[1].children").isEmpty())
+                .andExpect(QueryBudget.maxQueries(2));
+
+        mockMvc.perform(get("/api/tasks/" + grandchildId + "/ancestors")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(epicId))
+                .andExpect(jsonPath("$[1].id").value(childId));
+
+        mockMvc.perform(put("/api/tasks/" + epicId + "/parent")
+                        .param("parentId", grandchildId.toString())
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put("/api/tasks/" + epicId + "/parent")
+                        .param("parentId", epicId.toString())
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(put("/api/tasks/" + childId + "/parent")
+                        .param("parentId", secondChildId.toString())
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.parentId").value(secondChildId));
+        entityManager.flush();
+        entityManager.clear();
+        mockMvc.perform(get("/api/tasks/" + epicId)
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(jsonPath("$.childCount").value(1))
+                .andExpect(jsonPath("$.completedChildCount").value(0));
+        mockMvc.perform(get("/api/tasks/" + secondChildId)
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(jsonPath("$.childCount").value(1))
+                .andExpect(jsonPath("$.completedChildCount").value(1));
+        entityManager.clear();
+
+        mockMvc.perform(delete("/api/tasks/" + childId)
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isNoContent());
+        entityManager.flush();
+        entityManager.clear();
+        mockMvc.perform(get("/api/tasks/" + secondChildId + "/subtree")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(jsonPath("$.childCount").value(0))
+                .andExpect(jsonPath("$.completedChildCount").value(0))
+                .andExpect(jsonPath("$.children").isEmpty());
+        mockMvc.perform(get("/api/tasks/" + grandchildId + "/ancestors")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    void testTaskBoard() throws Exception {
+        String jwtToken = registerAndLogin("testuser15@example.com");
+        Map<String, Long> ids = new HashMap<>();
+        for (String[] task : List.of(new String[]{"LOW", "PENDING"}, new String[]{"HIGH", "PENDING"},
+                new String[]{"MEDIUM", "PENDING"}, new String[]{"LOW", "IN_PROGRESS"})) {
+            MvcResult created = mockMvc.perform(post("/api/tasks")
+                            .header("Authorization", "Bearer " + jwtToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(TaskDto.builder()
+                                    .title("Board " + task[0])
+                                    .description("Board Description")
+                                    .status(task[1])
+                                    .priority(task[0])
+                                    .build())))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            ids.put(task[1] + "_" + task[0],
+                    JsonPath.parse(created.getResponse().getContentAsString()).read("$.id", Long.class));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        MvcResult board = mockMvc.perform(get("/api/tasks/board")
+                        .param("authorEmail", "testuser15@example.com")
+                        .param("limit", "2")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.columns.length()").value(3))
+                .andExpect(jsonPath("$.columns[0].status").value("PENDING"))
+                .andExpect(jsonPath("$.columns[0].total").value(3))
+                .andExpect(jsonPath("$.columns[0].tasks[*].id").value(contains(
+                        ids.get("PENDING_HIGH").intValue(), ids.get("PENDING_MEDIUM").intValue())))
+                .andExpect(jsonPath("$.columns[0].tasks[0].authorEmail").value("testuser15@example.com"))
+                .andExpect(jsonPath("$.columns[0].nextCursor").isNotEmpty())
+                .andExpect(jsonPath("$.columns[1].status").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.columns[1].total").value(1))
+                .andExpect(jsonPath("$.columns[1].nextCursor").doesNotExist())
+                .andExpect(jsonPath("$.columns[2].status").value("COMPLETED"))
+                .andExpect(jsonPath("$.columns[2].total").value(0))
+                .andExpect(jsonPath("$.columns[2].tasks").isEmpty())
+                .andExpect(QueryBudget.maxQueries(2))
+                .andReturn();
+        String cursor = JsonPath.parse(board.getResponse().getContentAsString())
+                .read("$.columns[0].nextCursor", String.class);
+
+        mockMvc.perform(get("/api/tasks/board/PENDING")
+                        .param("authorEmail", "testuser15@example.com")
+                        .param("cursor", cursor)
+                        .param("limit", "2")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks[*].id").value(contains(ids.get("PENDING_LOW").intValue())))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist())
+                .andExpect(QueryBudget.maxQueries(2));
+        mockMvc.perform(get("/api/tasks/board/PENDING")
+                        .param("cursor", "not-a-cursor")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks/board")
+                        .param("authorEmail", "testuser15@example.com")
+                        .param("status", "COMPLETED")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.columns.length()").value(1))
+                .andExpect(jsonPath("$.columns[0].status").value("COMPLETED"));
+    }
+
+    @Test
+    void testTaskBoardWithoutPriority() throws Exception {
+        String jwtToken = registerAndLogin("testuser25@example.com");
+        MvcResult created = mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TaskDto.builder()
+                                .title("Board HIGH")
+                                .description("Board Description")
+                                .status("PENDING")
+                                .priority("HIGH")
+                                .build())))
+                .andExpect(status().isOk())
+                .andReturn();
+        Long highId = JsonPath.parse(created.getResponse().getContentAsString()).read("$.id", Long.class);
+        Long firstId = createTask(jwtToken, "Board No Priority 1", "Board Description", "PENDING");
+        Long secondId = createTask(jwtToken, "Board No Priority 2", "Board Description", "PENDING");
+        entityManager.flush();
+        entityManager.clear();
+
+        MvcResult board = mockMvc.perform(get("/api/tasks/board")
+                        .param("authorEmail", "testuser25@example.com")
+                        .param("status", "PENDING")
+                        .param("limit", "1")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.columns[0].total").value(3))
+                .andExpect(jsonPath("$.columns[0].tasks[*].id").value(contains(highId.intValue())))
+                .andReturn();
+        String cursor = JsonPath.parse(board.getResponse().getContentAsString())
+                .read("$.columns[0].nextCursor", String.class);
+
+        MvcResult column = mockMvc.perform(get("/api/tasks/board/PENDING")
+                        .param("authorEmail", "testuser25@example.com")
+                        .param("cursor", cursor)
+                        .param("limit", "1")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks[*].id").value(contains(firstId.intValue())))
+                .andExpect(jsonPath("$.tasks[0].priority").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn();
+        cursor = JsonPath.parse(column.getResponse().getContentAsString()).read("$.nextCursor", String.class);
+
+        mockMvc.perform(get("/api/tasks/board/PENDING")
+                        .param("authorEmail", "testuser25@example.com")
+                        .param("cursor", cursor)
+                        .param("limit", "1")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks[*].id").value(contains(secondId.intValue())))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void testUserTaskStats() throws Exception {
+        String authorToken = registerAndLogin("testuser16@example.com");
+        String executorToken = registerAndLogin("testuser17@example.com");
+        Long startedId = createTask(authorToken, "Stats Started", "Stats Description", "PENDING");
+        Long completedId = createTask(authorToken, "Stats Completed", "Stats Description", "COMPLETED");
+        MvcResult created = mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + authorToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TaskDto.builder()
+                                .title("Stats Queued")
+                                .description("Stats Description")
+                                .status("PENDING")
+                                .priority("HIGH")
+                                .labels(List.of("stats-16"))
+                                .build())))
+                .andExpect(status().isOk())
+                .andReturn();
+        Long queuedId = JsonPath.parse(created.getResponse().getContentAsString()).read("$.id", Long.class);
+
+        mockMvc.perform(put("/api/tasks/" + startedId + "/update-status")
+                        .header("Authorization", "Bearer " + authorToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("\"IN_PROGRESS\""))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/tasks/" + queuedId + "/update-executor")
+                        .header("Authorization", "Bearer " + authorToken)
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("testuser17@example.com"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/tasks/" + completedId)
+                        .header("Authorization", "Bearer " + authorToken))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(post("/api/tasks/claim")
+                        .param("label", "stats-16")
+                        .header("Authorization", "Bearer " + executorToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(queuedId));
+        entityManager.clear();
+
+        mockMvc.perform(get("/api/users/me/stats")
+                        .header("Authorization", "Bearer " + authorToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.asAuthor.total").value(2))
+                .andExpect(jsonPath("$.asAuthor.byStatus.PENDING").value(0))
+                .andExpect(jsonPath("$.asAuthor.byStatus.IN_PROGRESS").value(2))
+                .andExpect(jsonPath("$.asAuthor.byStatus.COMPLETED").value(0))
+                .andExpect(jsonPath("$.asAuthor.byPriority.HIGH").value(1))
+                .andExpect(jsonPath("$.asAuthor.byPriority.NONE").value(1))
+                .andExpect(jsonPath("$.asAuthor.byStatusAndPriority.IN_PROGRESS.LOW").value(0))
+                .andExpect(jsonPath("$.asAuthor.byStatusAndPriority.IN_PROGRESS.NONE").value(1))
+                .andExpect(jsonPath("$.asExecutor.total").value(0))
+                .andExpect(QueryBudget.maxQueries(3));
+        mockMvc.perform(get("/api/users/me/stats")
+                        .header("Authorization", "Bearer " + executorToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.asAuthor.total").value(0))
+                .andExpect(jsonPath("$.asExecutor.total").value(1))
+                .andExpect(jsonPath("$.asExecutor.byStatusAndPriority.IN_PROGRESS.HIGH").value(1));
+
+        Long authorId = ((User) userService.userDetailsService().loadUserByUsername("testuser16@example.com")).getId();
+        entityManager.createNativeQuery("UPDATE user_task_stats SET task_count = 5 WHERE user_id = :userId")
+                .setParameter("userId", authorId)
+                .executeUpdate();
+        userTaskStatsReconciler.reconcile();
+        entityManager.clear();
+        mockMvc.perform(get("/api/users/me/stats")
+                        .header("Authorization", "Bearer " + authorToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.asAuthor.total").value(2))
+                .andExpect(jsonPath("$.asAuthor.byStatus.PENDING").value(0))
+                .andExpect(jsonPath("$.asAuthor.byStatus.COMPLETED").value(0));
+    }
+
+    @Test
+    void testTaskAnalytics() throws Exception {
+        String jwtToken = registerAndLogin("testuser18@example.com");
+        Long measuredId = createTask(jwtToken, "Analytics Measured", "Analytics Description", "PENDING");
+        Long skippedId = createTask(jwtToken, "Analytics Skipped", "Analytics Description", "PENDING");
+        for (Long id : List.of(measuredId, skippedId)) {
+            mockMvc.perform(put("/api/tasks/" + id + "/update-executor")
+                            .header("Authorization", "Bearer " + jwtToken)
+                            .contentType(MediaType.TEXT_PLAIN)
+                            .content("testuser18@example.com"))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(put("/api/tasks/" + measuredId + "/update-status")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("\"IN_PROGRESS\""))
+                .andExpect(status().isOk());
+        entityManager.createNativeQuery("""
+                        UPDATE task_status_transition SET changed_at = changed_at - interval '1 hour'
+                        WHERE task_id = :id AND to_status = 'IN_PROGRESS'
+                        """)
+                .setParameter("id", measuredId)
+                .executeUpdate();
+        for (Long id : List.of(measuredId, skippedId)) {
+            mockMvc.perform(put("/api/tasks/" + id + "/update-status")
+                            .header("Authorization", "Bearer " + jwtToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("\"COMPLETED\""))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/api/tasks/analytics")
+                        .param("from", Instant.now().minusSeconds(86400).toString())
+                        .param("executorEmail", "testuser18@example.com")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bucket").value("DAY"))
+                .andExpect(jsonPath("$.completed").value(2))
+                .andExpect(jsonPath("$.groups.length()").value(1))
+                .andExpect(jsonPath("$.groups[0].executorEmail").value("testuser18@example.com"))
+                .andExpect(jsonPath("$.groups[0].completed").value(2))
+                .andExpect(jsonPath("$.groups[0].measured").value(1))
+                .andExpect(jsonPath("$.groups[0].p50Seconds", allOf(greaterThanOrEqualTo(3600), lessThan(3660))))
+                .andExpect(jsonPath("$.groups[0].p99Seconds", allOf(greaterThanOrEqualTo(3600), lessThan(3660))))
+                .andExpect(jsonPath("$.groups[0].throughput[*].completed", contains(2)))
+                .andExpect(QueryBudget.maxQueries(4));
+        mockMvc.perform(get("/api/tasks/analytics")
+                        .param("executorEmail", "testuser18@example.com")
+                        .param("priority", "HIGH")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(0));
+        mockMvc.perform(get("/api/tasks/analytics")
+                        .param("from", "2024-01-01T00:00:00Z")
+                        .param("to", "2025-06-01T00:00:00Z")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks/analytics")
+                        .param("bucket", "MONTH")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testTaskHistory() throws Exception {
+        String jwtToken = registerAndLogin("testuser19@example.com");
+        Long taskId = createTask(jwtToken, "History Title", "History Description", "PENDING");
+        mockMvc.perform(put("/api/tasks/" + taskId + "/update-status")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("\"IN_PROGRESS\""))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/tasks/" + taskId + "/comments")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CommentDto.builder().body("History comment").build())))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/tasks/" + taskId + "/update-executor")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("testuser19@example.com"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/tasks/" + taskId + "/update-status")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("\"IN_PROGRESS\""))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/" + taskId + "/history")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(4))
+                .andExpect(jsonPath("$.content[0].action").value("UPDATED"))
+                .andExpect(jsonPath("$.content[0].actorEmail").value("testuser19@example.com"))
+                .andExpect(jsonPath("$.content[0].changes.length()").value(1))
+                .andExpect(jsonPath("$.content[0].changes.executorEmail.oldValue").isEmpty())
+                .andExpect(jsonPath("$.content[0].changes.executorEmail.newValue").value("testuser19@example.com"))
+                .andExpect(jsonPath("$.content[1].entityType").value("COMMENT"))
+                .andExpect(jsonPath("$.content[1].action").value("CREATED"))
+                .andExpect(jsonPath("$.content[1].changes.body.newValue").value("History comment"))
+                .andExpect(jsonPath("$.content[2].changes.status.oldValue").value("PENDING"))
+                .andExpect(jsonPath("$.content[2].changes.status.newValue").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.content[3].action").value("CREATED"))
+                .andExpect(jsonPath("$.content[3].changes.title.newValue").value("History Title"))
+                .andExpect(QueryBudget.maxQueries(4));
+        mockMvc.perform(get("/api/tasks/" + taskId + "/history")
+                        .param("page", "1")
+                        .param("size", "3")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.totalPages").value(2));
+
+        mockMvc.perform(delete("/api/tasks/" + taskId)
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/tasks/" + taskId + "/history")
+                        .param("size", "1")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(5))
+                .andExpect(jsonPath("$.content[0].action").value("DELETED"))
+                .andExpect(jsonPath("$.content[0].changes.title.oldValue").value("History Title"));
+    }
+
+    @Test
+    void testNotificationOutbox() throws Exception {
+        String authorToken = registerAndLogin("testuser20@example.com");
+        String executorToken = registerAndLogin("testuser21@example.com");
+        Long taskId = createTask(authorToken, "Outbox Title", "Outbox Description", "PENDING");
+        mockMvc.perform(put("/api/tasks/" + taskId + "/update-executor")
+                        .header("Authorization", "Bearer " + authorToken)
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("testuser21@example.com"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/tasks/" + taskId + "/update-executor")
+                        .header("Authorization", "Bearer " + authorToken)
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("testuser21@example.com"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/tasks/" + taskId + "/comments")
+                        .header("Authorization", "Bearer " + executorToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CommentDto.builder().body("Outbox comment").build())))
+                .andExpect(status().isOk());
+
+        List<?> pending = entityManager.createNativeQuery("""
+                        SELECT type || ':' || (payload -> 'recipients' ->> 0) FROM outbox_message
+                        WHERE task_id = :id AND status = 'PENDING' ORDER BY id
+                        """)
+                .setParameter("id", taskId)
+                .getResultList();
+        assertEquals(List.of("TASK_ASSIGNED:testuser21@example.com", "TASK_COMMENTED:testuser20@example.com"),
+                pending);
+
+        assertTrue(outboxDispatcher.dispatch() >= 2);
+        entityManager.flush();
+        Number sent = (Number) entityManager.createNativeQuery("""
+                        SELECT count(*) FROM outbox_message
+                        WHERE task_id = :id AND status = 'SENT' AND attempts = 1 AND sent_at IS NOT NULL
+                          AND 'log' = ANY (delivered_sinks)
+                        """)
+                .setParameter("id", taskId)
+                .getSingleResult();
+        assertEquals(2, sent.intValue());
+    }
+
+    @Test
+    void testActivityFeed() throws Exception {
+        String authorToken = registerAndLogin("testuser22@example.com");
+        String executorToken = registerAndLogin("testuser23@example.com");
+        Long taskId = createTask(authorToken, "Feed Title", "Feed Description", "PENDING");
+        mockMvc.perform(put("/api/tasks/" + taskId + "/update-executor")
+                        .header("Authorization", "Bearer " + authorToken)
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("testuser23@example.com"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/tasks/" + taskId + "/update-status")
+                        .header("Authorization", "Bearer " + executorToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("\"IN_PROGRESS\""))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/tasks/" + taskId + "/comments")
+                        .header("Authorization", "Bearer " + executorToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CommentDto.builder().body("Feed comment").build())))
+                .andExpect(status().isOk());
+
+        // Тестовая транзакция не фиксируется, поэтому события записываются в ленты напрямую, а не фоновым потоком.
+        List<TaskActivityEvent> events = applicationEvents.stream(TaskActivityEvent.class)
+                .filter(event -> event.taskId().equals(taskId))
+                .toList();
+        assertEquals(3, events.size());
+        assertEquals(3, activityFeedWriter.write(events));
+
+        mockMvc.perform(get("/api/feed")
+                        .header("Authorization", "Bearer " + executorToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries.length()").value(1))
+                .andExpect(jsonPath("$.entries[0].action").value("UPDATED"))
+                .andExpect(jsonPath("$.entries[0].fields[0]").value("executorEmail"))
+                .andExpect(jsonPath("$.entries[0].actorEmail").value("testuser22@example.com"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        MvcResult first = mockMvc.perform(get("/api/feed")
+                        .param("limit", "1")
+                        .header("Authorization", "Bearer " + authorToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries.length()").value(1))
+                .andExpect(jsonPath("$.entries[0].entityType").value("COMMENT"))
+                .andExpect(jsonPath("$.entries[0].taskTitle").value("Feed Title"))
+                .andExpect(jsonPath("$.nextCursor").exists())
+                .andReturn();
+        Long cursor = JsonPath.parse(first.getResponse().getContentAsString()).read("$.nextCursor", Long.class);
+        mockMvc.perform(get("/api/feed")
+                        .param("limit", "1")
+                        .param("cursor", cursor.toString())
+                        .header("Authorization", "Bearer " + authorToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries.length()").value(1))
+                .andExpect(jsonPath("$.entries[0].fields[0]").value("status"))
+                .andExpect(jsonPath("$.entries[0].actorEmail").value("testuser23@example.com"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void testActivityFeedOfDeletedUser() throws Exception {
+        registerAndLogin("testuser26@example.com");
+        Long userId = ((User) userService.userDetailsService().loadUserByUsername("testuser26@example.com")).getId();
+        TaskActivityEvent event = new TaskActivityEvent(0L, "Deleted Feed", AuditEntityType.TASK,
+                AuditAction.CREATED, List.of(), "testuser26@example.com", Instant.now(), Set.of(userId));
+        assertEquals(2, activityFeedWriter.write(List.of(event, event)));
+        userService.deleteUser("testuser26@example.com");
+
+        // Лента удаляется только после фиксации удаления пользователя, поэтому тестовая транзакция фиксируется.
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        TestTransaction.start();
+
+        Number remaining = (Number) entityManager.createNativeQuery("""
+                        SELECT count(*) FROM feed_entry WHERE user_id = :userId
+                        """)
+                .setParameter("userId", userId)
+                .getSingleResult();
+        assertEquals(0, remaining.intValue());
+    }
+
+    @Test
+    void testTaskArchive() throws Exception {
+        String jwtToken = registerAndLogin("testuser24@example.com");
+        Long archivedId = createTask(jwtToken, "Archive Old", "Archive Description", "COMPLETED");
+        Long recentId = createTask(jwtToken, "Archive Recent", "Archive Description", "COMPLETED");
+        mockMvc.perform(post("/api/tasks/" + archivedId + "/comments")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CommentDto.builder().body("Archive comment").build())))
+                .andExpect(status().isOk());
+
+        // Обе задачи созданы давно, но вторая завершена только что.
+        entityManager.flush();
+        entityManager.createNativeQuery("""
+                        UPDATE task SET date_creation = now() - interval '100 days' WHERE id IN (:ids)
+                        """)
+                .setParameter("ids", List.of(archivedId, recentId))
+                .executeUpdate();
+        entityManager.createNativeQuery("""
+                        UPDATE task_status_transition SET changed_at = now() - interval '100 days' WHERE task_id = :id
+                        """)
+                .setParameter("id", archivedId)
+                .executeUpdate();
+
+        assertTrue(taskArchiveService.archiveCompleted() >= 1);
+        entityManager.clear();
+
+        mockMvc.perform(get("/api/tasks/" + archivedId)
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Archive Old"))
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.commentCount").value(1))
+                .andExpect(jsonPath("$.comments.content[0].body").value("Archive comment"));
+        mockMvc.perform(get("/api/tasks/created/testuser24@example.com")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(recentId));
+        mockMvc.perform(put("/api/tasks/" + archivedId + "/update-status")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("\"PENDING\""))
+                .andExpect(status().isNotFound());
+    }
+
+    private Long createSubtask(String jwtToken, String title, Long parentId) throws Exception {
+        MvcResult created = mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TaskDto.builder()
+                                .title(title)
+                                .description("Hierarchy Description")
+                                .status("PENDING")
+                                .priority("MEDIUM")
+                                .parentId(parentId)
+                                .build())))
+                .andExpect(status().isOk())
+                .andReturn();
+        return JsonPath.parse(created.getResponse().getContentAsString()).read("$.id", Long.class);
+    }
+
+    private Long createTask(String jwtToken, String title, String description, String status) throws Exception {
+        MvcResult created = mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TaskDto.builder()
+                                .title(title)
+                                .description(description)
+                                .status(status)
+                                .build())))
+                .andExpect(status().isOk())
+                .andReturn();
+        return JsonPath.parse(created.getResponse().getContentAsString()).read("$.id", Long.class);
+    }
+
+    private String registerAndLogin(String email) throws Exception {
+        RegistrationRequestDto registrationRequest = new RegistrationRequestDto(email, "testpassword");
+
+        mockMvc.perform(post("/auth/registration")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registrationRequest)))
+                .andExpect(status().isOk());
+
+        MvcResult loginResult = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AuthRequestDto(email, "testpassword"))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return JsonPath.parse(loginResult.getResponse().getContentAsString()).read("$.jwt");
+    }
+
 }
@@ -0,0 +1,44 @@
+package com.hh.TaskManagementSystems.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Проверка формата {@link IsoInstantSerializer}: результат должен совпадать с ISO-8601 с миллисекундами.
+ * Аллокации при сериализации измеряет {@code PageSerializationBenchmark} в профиле {@code benchmark}.
+ */
+class IsoInstantSerializerTests {
+
+    @Test
+    void isoInstantSerializerMatchesIsoFormat() throws Exception {
+        ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new SimpleModule().addSerializer(Instant.class, new IsoInstantSerializer()))
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+                .withZone(ZoneOffset.UTC);
+
+        List<Instant> instants = List.of(
+                Instant.EPOCH,
+                Instant.parse("2000-02-29T23:59:59.999999Z"),
+                Instant.parse("1969-12-31T00:00:00.001Z"),
+                Instant.parse("2024-08-01T12:34:56.789Z"),
+                Instant.parse("9999-12-31T23:59:59Z"));
+
+        for (Instant instant : instants) {
+            String expected = "\"" + formatter.format(instant.truncatedTo(ChronoUnit.MILLIS)) + "\"";
+            assertEquals(expected, mapper.writeValueAsString(instant));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.hh.TaskManagementSystems.jfr;
+
+import com.hh.TaskManagementSystems.config.TimedPasswordEncoder;
+import com.hh.TaskManagementSystems.dto.TaskDto;
+import com.hh.TaskManagementSystems.exception.NotEnoughRightsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверка событий JFR приложения с настройками из поставляемого профиля {@code task-management-systems.jfc}.
+ */
+class JfrEventsTests {
+
+    @Test
+    void eventsAreRecordedWithBundledProfile(@TempDir Path directory) throws Exception {
+        Configuration configuration;
+        try (Reader reader = new InputStreamReader(
+                getClass().getResourceAsStream("/jfr/task-management-systems.jfc"), StandardCharsets.UTF_8)) {
+            configuration = Configuration.create(reader);
+        }
+
+        Path file = directory.resolve("recording.jfr");
+        try (Recording recording = new Recording(configuration)) {
+            recording.start();
+
+            TaskMutationEvent.record("saveTask", null, () -> TaskDto.builder().id(42L).build());
+            assertThrows(NotEnoughRightsException.class, () -> TaskMutationEvent.record("deleteTask", 7L, () -> {
+                throw new NotEnoughRightsException();
+            }));
+            new TimedPasswordEncoder(new BCryptPasswordEncoder(), new SimpleMeterRegistry()).encode("password");
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        List<RecordedEvent> mutations = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.hh.tms.TaskMutation"))
+                .toList();
+        assertEquals(2, mutations.size());
+        assertTrue(mutations.stream().anyMatch(event -> event.getLong("taskId") == 42L
+                && event.getString("outcome").equals(TaskMutationEvent.OUTCOME_OK)));
+        assertTrue(mutations.stream().anyMatch(event -> event.getLong("taskId") == 7L
+                && event.getString("outcome").equals("NotEnoughRightsException")));
+
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("com.hh.tms.PasswordHash")
+                && event.getString("operation").equals("encode")));
+    }
+}
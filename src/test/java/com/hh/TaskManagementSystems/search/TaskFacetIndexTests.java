@@ -0,0 +1,76 @@
+package com.hh.TaskManagementSystems.search;
+
+import com.hh.TaskManagementSystems.event.UserDeletedEvent;
+import com.hh.TaskManagementSystems.model.TaskPriority;
+import com.hh.TaskManagementSystems.model.TaskStatus;
+import com.hh.TaskManagementSystems.repository.TaskFacetSource;
+import com.hh.TaskManagementSystems.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Количества задач по {@link TaskFacetIndex}: фильтры по автору и исполнителю, сочетания статуса и приоритета и
+ * обновление после изменения и удаления задач.
+ */
+class TaskFacetIndexTests {
+
+    private static final int HIGH = TaskPriority.HIGH.ordinal();
+    private static final int LOW = TaskPriority.LOW.ordinal();
+    private static final int PENDING = TaskStatus.PENDING.ordinal();
+    private static final int IN_PROGRESS = TaskStatus.IN_PROGRESS.ordinal();
+
+    @Test
+    void countsCombinationsAndFollowsChanges() {
+        TaskRepository taskRepository = mock(TaskRepository.class);
+        when(taskRepository.findFacetSourcesAfter(eq(0L), any(Limit.class))).thenReturn(List.of(
+                new TaskFacetSource(1L, TaskStatus.PENDING, TaskPriority.HIGH, 10L, 20L),
+                new TaskFacetSource(2L, TaskStatus.IN_PROGRESS, TaskPriority.HIGH, 10L, 20L),
+                new TaskFacetSource(3L, TaskStatus.IN_PROGRESS, TaskPriority.HIGH, 11L, 20L),
+                new TaskFacetSource(4L, TaskStatus.PENDING, TaskPriority.LOW, 11L, null),
+                new TaskFacetSource(5L, null, TaskPriority.LOW, 10L, 21L)));
+        TaskFacetIndex index = new TaskFacetIndex(taskRepository, mock(PlatformTransactionManager.class));
+        index.load();
+
+        TaskFacetCounts counts = index.count(null, null);
+        assertEquals(5, counts.total());
+        assertEquals(2, counts.byStatus()[PENDING]);
+        assertEquals(2, counts.byPriority()[LOW]);
+        assertEquals(2, counts.byStatusAndPriority()[IN_PROGRESS][HIGH]);
+
+        counts = index.count(null, 20L);
+        assertEquals(3, counts.total());
+        assertEquals(1, counts.byStatusAndPriority()[PENDING][HIGH]);
+        assertEquals(2, counts.byStatusAndPriority()[IN_PROGRESS][HIGH]);
+
+        counts = index.count(10L, 20L);
+        assertEquals(2, counts.total());
+        assertEquals(1, counts.byStatusAndPriority()[IN_PROGRESS][HIGH]);
+        assertEquals(0, index.count(99L, null).total());
+
+        when(taskRepository.findFacetSourcesByIdIn(anyCollection())).thenReturn(List.of(
+                new TaskFacetSource(2L, TaskStatus.PENDING, TaskPriority.HIGH, 10L, 21L)));
+        index.reindex(Set.of(2L, 3L));
+        counts = index.count(null, 20L);
+        assertEquals(1, counts.total());
+        assertEquals(0, counts.byStatus()[IN_PROGRESS]);
+        assertEquals(2, index.count(null, 21L).total());
+        assertEquals(2, index.count(null, null).byStatusAndPriority()[PENDING][HIGH]);
+
+        index.onUserDeleted(new UserDeletedEvent(10L, "author@example.com", List.of()));
+        when(taskRepository.findFacetSourcesByIdIn(anyCollection())).thenReturn(List.of());
+        index.reindex(Set.of(1L, 2L, 5L));
+        assertEquals(1, index.count(null, null).total());
+        assertEquals(1, index.count(11L, null).byStatusAndPriority()[PENDING][LOW]);
+    }
+}
@@ -0,0 +1,41 @@
+package com.hh.TaskManagementSystems.search;
+
+import com.hh.TaskManagementSystems.event.UserCreatedEvent;
+import com.hh.TaskManagementSystems.event.UserDeletedEvent;
+import com.hh.TaskManagementSystems.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Автодополнение email по {@link UserDirectory}: регистр, порядок, ограничение количества и обновление по событиям.
+ */
+class UserDirectoryTests {
+
+    @Test
+    void completesByPrefixIgnoringCase() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findEmailsAfter(eq(""), any(Limit.class)))
+                .thenReturn(List.of("Alice@example.com", "alex@example.com", "bob@example.com", "al@example.com"));
+        UserDirectory directory = new UserDirectory(userRepository);
+        directory.load();
+
+        assertEquals(List.of("al@example.com", "alex@example.com", "Alice@example.com"),
+                directory.complete("AL", 10));
+        assertEquals(List.of("al@example.com", "alex@example.com"), directory.complete("al", 2));
+        assertEquals(List.of("bob@example.com"), directory.complete("bob@example.com", 10));
+        assertEquals(List.of(), directory.complete("carol", 10));
+
+        directory.onUserCreated(new UserCreatedEvent(5L, "ALEX@example.com"));
+        directory.onUserDeleted(new UserDeletedEvent(1L, "Alice@example.com", List.of()));
+        assertEquals(List.of("al@example.com", "ALEX@example.com", "alex@example.com"),
+                directory.complete("al", 10));
+    }
+}